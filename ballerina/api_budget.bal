@@ -0,0 +1,329 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/lang.runtime;
+import ballerina/log;
+import ballerina/time;
+import ballerina/uuid;
+
+# Pluggable store of the API budget of an org, shared by the `ApiBudget` of each replica. Implementations must be
+# `isolated`, and each function must be atomic in the store (e.g. a Redis Lua script).
+#
+# The default implementation (`InMemoryApiBudgetStore`) is scoped to the current process. For multi-replica
+# deployments, provide an implementation backed by a distributed store, so that the replicas together stay within
+# the limits of the org.
+public type ApiBudgetStore isolated object {
+
+    # Takes request tokens from a token bucket. The bucket is first refilled at `refillRate` tokens per second for
+    # the time since it was last refilled, up to `capacity` tokens. A bucket seen for the first time is full.
+    #
+    # + budgetId - The ID of the budget
+    # + requested - Number of tokens requested
+    # + capacity - Maximum number of tokens in the bucket
+    # + refillRate - Tokens added to the bucket per second
+    # + return - The number of tokens taken, between 0 and `requested`, or an `error`
+    public isolated function takeTokens(string budgetId, int requested, int capacity, decimal refillRate)
+            returns int|error;
+
+    # Acquires concurrency permits for a holder and renews the lease of the permits it holds. The permits of a holder
+    # whose lease has expired are released first.
+    #
+    # + budgetId - The ID of the budget
+    # + holderId - The ID of the holder, unique to each `ApiBudget`
+    # + requested - Number of permits requested, `0` to only renew the lease
+    # + maxPermits - Maximum number of permits held by all the holders together
+    # + leaseTimeout - Time in seconds after which the permits of the holder are released unless renewed
+    # + return - The number of permits the holder holds after the call, or an `error`
+    public isolated function acquirePermits(string budgetId, string holderId, int requested, int maxPermits,
+            decimal leaseTimeout) returns int|error;
+
+    # Releases concurrency permits of a holder.
+    #
+    # + budgetId - The ID of the budget
+    # + holderId - The ID of the holder
+    # + count - Number of permits released
+    # + return - `()` on success, or an `error` if the release fails
+    public isolated function releasePermits(string budgetId, string holderId, int count) returns error?;
+};
+
+type TokenBucket record {|
+    decimal tokens;
+    decimal refilledAt;
+|};
+
+type PermitLease record {|
+    int permits;
+    decimal expiresAt;
+|};
+
+# Default in-memory API budget store. The budget is shared by the clients of the process only.
+public isolated class InMemoryApiBudgetStore {
+    *ApiBudgetStore;
+
+    private final map<TokenBucket> buckets = {};
+    private final map<map<PermitLease>> leases = {};
+
+    public isolated function takeTokens(string budgetId, int requested, int capacity, decimal refillRate)
+            returns int|error {
+        decimal now = time:monotonicNow();
+        lock {
+            TokenBucket bucket = self.buckets[budgetId] ?: {tokens: <decimal>capacity, refilledAt: now};
+            bucket.tokens = decimal:min(<decimal>capacity, bucket.tokens + (now - bucket.refilledAt) * refillRate);
+            bucket.refilledAt = now;
+            int taken = int:min(requested, <int>decimal:floor(bucket.tokens));
+            bucket.tokens -= <decimal>taken;
+            self.buckets[budgetId] = bucket;
+            return taken;
+        }
+    }
+
+    public isolated function acquirePermits(string budgetId, string holderId, int requested, int maxPermits,
+            decimal leaseTimeout) returns int|error {
+        decimal now = time:monotonicNow();
+        lock {
+            map<PermitLease> holders = self.leases[budgetId] ?: {};
+            int inUse = 0;
+            foreach [string, PermitLease] [holder, lease] in holders.entries() {
+                if lease.expiresAt <= now {
+                    _ = holders.remove(holder);
+                } else {
+                    inUse += lease.permits;
+                }
+            }
+            PermitLease lease = holders[holderId] ?: {permits: 0, expiresAt: now};
+            lease.permits += int:max(0, int:min(requested, maxPermits - inUse));
+            lease.expiresAt = now + leaseTimeout;
+            holders[holderId] = lease;
+            self.leases[budgetId] = holders;
+            return lease.permits;
+        }
+    }
+
+    public isolated function releasePermits(string budgetId, string holderId, int count) returns error? {
+        lock {
+            map<PermitLease>? holders = self.leases[budgetId];
+            PermitLease? lease = holders is () ? () : holders[holderId];
+            if holders is () || lease is () {
+                return;
+            }
+            lease.permits -= count;
+            if lease.permits <= 0 {
+                _ = holders.remove(holderId);
+            }
+        }
+    }
+}
+
+# Configuration of an `ApiBudget`.
+public type ApiBudgetConfig record {|
+    # Store shared by the replicas. If not set, the budget is shared by the clients of the process only
+    ApiBudgetStore store?;
+    # The ID of the budget in the store. Budgets with the same ID share the same tokens and permits
+    string budgetId = "default";
+    # Number of API requests the replicas may send per day, at most the daily API request limit of the org. Tokens
+    # are refilled evenly over the day
+    int dailyLimit;
+    # Maximum number of requests that may be sent at once after a quiet period
+    int burst = 100;
+    # Maximum number of requests in flight across the replicas. Keeps the replicas within the concurrent
+    # long-running request limit of the org, which applies to requests running for longer than 20 seconds
+    int maxConcurrentRequests = 25;
+    # Number of tokens taken from the store at a time and used locally before the store is called again
+    int tokenLeaseSize = 10;
+    # Number of permits acquired from the store at a time. Up to this many unused permits are kept locally, so the
+    # permits held by idle replicas, up to `permitLeaseSize` each, are not available to the others until their lease
+    # times out
+    int permitLeaseSize = 1;
+    # Time in seconds after which the permits of a replica are released by the store unless renewed, e.g. once the
+    # replica is stopped. Leases are renewed while requests are sent, and every third of the timeout while requests
+    # are in flight
+    decimal permitLeaseTimeout = 30;
+    # The longest time in seconds a request waits for a token and a permit before it is rejected
+    decimal maxWait = 30;
+|};
+
+# Paces the requests of the clients of an org, across replicas, with a token bucket refilled at the daily API
+# request limit of the org and a limit on the requests in flight. The tokens and permits are kept in an
+# `ApiBudgetStore` shared by the replicas, and leased in blocks so that the store is not called for every request.
+#
+# Pass the same budget to the `apiBudget` configuration of all the clients of an org in a replica.
+public isolated class ApiBudget {
+    private final ApiBudgetStore store;
+    private final string budgetId;
+    private final string holderId = uuid:createType4AsString();
+    private final int burst;
+    private final decimal refillRate;
+    private final int maxConcurrentRequests;
+    private final int tokenLeaseSize;
+    private final int permitLeaseSize;
+    private final decimal permitLeaseTimeout;
+    private final decimal maxWait;
+    private int tokens = 0;
+    private int permits = 0;
+    private int inFlight = 0;
+    private decimal renewedAt = 0;
+    private boolean renewing = false;
+
+    # Initializes the budget.
+    #
+    # + config - Budget configuration
+    # + return - An error if the configuration is invalid
+    public isolated function init(*ApiBudgetConfig config) returns error? {
+        if config.dailyLimit <= 0 {
+            return error("dailyLimit must be greater than 0.");
+        }
+        if config.burst <= 0 || config.maxConcurrentRequests <= 0 {
+            return error("burst and maxConcurrentRequests must be greater than 0.");
+        }
+        if config.tokenLeaseSize <= 0 || config.permitLeaseSize <= 0 {
+            return error("tokenLeaseSize and permitLeaseSize must be greater than 0.");
+        }
+        if config.permitLeaseTimeout <= 0d || config.maxWait < 0d {
+            return error("permitLeaseTimeout must be greater than 0 and maxWait must not be negative.");
+        }
+        self.store = config.store ?: new InMemoryApiBudgetStore();
+        self.budgetId = config.budgetId;
+        self.burst = config.burst;
+        self.refillRate = <decimal>config.dailyLimit / 86400;
+        self.maxConcurrentRequests = config.maxConcurrentRequests;
+        self.tokenLeaseSize = int:min(config.tokenLeaseSize, config.burst);
+        self.permitLeaseSize = int:min(config.permitLeaseSize, config.maxConcurrentRequests);
+        self.permitLeaseTimeout = config.permitLeaseTimeout;
+        self.maxWait = config.maxWait;
+    }
+
+    // Waits for a token and a permit for a request. Returns an error if they are not available within `maxWait`,
+    // or if the store fails. Every successful call must be followed by a call to `release`.
+    isolated function acquire() returns error? {
+        decimal deadline = time:monotonicNow() + self.maxWait;
+        check self.takeToken(deadline);
+        check self.takePermit(deadline);
+        boolean startRenewal;
+        lock {
+            startRenewal = !self.renewing;
+            self.renewing = true;
+        }
+        if startRenewal {
+            _ = start self.renewLease();
+        }
+    }
+
+    // Waits for a token for another attempt of a request that holds a permit, as each attempt is an API request.
+    isolated function acquireToken() returns error? {
+        return self.takeToken(time:monotonicNow() + self.maxWait);
+    }
+
+    // Returns the permit of a finished request. Permits beyond the ones in use and `permitLeaseSize` spare ones are
+    // returned to the store.
+    isolated function release() {
+        int surplus;
+        lock {
+            self.inFlight -= 1;
+            surplus = self.permits - self.inFlight - self.permitLeaseSize;
+            if surplus <= 0 {
+                return;
+            }
+            self.permits -= surplus;
+        }
+        error? released = self.store.releasePermits(self.budgetId, self.holderId, surplus);
+        if released is error {
+            log:printWarn("Failed to release concurrency permits; the store releases them once the lease times out",
+                    budgetId = self.budgetId, permits = surplus, 'error = released);
+        }
+    }
+
+    // Renews the lease of the permits every third of the lease timeout while requests are in flight, so that a
+    // request running for longer than the timeout keeps its permit in the store.
+    private isolated function renewLease() {
+        while true {
+            runtime:sleep(self.permitLeaseTimeout / 3);
+            lock {
+                if self.inFlight == 0 {
+                    self.renewing = false;
+                    return;
+                }
+            }
+            decimal now = time:monotonicNow();
+            int|error permits = self.store.acquirePermits(self.budgetId, self.holderId, 0,
+                self.maxConcurrentRequests, self.permitLeaseTimeout);
+            if permits is error {
+                log:printWarn("Failed to renew the lease of concurrency permits", budgetId = self.budgetId,
+                        'error = permits);
+                continue;
+            }
+            lock {
+                self.permits = permits;
+                self.renewedAt = now;
+            }
+        }
+    }
+
+    private isolated function takeToken(decimal deadline) returns error? {
+        while true {
+            lock {
+                if self.tokens > 0 {
+                    self.tokens -= 1;
+                    return;
+                }
+            }
+            int taken = check self.store.takeTokens(self.budgetId, self.tokenLeaseSize, self.burst, self.refillRate);
+            if taken > 0 {
+                lock {
+                    self.tokens += taken - 1;
+                }
+                return;
+            }
+            // Wait for the bucket to refill by one token.
+            check self.waitUntil(deadline, 1 / self.refillRate, "token");
+        }
+    }
+
+    private isolated function takePermit(decimal deadline) returns error? {
+        while true {
+            decimal now = time:monotonicNow();
+            int requested;
+            lock {
+                boolean renewed = now - self.renewedAt < self.permitLeaseTimeout / 2;
+                if self.inFlight < self.permits && renewed {
+                    self.inFlight += 1;
+                    return;
+                }
+                requested = self.inFlight < self.permits ? 0 : self.permitLeaseSize;
+            }
+            int permits = check self.store.acquirePermits(self.budgetId, self.holderId, requested,
+                self.maxConcurrentRequests, self.permitLeaseTimeout);
+            lock {
+                self.permits = permits;
+                self.renewedAt = now;
+                if self.inFlight < self.permits {
+                    self.inFlight += 1;
+                    return;
+                }
+            }
+            check self.waitUntil(deadline, self.permitLeaseTimeout / 100, "concurrency permit");
+        }
+    }
+
+    private isolated function waitUntil(decimal deadline, decimal interval, string resource) returns error? {
+        decimal remaining = deadline - time:monotonicNow();
+        if remaining <= 0d {
+            return error(string `Request rejected: no ${resource} of API budget '${self.budgetId}' became ` +
+                string `available within ${self.maxWait} seconds.`);
+        }
+        runtime:sleep(decimal:max(0.01, decimal:min(interval, remaining)));
+    }
+}
@@ -0,0 +1,214 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/http;
+import ballerina/lang.runtime;
+import ballerina/time;
+
+# Priority of the requests of a `Client`, used by the admission control of its `ApiUsageMonitor`.
+public enum RequestPriority {
+    # Never delayed or rejected by the client
+    HIGH,
+    # Delayed and rejected according to the `normal` thresholds of the monitor
+    NORMAL,
+    # Delayed and rejected according to the `low` thresholds of the monitor
+    LOW
+}
+
+# Usage levels at which requests of a priority are delayed and rejected. Usage is the share of a Salesforce limit in
+# use, between 0 and 1, as reported in the `Sforce-Limit-Info` header.
+public type ThrottlingThresholds record {|
+    # Usage from which requests are delayed. The delay grows linearly from 0 at this usage to `maxDelay` at `shedAt`
+    float slowDownAt;
+    # Usage from which requests are rejected without being sent
+    float shedAt;
+|};
+
+# Configuration of an `ApiUsageMonitor`.
+public type ApiUsageMonitorConfig record {|
+    # Whether requests are delayed and rejected as usage nears the limit. If `false`, usage is only tracked
+    boolean throttle = true;
+    # Thresholds of `LOW` priority requests
+    ThrottlingThresholds low = {slowDownAt: 0.7, shedAt: 0.85};
+    # Thresholds of `NORMAL` priority requests
+    ThrottlingThresholds normal = {slowDownAt: 0.85, shedAt: 0.95};
+    # The longest delay in seconds added to a request
+    decimal maxDelay = 2;
+    # While requests are rejected, one request every `probeInterval` seconds is sent anyway, so that the usage is
+    # refreshed once the limit frees up
+    decimal probeInterval = 60;
+|};
+
+# Usage of a Salesforce limit.
+public type LimitUsage record {|
+    # Amount of the limit in use
+    int used;
+    # The limit
+    int max;
+|};
+
+# API usage as seen by an `ApiUsageMonitor`.
+public type ApiUsage record {|
+    # Usage of each limit reported in the `Sforce-Limit-Info` header of the latest response, keyed by the limit name,
+    # e.g. `api-usage` for the daily API request limit of the org
+    map<LimitUsage> limits;
+    # The highest share of a limit in use, between 0 and 1
+    float usage;
+    # Number of requests sent
+    int admitted;
+    # Number of requests sent after a delay
+    int delayed;
+    # Number of requests rejected without being sent
+    int rejected;
+|};
+
+# Tracks the API usage of an org from the `Sforce-Limit-Info` header of the responses, and slows down or rejects
+# lower-priority requests as the usage nears the limit, so that they do not use up the quota needed by more
+# important traffic.
+#
+# Pass the same monitor to the `apiUsageMonitor` configuration of all the clients of an org, with the `priority` of
+# each client, so that they share one view of the usage.
+public isolated class ApiUsageMonitor {
+    private final boolean throttle;
+    private final readonly & ThrottlingThresholds low;
+    private final readonly & ThrottlingThresholds normal;
+    private final decimal maxDelay;
+    private final decimal probeInterval;
+    private map<LimitUsage> limits = {};
+    private decimal lastProbe = 0;
+    private int admitted = 0;
+    private int delayed = 0;
+    private int rejected = 0;
+
+    # Initializes the monitor.
+    #
+    # + config - Monitor configuration
+    # + return - An error if the configuration is invalid
+    public isolated function init(*ApiUsageMonitorConfig config) returns error? {
+        check validateThrottlingThresholds("low", config.low);
+        check validateThrottlingThresholds("normal", config.normal);
+        if config.maxDelay < 0d {
+            return error("maxDelay must not be negative.");
+        }
+        if config.probeInterval <= 0d {
+            return error("probeInterval must be greater than 0.");
+        }
+        self.throttle = config.throttle;
+        self.low = config.low.cloneReadOnly();
+        self.normal = config.normal.cloneReadOnly();
+        self.maxDelay = config.maxDelay;
+        self.probeInterval = config.probeInterval;
+    }
+
+    # Returns the API usage seen by the monitor.
+    #
+    # + return - API usage and admission counters
+    public isolated function getUsage() returns ApiUsage {
+        lock {
+            return {
+                limits: self.limits.clone(),
+                usage: self.getHighestUsage(),
+                admitted: self.admitted,
+                delayed: self.delayed,
+                rejected: self.rejected
+            };
+        }
+    }
+
+    // Decides whether a request of the given priority is sent. Returns an error if it is rejected, or else returns
+    // once the delay for the current usage has passed.
+    isolated function admit(RequestPriority priority) returns error? {
+        if !self.throttle || priority == HIGH {
+            lock {
+                self.admitted += 1;
+            }
+            return;
+        }
+        readonly & ThrottlingThresholds thresholds = priority == LOW ? self.low : self.normal;
+        float usage;
+        lock {
+            usage = self.getHighestUsage();
+            if usage >= thresholds.shedAt {
+                decimal now = time:monotonicNow();
+                if now - self.lastProbe < self.probeInterval {
+                    self.rejected += 1;
+                    return error(string `Request rejected: API usage is at ${<int>(usage * 100.0)}% of the limit, ` +
+                        string `above the ${<int>(thresholds.shedAt * 100.0)}% allowed for ${priority} priority requests.`);
+                }
+                self.lastProbe = now;
+            }
+            self.admitted += 1;
+        }
+        if usage < thresholds.slowDownAt || usage >= thresholds.shedAt {
+            return;
+        }
+        decimal delay = self.maxDelay * <decimal>((usage - thresholds.slowDownAt) /
+            (thresholds.shedAt - thresholds.slowDownAt));
+        lock {
+            self.delayed += 1;
+        }
+        runtime:sleep(delay);
+    }
+
+    // Updates the usage from the `Sforce-Limit-Info` header of a response, e.g.
+    // `api-usage=18/15000, per-app-api-usage=17/250(appName=sample-app)`.
+    isolated function recordUsage(http:Response response) {
+        string|http:HeaderNotFoundError header = response.getHeader(SFORCE_LIMIT_INFO);
+        if header is http:HeaderNotFoundError {
+            return;
+        }
+        map<LimitUsage> reported = {};
+        foreach string entry in re `,`.split(header) {
+            int? separator = entry.indexOf("=");
+            if separator is () {
+                continue;
+            }
+            string value = entry.substring(separator + 1);
+            int? appName = value.indexOf("(");
+            string[] counts = re `/`.split(appName is int ? value.substring(0, appName) : value);
+            if counts.length() != 2 {
+                continue;
+            }
+            int|error used = int:fromString(counts[0].trim());
+            int|error max = int:fromString(counts[1].trim());
+            if used is int && max is int && max > 0 {
+                reported[entry.substring(0, separator).trim()] = {used, max};
+            }
+        }
+        lock {
+            foreach [string, LimitUsage] [name, usage] in reported.entries() {
+                self.limits[name] = usage.clone();
+            }
+        }
+    }
+
+    private isolated function getHighestUsage() returns float {
+        lock {
+            float highest = 0.0;
+            foreach LimitUsage usage in self.limits {
+                highest = float:max(highest, <float>usage.used / <float>usage.max);
+            }
+            return highest;
+        }
+    }
+}
+
+isolated function validateThrottlingThresholds(string priority, ThrottlingThresholds thresholds) returns error? {
+    if thresholds.slowDownAt < 0.0 || thresholds.shedAt > 1.0 || thresholds.slowDownAt > thresholds.shedAt {
+        return error(string `${priority} thresholds must satisfy 0 <= slowDownAt <= shedAt <= 1.`);
+    }
+}
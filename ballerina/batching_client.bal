@@ -0,0 +1,148 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/http;
+import ballerina/jballerina.java;
+
+# Configuration of a `BatchingClient`.
+public type BatchingConfig record {|
+    # The maximum time in seconds a write waits for other writes of the same sObject type and operation
+    decimal linger = 0.05;
+    # The maximum number of records sent in one request. Must be between 1 and 200
+    int maxBatchSize = 200;
+    # The maximum number of grouped requests sent concurrently
+    int maxConcurrency = 4;
+|};
+
+# Groups concurrent `create`, `update` and `delete` calls into sObject Collections requests.
+#
+# Writes of the same sObject type and operation that arrive within the `linger` window are sent as one request
+# of up to `maxBatchSize` records. Each call still completes with the result of its own record. Records of a
+# request are written independently, so the failure of one record does not affect the others. If Salesforce rejects
+# a request as a whole with HTTP 400, each of its writes is sent again on its own. Other failures of a request, such
+# as timeouts, are returned to every call of the request.
+public isolated client class BatchingClient {
+    private final Client salesforceClient;
+
+    # Initializes the batching client.
+    #
+    # + salesforceClient - The client used to send the grouped requests
+    # + config - Batching configuration
+    # + return - An error if the configuration is invalid
+    public isolated function init(Client salesforceClient, *BatchingConfig config) returns error? {
+        if config.linger < 0d {
+            return error("linger must not be negative.");
+        }
+        if config.maxBatchSize <= 0 || config.maxBatchSize > MAX_COLLECTION_WRITE_SIZE {
+            return error(string `maxBatchSize must be between 1 and ${MAX_COLLECTION_WRITE_SIZE}.`);
+        }
+        if config.maxConcurrency <= 0 {
+            return error("maxConcurrency must be greater than 0.");
+        }
+        self.salesforceClient = salesforceClient;
+        initWriteBatcher(self, config.cloneReadOnly());
+    }
+
+    # Creates a record.
+    #
+    # + sObjectName - sObject name value
+    # + sObject - Record to be inserted
+    # + return - `CreationResponse` if successful or else `error`
+    isolated remote function create(string sObjectName, record {} sObject) returns CreationResponse|error {
+        SaveResult result = check submitWrite(self, CREATE_OPERATION, sObjectName, sObject.clone());
+        check toError(result);
+        return {id: result.id ?: EMPTY_STRING, errors: [], success: true};
+    }
+
+    # Updates a record.
+    #
+    # + sObjectName - sObject name value
+    # + id - sObject ID
+    # + sObject - Record to be updated
+    # + return - `Nil` if successful, else returns an error
+    isolated remote function update(string sObjectName, string id, record {} sObject) returns error? {
+        record {} updatedRecord = sObject.clone();
+        updatedRecord["Id"] = id;
+        return toError(check submitWrite(self, UPDATE_OPERATION, sObjectName, updatedRecord));
+    }
+
+    # Deletes a record.
+    #
+    # + sObjectName - sObject name value
+    # + id - sObject ID
+    # + return - `Nil` if successful or else `error`
+    isolated remote function delete(string sObjectName, string id) returns error? {
+        return toError(check submitWrite(self, DELETE_OPERATION, sObjectName, id));
+    }
+
+    # Sends the writes that are waiting for their linger window to end and stops grouping. Calls made after
+    # closing return an error.
+    #
+    # + return - `()` or else an error
+    public isolated function close() returns error? {
+        closeWriteBatcher(self);
+    }
+
+    // Called by the native batcher with a group of up to `maxBatchSize` writes.
+    isolated function sendGroup(string operation, string sObjectName, anydata[] payloads)
+            returns SaveResult[]|error {
+        SaveResult[]|error results = self.writeCollection(operation, sObjectName, payloads);
+        if results is http:ClientRequestError && results.detail().statusCode == http:STATUS_BAD_REQUEST {
+            // Rejected as a whole, most likely because of one of its records. The native batcher sends each write
+            // of the group again on its own; other failures are returned to every caller of the group.
+            return error(results.message(), results, groupRejected = true);
+        }
+        return results;
+    }
+
+    isolated function writeCollection(string operation, string sObjectName, anydata[] payloads)
+            returns SaveResult[]|error {
+        if operation == DELETE_OPERATION {
+            string[] ids = check payloads.cloneWithType();
+            return self.salesforceClient.deleteCollection(ids, false);
+        }
+        record {}[] records = check payloads.cloneWithType();
+        if operation == UPDATE_OPERATION {
+            return self.salesforceClient.updateCollection(sObjectName, records, false);
+        }
+        return self.salesforceClient.createCollection(sObjectName, records, false);
+    }
+}
+
+isolated function toError(SaveResult result) returns Error? {
+    if result.success {
+        return;
+    }
+    CollectionError[] errors = result.errors;
+    if errors.length() == 0 {
+        return error Error("The record could not be written.");
+    }
+    return error Error(errors[0].message, errorCode = errors[0].statusCode, fields = errors[0].fields);
+}
+
+isolated function initWriteBatcher(BatchingClient batchingClient, BatchingConfig config) = @java:Method {
+    'class: "io.ballerinax.salesforce.WriteBatcher"
+} external;
+
+isolated function submitWrite(BatchingClient batchingClient, string operation, string sObjectName,
+        anydata payload) returns SaveResult|error = @java:Method {
+    'class: "io.ballerinax.salesforce.WriteBatcher"
+} external;
+
+isolated function closeWriteBatcher(BatchingClient batchingClient) = @java:Method {
+    'class: "io.ballerinax.salesforce.WriteBatcher"
+} external;
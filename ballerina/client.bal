@@ -18,6 +18,7 @@ import ballerina/http;
 import ballerina/io;
 import ballerina/jballerina.java;
 import ballerina/lang.runtime;
+import ballerina/log;
 import ballerina/time;
 import ballerinax/salesforce.utils;
 
@@ -25,8 +26,13 @@ import ballerinax/salesforce.utils;
 # This connector lets you to perform operations for SObjects, query using SOQL, search using SOSL, and describe SObjects
 # and organizational data.
 public isolated client class Client {
-    private final http:Client salesforceClient;
+    private final RestClient salesforceClient;
+    private final ApiUsageMonitor apiUsageMonitor;
     private final string apiBasePath;
+    private final readonly & QueryConfig queryConfig;
+    private final MetadataCache? metadataCache;
+    private final RecordCache? recordCache;
+    private final string baseUrl;
     private map<string> sfLocators = {};
 
     # Initializes the connector. During initialization you can pass either http:BearerTokenConfig if you have a bearer
@@ -64,13 +70,20 @@ public isolated client class Client {
         };
         httpClientResult = trap new (normalizedBaseUrl, httpClientConfig);
 
-        if httpClientResult is http:Client {
-            self.salesforceClient = httpClientResult;
-        } else {
+        if httpClientResult !is http:Client {
             return error(INVALID_CLIENT_CONFIG);
         }
+        ApiUsageMonitor apiUsageMonitor = config.apiUsageMonitor ?: check new ApiUsageMonitor(throttle = false);
+        self.salesforceClient = check new (httpClientResult, apiUsageMonitor, config.priority, config.laxDataBinding,
+            config.resilience, config.apiBudget);
+        self.apiUsageMonitor = apiUsageMonitor;
         check utils:validateApiVersion(config.apiVersion);
         self.apiBasePath = string `${BASE_PATH}/v${config.apiVersion}`;
+        check validateQueryConfig(config.queryConfig);
+        self.queryConfig = config.queryConfig.cloneReadOnly();
+        self.metadataCache = config.metadataCache;
+        self.recordCache = config.recordCache;
+        self.baseUrl = normalizedBaseUrl;
     }
 
     //Describe SObjects
@@ -80,7 +93,7 @@ public isolated client class Client {
     isolated remote function getOrganizationMetaData() returns
                                                     OrganizationMetadata|error {
         string path = utils:prepareUrl([self.apiBasePath, SOBJECTS]);
-        return check self.salesforceClient->get(path);
+        return check (check self.getMetadata(path)).cloneWithType();
     }
 
     # Gets basic data of the specified object.
@@ -90,7 +103,7 @@ public isolated client class Client {
     isolated remote function getBasicInfo(string sobjectName)
                                                 returns SObjectBasicInfo|error {
         string path = utils:prepareUrl([self.apiBasePath, SOBJECTS, sobjectName]);
-        return check self.salesforceClient->get(path);
+        return check (check self.getMetadata(path)).cloneWithType();
     }
 
     # Completely describes the individual metadata at all levels of the specified object. Can be used to retrieve
@@ -102,7 +115,24 @@ public isolated client class Client {
                                             returns SObjectMetaData|error {
 
         string path = utils:prepareUrl([self.apiBasePath, SOBJECTS, sObjectName, DESCRIBE]);
-        return check self.salesforceClient->get(path);
+        return check (check self.getMetadata(path)).cloneWithType();
+    }
+
+    # Returns the API usage of the org, as seen in the responses to this client and to the other clients sharing its
+    # `apiUsageMonitor`.
+    #
+    # + return - API usage and admission counters
+    public isolated function getApiUsage() returns ApiUsage {
+        return self.apiUsageMonitor.getUsage();
+    }
+
+    // Gets metadata through the metadata cache, if one is configured.
+    private isolated function getMetadata(string path) returns json|error {
+        MetadataCache? metadataCache = self.metadataCache;
+        if metadataCache is () {
+            return check self.salesforceClient->get(path);
+        }
+        return metadataCache.get(self.salesforceClient, self.baseUrl + path, path);
     }
 
     # Query for actions displayed in the UI, given a user, a context, device format, and a record ID.
@@ -119,7 +149,7 @@ public isolated client class Client {
     # + return - List of `Version` if successful. Else, the occurred `error`
     isolated remote function getApiVersions() returns Version[]|error {
         string path = utils:prepareUrl([BASE_PATH]);
-        return check self.salesforceClient->get(path);
+        return check (check self.getMetadata(path)).cloneWithType();
     }
 
     # Lists the resources available for the specified API version.
@@ -129,7 +159,7 @@ public isolated client class Client {
     isolated remote function getResources(string apiVersion)
                                                     returns map<string>|error {
         string path = utils:prepareUrl([BASE_PATH, apiVersion]);
-        json res = check self.salesforceClient->get(path);
+        json res = check self.getMetadata(path);
         return toMapOfStrings(res);
     }
 
@@ -160,8 +190,8 @@ public isolated client class Client {
         if fields.length() > 0 {
             path = path.concat(utils:appendQueryParams(fields));
         }
-        json response = check self.salesforceClient->get(path);
-        return check response.cloneWithType(returnType);
+        byte[] response = check self.getRecordPayload(string `${sobjectName}/${id}`, false, path);
+        return bindRecord(response, returnType);
     }
 
     # Gets an object record by external ID.
@@ -183,7 +213,23 @@ public isolated client class Client {
         if fields.length() > 0 {
             path = path.concat(utils:appendQueryParams(fields));
         }
-        return check self.salesforceClient->get(path);
+        byte[] response = check self.getRecordPayload(string `${sobjectName}/${extIdField}/${extId}`, true, path);
+        return bindRecord(response, returnType);
+    }
+
+    private isolated function getRecordPayload(string key, boolean byExternalId, string path) returns byte[]|error {
+        RecordCache? recordCache = self.recordCache;
+        if recordCache is () {
+            return check self.salesforceClient->get(path);
+        }
+        return recordCache.get(self.salesforceClient, key, byExternalId, path);
+    }
+
+    private isolated function invalidateRecord(string key, boolean byExternalId) {
+        RecordCache? recordCache = self.recordCache;
+        if recordCache is RecordCache {
+            invalidateCachedKey(recordCache, key, byExternalId);
+        }
     }
 
     # Creates records based on relevant object type sent with json record.
@@ -193,10 +239,8 @@ public isolated client class Client {
     # + return - `CreationResponse` if successful or else `error`
     isolated remote function create(string sObjectName, record {} sObject)
                                     returns CreationResponse|error {
-        http:Request req = new;
         string path = utils:prepareUrl([self.apiBasePath, SOBJECTS, sObjectName]);
-        req.setJsonPayload(sObject.toJson());
-        return check self.salesforceClient->post(path, req);
+        return check self.salesforceClient->post(path, sObject.toJson());
     }
 
     # Updates records based on relevant object ID.
@@ -207,10 +251,10 @@ public isolated client class Client {
     # + return - `Nil` if successful, else returns an error
     isolated remote function update(string sObjectName, string id, record {} sObject)
                                     returns error? {
-        http:Request req = new;
         string path = utils:prepareUrl([self.apiBasePath, SOBJECTS, sObjectName, id]);
-        req.setJsonPayload(sObject.toJson());
-        return check self.salesforceClient->patch(path, req);
+        error? result = self.salesforceClient->patch(path, sObject.toJson());
+        self.invalidateRecord(string `${sObjectName}/${id}`, false);
+        return result;
     }
 
     # Upsert a record based on the value of a specified external ID field.
@@ -222,10 +266,10 @@ public isolated client class Client {
     # + return - `Nil` if successful or else `error`
     isolated remote function upsert(string sObjectName, string externalIdField, string externalId,
             record {} sObject) returns error? {
-        http:Request req = new;
         string path = utils:prepareUrl([self.apiBasePath, SOBJECTS, sObjectName, externalIdField, externalId]);
-        req.setJsonPayload(sObject.toJson());
-        return check self.salesforceClient->patch(path, req);
+        error? result = self.salesforceClient->patch(path, sObject.toJson());
+        self.invalidateRecord(string `${sObjectName}/${externalIdField}/${externalId}`, true);
+        return result;
     }
 
     # Delete existing records based on relevant object ID.
@@ -236,7 +280,9 @@ public isolated client class Client {
     isolated remote function delete(string sObjectName, string id)
                                     returns error? {
         string path = utils:prepareUrl([self.apiBasePath, SOBJECTS, sObjectName, id]);
-        return check self.salesforceClient->delete(path);
+        error? result = self.salesforceClient->delete(path);
+        self.invalidateRecord(string `${sObjectName}/${id}`, false);
+        return result;
     }
 
     # Lists reports.
@@ -295,7 +341,8 @@ public isolated client class Client {
         return check self.salesforceClient->get(path);
     }
 
-    # Executes the specified SOQL query.
+    # Executes the specified SOQL query. If `bulkThreshold` is set in the `queryConfig`, large queries are run as
+    # Bulk API 2.0 query jobs.
     #
     # + soql - SOQL query
     # + returnType - The payload, which is expected to be returned after data binding
@@ -306,14 +353,295 @@ public isolated client class Client {
         name: "getQueryResult"
     } external;
 
-    private isolated function processGetQueryResult(typedesc<record {}[]> returnType, string receivedQuery)
-                                                    returns stream<record {}, error?>|error {
-        string path = utils:prepareQueryUrl([self.apiBasePath, QUERY], [Q], [receivedQuery]);
-        SOQLQueryResultStream objectInstance = check new (self.salesforceClient, path, returnType);
+    private isolated function processGetQueryResult(typedesc<record {}[]> returnType, string receivedQuery,
+            typedesc<record {}> recordType) returns stream<record {}, error?>|error {
+        stream<record {}, error?> finalStream = check self.getQueryStream(receivedQuery, false, recordType);
+        return self.streamQueryConverter(finalStream, returnType);
+    }
+
+    # Executes the specified SOQL query, including the deleted and archived records of the Recycle Bin.
+    #
+    # + soql - SOQL query
+    # + returnType - The payload, which is expected to be returned after data binding
+    # + return - `stream<{returnType}, error?>` if successful. Else, the occurred `error`
+    isolated remote function queryAll(string soql, typedesc<record {}> returnType = <>)
+                                    returns stream<returnType, error?>|error = @java:Method {
+        'class: "io.ballerinax.salesforce.ReadOperationExecutor",
+        name: "getQueryAllResult"
+    } external;
+
+    private isolated function processGetQueryAllResult(typedesc<record {}[]> returnType, string receivedQuery,
+            typedesc<record {}> recordType) returns stream<record {}, error?>|error {
+        stream<record {}, error?> finalStream = check self.getQueryStream(receivedQuery, true, recordType);
+        return self.streamQueryConverter(finalStream, returnType);
+    }
+
+    // Streams the records of a query through REST, or through a Bulk API 2.0 query job if the query is expected to
+    // return more than `bulkThreshold` records.
+    private isolated function getQueryStream(string soql, boolean includeDeleted, typedesc<record {}> recordType)
+            returns stream<record {}, error?>|error {
+        int? bulkThreshold = self.queryConfig.bulkThreshold;
+        if bulkThreshold is int && isBulkQueryable(soql) {
+            int|error recordCount = self.countQueryRecords(soql, includeDeleted);
+            if recordCount is int && recordCount > bulkThreshold {
+                string jobPath = check self.runBulkQueryJob(soql, includeDeleted);
+                BulkQueryResultStream objectInstance = check new (self.salesforceClient,
+                    utils:prepareUrl([jobPath, RESULT]), recordType, self.queryConfig);
+                stream<record {}, error?> bulkStream = new (objectInstance);
+                return bulkStream;
+            }
+        }
+        string path = utils:prepareQueryUrl([self.apiBasePath, includeDeleted ? QUERY_ALL : QUERY], [Q], [soql]);
+        SOQLQueryResultStream objectInstance = check new (self.salesforceClient, path, recordType, self.queryConfig);
+        stream<record {}, error?> restStream = new (objectInstance);
+        return restStream;
+    }
+
+    // Returns the number of records of a query, counted with a `SELECT COUNT()` probe over its filter and bounded by
+    // its `LIMIT`.
+    private isolated function countQueryRecords(string soql, boolean includeDeleted) returns int|error {
+        string sObjectName = check getSObjectName(soql);
+        string whereClause = getWhereClause(soql);
+        string filter = whereClause == PRIVATE_EMPTY_STRING ? PRIVATE_EMPTY_STRING : string ` WHERE ${whereClause}`;
+        string probe = string `SELECT COUNT() FROM ${sObjectName}${filter}`;
+        SoqlQueryResult response = check self.salesforceClient->get(
+            utils:prepareQueryUrl([self.apiBasePath, includeDeleted ? QUERY_ALL : QUERY], [Q], [probe]));
+        int? queryLimit = getQueryLimit(soql);
+        return queryLimit is int ? int:min(response.totalSize, queryLimit) : response.totalSize;
+    }
+
+    // Runs a query as a Bulk API 2.0 query job and returns the path of the job once it has completed. A job that
+    // fails, or is still running after `bulkJobTimeout`, is aborted if needed and deleted.
+    private isolated function runBulkQueryJob(string soql, boolean includeDeleted) returns string|error {
+        record {} payload = {"operation": includeDeleted ? QUERY_ALL : QUERY, "query": soql};
+        BulkJob job = check self.salesforceClient->post(utils:prepareUrl([self.apiBasePath, JOBS, QUERY]), payload);
+        string jobPath = utils:prepareUrl([self.apiBasePath, JOBS, QUERY, job.id]);
+        BulkJobInfo|error jobInfo = self.waitForBulkJob(jobPath, self.queryConfig.bulkPollInterval,
+            self.queryConfig.bulkJobTimeout);
+        if jobInfo is BulkJobInfo && jobInfo.state == JOB_COMPLETE {
+            return jobPath;
+        }
+        if jobInfo is error {
+            error? aborted = self.salesforceClient->patch(jobPath, {"state": ABORTED});
+            if aborted is error {
+                log:printWarn("Failed to abort query job", jobId = job.id, 'error = aborted);
+            }
+        }
+        error? deleted = self.salesforceClient->delete(jobPath);
+        if deleted is error {
+            log:printWarn("Failed to delete query job", jobId = job.id, 'error = deleted);
+        }
+        return jobInfo is error ? jobInfo : error(string `Query job '${job.id}' ended in the ${jobInfo.state} state.`,
+            errorMessage = jobInfo["errorMessage"]);
+    }
+
+    # Executes the specified SOQL query, checkpointing the query locator and the number of records read to the
+    # `CursorStore` of the configuration each time all the records of a page have been read from the stream. If the
+    # store has a checkpoint of the query, the query resumes at the first page not yet read, so records of at most
+    # one page are delivered again. The checkpoint is removed once all the records have been read.
+    #
+    # Salesforce expires query locators that are not used for a while. Resuming from an expired locator fails, and
+    # the checkpoint must then be removed from the store to start the query over.
+    #
+    # + soql - SOQL query
+    # + config - Resumable query configurations
+    # + returnType - The payload, which is expected to be returned after data binding
+    # + return - `stream<{returnType}, error?>` if successful. Else, the occurred `error`
+    isolated remote function queryResumable(string soql, ResumableQueryConfig config = {},
+            typedesc<record {}> returnType = <>) returns stream<returnType, error?>|error = @java:Method {
+        'class: "io.ballerinax.salesforce.ReadOperationExecutor",
+        name: "getResumableQueryResult"
+    } external;
+
+    private isolated function processGetResumableQueryResult(typedesc<record {}[]> returnType, string receivedQuery,
+            ResumableQueryConfig config, typedesc<record {}> recordType) returns stream<record {}, error?>|error {
+        CursorStore store = config.cursorStore ?: defaultCursorStore;
+        string cursorId = config.cursorId ?: receivedQuery;
+        QueryCursorState? saved = check store.getCursor(cursorId);
+        QueryCursorState state;
+        string path;
+        if saved is () {
+            state = {soql: receivedQuery, includeDeleted: config.includeDeleted, nextRecordsUrl: PRIVATE_EMPTY_STRING,
+                recordsConsumed: 0};
+            path = utils:prepareQueryUrl([self.apiBasePath, config.includeDeleted ? QUERY_ALL : QUERY], [Q],
+                [receivedQuery]);
+        } else if saved.soql != receivedQuery || saved.includeDeleted != config.includeDeleted {
+            return error(string `Cursor '${cursorId}' has a checkpoint of a different query.`);
+        } else {
+            state = saved.clone();
+            path = saved.nextRecordsUrl;
+        }
+        SOQLQueryResultStream objectInstance = check new (self.salesforceClient, path, recordType, self.queryConfig,
+            {store, cursorId, state});
+        stream<record {}, error?> finalStream = new (objectInstance);
+        return self.streamQueryConverter(finalStream, returnType);
+    }
+
+    # Executes the specified SOQL query and writes the results to a file, without binding the records to Ballerina
+    # values. Pages are written as they arrive while the following pages are fetched ahead, as configured by the
+    # `prefetchDepth` of the `queryConfig`. An existing file is overwritten, and the file is removed if the export fails.
+    #
+    # + soql - SOQL query
+    # + filePath - Path of the file to write
+    # + format - Format of the file
+    # + return - `ExportResult` if successful. Else, the occurred `error`
+    isolated remote function queryToFile(string soql, string filePath, ExportFormat format = CSV)
+            returns ExportResult|error {
+        string path = utils:prepareQueryUrl([self.apiBasePath, QUERY], [Q], [soql]);
+        readonly & map<string> headers = getQueryHeaders(self.queryConfig);
+        int prefetchDepth = self.queryConfig.prefetchDepth;
+        decimal startTime = time:monotonicNow();
+        QueryPage[] pages = check fetchQueryPages(self.salesforceClient, path, headers, 1);
+        QueryFileWriter writer = check new (filePath, format, soql);
+        future<QueryPage[]|error>? pendingPages = ();
+        int rows = 0;
+        do {
+            while pages.length() > 0 {
+                QueryPage page = pages.shift();
+                string nextRecordsUrl = page.nextRecordsUrl;
+                if pages.length() == 0 && prefetchDepth > 0 && nextRecordsUrl.trim() != PRIVATE_EMPTY_STRING {
+                    // Fetch the following pages while the last buffered one is written.
+                    pendingPages = start fetchQueryPages(self.salesforceClient, nextRecordsUrl, headers,
+                        prefetchDepth);
+                }
+                rows += check writer.writePage(page.cursor);
+                if pages.length() > 0 {
+                    continue;
+                }
+                future<QueryPage[]|error>? pending = pendingPages;
+                if pending !is () {
+                    pendingPages = ();
+                    pages = check wait pending;
+                } else if nextRecordsUrl.trim() != PRIVATE_EMPTY_STRING {
+                    pages = check fetchQueryPages(self.salesforceClient, nextRecordsUrl, headers, 1);
+                }
+            }
+            check writer.close();
+        } on fail error e {
+            future<QueryPage[]|error>? pending = pendingPages;
+            if pending !is () {
+                pending.cancel();
+            }
+            closeQueryPages((), pages);
+            writer.abort();
+            return e;
+        }
+        decimal seconds = time:monotonicNow() - startTime;
+        return {rows, seconds, rowsPerSecond: seconds > 0d ? <decimal>rows / seconds : 0d};
+    }
+
+    # Executes the specified SOQL query as a set of disjoint partitions fetched concurrently.
+    # The query is split on `Id` boundaries sampled from the query result, or on `CreatedDate`/`SystemModstamp`
+    # windows spanning the values in the query result. Queries with `GROUP BY`, `HAVING`, `LIMIT` or `OFFSET`
+    # clauses cannot be partitioned.
+    #
+    # + soql - SOQL query
+    # + config - Partitioning configurations
+    # + returnType - The payload, which is expected to be returned after data binding
+    # + return - `stream<{returnType}, error?>` if successful. Else, the occurred `error`
+    isolated remote function queryPartitioned(string soql, PartitionedQueryConfig config = {},
+            typedesc<record {}> returnType = <>) returns stream<returnType, error?>|error = @java:Method {
+        'class: "io.ballerinax.salesforce.ReadOperationExecutor",
+        name: "getPartitionedQueryResult"
+    } external;
+
+    private isolated function processGetPartitionedQueryResult(typedesc<record {}[]> returnType, string receivedQuery,
+            PartitionedQueryConfig config, typedesc<record {}> recordType) returns stream<record {}, error?>|error {
+        check validatePartitionedQueryConfig(config);
+        string[] boundaries = config.partitions > 1 ? check self.getPartitionBoundaries(receivedQuery, config) : [];
+        string[] paths = [];
+        foreach int i in 0 ... boundaries.length() {
+            string[] conditions = [];
+            if i > 0 {
+                conditions.push(string `${config.strategy} >= ${boundaries[i - 1]}`);
+            }
+            if i < boundaries.length() {
+                conditions.push(string `${config.strategy} < ${boundaries[i]}`);
+            }
+            string partitionQuery = conditions.length() > 0 ?
+                check addFilter(receivedQuery, string:'join(" AND ", ...conditions)) : receivedQuery;
+            paths.push(utils:prepareQueryUrl([self.apiBasePath, QUERY], [Q], [partitionQuery]));
+        }
+        PartitionedQueryResultStream objectInstance = new (self.salesforceClient, paths.cloneReadOnly(), recordType,
+            self.queryConfig, config);
         stream<record {}, error?> finalStream = new (objectInstance);
         return self.streamQueryConverter(finalStream, returnType);
     }
 
+    // Returns the inner partition boundaries, in ascending order, formatted as SOQL literals.
+    private isolated function getPartitionBoundaries(string soql, PartitionedQueryConfig config)
+            returns string[]|error {
+        string sObjectName = check getSObjectName(soql);
+        string whereClause = getWhereClause(soql);
+        string filter = whereClause == PRIVATE_EMPTY_STRING ? PRIVATE_EMPTY_STRING : string ` WHERE ${whereClause}`;
+        if config.strategy != ID_RANGE {
+            string probe = string `SELECT MIN(${config.strategy}) lowest, MAX(${config.strategy}) highest ` +
+                string `FROM ${sObjectName}${filter}`;
+            SoqlQueryResult response = check self.salesforceClient->get(
+                utils:prepareQueryUrl([self.apiBasePath, QUERY], [Q], [probe]));
+            if response.records.length() == 0 {
+                return [];
+            }
+            anydata lowest = response.records[0]["lowest"];
+            anydata highest = response.records[0]["highest"];
+            if lowest !is string || highest !is string {
+                return [];
+            }
+            return getDateWindowBoundaries(lowest, highest, config.partitions);
+        }
+        // Sample the Id boundaries by jumping to the offsets of the query cursor instead of reading every page.
+        // Positioning relies on the undocumented `<cursor>-<offset>` form of `nextRecordsUrl`. If Salesforce
+        // changes it, the jump fails or returns records out of order, and the query is split into fewer
+        // partitions (or none) instead of failing.
+        string probe = string `SELECT Id FROM ${sObjectName}${filter} ORDER BY Id`;
+        SoqlQueryResult response = check self.salesforceClient->get(
+            utils:prepareQueryUrl([self.apiBasePath, QUERY], [Q], [probe]),
+            getQueryHeaders({batchSize: MIN_QUERY_BATCH_SIZE}));
+        string cursorUrl = response.hasKey(NEXT_RECORDS_URL) ? check response.get(NEXT_RECORDS_URL).ensureType() :
+            PRIVATE_EMPTY_STRING;
+        int? cursorSeparator = cursorUrl.lastIndexOf("-");
+        if cursorUrl != PRIVATE_EMPTY_STRING && (cursorSeparator is () ||
+                int:fromString(cursorUrl.substring(cursorSeparator + 1)) is error) {
+            // The cursor cannot be positioned, so the query is not partitioned.
+            return [];
+        }
+        string[] boundaries = [];
+        foreach int i in 1 ..< config.partitions {
+            int offset = response.totalSize * i / config.partitions;
+            record {}[] records = response.records;
+            int position = offset;
+            if offset >= records.length() {
+                if cursorSeparator is () {
+                    break;
+                }
+                SoqlQueryResult|error page = self.salesforceClient->get(
+                    string `${cursorUrl.substring(0, cursorSeparator)}-${offset}`,
+                    getQueryHeaders({batchSize: MIN_QUERY_BATCH_SIZE}));
+                if page is error {
+                    log:printWarn("Query cursor could not be positioned; using fewer Id partitions",
+                            offset = offset, 'error = page);
+                    break;
+                }
+                records = page.records;
+                position = 0;
+            }
+            if position >= records.length() {
+                break;
+            }
+            string boundary = string `'${check records[position]["Id"].ensureType(string)}'`;
+            if boundaries.length() > 0 && boundary < boundaries[boundaries.length() - 1] {
+                // The cursor did not move to the requested offset, so the sampled Ids cannot be trusted.
+                log:printWarn("Query cursor returned records out of order; the query is not partitioned",
+                        offset = offset);
+                return [];
+            }
+            if boundaries.length() == 0 || boundaries[boundaries.length() - 1] != boundary {
+                boundaries.push(boundary);
+            }
+        }
+        return boundaries;
+    }
+
     # Executes the specified SOSL search.
     #
     # + sosl - SOSL search query
@@ -379,6 +707,43 @@ public isolated client class Client {
         return check self.salesforceClient->get(finalUrl);
     }
 
+    # Streams the records of an sObject changed since the previous sync, for replication of objects without Change Data
+    # Capture. Updated and created records are delivered as `returnType` records, fetched in parallel sObject
+    # Collections retrieve requests, followed by the `RecordDeletion`s of the same time window.
+    #
+    # The span since the watermark of the sync is split into windows, as Salesforce limits the number of IDs returned
+    # at once. The watermark advances in the `WatermarkStore` of the configuration each time all the changes of a
+    # window have been read from the stream, so a sync that fails or is closed early resumes at the start of the
+    # window it was in. Changes can therefore be delivered more than once, and should be applied as upserts.
+    #
+    # + sObjectName - sObject name
+    # + config - Sync configurations
+    # + returnType - The type of the changed records
+    # + return - `stream<{returnType}|RecordDeletion, error?>` if successful. Else, the occurred `error`
+    isolated remote function getChanges(string sObjectName, SyncConfig config = {},
+            typedesc<record {}> returnType = <>) returns stream<returnType|RecordDeletion, error?>|error =
+            @java:Method {
+        'class: "io.ballerinax.salesforce.ReadOperationExecutor"
+    } external;
+
+    private isolated function processGetChanges(typedesc<record {}[]> returnType, string sObjectName,
+            SyncConfig config, string[] fields, typedesc<record {}> recordType) returns stream<record {}, error?>|error {
+        if config.maxConcurrency <= 0 {
+            return error("maxConcurrency must be greater than 0.");
+        }
+        if config.maxWindow < MIN_SYNC_WINDOW {
+            return error(string `maxWindow must be at least ${MIN_SYNC_WINDOW} seconds.`);
+        }
+        if config.initialLookback < 0d {
+            return error("initialLookback must not be negative.");
+        }
+        readonly & string[] fieldList = fields.length() > 0 ? fields.cloneReadOnly() : ["Id"];
+        ChangeStream objectInstance = check new (self.salesforceClient, self.apiBasePath, sObjectName, fieldList,
+            recordType, config);
+        stream<record {}, error?> finalStream = new (objectInstance);
+        return self.streamQueryConverter(finalStream, returnType);
+    }
+
     # Get the password information
     #
     # + userId - User ID
@@ -431,14 +796,537 @@ public isolated client class Client {
         return check self.salesforceClient->get(path);
     }
 
-    # Executes up to 25 sub-requests in a single request.
+    # Executes sub-requests in batches. The sub-requests are sent in requests of up to 25 sub-requests, with at
+    # most `maxConcurrency` requests in flight, and the results are merged in input order.
     #
     # + batchRequests - A record containing all the requests
-    # + haltOnError - If true, the request halts when an error occurs on an individual sub-request
+    # + haltOnError - If true, the request halts when an error occurs on an individual sub-request. The requests
+    # are then sent one after another, and the sub-requests after the failed one get a `412` result
+    # + maxConcurrency - The maximum number of requests sent concurrently
     # + return - `BatchResult` if successful or else `error`
-    isolated remote function batch(Subrequest[] batchRequests, boolean haltOnError = false) returns BatchResult|error {
+    isolated remote function batch(Subrequest[] batchRequests, boolean haltOnError = false, int maxConcurrency = 4)
+            returns BatchResult|error {
+        if maxConcurrency <= 0 {
+            return error("maxConcurrency must be greater than 0.");
+        }
+        if batchRequests.length() <= MAX_BATCH_SUBREQUESTS {
+            return self.sendBatch(batchRequests.cloneReadOnly(), 0, batchRequests.length(), haltOnError);
+        }
+        readonly & Subrequest[] subrequests = batchRequests.cloneReadOnly();
+        int total = subrequests.length();
+        int concurrency = haltOnError ? 1 : maxConcurrency;
+        BatchResult merged = {hasErrors: false, results: []};
+        future<BatchResult|error>[] inFlight = [];
+        int offset = 0;
+        while offset < total || inFlight.length() > 0 {
+            if offset < total && inFlight.length() < concurrency {
+                int end = int:min(offset + MAX_BATCH_SUBREQUESTS, total);
+                future<BatchResult|error> chunk = start self.sendBatch(subrequests, offset, end, haltOnError);
+                inFlight.push(chunk);
+                offset = end;
+                continue;
+            }
+            BatchResult|error chunkResult = wait inFlight.shift();
+            if chunkResult is error {
+                foreach future<BatchResult|error> pending in inFlight {
+                    pending.cancel();
+                }
+                return chunkResult;
+            }
+            merged.hasErrors = merged.hasErrors || chunkResult.hasErrors;
+            merged.results.push(...chunkResult.results);
+            if haltOnError && chunkResult.hasErrors {
+                foreach int i in merged.results.length() ..< total {
+                    merged.results.push({
+                        statusCode: 412,
+                        result: [{errorCode: BATCH_PROCESSING_HALTED, message: BATCH_HALTED_MESSAGE}]
+                    });
+                }
+                break;
+            }
+        }
+        return merged;
+    }
+
+    private isolated function sendBatch(readonly & Subrequest[] subrequests, int fromIndex, int toIndex,
+            boolean haltOnError) returns BatchResult|error {
         string path = utils:prepareUrl([self.apiBasePath, COMPOSITE, BATCH]);
-        record {} payload = {"batchRequests": batchRequests, "haltOnError": haltOnError};
+        record {} payload = {"batchRequests": subrequests.slice(fromIndex, toIndex), "haltOnError": haltOnError};
+        return check self.salesforceClient->post(path, payload);
+    }
+
+    # Creates records of one sObject type through the sObject Collections API. The records are sent in requests
+    # of up to 200 records.
+    #
+    # + sObjectName - sObject name value
+    # + records - Records to be inserted
+    # + config - sObject Collections configurations
+    # + return - The result of each record in input order, or else `error`
+    isolated remote function createMany(string sObjectName, record {}[] records, *CollectionConfig config)
+            returns SaveResult[]|error {
+        return self.writeInChunks({operation: CREATE_OPERATION, sObjectName, records: records.cloneReadOnly()},
+            config);
+    }
+
+    # Updates records of one sObject type through the sObject Collections API. Each record must contain its `Id`.
+    # The records are sent in requests of up to 200 records.
+    #
+    # + sObjectName - sObject name value
+    # + records - Records to be updated
+    # + config - sObject Collections configurations
+    # + return - The result of each record in input order, or else `error`
+    isolated remote function updateMany(string sObjectName, record {}[] records, *CollectionConfig config)
+            returns SaveResult[]|error {
+        return self.writeInChunks({operation: UPDATE_OPERATION, sObjectName, records: records.cloneReadOnly()},
+            config);
+    }
+
+    # Upserts records of one sObject type based on the value of an external ID field, through the sObject
+    # Collections API. The records are sent in requests of up to 200 records.
+    #
+    # + sObjectName - sObject name value
+    # + externalIdField - External ID field of the object
+    # + records - Records to be upserted
+    # + config - sObject Collections configurations
+    # + return - The result of each record in input order, or else `error`
+    isolated remote function upsertMany(string sObjectName, string externalIdField, record {}[] records,
+            *CollectionConfig config) returns SaveResult[]|error {
+        return self.writeInChunks({
+            operation: UPSERT_OPERATION,
+            sObjectName,
+            externalIdField,
+            records: records.cloneReadOnly()
+        }, config);
+    }
+
+    # Deletes records through the sObject Collections API. The IDs are sent in requests of up to 200 IDs.
+    #
+    # + ids - IDs of the records to be deleted
+    # + config - sObject Collections configurations
+    # + return - The result of each record in input order, or else `error`
+    isolated remote function deleteMany(string[] ids, *CollectionConfig config) returns SaveResult[]|error {
+        return self.writeInChunks({operation: DELETE_OPERATION, ids: ids.cloneReadOnly()}, config);
+    }
+
+    # Inserts records of one sObject type, choosing how to send them from their number, their size and the API usage
+    # of the org. Up to `maxCollectionRecords` records are read ahead: if the stream ends within the limits of the
+    # configuration, they are sent in parallel sObject Collections requests, and otherwise all the records are
+    # written through Bulk API 2.0 ingest jobs. If a job, a record or the stream fails after jobs have run, a
+    # `WriteError` is returned with the outcome of those jobs.
+    #
+    # + sObjectName - sObject name value
+    # + records - Records to be inserted
+    # + config - Routing configurations
+    # + return - The outcome of the write, or else `error`
+    isolated remote function insertAll(string sObjectName, stream<record {}, error?> records,
+            *WriteRouterConfig config) returns WriteResult|error {
+        return self.writeAll({operation: INSERT, sObjectName}, records, config);
+    }
+
+    # Upserts records of one sObject type based on the value of an external ID field, choosing how to send them from
+    # their number, their size and the API usage of the org, as `insertAll` does.
+    #
+    # + sObjectName - sObject name value
+    # + externalIdField - External ID field of the object
+    # + records - Records to be upserted
+    # + config - Routing configurations
+    # + return - The outcome of the write, or else `error`
+    isolated remote function upsertAll(string sObjectName, string externalIdField,
+            stream<record {}, error?> records, *WriteRouterConfig config) returns WriteResult|error {
+        return self.writeAll({operation: UPSERT, sObjectName, externalIdField}, records, config);
+    }
+
+    # Deletes records of one sObject type, choosing how to send them from their number, their size and the API usage
+    # of the org, as `insertAll` does. Each record must contain its `Id`, and its other fields are ignored.
+    #
+    # + sObjectName - sObject name value
+    # + records - Records to be deleted
+    # + config - Routing configurations
+    # + return - The outcome of the write, or else `error`
+    isolated remote function deleteAll(string sObjectName, stream<record {}, error?> records,
+            *WriteRouterConfig config) returns WriteResult|error {
+        return self.writeAll({operation: DELETE, sObjectName}, records, config);
+    }
+
+    private isolated function writeAll(RoutedWrite write, stream<record {}, error?> records,
+            WriteRouterConfig config) returns WriteResult|error {
+        if config.maxCollectionRecords < 0 || config.maxCollectionBytes < 0 {
+            return error("maxCollectionRecords and maxCollectionBytes must not be negative.");
+        }
+        if config.maxConcurrency <= 0 || config.maxJobBytes <= 0 || config.pollInterval <= 0d
+                || config.jobTimeout <= 0d {
+            return error("maxConcurrency, maxJobBytes, pollInterval and jobTimeout must be greater than 0.");
+        }
+        // A job takes the same few API requests whatever its size, so when API usage is high, inputs that need more
+        // than one sObject Collections request are written through Bulk API 2.0.
+        int maxRecords = self.apiUsageMonitor.getUsage().usage >= config.highApiUsage
+            ? int:min(config.maxCollectionRecords, MAX_COLLECTION_WRITE_SIZE) : config.maxCollectionRecords;
+        record {}[] buffered = [];
+        int bytes = 0;
+        while true {
+            record {|record {} value;|}? next = check records.next();
+            if next is () {
+                return self.writeThroughCollections(write, buffered, config.maxConcurrency);
+            }
+            buffered.push(next.value);
+            bytes += next.value.toJsonString().toBytes().length();
+            if buffered.length() > maxRecords || bytes > config.maxCollectionBytes {
+                return self.writeThroughBulk(write, buffered, records, config);
+            }
+        }
+    }
+
+    private isolated function writeThroughCollections(RoutedWrite write, record {}[] records, int maxConcurrency)
+            returns WriteResult|error {
+        readonly & record {}[] recordList = records.cloneReadOnly();
+        CollectionWrite collectionWrite;
+        if write.operation == DELETE {
+            string[] ids = [];
+            foreach int i in 0 ..< recordList.length() {
+                ids.push(check getRecordId(recordList[i], i));
+            }
+            collectionWrite = {operation: DELETE_OPERATION, ids};
+        } else if write.operation == UPSERT {
+            collectionWrite = {
+                operation: UPSERT_OPERATION,
+                sObjectName: write.sObjectName,
+                externalIdField: write.externalIdField,
+                records: recordList
+            };
+        } else {
+            collectionWrite = {operation: CREATE_OPERATION, sObjectName: write.sObjectName, records: recordList};
+        }
+        SaveResult[] results = check self.writeInChunks(collectionWrite.cloneReadOnly(), {maxConcurrency});
+        WriteResult writeResult = {route: COLLECTIONS, processed: 0, failures: []};
+        foreach int i in 0 ..< results.length() {
+            if results[i].success {
+                writeResult.processed += 1;
+            } else {
+                writeResult.failures.push({
+                    'record: recordList[i],
+                    message: getCollectionErrorMessage(results[i].errors)
+                });
+            }
+        }
+        return writeResult;
+    }
+
+    // Writes the records read ahead and the rest of the stream as CSV through ingest jobs of up to `maxJobBytes`
+    // each. The columns are those of the records read ahead. If a job, a record or the stream fails, the outcome of
+    // the jobs already run is returned in the detail of the error.
+    private isolated function writeThroughBulk(RoutedWrite write, record {}[] buffered,
+            stream<record {}, error?> records, WriteRouterConfig config) returns WriteResult|error {
+        WriteResult writeResult = {route: BULK, processed: 0, failures: []};
+        error? written = self.writeIngestJobs(write, buffered, records, config, writeResult);
+        if written is error {
+            return error WriteError(written.message(), written, result = writeResult.cloneReadOnly());
+        }
+        return writeResult;
+    }
+
+    private isolated function writeIngestJobs(RoutedWrite write, record {}[] buffered,
+            stream<record {}, error?> records, WriteRouterConfig config, WriteResult writeResult) returns error? {
+        string[] columns = write.operation == DELETE ? [ID] : getCsvColumns(buffered);
+        string header = string:'join(",", ...columns.'map(column => escapeCsvValue(column)));
+        string[] lines = [];
+        int jobBytes = 0;
+        int index = 0;
+        while true {
+            record {} rec;
+            if index < buffered.length() {
+                rec = buffered[index];
+            } else {
+                record {|record {} value;|}? next = check records.next();
+                if next is () {
+                    break;
+                }
+                rec = next.value;
+            }
+            string line = write.operation == DELETE ? escapeCsvValue(check getRecordId(rec, index))
+                : check getCsvLine(rec, columns, index);
+            int lineBytes = line.toBytes().length() + 1;
+            if lines.length() > 0 && jobBytes + lineBytes > config.maxJobBytes {
+                check self.runIngestJob(write, header, lines, config, writeResult);
+                lines = [];
+                jobBytes = 0;
+            }
+            lines.push(line);
+            jobBytes += lineBytes;
+            index += 1;
+        }
+        if lines.length() > 0 {
+            check self.runIngestJob(write, header, lines, config, writeResult);
+        }
+    }
+
+    // Runs an ingest job over CSV lines, and adds its outcome to the write result.
+    private isolated function runIngestJob(RoutedWrite write, string header, string[] lines,
+            WriteRouterConfig config, WriteResult writeResult) returns error? {
+        BulkCreatePayload payload = {
+            'object: write.sObjectName,
+            operation: write.operation,
+            contentType: "CSV",
+            lineEnding: LF
+        };
+        if write.operation == UPSERT {
+            payload.externalIdFieldName = write.externalIdField;
+        }
+        BulkJob job = check self.salesforceClient->post(utils:prepareUrl([self.apiBasePath, JOBS, INGEST]), payload);
+        writeResult.jobIds.push(job.id);
+        string jobPath = utils:prepareUrl([self.apiBasePath, JOBS, INGEST, job.id]);
+        string csv = string:'join(NEW_LINE, header, ...lines) + NEW_LINE;
+        error? uploaded = self.salesforceClient->put(utils:prepareUrl([jobPath, BATCHES]), csv,
+            mediaType = "text/csv");
+        if uploaded is error {
+            error? aborted = self.salesforceClient->patch(jobPath, {"state": ABORTED});
+            return aborted is error
+                ? error(string `Failed to upload the data of ingest job '${job.id}', which could not be aborted.`,
+                    uploaded)
+                : uploaded;
+        }
+        error? closed = self.salesforceClient->patch(jobPath, {"state": UPLOAD_COMPLETE});
+        check closed;
+        BulkJobInfo|error jobInfo = self.waitForBulkJob(jobPath, config.pollInterval, config.jobTimeout);
+        if jobInfo is error {
+            error? aborted = self.salesforceClient->patch(jobPath, {"state": ABORTED});
+            if aborted is error {
+                log:printWarn("Failed to abort ingest job", jobId = job.id, 'error = aborted);
+            }
+            return jobInfo;
+        }
+        if jobInfo.state != JOB_COMPLETE {
+            return error(string `Ingest job '${job.id}' ended in the ${jobInfo.state} state.`,
+                errorMessage = jobInfo["errorMessage"]);
+        }
+        string failedResults = check self.salesforceClient->get(utils:prepareUrl([jobPath, FAILED_RESULTS]));
+        string[][] rows = failedResults.trim() == PRIVATE_EMPTY_STRING ? [] : check parseCsvString(failedResults);
+        // The first row names the columns: `sf__Id`, `sf__Error`, and the columns of the job.
+        int failed = int:max(0, rows.length() - 1);
+        foreach string[] row in rows.slice(int:min(1, rows.length())) {
+            map<anydata> fields = {};
+            foreach int i in 2 ..< row.length() {
+                fields[rows[0][i]] = row[i];
+            }
+            writeResult.failures.push({'record: fields, message: row.length() > 1 ? row[1] : PRIVATE_EMPTY_STRING});
+        }
+        writeResult.processed += (jobInfo.numberRecordsProcessed ?: 0) - failed;
+    }
+
+    // Polls a job until it is complete, failed or aborted. Returns an error if it is still running after `timeout`
+    // seconds.
+    private isolated function waitForBulkJob(string jobPath, decimal pollInterval, decimal? timeout = ())
+            returns BulkJobInfo|error {
+        decimal? deadline = timeout is () ? () : time:monotonicNow() + timeout;
+        while true {
+            runtime:sleep(pollInterval);
+            BulkJobInfo jobInfo = check self.salesforceClient->get(jobPath);
+            if jobInfo.state == JOB_COMPLETE || jobInfo.state == FAILED || jobInfo.state == ABORTED {
+                return jobInfo;
+            }
+            if deadline is decimal && time:monotonicNow() >= deadline {
+                return error(string `Bulk job '${jobInfo.id}' did not finish within ${timeout ?: 0d} seconds.`);
+            }
+        }
+    }
+
+    # Retrieves records of one sObject type by ID through the sObject Collections API. The fields of `returnType`
+    # are retrieved, or only `Id` if it declares none. The IDs are sent in requests of up to 2000 IDs.
+    #
+    # + sObjectName - sObject name value
+    # + ids - IDs of the records to be retrieved
+    # + maxConcurrency - The maximum number of requests sent concurrently
+    # + returnType - The payload, which is expected to be returned after data binding
+    # + return - The records in the order of `ids`, with `()` for IDs that were not found, or else `error`
+    isolated remote function getMany(string sObjectName, string[] ids, int maxConcurrency = 4,
+            typedesc<record {}> returnType = <>) returns (returnType?)[]|error = @java:Method {
+        'class: "io.ballerinax.salesforce.ReadOperationExecutor",
+        name: "getRecordsByIds"
+    } external;
+
+    private isolated function processGetRecordsByIds(typedesc<(record {}?)[]> returnType, string sObjectName,
+            string[] ids, string[] fields, int maxConcurrency) returns (record {}?)[]|error {
+        if maxConcurrency <= 0 {
+            return error("maxConcurrency must be greater than 0.");
+        }
+        readonly & string[] idList = ids.cloneReadOnly();
+        readonly & string[] fieldList = fields.length() > 0 ? fields.cloneReadOnly() : ["Id"];
+        json[] records = [];
+        future<json[]|error>[] inFlight = [];
+        int offset = 0;
+        while offset < idList.length() || inFlight.length() > 0 {
+            if offset < idList.length() && inFlight.length() < maxConcurrency {
+                int end = int:min(offset + MAX_COLLECTION_RETRIEVE_SIZE, idList.length());
+                future<json[]|error> chunk = start retrieveRecords(self.salesforceClient, self.apiBasePath,
+                    sObjectName, idList.slice(offset, end).cloneReadOnly(), fieldList);
+                inFlight.push(chunk);
+                offset = end;
+                continue;
+            }
+            json[]|error chunkRecords = wait inFlight.shift();
+            if chunkRecords is error {
+                foreach future<json[]|error> pending in inFlight {
+                    pending.cancel();
+                }
+                return chunkRecords;
+            }
+            records.push(...chunkRecords);
+        }
+        return records.cloneWithType(returnType);
+    }
+
+    # Retrieves records of one sObject type by ID through the sObject Collections API, as a stream. The fields of
+    # `returnType` are retrieved, or only `Id` if it declares none. The IDs are sent in requests of up to 2000 IDs,
+    # and the records of a request are streamed as soon as the requests before it have been streamed, so that large
+    # ID lists are not held in memory as records.
+    #
+    # + sObjectName - sObject name value
+    # + ids - IDs of the records to be retrieved
+    # + maxConcurrency - The maximum number of requests sent concurrently
+    # + returnType - The payload, which is expected to be returned after data binding
+    # + return - `stream<{returnType}, error?>` of the records in the order of `ids`, skipping IDs that were not
+    # found, if successful. Else, the occurred `error`
+    isolated remote function getByIds(string sObjectName, string[] ids, int maxConcurrency = 4,
+            typedesc<record {}> returnType = <>) returns stream<returnType, error?>|error = @java:Method {
+        'class: "io.ballerinax.salesforce.ReadOperationExecutor",
+        name: "getRecordsByIdsAsStream"
+    } external;
+
+    private isolated function processGetRecordsByIdsAsStream(typedesc<record {}[]> returnType, string sObjectName,
+            string[] ids, string[] fields, int maxConcurrency, typedesc<record {}> recordType)
+            returns stream<record {}, error?>|error {
+        if maxConcurrency <= 0 {
+            return error("maxConcurrency must be greater than 0.");
+        }
+        readonly & string[] fieldList = fields.length() > 0 ? fields.cloneReadOnly() : ["Id"];
+        RecordsByIdsStream objectInstance = new (self.salesforceClient, self.apiBasePath, sObjectName,
+            ids.cloneReadOnly(), fieldList, recordType, maxConcurrency);
+        stream<record {}, error?> finalStream = new (objectInstance);
+        return self.streamQueryConverter(finalStream, returnType);
+    }
+
+    // Sends the writes in requests of up to 200 records, with at most `maxConcurrency` requests in flight, and
+    // returns the results in input order. The records of a request that fails as a whole get a failed result.
+    private isolated function writeInChunks(readonly & CollectionWrite write, CollectionConfig config)
+            returns SaveResult[]|error {
+        if config.maxConcurrency <= 0 {
+            return error("maxConcurrency must be greater than 0.");
+        }
+        int total = write.operation == DELETE_OPERATION ? write.ids.length() : write.records.length();
+        int maxConcurrency = config.allOrNone ? 1 : config.maxConcurrency;
+        SaveResult[] results = [];
+        future<SaveResult[]|error>[] inFlight = [];
+        int offset = 0;
+        while offset < total || inFlight.length() > 0 {
+            if offset < total && inFlight.length() < maxConcurrency {
+                int end = int:min(offset + MAX_COLLECTION_WRITE_SIZE, total);
+                future<SaveResult[]|error> chunk = start self.writeChunk(write, offset, end, config.allOrNone);
+                inFlight.push(chunk);
+                offset = end;
+                continue;
+            }
+            int chunkSize = int:min(MAX_COLLECTION_WRITE_SIZE, total - results.length());
+            SaveResult[]|error chunkResults = wait inFlight.shift();
+            boolean failed = chunkResults is error;
+            if chunkResults is error {
+                results.push(...getFailedResults(chunkSize, REQUEST_FAILED, chunkResults.message()));
+            } else {
+                results.push(...chunkResults);
+                foreach SaveResult result in chunkResults {
+                    failed = failed || !result.success;
+                }
+            }
+            if config.allOrNone && failed && results.length() < total {
+                results.push(...getFailedResults(total - results.length(), NOT_PROCESSED,
+                    "The record was not processed because an earlier request failed."));
+                break;
+            }
+        }
+        return results;
+    }
+
+    private isolated function writeChunk(readonly & CollectionWrite write, int fromIndex, int toIndex,
+            boolean allOrNone) returns SaveResult[]|error {
+        match write.operation {
+            DELETE_OPERATION => {
+                return self.deleteCollection(write.ids.slice(fromIndex, toIndex), allOrNone);
+            }
+            UPDATE_OPERATION => {
+                return self.updateCollection(write.sObjectName, write.records.slice(fromIndex, toIndex), allOrNone);
+            }
+            UPSERT_OPERATION => {
+                return self.upsertCollection(write.sObjectName, write.externalIdField,
+                    write.records.slice(fromIndex, toIndex), allOrNone);
+            }
+        }
+        return self.createCollection(write.sObjectName, write.records.slice(fromIndex, toIndex), allOrNone);
+    }
+
+    // Creates up to 200 records of one sObject type in a single sObject Collections request.
+    isolated function createCollection(string sObjectName, record {}[] records, boolean allOrNone)
+            returns SaveResult[]|error {
+        string path = utils:prepareUrl([self.apiBasePath, COMPOSITE, SOBJECTS]);
+        return check self.salesforceClient->post(path, getCollectionPayload(sObjectName, records, allOrNone));
+    }
+
+    // Updates up to 200 records of one sObject type in a single sObject Collections request. Each record must
+    // contain its `Id`.
+    isolated function updateCollection(string sObjectName, record {}[] records, boolean allOrNone)
+            returns SaveResult[]|error {
+        string path = utils:prepareUrl([self.apiBasePath, COMPOSITE, SOBJECTS]);
+        return check self.salesforceClient->patch(path, getCollectionPayload(sObjectName, records, allOrNone));
+    }
+
+    // Upserts up to 200 records of one sObject type in a single sObject Collections request.
+    isolated function upsertCollection(string sObjectName, string externalIdField, record {}[] records,
+            boolean allOrNone) returns SaveResult[]|error {
+        string path = utils:prepareUrl([self.apiBasePath, COMPOSITE, SOBJECTS, sObjectName, externalIdField]);
+        return check self.salesforceClient->patch(path, getCollectionPayload(sObjectName, records, allOrNone));
+    }
+
+    // Deletes up to 200 records in a single sObject Collections request.
+    isolated function deleteCollection(string[] ids, boolean allOrNone) returns SaveResult[]|error {
+        string path = utils:addQueryParameters(utils:prepareUrl([self.apiBasePath, COMPOSITE, SOBJECTS]), {
+            ids: string:'join(",", ...ids),
+            allOrNone: allOrNone.toString()
+        });
+        return check self.salesforceClient->delete(path);
+    }
+
+    # Executes up to 25 subrequests in a single request. Unlike `batch`, subrequests are executed in order and can
+    # refer to the results of earlier subrequests with `@{referenceId.field}`.
+    #
+    # + compositeRequest - The subrequests, which can be built with a `CompositeRequestBuilder`
+    # + allOrNone - If true, all the subrequests are rolled back when one of them fails
+    # + collateSubrequests - If true, independent subrequests are collated to run more efficiently
+    # + return - `CompositeResult` if successful or else `error`
+    isolated remote function composite(CompositeSubrequest[] compositeRequest, boolean allOrNone = false,
+            boolean collateSubrequests = false) returns CompositeResult|error {
+        if compositeRequest.length() > MAX_COMPOSITE_SUBREQUESTS {
+            return error(string `A composite request can have at most ${MAX_COMPOSITE_SUBREQUESTS} subrequests.`);
+        }
+        string path = utils:prepareUrl([self.apiBasePath, COMPOSITE]);
+        record {} payload = {
+            "allOrNone": allOrNone,
+            "collateSubrequests": collateSubrequests,
+            "compositeRequest": compositeRequest
+        };
+        return check self.salesforceClient->post(path, payload);
+    }
+
+    # Executes one or more graphs of up to 500 subrequests each in a single request. The subrequests of a graph can
+    # refer to the results of earlier subrequests of the same graph, and are rolled back together if one of them
+    # fails.
+    #
+    # + graphs - The graphs, which can be built with a `CompositeRequestBuilder`
+    # + return - `CompositeGraphResponse` if successful or else `error`
+    isolated remote function compositeGraph(CompositeGraph[] graphs) returns CompositeGraphResponse|error {
+        foreach CompositeGraph graph in graphs {
+            if graph.compositeRequest.length() > MAX_COMPOSITE_GRAPH_NODES {
+                return error(string `Graph '${graph.graphId}' has more than ${MAX_COMPOSITE_GRAPH_NODES} subrequests.`);
+            }
+        }
+        string path = utils:prepareUrl([self.apiBasePath, COMPOSITE, GRAPH]);
+        record {} payload = {"graphs": graphs};
         return check self.salesforceClient->post(path, payload);
     }
 
@@ -291,6 +291,21 @@ isolated class CometdStateManager {
         }
     }
 
+    # Reads a persisted checkpoint. Errors are logged and reported as no
+    # checkpoint, which at worst re-delivers events to a service.
+    #
+    # + key - Channel name or service checkpoint key
+    # + return - The persisted `replayId`, or `()` if none exists or it cannot be read
+    public isolated function getCheckpoint(string key) returns int? {
+        int|error? checkpoint = self.coordinator.getCheckpoint(key);
+        if checkpoint is error {
+            log:printWarn("Failed to read replayId checkpoint; the service may receive " +
+                    "already-handled events", key = key, 'error = checkpoint);
+            return;
+        }
+        return checkpoint;
+    }
+
     // -----------------------------------------------------------------------
     // Private — leadership loop internals
     // -----------------------------------------------------------------------
@@ -0,0 +1,186 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerinax/salesforce.utils;
+
+# Builds the subrequests of `composite` and `compositeGraph` requests from typed records.
+#
+# The functions that add a subrequest return the ID of the record it affects, which can be used as a field value or ID
+# of a later subrequest. Where the ID is only known once the subrequest has run, it is a reference to its result:
+# ```ballerina
+# salesforce:CompositeRequestBuilder builder = check new;
+# string accountId = check builder.create("NewAccount", "Account", {Name: "Acme"});
+# _ = check builder.create("NewContact", "Contact", {LastName: "Doe", AccountId: accountId});
+# salesforce:CompositeResult result = check salesforceClient->composite(check builder.build());
+# ```
+public class CompositeRequestBuilder {
+    private final string apiBasePath;
+    private CompositeSubrequest[] subrequests = [];
+    private map<()> referenceIds = {};
+
+    # Initializes the builder.
+    #
+    # + apiVersion - The Salesforce API version used in the subrequest URLs
+    # + return - An error if the API version is invalid
+    public isolated function init(string apiVersion = "59.0") returns error? {
+        check utils:validateApiVersion(apiVersion);
+        self.apiBasePath = string `${BASE_PATH}/v${apiVersion}`;
+    }
+
+    # Adds a subrequest that creates a record.
+    #
+    # + referenceId - Reference ID of the subrequest
+    # + sObjectName - sObject name
+    # + sObject - Record to be created
+    # + return - A reference to the ID of the created record, or an error if the reference ID is already used
+    public isolated function create(string referenceId, string sObjectName, record {} sObject) returns string|error {
+        return self.add({
+            method: "POST",
+            url: utils:prepareUrl([self.apiBasePath, SOBJECTS, sObjectName]),
+            referenceId,
+            body: sObject.toJson()
+        });
+    }
+
+    # Adds a subrequest that updates a record.
+    #
+    # + referenceId - Reference ID of the subrequest
+    # + sObjectName - sObject name
+    # + id - ID of the record, or a reference to it
+    # + sObject - Fields to be updated
+    # + return - The `id` argument, or an error if the reference ID is already used. An update has no response body
+    # to refer to, so the ID is returned as given (which may itself be a reference to an earlier subrequest)
+    public isolated function update(string referenceId, string sObjectName, string id, record {} sObject)
+            returns string|error {
+        _ = check self.add({
+            method: "PATCH",
+            url: utils:prepareUrl([self.apiBasePath, SOBJECTS, sObjectName, id]),
+            referenceId,
+            body: sObject.toJson()
+        });
+        return id;
+    }
+
+    # Adds a subrequest that upserts a record based on the value of an external ID field.
+    #
+    # + referenceId - Reference ID of the subrequest
+    # + sObjectName - sObject name
+    # + externalIdField - External ID field of the object
+    # + externalId - External ID
+    # + sObject - Record to be upserted
+    # + return - A reference to the ID of the upserted record, or an error if the reference ID is already used
+    public isolated function upsert(string referenceId, string sObjectName, string externalIdField,
+            string externalId, record {} sObject) returns string|error {
+        return self.add({
+            method: "PATCH",
+            url: utils:prepareUrl([self.apiBasePath, SOBJECTS, sObjectName, externalIdField, externalId]),
+            referenceId,
+            body: sObject.toJson()
+        });
+    }
+
+    # Adds a subrequest that deletes a record.
+    #
+    # + referenceId - Reference ID of the subrequest
+    # + sObjectName - sObject name
+    # + id - ID of the record, or a reference to it
+    # + return - An error if the reference ID is already used
+    public isolated function delete(string referenceId, string sObjectName, string id) returns error? {
+        _ = check self.add({
+            method: "DELETE",
+            url: utils:prepareUrl([self.apiBasePath, SOBJECTS, sObjectName, id]),
+            referenceId
+        });
+    }
+
+    # Adds a subrequest that retrieves a record.
+    #
+    # + referenceId - Reference ID of the subrequest
+    # + sObjectName - sObject name
+    # + id - ID of the record, or a reference to it
+    # + fields - Fields to be retrieved. All fields are retrieved if empty
+    # + return - A reference to the ID of the retrieved record, or an error if the reference ID is already used
+    public isolated function get(string referenceId, string sObjectName, string id, string[] fields = [])
+            returns string|error {
+        string url = utils:prepareUrl([self.apiBasePath, SOBJECTS, sObjectName, id]);
+        return self.add({
+            method: "GET",
+            url: fields.length() > 0 ? url.concat(utils:appendQueryParams(fields)) : url,
+            referenceId
+        });
+    }
+
+    # Adds a subrequest that executes a SOQL query.
+    #
+    # + referenceId - Reference ID of the subrequest
+    # + soql - SOQL query, which may contain references to earlier subrequests
+    # + return - An error if the reference ID is already used
+    public isolated function query(string referenceId, string soql) returns error? {
+        // References are resolved by Salesforce before the URL is decoded, so they are kept unencoded.
+        string url = utils:prepareQueryUrl([self.apiBasePath, QUERY], [Q], [soql]);
+        url = re `%40%7B[\w.]*(%5B\d+%5D[\w.]*)*%7D`.replaceAll(url, decodeReference);
+        _ = check self.add({method: "GET", url, referenceId});
+    }
+
+    # Returns a reference to a field of the result of a subrequest, such as `@{NewAccount.id}`.
+    #
+    # + referenceId - Reference ID of the subrequest
+    # + fieldName - Field of the subrequest result
+    # + return - The reference
+    public isolated function reference(string referenceId, string fieldName = "id") returns string {
+        return string `@{${referenceId}.${fieldName}}`;
+    }
+
+    # Returns the subrequests added so far, for a `composite` request.
+    #
+    # + return - The subrequests, or an error if there are more than a composite request allows
+    public isolated function build() returns CompositeSubrequest[]|error {
+        if self.subrequests.length() > MAX_COMPOSITE_SUBREQUESTS {
+            return error(string `A composite request can have at most ${MAX_COMPOSITE_SUBREQUESTS} subrequests.`);
+        }
+        return self.subrequests.clone();
+    }
+
+    # Returns the subrequests added so far as a graph, for a `compositeGraph` request.
+    #
+    # + graphId - ID of the graph
+    # + return - The graph, or an error if there are more subrequests than a graph allows
+    public isolated function buildGraph(string graphId) returns CompositeGraph|error {
+        if self.subrequests.length() > MAX_COMPOSITE_GRAPH_NODES {
+            return error(string `A graph can have at most ${MAX_COMPOSITE_GRAPH_NODES} subrequests.`);
+        }
+        return {graphId, compositeRequest: self.subrequests.clone()};
+    }
+
+    private isolated function add(CompositeSubrequest subrequest) returns string|error {
+        if self.referenceIds.hasKey(subrequest.referenceId) {
+            return error(string `Reference ID '${subrequest.referenceId}' is already used.`);
+        }
+        self.referenceIds[subrequest.referenceId] = ();
+        self.subrequests.push(subrequest);
+        return self.reference(subrequest.referenceId);
+    }
+}
+
+// Decodes a reference such as `%40%7BNewAccount.id%7D` in an encoded URL, leaving the rest of the URL encoded.
+isolated function decodeReference(regexp:Groups groups) returns string {
+    string reference = groups[0].substring();
+    reference = re `%40%7B`.replaceAll(reference, "@{");
+    reference = re `%7D`.replaceAll(reference, "}");
+    reference = re `%5B`.replaceAll(reference, "[");
+    return re `%5D`.replaceAll(reference, "]");
+}
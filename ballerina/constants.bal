@@ -94,6 +94,7 @@ const string PLATFORM_ACTION = "PlatformAction";
 
 // Query param names
 const string QUERY = "query";
+const string QUERY_ALL = "queryAll";
 
 // Result param names
 const string RESULT = "results";
@@ -127,7 +128,89 @@ const string FORWARD_SLASH = "/";
 # Next records URl
 const NEXT_RECORDS_URL = "nextRecordsUrl";
 
+# Header used to set the page size of SOQL query results
+const SFORCE_QUERY_OPTIONS = "Sforce-Query-Options";
+
+# Bounds of the SOQL query page size
+const int MIN_QUERY_BATCH_SIZE = 200;
+const int MAX_QUERY_BATCH_SIZE = 2000;
+
+# Maximum number of records in an sObject Collections write request
+const int MAX_COLLECTION_WRITE_SIZE = 200;
+
+# Maximum number of IDs in an sObject Collections retrieve request
+const int MAX_COLLECTION_RETRIEVE_SIZE = 2000;
+
+# HTTP headers used to revalidate cached responses
+const IF_NONE_MATCH = "If-None-Match";
+const IF_MODIFIED_SINCE = "If-Modified-Since";
+const ETAG = "ETag";
+const LAST_MODIFIED = "Last-Modified";
+
+# Response header with the API usage of the org
+const SFORCE_LIMIT_INFO = "Sforce-Limit-Info";
+
+# Response header with the locator of the next chunk of Bulk API 2.0 query results, `null` after the last chunk
+const SFORCE_LOCATOR = "Sforce-Locator";
+const NULL_LOCATOR = "null";
+
+# Response header with the delay in seconds before a request can be retried
+const RETRY_AFTER = "Retry-After";
+
+# Salesforce error codes of requests that can be retried
+const UNABLE_TO_LOCK_ROW = "UNABLE_TO_LOCK_ROW";
+const REQUEST_LIMIT_EXCEEDED = "REQUEST_LIMIT_EXCEEDED";
+
+# Part of the `REQUEST_LIMIT_EXCEEDED` message when the daily API request limit is reached
+const TOTAL_REQUESTS_LIMIT = "TotalRequests";
+
+# Operation classes of `ResilienceConfig`
+const READ_OPERATIONS = "reads";
+const WRITE_OPERATIONS = "writes";
+const COMPOSITE_OPERATIONS = "composite";
+
+# Longest time in seconds for which Salesforce keeps the updated and deleted record history
+const decimal MAX_CHANGE_HISTORY = 2592000;
+
+# Shortest time span in seconds of a sync window, the resolution of the updated and deleted resources
+const decimal MIN_SYNC_WINDOW = 60;
+
+# Error code of an updated records request with more IDs than Salesforce returns at once
+const EXCEEDED_ID_LIMIT = "EXCEEDED_ID_LIMIT";
+
+# Path segment of the composite resources
+const COMPOSITE_PATH_SEGMENT = "/composite";
+
+# Maximum number of subrequests in a composite batch request
+const int MAX_BATCH_SUBREQUESTS = 25;
+
+# Result of a batch subrequest that was not executed because an earlier subrequest failed
+const BATCH_PROCESSING_HALTED = "BATCH_PROCESSING_HALTED";
+const BATCH_HALTED_MESSAGE = "Batch processing halted because an earlier subrequest failed.";
+
+# Maximum number of subrequests in a composite request
+const int MAX_COMPOSITE_SUBREQUESTS = 25;
+
+# Maximum number of subrequests in a graph of a composite graph request
+const int MAX_COMPOSITE_GRAPH_NODES = 500;
+
+const string GRAPH = "graph";
+
+# sObject Collections write operations
+const CREATE_OPERATION = "create";
+const UPDATE_OPERATION = "update";
+const UPSERT_OPERATION = "upsert";
+const DELETE_OPERATION = "delete";
+
+# Status codes of records that were not written because their request failed or was not sent
+const REQUEST_FAILED = "REQUEST_FAILED";
+const NOT_PROCESSED = "NOT_PROCESSED";
+
 const ATTRIBUTES = "attributes";
+const ID = "Id";
+
+# Value of a Bulk API 2.0 CSV field that is set to null
+const BULK_NULL_VALUE = "#N/A";
 
 //  SObjects
 # Constant field `ACCOUNT`. Holds the value Account for account object.
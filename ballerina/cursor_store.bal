@@ -0,0 +1,84 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+# Position of a resumable SOQL query, checkpointed by `Client->queryResumable` each time all the records of a page
+# have been read from the stream.
+public type QueryCursorState record {|
+    # The SOQL query
+    string soql;
+    # Whether the query includes deleted and archived records, as with `Client->queryAll`
+    boolean includeDeleted;
+    # The query locator URL of the first page not yet read, or an empty string if all the pages have been read
+    string nextRecordsUrl;
+    # Number of records read from the query so far
+    int recordsConsumed;
+|};
+
+# Pluggable store of the checkpoints of `Client->queryResumable`. Implementations must be `isolated`.
+#
+# The default implementation (`InMemoryCursorStore`) keeps the checkpoints in process memory, so a restarted process
+# starts the query over. Provide an implementation backed by a database or another durable store to resume queries
+# across restarts.
+public type CursorStore isolated object {
+
+    # Reads the checkpoint of a query.
+    #
+    # + cursorId - The ID of the cursor
+    # + return - The checkpoint, `()` if the query has none, or an `error`
+    public isolated function getCursor(string cursorId) returns QueryCursorState?|error;
+
+    # Writes the checkpoint of a query, after the records up to it have been read.
+    #
+    # + cursorId - The ID of the cursor
+    # + state - The new checkpoint
+    # + return - `()` on success, or an `error` if the write fails
+    public isolated function setCursor(string cursorId, QueryCursorState state) returns error?;
+
+    # Removes the checkpoint of a query, once all its records have been read.
+    #
+    # + cursorId - The ID of the cursor
+    # + return - `()` on success, or an `error` if the delete fails
+    public isolated function clearCursor(string cursorId) returns error?;
+};
+
+# Default in-memory cursor store. Checkpoints are not kept across restarts.
+public isolated class InMemoryCursorStore {
+    *CursorStore;
+
+    private final map<QueryCursorState> cursors = {};
+
+    public isolated function getCursor(string cursorId) returns QueryCursorState?|error {
+        lock {
+            return self.cursors[cursorId].clone();
+        }
+    }
+
+    public isolated function setCursor(string cursorId, QueryCursorState state) returns error? {
+        lock {
+            self.cursors[cursorId] = state.clone();
+        }
+    }
+
+    public isolated function clearCursor(string cursorId) returns error? {
+        lock {
+            _ = self.cursors.removeIfHasKey(cursorId);
+        }
+    }
+}
+
+// Store used by resumable queries that do not configure one.
+final InMemoryCursorStore defaultCursorStore = new;
@@ -38,6 +38,9 @@ public type SoapBasedListenerConfig record {|
     CredentialsConfig auth;
     # The type of salesforce environment, if sandbox environment or not
     boolean isSandBox = false;
+    # Store for sharing SOAP login sessions across replicas. Sessions are always reused within the
+    # current process until they expire; see `salesforce:SessionStore` for the implementation contract
+    SessionStore sessionStore?;
     *CommonListenerConfig;
 |};
 
@@ -96,6 +99,12 @@ public type RestBasedListenerConfig record {|
     #
     # See `salesforce:ListenerCoordinationConfig` for field-level documentation.
     ListenerCoordinationConfig coordination = {};
+    # Multi-tenant host to run this listener on. When set, the listener uses the host's shared
+    # Streaming API transport and dispatch workers, and its events are scheduled fairly against
+    # the other tenants on the host. Configure the proxy on the host instead of `proxyConfig`
+    ListenerHost host?;
+    # The tenant the listener is scheduled and reported under on the `host`. Defaults to `baseUrl`
+    string tenantId?;
     *CommonListenerConfig;
 |};
 
@@ -147,6 +156,29 @@ public type CommonListenerConfig record {|
     int sessionTimeout = 900;
     # Proxy server configuration
     ProxyConfig proxyConfig?;
+    # Batched record enrichment for CDC `UPDATE` events. When set, the listener fetches the full
+    # records for the configured entities and delivers them in `EventData.enrichedRecords`
+    EnrichmentConfig enrichment?;
+|};
+
+# Batched record enrichment settings for CDC `UPDATE` events.
+#
+# Record IDs are collected over a short window and fetched with one sObject Collections retrieve
+# per entity and per 2000 IDs, instead of one `getById` call per event. Events are still delivered
+# in order; an event waiting for enrichment holds back the events that arrive after it.
+public type EnrichmentConfig record {|
+    # Fields to retrieve, keyed by entity name (e.g. `{"Account": ["Name", "Industry", "OwnerId"]}`).
+    # `UPDATE` events for entities that are not listed are delivered without enrichment
+    map<string[]> fields;
+    # The time in seconds to collect record IDs before fetching them
+    decimal window = 0.2;
+    # The maximum number of record IDs fetched in a single retrieve request (1 to 2000)
+    int maxBatchSize = 2000;
+    # The time in seconds a fetched record is reused for later events on the same record.
+    # Set to `0` to disable caching
+    decimal cacheTtl = 5;
+    # The maximum number of records kept in the enrichment cache
+    int cacheSize = 1000;
 |};
 
 # The replay options representing the point in time when events are read.
@@ -163,6 +195,10 @@ public type EventData record {
     map<json> changedData;
     # Header fields that contain information about the event
     ChangeEventMetadata metadata?;
+    # The full records for the event's record IDs, with the changed values from the event applied.
+    # Present only for `UPDATE` events when `enrichment` is configured on the listener and the
+    # records could be fetched
+    map<json>[] enrichedRecords?;
 };
 
 # Contains data returned from a Platform Event
@@ -193,4 +229,11 @@ public type ChangeEventMetadata record {
     int commitNumber?;
     # The record ID for the changed record
     string recordId?;
+    # The record IDs of all the records changed by the event. Salesforce groups changes that are identical for
+    # several records of the same transaction into one event, so there can be more than one
+    string[] recordIds?;
+    # The fields set to null by the change
+    string[] nulledFields?;
+    # The large text fields whose change is sent as a diff rather than as the new value
+    string[] diffFields?;
 };
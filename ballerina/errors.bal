@@ -27,6 +27,18 @@ public type ErrorDetails record {
     string? message?;
 };
 
+# Represents a failure of `Client->insertAll`, `Client->upsertAll` or `Client->deleteAll` after ingest jobs may have
+# written some of the records.
+public type WriteError distinct error<WriteErrorDetail>;
+
+# Details of a `WriteError`.
+#
+# + result - The outcome of the ingest jobs run before the failure, including their IDs and the number of records
+#            they processed
+public type WriteErrorDetail record {|
+    WriteResult result;
+|};
+
 // Error constants
 const string JSON_ACCESSING_ERROR_MSG = "Error occurred while accessing the JSON payload of the response.";
 const string XML_ACCESSING_ERROR_MSG = "Error occurred while accessing the XML payload of the response.";
@@ -79,6 +79,10 @@ public isolated class Listener {
         check utils:validateApiVersion(listenerConfig.apiVersion);
         self.apiVersion = listenerConfig.apiVersion;
         ProxyConfig? proxyConfig = listenerConfig?.proxyConfig;
+        EnrichmentConfig? enrichment = listenerConfig?.enrichment;
+        if enrichment is EnrichmentConfig {
+            check validateEnrichmentConfig(enrichment);
+        }
 
         if listenerConfig is RestBasedListenerConfig {
             decimal liveness = listenerConfig.coordination.livenessInterval;
@@ -134,8 +138,16 @@ public isolated class Listener {
             } else {
                 self.tokenManager = ();
             }
+            ListenerHost? host = listenerConfig?.host;
+            if host is ListenerHost && proxyConfig is ProxyConfig {
+                return error("proxyConfig cannot be set on a listener that runs on a ListenerHost. " +
+                        "Configure the proxy on the ListenerHost instead.");
+            }
             initListenerWithOAuth2(self, self.replayFrom, self.baseUrl,
-                    connectionTimeout, readTimeout, keepAliveInterval, self.apiVersion, proxyConfig);
+                    connectionTimeout, readTimeout, keepAliveInterval, self.apiVersion, proxyConfig, enrichment);
+            if host is ListenerHost {
+                check attachToHost(self, host, listenerConfig?.tenantId ?: self.baseUrl);
+            }
         } else {
             // SOAP path: install an in-memory coordinator with sentinel intervals.
             // The state manager exists but is never started — SOAP uses the legacy
@@ -149,7 +161,8 @@ public isolated class Listener {
             self.oauth2Config = ();
             self.tokenManager = ();
             initListener(self, self.replayFrom, listenerConfig.isSandBox,
-                    connectionTimeout, readTimeout, keepAliveInterval, self.apiVersion, proxyConfig);
+                    connectionTimeout, readTimeout, keepAliveInterval, self.apiVersion, proxyConfig, enrichment,
+                    self.sessionTimeout, listenerConfig?.sessionStore);
         }
     }
 
@@ -160,6 +173,10 @@ public isolated class Listener {
     # `salesforce:Listener` instance for each channel you need to subscribe to. SOAP listeners are
     # unaffected and may still attach multiple services on different channels.
     #
+    # Several services may attach to the same channel. They share a single subscription: each event
+    # is received and decoded once, then delivered to every service. A failure in one service (and its
+    # `onError`) does not prevent the other services from receiving the event.
+    #
     # + s - Service object to attach. Use `CdcService` for CDC channels and `PlatformEventsService` for platform events.
     # + name - Channel name to subscribe to (e.g. `/data/ChangeEvents` or `/event/MyEvent__e`)
     # + return - `()` or else a `error` upon failure to register the service
@@ -364,6 +381,16 @@ public isolated class Listener {
         self.stateManager.saveCheckpoint(channel, replayId);
     }
 
+    # Called by the Java dispatcher (`DispatcherService`) to read the checkpoint
+    # of a service attached to a channel, so that events redelivered from the
+    # channel checkpoint are not handled twice by services that are already past them.
+    #
+    # + key - The service checkpoint key (`<channel>#<service type>`)
+    # + return - The persisted replay ID, or `()` if none exists or it cannot be read
+    public isolated function getEventCheckpoint(string key) returns int? {
+        return self.stateManager.getCheckpoint(key);
+    }
+
     # Retrieves the OAuth2 access token based on the configured grant type.
     # For RefreshTokenGrantConfig, uses TokenManager which handles refresh token rotation.
     # Invalidates the cached token first to ensure a fresh token is obtained on re-auth.
@@ -575,9 +602,26 @@ isolated class TokenRefreshJob {
     }
 }
 
+isolated function validateEnrichmentConfig(EnrichmentConfig enrichment) returns error? {
+    if enrichment.window <= 0d {
+        return error("enrichment.window must be greater than 0.");
+    }
+    if enrichment.maxBatchSize < 1 || enrichment.maxBatchSize > 2000 {
+        return error("enrichment.maxBatchSize must be between 1 and 2000.");
+    }
+    if enrichment.cacheTtl < 0d || enrichment.cacheSize < 0 {
+        return error("enrichment.cacheTtl and enrichment.cacheSize must not be negative.");
+    }
+    foreach [string, string[]] [entityName, fields] in enrichment.fields.entries() {
+        if fields.length() == 0 {
+            return error(string `enrichment.fields['${entityName}'] must list at least one field.`);
+        }
+    }
+}
+
 isolated function initListener(Listener instance, int replayFrom, boolean isSandBox,
         decimal connectionTimeout, decimal readTimeout, decimal keepAliveInterval, string apiVersion,
-        ProxyConfig? proxyConfig) =
+        ProxyConfig? proxyConfig, EnrichmentConfig? enrichment, int sessionTimeout, SessionStore? sessionStore) =
 @java:Method {
     'class: "io.ballerinax.salesforce.ListenerUtil",
     paramTypes: [
@@ -588,13 +632,16 @@ isolated function initListener(Listener instance, int replayFrom, boolean isSand
         "io.ballerina.runtime.api.values.BDecimal",
         "io.ballerina.runtime.api.values.BDecimal",
         "io.ballerina.runtime.api.values.BString",
+        "java.lang.Object",
+        "java.lang.Object",
+        "long",
         "java.lang.Object"
     ]
 } external;
 
 isolated function initListenerWithOAuth2(Listener instance, int replayFrom, string baseUrl,
         decimal connectionTimeout, decimal readTimeout, decimal keepAliveInterval,
-        string apiVersion, ProxyConfig? proxyConfig) =
+        string apiVersion, ProxyConfig? proxyConfig, EnrichmentConfig? enrichment) =
 @java:Method {
     name: "initListener",
     'class: "io.ballerinax.salesforce.ListenerUtil",
@@ -606,6 +653,7 @@ isolated function initListenerWithOAuth2(Listener instance, int replayFrom, stri
         "io.ballerina.runtime.api.values.BDecimal",
         "io.ballerina.runtime.api.values.BDecimal",
         "io.ballerina.runtime.api.values.BString",
+        "java.lang.Object",
         "java.lang.Object"
     ]
 } external;
@@ -0,0 +1,144 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+import ballerina/jballerina.java;
+
+# Configuration of a `ListenerHost`.
+public type ListenerHostConfig record {|
+    # The number of worker threads that dispatch events to services, shared by all tenants
+    int dispatchWorkers = 8;
+    # The default maximum number of events queued per tenant. When a tenant's queue is full,
+    # that tenant's next long poll is delayed until its backlog drains. Events already received
+    # in the reply that filled the queue are still queued
+    int queueCapacity = 1000;
+    # The default number of events a worker dispatches for a tenant before moving on to the next tenant
+    int eventsPerTurn = 10;
+    # Quota overrides keyed by tenant ID
+    map<TenantQuota> tenantQuotas = {};
+    # Proxy server configuration for the shared Streaming API transport
+    ProxyConfig proxyConfig?;
+|};
+
+# Scheduling quota of a single tenant on a `ListenerHost`.
+public type TenantQuota record {|
+    # The maximum number of events queued for the tenant
+    int queueCapacity;
+    # The number of events dispatched for the tenant per scheduling turn
+    int eventsPerTurn;
+|};
+
+# Dispatch metrics of a tenant on a `ListenerHost`.
+public type TenantMetrics record {|
+    # The tenant ID
+    string tenantId;
+    # The number of running listeners attached to the host under this tenant
+    int listeners;
+    # The number of events received from Salesforce
+    int eventsReceived;
+    # The number of events dispatched to services
+    int eventsDispatched;
+    # The number of events whose dispatch failed
+    int eventsFailed;
+    # The number of events currently waiting for a dispatch worker
+    int queueDepth;
+    # The number of times delivery paused because the tenant's queue was full
+    int throttledCount;
+    # The average time in seconds spent dispatching an event
+    decimal averageDispatchTime;
+|};
+
+# Runs the listeners of many orgs (tenants) over shared resources.
+#
+# Listeners created with `host` in their configuration share the host's pool of dispatch workers, and
+# listeners with the same SSL configuration share a Streaming API transport (HTTP connection pools and
+# I/O threads), instead of creating their own. Events are queued per tenant and the workers serve tenants in round-robin order, a bounded
+# number of events per turn, so that one busy org cannot starve the others. Events of a tenant are
+# dispatched in order.
+public isolated class ListenerHost {
+
+    # Initializes the host and starts its dispatch workers. A shared transport is started when the first
+    # listener that uses it starts.
+    #
+    # + config - Host configuration
+    # + return - An error if the configuration is invalid
+    public isolated function init(*ListenerHostConfig config) returns error? {
+        check validateQuota(config.queueCapacity, config.eventsPerTurn, "");
+        if config.dispatchWorkers <= 0 {
+            return error("dispatchWorkers must be greater than 0.");
+        }
+        foreach [string, TenantQuota] [tenantId, quota] in config.tenantQuotas.entries() {
+            check validateQuota(quota.queueCapacity, quota.eventsPerTurn, string `tenantQuotas['${tenantId}'].`);
+        }
+        check initListenerHost(self, config.cloneReadOnly());
+    }
+
+    # Returns the dispatch metrics of a tenant.
+    #
+    # + tenantId - The tenant ID
+    # + return - The metrics, or `()` if no listener is running under the tenant
+    public isolated function getTenantMetrics(string tenantId) returns TenantMetrics? {
+        return getHostTenantMetrics(self, tenantId);
+    }
+
+    # Returns the dispatch metrics of all tenants.
+    #
+    # + return - The metrics of each tenant
+    public isolated function getMetrics() returns TenantMetrics[] {
+        return getHostMetrics(self);
+    }
+
+    # Stops accepting events, waits up to 30 seconds for the queued events to be dispatched and stops the
+    # shared transports. Stop the listeners attached to the host first.
+    #
+    # + return - `()` or else an error
+    public isolated function close() returns error? {
+        return closeListenerHost(self);
+    }
+}
+
+isolated function validateQuota(int queueCapacity, int eventsPerTurn, string prefix) returns error? {
+    if queueCapacity <= 0 {
+        return error(string `${prefix}queueCapacity must be greater than 0.`);
+    }
+    if eventsPerTurn <= 0 {
+        return error(string `${prefix}eventsPerTurn must be greater than 0.`);
+    }
+}
+
+isolated function initListenerHost(ListenerHost host, ListenerHostConfig config) returns error? =
+@java:Method {
+    'class: "io.ballerinax.salesforce.ListenerHost"
+} external;
+
+isolated function attachToHost(Listener instance, ListenerHost host, string tenantId) returns error? =
+@java:Method {
+    'class: "io.ballerinax.salesforce.ListenerHost"
+} external;
+
+isolated function getHostTenantMetrics(ListenerHost host, string tenantId) returns TenantMetrics? =
+@java:Method {
+    'class: "io.ballerinax.salesforce.ListenerHost"
+} external;
+
+isolated function getHostMetrics(ListenerHost host) returns TenantMetrics[] =
+@java:Method {
+    'class: "io.ballerinax.salesforce.ListenerHost"
+} external;
+
+isolated function closeListenerHost(ListenerHost host) returns error? =
+@java:Method {
+    'class: "io.ballerinax.salesforce.ListenerHost"
+} external;
@@ -0,0 +1,148 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/http;
+import ballerina/time;
+
+# Configuration of a `MetadataCache`.
+public type MetadataCacheConfig record {|
+    # The time in seconds an entry is served without checking with Salesforce. After that, the entry is
+    # revalidated with a conditional request, which returns no body if the metadata has not changed
+    decimal ttl = 300;
+    # The maximum number of entries. When the limit is reached, the least recently used entry is evicted
+    int maxEntries = 1000;
+|};
+
+# Caches the responses of the metadata operations of `Client`: `describe`, `getBasicInfo`,
+# `getOrganizationMetaData`, `getResources` and `getApiVersions`.
+#
+# Pass the same cache to the `metadataCache` configuration of several clients to share it. Entries are keyed by
+# the base URL of the client, so clients of different orgs can share a cache without mixing their metadata.
+public isolated class MetadataCache {
+    private final decimal ttl;
+    private final int maxEntries;
+    private final map<MetadataEntry> entries = {};
+
+    # Initializes the cache.
+    #
+    # + config - Cache configuration
+    # + return - An error if the configuration is invalid
+    public isolated function init(*MetadataCacheConfig config) returns error? {
+        if config.ttl < 0d {
+            return error("ttl must not be negative.");
+        }
+        if config.maxEntries <= 0 {
+            return error("maxEntries must be greater than 0.");
+        }
+        self.ttl = config.ttl;
+        self.maxEntries = config.maxEntries;
+    }
+
+    # Removes all the entries.
+    public isolated function clear() {
+        lock {
+            self.entries.removeAll();
+        }
+    }
+
+    // Returns the metadata at `path`, from the cache if it is fresh, or else from Salesforce. A stale entry is
+    // revalidated with `If-None-Match`/`If-Modified-Since` and kept if Salesforce answers `304 Not Modified`.
+    isolated function get(RestClient httpClient, string key, string path) returns json|error {
+        MetadataEntry? entry;
+        lock {
+            MetadataEntry? cached = self.entries[key];
+            if cached is MetadataEntry {
+                cached.lastAccess = time:monotonicNow();
+            }
+            entry = cached.clone();
+        }
+        map<string> headers = {};
+        if entry is MetadataEntry {
+            if time:monotonicNow() - entry.validatedAt < self.ttl {
+                return entry.body;
+            }
+            string? etag = entry.etag;
+            if etag is string {
+                headers[IF_NONE_MATCH] = etag;
+            }
+            string? lastModified = entry.lastModified;
+            if lastModified is string {
+                headers[IF_MODIFIED_SINCE] = lastModified;
+            }
+        }
+        http:Response response = check httpClient->get(path, headers);
+        if response.statusCode == http:STATUS_NOT_MODIFIED && entry is MetadataEntry {
+            lock {
+                MetadataEntry? cached = self.entries[key];
+                if cached is MetadataEntry {
+                    cached.validatedAt = time:monotonicNow();
+                }
+            }
+            return entry.body;
+        }
+        if response.statusCode < 200 || response.statusCode >= 300 {
+            lock {
+                _ = self.entries.removeIfHasKey(key);
+            }
+            return getHttpError(response);
+        }
+        readonly & json body = (check response.getJsonPayload()).cloneReadOnly();
+        string|http:HeaderNotFoundError etagHeader = response.getHeader(ETAG);
+        string? etag = etagHeader is string ? etagHeader : ();
+        string|http:HeaderNotFoundError lastModifiedHeader = response.getHeader(LAST_MODIFIED);
+        string? lastModified = lastModifiedHeader is string ? lastModifiedHeader : ();
+        decimal now = time:monotonicNow();
+        lock {
+            if !self.entries.hasKey(key) && self.entries.length() >= self.maxEntries {
+                self.evictLeastRecentlyUsed();
+            }
+            self.entries[key] = {body, etag, lastModified, validatedAt: now, lastAccess: now};
+        }
+        return body;
+    }
+
+    private isolated function evictLeastRecentlyUsed() {
+        lock {
+            string? oldestKey = ();
+            decimal oldestAccess = 0;
+            foreach [string, MetadataEntry] [key, entry] in self.entries.entries() {
+                if oldestKey is () || entry.lastAccess < oldestAccess {
+                    oldestKey = key;
+                    oldestAccess = entry.lastAccess;
+                }
+            }
+            if oldestKey is string {
+                _ = self.entries.remove(oldestKey);
+            }
+        }
+    }
+}
+
+# Defines a cached metadata response.
+#
+# + body - Response body
+# + etag - `ETag` header of the response
+# + lastModified - `Last-Modified` header of the response
+# + validatedAt - Monotonic time at which the entry was last fetched or revalidated
+# + lastAccess - Monotonic time at which the entry was last read
+type MetadataEntry record {|
+    readonly & json body;
+    string? etag;
+    string? lastModified;
+    decimal validatedAt;
+    decimal lastAccess;
+|};
@@ -0,0 +1,278 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/http;
+import ballerina/jballerina.java;
+
+# Configuration of a `RecordCache`.
+public type RecordCacheConfig record {|
+    # The maximum number of records kept. Different field sets of the same record count as one record
+    int maxEntries = 10000;
+    # The time in seconds a record is served without checking with Salesforce. After that, the record is
+    # revalidated with `If-None-Match`, which returns no body if the record has not changed
+    decimal ttl = 30;
+|};
+
+# Counters of a `RecordCache`.
+public type RecordCacheStats record {|
+    # Number of reads served from the cache without a request
+    int hits;
+    # Number of reads that fetched the full record from Salesforce
+    int misses;
+    # Number of reads served from the cache after Salesforce confirmed that the record had not changed
+    int revalidations;
+    # Number of records evicted to stay within `maxEntries`
+    int evictions;
+    # Number of records in the cache
+    int size;
+|};
+
+# How a `RecordCache` applies the change events delivered by a `Listener`.
+public enum ChangeEventMode {
+    # Drop the changed records from the cache. They are fetched again on the next read
+    INVALIDATE,
+    # Write the changed field values into the cached records, which are then served without a request. Fields that
+    # are not sent in change events, e.g. formula fields, keep their cached value until the record is revalidated
+    # after `ttl` or read with a field set that is not cached. A record is dropped instead when the change sets a
+    # field to null, changes a compound field such as `Name` or sends a diff of a large text field, unless the
+    # listener enriches the event with the full record
+    PATCH
+}
+
+# Caches the records read with `getById` and `getByExternalId` of `Client`.
+#
+# Eviction is scan resistant: a record read once, e.g. by a job going over many records, does not replace a record
+# that is read repeatedly. Records updated or deleted through a client using the cache are dropped from it. Changes
+# made elsewhere are picked up when the record is revalidated after `ttl`, or as soon as they happen when the
+# service returned by `getChangeEventService` is attached to a `Listener` on the Change Data Capture channel of
+# the same org.
+#
+# Records are identified by sObject name and record ID, so a cache should only be shared by clients of the same org.
+public isolated class RecordCache {
+
+    # Initializes the cache.
+    #
+    # + config - Cache configuration
+    # + return - An error if the configuration is invalid
+    public isolated function init(*RecordCacheConfig config) returns error? {
+        if config.ttl < 0d {
+            return error("ttl must not be negative.");
+        }
+        if config.maxEntries <= 0 {
+            return error("maxEntries must be greater than 0.");
+        }
+        initRecordCache(self, config.maxEntries, config.ttl);
+    }
+
+    # Drops a record, with all its field sets, from the cache.
+    #
+    # + sObjectName - sObject name
+    # + id - Record ID
+    public isolated function invalidate(string sObjectName, string id) {
+        invalidateCachedRecord(self, sObjectName, id);
+    }
+
+    # Returns a Change Data Capture service that keeps the cache up to date. Attach it to a `Listener` of the same org,
+    # on `/data/ChangeEvents` or on the channel of the sObjects that are cached. It can share the channel with other
+    # services of the listener.
+    #
+    # + mode - Whether change events drop or patch the cached records
+    # + return - The service to attach
+    public isolated function getChangeEventService(ChangeEventMode mode = PATCH) returns CdcService {
+        return new RecordCacheService(self, mode);
+    }
+
+    # Removes all the records. The counters are kept.
+    public isolated function clear() {
+        clearRecordCache(self);
+    }
+
+    # Returns the counters of the cache.
+    #
+    # + return - Cache counters
+    public isolated function getStats() returns RecordCacheStats {
+        return getRecordCacheStats(self);
+    }
+
+    // Returns the record at `path`, from the cache if it is fresh, or else from Salesforce. A stale record is
+    // revalidated with `If-None-Match` and kept if Salesforce answers `304 Not Modified`.
+    isolated function get(RestClient httpClient, string key, boolean byExternalId, string path)
+            returns byte[]|error {
+        CachedRecord? cached = lookupCachedRecord(self, key, byExternalId, path);
+        map<string> headers = {};
+        if cached is CachedRecord {
+            if cached.fresh {
+                return cached.payload;
+            }
+            string? etag = cached.etag;
+            if etag is string {
+                headers[IF_NONE_MATCH] = etag;
+            }
+        }
+        http:Response response = check httpClient->get(path, headers);
+        if response.statusCode == http:STATUS_NOT_MODIFIED && cached is CachedRecord {
+            renewCachedRecord(self, key, byExternalId, path);
+            return cached.payload;
+        }
+        if response.statusCode < 200 || response.statusCode >= 300 {
+            invalidateCachedKey(self, key, byExternalId);
+            return getHttpError(response);
+        }
+        byte[] payload = check response.getBinaryPayload();
+        string|http:HeaderNotFoundError etag = response.getHeader(ETAG);
+        storeCachedRecord(self, key, byExternalId, path, payload, etag is string ? etag : ());
+        return payload;
+    }
+}
+
+// Applies change events to a `RecordCache`. Create events are ignored, as a record that did not exist cannot
+// be cached.
+isolated service class RecordCacheService {
+    *CdcService;
+
+    private final RecordCache cache;
+    private final ChangeEventMode mode;
+
+    isolated function init(RecordCache cache, ChangeEventMode mode) {
+        self.cache = cache;
+        self.mode = mode;
+    }
+
+    isolated remote function onCreate(EventData payload) returns error? {
+    }
+
+    isolated remote function onUpdate(EventData payload) returns error? {
+        [string, string[]]? changedRecords = getChangedRecords(payload);
+        if changedRecords is () {
+            return;
+        }
+        [string sObjectName, string[] recordIds] = changedRecords;
+        if self.mode == INVALIDATE {
+            foreach string id in recordIds {
+                self.cache.invalidate(sObjectName, id);
+            }
+            return;
+        }
+        // Without an enriched record, the changed data holds neither nulled fields nor the full value of diff fields,
+        // so the cached record is dropped instead of being patched.
+        ChangeEventMetadata? metadata = payload.metadata;
+        boolean partial = metadata is ChangeEventMetadata
+            && ((metadata.nulledFields ?: []).length() > 0 || (metadata.diffFields ?: []).length() > 0);
+        map<json>[] enrichedRecords = payload.enrichedRecords ?: [];
+        foreach string id in recordIds {
+            map<json>? changes = partial ? () : payload.changedData;
+            foreach map<json> enrichedRecord in enrichedRecords {
+                if enrichedRecord["Id"] == id {
+                    changes = enrichedRecord;
+                    break;
+                }
+            }
+            if changes is () {
+                self.cache.invalidate(sObjectName, id);
+            } else {
+                patchCachedRecord(self.cache, sObjectName, id, changes);
+            }
+        }
+    }
+
+    isolated remote function onDelete(EventData payload) returns error? {
+        self.invalidate(payload);
+    }
+
+    isolated remote function onRestore(EventData payload) returns error? {
+        self.invalidate(payload);
+    }
+
+    private isolated function invalidate(EventData payload) {
+        [string, string[]]? changedRecords = getChangedRecords(payload);
+        if changedRecords is () {
+            return;
+        }
+        [string sObjectName, string[] recordIds] = changedRecords;
+        foreach string id in recordIds {
+            self.cache.invalidate(sObjectName, id);
+        }
+    }
+}
+
+// Returns the sObject name and the IDs of the records changed by an event.
+isolated function getChangedRecords(EventData payload) returns [string, string[]]? {
+    ChangeEventMetadata? metadata = payload.metadata;
+    if metadata is () {
+        return;
+    }
+    string? sObjectName = metadata.entityName;
+    if sObjectName is () {
+        return;
+    }
+    string[]? recordIds = metadata.recordIds;
+    if recordIds is string[] {
+        return [sObjectName, recordIds];
+    }
+    string? recordId = metadata.recordId;
+    return recordId is string ? [sObjectName, [recordId]] : ();
+}
+
+# Defines a cached record.
+#
+# + payload - Response body
+# + etag - `ETag` header of the response
+# + fresh - Whether the record can be served without revalidation
+type CachedRecord record {|
+    byte[] payload;
+    string? etag;
+    boolean fresh;
+|};
+
+isolated function initRecordCache(RecordCache cache, int maxEntries, decimal ttl) = @java:Method {
+    'class: "io.ballerinax.salesforce.RecordCache"
+} external;
+
+isolated function lookupCachedRecord(RecordCache cache, string key, boolean byExternalId, string path)
+        returns CachedRecord? = @java:Method {
+    'class: "io.ballerinax.salesforce.RecordCache"
+} external;
+
+isolated function storeCachedRecord(RecordCache cache, string key, boolean byExternalId, string path, byte[] payload,
+        string? etag) = @java:Method {
+    'class: "io.ballerinax.salesforce.RecordCache"
+} external;
+
+isolated function renewCachedRecord(RecordCache cache, string key, boolean byExternalId, string path) = @java:Method {
+    'class: "io.ballerinax.salesforce.RecordCache"
+} external;
+
+isolated function invalidateCachedKey(RecordCache cache, string key, boolean byExternalId) = @java:Method {
+    'class: "io.ballerinax.salesforce.RecordCache"
+} external;
+
+isolated function invalidateCachedRecord(RecordCache cache, string sObjectName, string id) = @java:Method {
+    'class: "io.ballerinax.salesforce.RecordCache"
+} external;
+
+isolated function patchCachedRecord(RecordCache cache, string sObjectName, string id, map<json> changes) =
+        @java:Method {
+    'class: "io.ballerinax.salesforce.RecordCache"
+} external;
+
+isolated function clearRecordCache(RecordCache cache) = @java:Method {
+    'class: "io.ballerinax.salesforce.RecordCache"
+} external;
+
+isolated function getRecordCacheStats(RecordCache cache) returns RecordCacheStats = @java:Method {
+    'class: "io.ballerinax.salesforce.RecordCache"
+} external;
@@ -0,0 +1,296 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/data.jsondata;
+import ballerina/http;
+import ballerina/jballerina.java;
+import ballerina/lang.runtime;
+
+// Sends the REST API requests of `Client`, and of its streams and caches. It has the request functions of
+// `http:Client` used by the connector, with the same data binding and errors, so that every request passes
+// through the admission control of the client and reports the API usage found in its response. When a
+// `ResilienceConfig` is given, requests also pass through the concurrency limit of their operation class and are
+// retried according to its policy, and when an `ApiBudget` is given, each request waits for a permit of the budget
+// and each attempt for a token.
+isolated client class RestClient {
+    private final http:Client httpClient;
+    private final ApiUsageMonitor usageMonitor;
+    private final RequestPriority priority;
+    private final readonly & jsondata:Options bindingOptions;
+    private final readonly & ResilienceConfig? resilience;
+    private final ApiBudget? apiBudget;
+
+    isolated function init(http:Client httpClient, ApiUsageMonitor usageMonitor, RequestPriority priority,
+            boolean laxDataBinding, ResilienceConfig? resilience, ApiBudget? apiBudget) returns error? {
+        self.httpClient = httpClient;
+        self.usageMonitor = usageMonitor;
+        self.priority = priority;
+        self.bindingOptions = laxDataBinding
+            ? {allowDataProjection: {nilAsOptionalField: true, absentAsNilableType: true}}
+            : {};
+        self.resilience = resilience.cloneReadOnly();
+        self.apiBudget = apiBudget;
+        if resilience is ResilienceConfig {
+            foreach [string, OperationPolicy] [operationClass, policy] in resilience.entries() {
+                check validateOperationPolicy(operationClass, policy);
+                initConcurrencyLimiter(self, operationClass, policy.concurrency);
+            }
+        }
+    }
+
+    remote isolated function get(string path, map<string|string[]>? headers = (), http:TargetType targetType = <>)
+            returns targetType|error = @java:Method {
+        'class: "io.ballerinax.salesforce.RestClient"
+    } external;
+
+    remote isolated function post(string path, http:RequestMessage message, map<string|string[]>? headers = (),
+            string? mediaType = (), http:TargetType targetType = <>) returns targetType|error = @java:Method {
+        'class: "io.ballerinax.salesforce.RestClient"
+    } external;
+
+    remote isolated function put(string path, http:RequestMessage message, map<string|string[]>? headers = (),
+            string? mediaType = (), http:TargetType targetType = <>) returns targetType|error = @java:Method {
+        'class: "io.ballerinax.salesforce.RestClient"
+    } external;
+
+    remote isolated function patch(string path, http:RequestMessage message, map<string|string[]>? headers = (),
+            string? mediaType = (), http:TargetType targetType = <>) returns targetType|error = @java:Method {
+        'class: "io.ballerinax.salesforce.RestClient"
+    } external;
+
+    remote isolated function delete(string path, http:RequestMessage message = (),
+            map<string|string[]>? headers = (), string? mediaType = (), http:TargetType targetType = <>)
+            returns targetType|error = @java:Method {
+        'class: "io.ballerinax.salesforce.RestClient"
+    } external;
+
+    isolated function processExecute(http:TargetType targetType, string method, string path,
+            http:RequestMessage message, map<string|string[]>? headers, string? mediaType)
+            returns anydata|http:Response|error {
+        check self.usageMonitor.admit(self.priority);
+        ApiBudget? apiBudget = self.apiBudget;
+        if apiBudget !is () {
+            check apiBudget.acquire();
+        }
+        ResilienceConfig? resilience = self.resilience;
+        http:Response|error response;
+        if resilience is () {
+            response = self.httpClient->execute(method, path, message, headers, mediaType);
+            if response is http:Response {
+                self.usageMonitor.recordUsage(response);
+            }
+        } else {
+            response = self.executeWithRetries(resilience, method, path, message, headers, mediaType);
+        }
+        if apiBudget !is () {
+            apiBudget.release();
+        }
+        return self.getTargetValue(check response, targetType);
+    }
+
+    private isolated function executeWithRetries(ResilienceConfig resilience, string method, string path,
+            http:RequestMessage message, map<string|string[]>? headers, string? mediaType)
+            returns http:Response|error {
+        string operationClass = getOperationClass(method, path);
+        RetryPolicy retry = resilience.get(operationClass).retry;
+        boolean idempotent = method != http:HTTP_POST;
+        // The payload of an `http:Request` may be a byte stream, which is consumed by the first attempt and cannot be
+        // told apart without reading it, so only payloads given as values are sent again.
+        boolean replayable = message is anydata;
+        int attempt = 0;
+        while true {
+            acquirePermit(self, operationClass);
+            http:Response|error response = self.httpClient->execute(method, path, message, headers, mediaType);
+            FailureKind? failure = classifyFailure(response);
+            releasePermit(self, operationClass, failure == OVERLOAD);
+            if response is http:Response {
+                self.usageMonitor.recordUsage(response);
+            }
+            if failure is () || attempt >= retry.maxRetries || !replayable
+                    || (!idempotent && failure == UNCERTAIN) {
+                return response;
+            }
+            attempt += 1;
+            runtime:sleep(getRetryDelay(retry, attempt, response));
+            ApiBudget? apiBudget = self.apiBudget;
+            if apiBudget !is () && apiBudget.acquireToken() is error {
+                // The budget is spent, so the failure of the last attempt is returned instead of retrying.
+                return response;
+            }
+        }
+    }
+
+    // Binds a response to the target type the way `http:Client` does: the response itself, `()`, the payload as
+    // bytes or text, or the JSON payload bound to the type. A `4xx` or `5xx` response is returned as the
+    // corresponding `http:ClientError`, and a payload that cannot be bound as an `http:PayloadBindingError`.
+    private isolated function getTargetValue(http:Response response, http:TargetType targetType)
+            returns anydata|http:Response|error {
+        if targetType is typedesc<http:Response> {
+            return response;
+        }
+        if response.statusCode >= 400 {
+            return getHttpError(response);
+        }
+        if targetType is typedesc<()> {
+            return;
+        }
+        if targetType !is typedesc<anydata> {
+            return error("Unsupported target type for the response payload.");
+        }
+        byte[] payload = response.statusCode == http:STATUS_NO_CONTENT ? [] : check response.getBinaryPayload();
+        if targetType is typedesc<byte[]> {
+            return payload;
+        }
+        anydata|error value;
+        if payload.length() == 0 {
+            anydata nilValue = ();
+            value = nilValue.ensureType(targetType);
+        } else if targetType is typedesc<string> {
+            value = string:fromBytes(payload);
+        } else {
+            value = jsondata:parseBytes(payload, self.bindingOptions, targetType);
+        }
+        if value is error {
+            // Callers match on the error type `http:Client` returns when binding fails.
+            return error http:PayloadBindingError(string `Payload binding failed: ${value.message()}`, value);
+        }
+        return value;
+    }
+}
+
+// Kinds of failed requests. `OVERLOAD` and `REJECTED` failures were not applied by Salesforce, while an
+// `UNCERTAIN` failure may have been.
+const OVERLOAD = "OVERLOAD";
+const REJECTED = "REJECTED";
+const UNCERTAIN = "UNCERTAIN";
+
+type FailureKind OVERLOAD|REJECTED|UNCERTAIN;
+
+isolated function getOperationClass(string method, string path) returns string {
+    if path.includes(COMPOSITE_PATH_SEGMENT) {
+        return COMPOSITE_OPERATIONS;
+    }
+    return method == http:HTTP_GET ? READ_OPERATIONS : WRITE_OPERATIONS;
+}
+
+// Returns the kind of failure of a request, or `()` if it did not fail in a way worth retrying.
+isolated function classifyFailure(http:Response|error response) returns FailureKind? {
+    if response is error {
+        return UNCERTAIN;
+    }
+    int statusCode = response.statusCode;
+    if statusCode == http:STATUS_SERVICE_UNAVAILABLE || statusCode == http:STATUS_TOO_MANY_REQUESTS {
+        return OVERLOAD;
+    }
+    if statusCode == http:STATUS_BAD_GATEWAY || statusCode == http:STATUS_GATEWAY_TIMEOUT {
+        return UNCERTAIN;
+    }
+    if statusCode != http:STATUS_BAD_REQUEST && statusCode != http:STATUS_FORBIDDEN {
+        return;
+    }
+    json|error payload = response.getJsonPayload();
+    if payload !is json[] || payload.length() == 0 || payload[0] !is map<json> {
+        return;
+    }
+    map<json> details = <map<json>>payload[0];
+    json errorCode = details["errorCode"];
+    if errorCode == UNABLE_TO_LOCK_ROW {
+        return REJECTED;
+    }
+    // The daily limit is reported with the same code as the concurrent request limit, but retrying it is useless.
+    json message = details["message"];
+    if errorCode == REQUEST_LIMIT_EXCEEDED && !(message is string && message.includes(TOTAL_REQUESTS_LIMIT)) {
+        return OVERLOAD;
+    }
+    return;
+}
+
+// Returns the delay before a retry: the `Retry-After` of the response if given, or else a random duration of up to
+// `interval * 2^(attempt-1)`, bounded by `maxInterval`.
+isolated function getRetryDelay(RetryPolicy retry, int attempt, http:Response|error response) returns decimal {
+    if response is http:Response {
+        string|http:HeaderNotFoundError retryAfter = response.getHeader(RETRY_AFTER);
+        if retryAfter is string {
+            decimal|error seconds = decimal:fromString(retryAfter.trim());
+            if seconds is decimal && seconds >= 0d {
+                return decimal:min(seconds, retry.maxInterval);
+            }
+        }
+    }
+    decimal backoff = retry.interval;
+    foreach int _ in 1 ..< attempt {
+        backoff *= 2;
+        if backoff >= retry.maxInterval {
+            break;
+        }
+    }
+    return getJitteredDelay(decimal:min(backoff, retry.maxInterval));
+}
+
+isolated function validateOperationPolicy(string operationClass, OperationPolicy policy) returns error? {
+    ConcurrencyLimitConfig concurrency = policy.concurrency;
+    if concurrency.minLimit <= 0 || concurrency.minLimit > concurrency.initialLimit
+            || concurrency.initialLimit > concurrency.maxLimit {
+        return error(string `${operationClass} concurrency must satisfy 0 < minLimit <= initialLimit <= maxLimit.`);
+    }
+    if concurrency.backoffRatio <= 0.0 || concurrency.backoffRatio >= 1.0 {
+        return error(string `${operationClass} backoffRatio must be between 0 and 1.`);
+    }
+    RetryPolicy retry = policy.retry;
+    if retry.maxRetries < 0 {
+        return error(string `${operationClass} maxRetries must not be negative.`);
+    }
+    if retry.interval < 0d || retry.maxInterval < retry.interval {
+        return error(string `${operationClass} retry intervals must satisfy 0 <= interval <= maxInterval.`);
+    }
+}
+
+isolated function initConcurrencyLimiter(RestClient client, string operationClass, ConcurrencyLimitConfig config) =
+        @java:Method {
+    'class: "io.ballerinax.salesforce.ConcurrencyLimiter"
+} external;
+
+isolated function acquirePermit(RestClient client, string operationClass) = @java:Method {
+    'class: "io.ballerinax.salesforce.ConcurrencyLimiter"
+} external;
+
+isolated function releasePermit(RestClient client, string operationClass, boolean overloaded) = @java:Method {
+    'class: "io.ballerinax.salesforce.ConcurrencyLimiter"
+} external;
+
+isolated function getJitteredDelay(decimal maxDelay) returns decimal = @java:Method {
+    'class: "io.ballerinax.salesforce.RestClient"
+} external;
+
+isolated function getHttpError(http:Response response) returns http:ClientError {
+    map<string[]> headers = {};
+    foreach string name in response.getHeaderNames() {
+        string[]|http:HeaderNotFoundError values = response.getHeaders(name);
+        if values is string[] {
+            headers[name] = values;
+        }
+    }
+    json|error jsonBody = response.getJsonPayload();
+    string|error textBody = response.getTextPayload();
+    anydata body = jsonBody is json ? jsonBody : textBody is string ? textBody : ();
+    if response.statusCode < 500 {
+        return error http:ClientRequestError(response.reasonPhrase, statusCode = response.statusCode,
+            headers = headers, body = body);
+    }
+    return error http:RemoteServerError(response.reasonPhrase, statusCode = response.statusCode,
+        headers = headers, body = body);
+}
@@ -0,0 +1,53 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+# Represents a Salesforce SOAP login session shared across listener restarts and replicas.
+public type SoapSession record {|
+    # The session ID used as the bearer token
+    string sessionId;
+    # The SOAP server URL returned by the login call
+    string serverUrl;
+    # Epoch seconds after which the session is no longer reused
+    int expiresAtEpoch;
+|};
+
+# Pluggable store for sharing SOAP login sessions of username/password listeners across replicas.
+# Implementations must be `isolated`.
+#
+# Listeners always reuse sessions within the current process. Supplying a store (e.g. backed by Redis)
+# additionally lets other replicas, and restarted processes, reuse a session instead of performing a
+# new SOAP `login()`, which counts against the org's login limits.
+public type SessionStore isolated object {
+
+    # Reads a stored session.
+    #
+    # + key - A key identifying the login endpoint, username, API version and credentials
+    # + return - The stored `SoapSession`, `()` if none exists, or an `error`
+    public isolated function getSession(string key) returns SoapSession?|error;
+
+    # Stores a session after a successful login.
+    #
+    # + key - A key identifying the login endpoint, username, API version and credentials
+    # + session - The session to store
+    # + return - `()` on success, or an `error` if the write fails
+    public isolated function setSession(string key, SoapSession session) returns error?;
+
+    # Removes a session after Salesforce rejected it, so that the next start performs a fresh login.
+    #
+    # + key - A key identifying the login endpoint, username, API version and credentials
+    # + return - `()` on success, or an `error` if the delete fails
+    public isolated function clearSession(string key) returns error?;
+};
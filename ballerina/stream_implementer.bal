@@ -15,62 +15,482 @@
 // under the License.
 
 import ballerina/http;
+import ballerina/jballerina.java;
+import ballerina/log;
+import ballerina/time;
+import ballerinax/salesforce.utils;
 
 class SOQLQueryResultStream {
-    private record {}[] currentEntries = [];
+    private QueryPageCursor? currentPage = ();
     private string nextRecordsUrl;
-    int index = 0;
-    private final http:Client httpClient;
+    private final RestClient httpClient;
     private final string path;
-    private final typedesc<record {}[]> returnType;
+    private final typedesc<record {}> recordType;
+    private final readonly & map<string> headers;
+    private final int prefetchDepth;
+    private QueryPage[] bufferedPages = [];
+    private future<QueryPage[]|error>? pendingPages = ();
+    // The query locator of the page following the current one.
+    private string currentNextRecordsUrl = PRIVATE_EMPTY_STRING;
+    private final QueryCheckpoint? checkpoint;
 
-    isolated function init(http:Client httpClient, string path, typedesc<record {}[]> returnType) returns error? {
+    isolated function init(RestClient httpClient, string path, typedesc<record {}> recordType,
+            QueryConfig queryConfig = {}, QueryCheckpoint? checkpoint = ()) returns error? {
         self.httpClient = httpClient;
         self.path = path;
-        self.returnType = returnType;
+        self.recordType = recordType;
+        self.headers = getQueryHeaders(queryConfig);
+        self.prefetchDepth = queryConfig.prefetchDepth;
         self.nextRecordsUrl = PRIVATE_EMPTY_STRING;
-        self.currentEntries = check self.fetchQueryResult();
+        self.checkpoint = checkpoint;
+        // A resumed query whose pages have all been read has no page to start from.
+        if path == PRIVATE_EMPTY_STRING {
+            return;
+        }
+        QueryPage[] firstPage = check fetchQueryPages(httpClient, path, self.headers, 1);
+        self.currentPage = firstPage[0].cursor;
+        self.currentNextRecordsUrl = firstPage[0].nextRecordsUrl;
+        self.nextRecordsUrl = firstPage[0].nextRecordsUrl;
+        self.prefetch();
     }
 
     public isolated function next() returns record {|record {} value;|}|error? {
-        if (self.index < self.currentEntries.length()) {
-            record {|record {} value;|} singleRecord = {value: self.currentEntries[self.index]};
-            self.index += 1;
-            return singleRecord;
+        while true {
+            QueryPageCursor? currentPage = self.currentPage;
+            if currentPage !is () {
+                record {}? nextRecord = check currentPage.next(self.recordType);
+                if nextRecord !is () {
+                    QueryCheckpoint? checkpoint = self.checkpoint;
+                    if checkpoint !is () {
+                        checkpoint.state.recordsConsumed += 1;
+                    }
+                    return {value: nextRecord};
+                }
+                self.currentPage = ();
+                self.saveCheckpoint();
+            }
+            // This code block is for retrieving the next batch of records when the current batch is finished.
+            QueryPage? page = check self.nextPage();
+            if page is () {
+                self.clearCheckpoint();
+                return;
+            }
+            self.currentPage = page.cursor;
+            self.currentNextRecordsUrl = page.nextRecordsUrl;
         }
-        // This code block is for retrieving the next batch of records when the initial batch is finished.
-        if (self.nextRecordsUrl.trim() != PRIVATE_EMPTY_STRING) {
-            self.index = 0;
-            self.currentEntries = check self.fetchQueryResult();
-            record {|record {} value;|} singleRecord = {value: self.currentEntries[self.index]};
-            self.index += 1;
-            return singleRecord;
+    }
+
+    public isolated function close() returns error? {
+        future<QueryPage[]|error>? pendingPages = self.pendingPages;
+        if pendingPages !is () {
+            pendingPages.cancel();
+            self.pendingPages = ();
         }
-        return;
+        closeQueryPages(self.currentPage, self.bufferedPages);
+        self.currentPage = ();
+        self.bufferedPages = [];
+        self.nextRecordsUrl = PRIVATE_EMPTY_STRING;
+    }
+
+    private isolated function nextPage() returns QueryPage?|error {
+        if self.bufferedPages.length() == 0 {
+            future<QueryPage[]|error>? pendingPages = self.pendingPages;
+            if pendingPages !is () {
+                self.pendingPages = ();
+                self.bufferedPages = check wait pendingPages;
+                // Start fetching the pages that follow before handing out the ones that just arrived.
+                self.prefetch();
+            } else if self.nextRecordsUrl.trim() != PRIVATE_EMPTY_STRING {
+                QueryPage[] pages = check fetchQueryPages(self.httpClient, self.nextRecordsUrl, self.headers, 1);
+                self.nextRecordsUrl = pages[0].nextRecordsUrl;
+                return pages[0];
+            }
+        }
+        if self.bufferedPages.length() == 0 {
+            return;
+        }
+        return self.bufferedPages.shift();
+    }
+
+    // Starts fetching up to `prefetchDepth` pages following the last known `nextRecordsUrl` in the background.
+    private isolated function prefetch() {
+        if self.bufferedPages.length() > 0 {
+            self.nextRecordsUrl = self.bufferedPages[self.bufferedPages.length() - 1].nextRecordsUrl;
+        }
+        string nextRecordsUrl = self.nextRecordsUrl;
+        if self.prefetchDepth <= 0 || nextRecordsUrl.trim() == PRIVATE_EMPTY_STRING {
+            return;
+        }
+        self.pendingPages = start fetchQueryPages(self.httpClient, nextRecordsUrl, self.headers, self.prefetchDepth);
+        self.nextRecordsUrl = PRIVATE_EMPTY_STRING;
+    }
+
+    // Records that all the records of the current page have been read, so that a resumed query starts at the
+    // following page.
+    private isolated function saveCheckpoint() {
+        QueryCheckpoint? checkpoint = self.checkpoint;
+        if checkpoint is () {
+            return;
+        }
+        checkpoint.state.nextRecordsUrl = self.currentNextRecordsUrl;
+        error? saved = checkpoint.store.setCursor(checkpoint.cursorId, checkpoint.state.cloneReadOnly());
+        if saved is error {
+            log:printWarn("Failed to persist query cursor checkpoint; a resumed query may re-deliver more than " +
+                    "one page", cursorId = checkpoint.cursorId, 'error = saved);
+        }
+    }
+
+    private isolated function clearCheckpoint() {
+        QueryCheckpoint? checkpoint = self.checkpoint;
+        if checkpoint is () {
+            return;
+        }
+        error? cleared = checkpoint.store.clearCursor(checkpoint.cursorId);
+        if cleared is error {
+            log:printWarn("Failed to clear query cursor checkpoint", cursorId = checkpoint.cursorId,
+                    'error = cleared);
+        }
+    }
+}
+
+// Where a resumable query checkpoints its position.
+type QueryCheckpoint record {|
+    CursorStore store;
+    string cursorId;
+    QueryCursorState state;
+|};
+
+class PartitionedQueryResultStream {
+    private QueryPageCursor? currentPage = ();
+    private QueryPage[] bufferedPages = [];
+    private PartitionFetch[] inFlight = [];
+    private int nextPartition = 0;
+    private final RestClient httpClient;
+    private final readonly & string[] paths;
+    private final typedesc<record {}> recordType;
+    private final readonly & map<string> headers;
+    private final int pagesPerFetch;
+    private final boolean ordered;
+
+    isolated function init(RestClient httpClient, readonly & string[] paths, typedesc<record {}> recordType,
+            QueryConfig queryConfig, PartitionedQueryConfig partitionConfig) {
+        self.httpClient = httpClient;
+        self.paths = paths;
+        self.recordType = recordType;
+        self.headers = getQueryHeaders(queryConfig);
+        self.pagesPerFetch = int:max(1, queryConfig.prefetchDepth);
+        self.ordered = partitionConfig.ordered;
+        foreach int i in 0 ..< int:min(partitionConfig.maxConcurrency, paths.length()) {
+            self.startNextPartition();
+        }
+    }
+
+    public isolated function next() returns record {|record {} value;|}|error? {
+        while true {
+            QueryPageCursor? currentPage = self.currentPage;
+            if currentPage !is () {
+                record {}? nextRecord = check currentPage.next(self.recordType);
+                if nextRecord !is () {
+                    return {value: nextRecord};
+                }
+                self.currentPage = ();
+            }
+            if self.bufferedPages.length() == 0 {
+                if self.inFlight.length() == 0 {
+                    return;
+                }
+                check self.receivePages();
+                continue;
+            }
+            self.currentPage = self.bufferedPages.shift().cursor;
+        }
+    }
+
+    public isolated function close() returns error? {
+        foreach PartitionFetch fetch in self.inFlight {
+            fetch.pages.cancel();
+        }
+        self.inFlight = [];
+        closeQueryPages(self.currentPage, self.bufferedPages);
+        self.currentPage = ();
+        self.bufferedPages = [];
+        self.nextPartition = self.paths.length();
     }
 
-    isolated function fetchQueryResult() returns record {}[]|error {
-        SoqlQueryResult response;
-        if (self.nextRecordsUrl.trim() != PRIVATE_EMPTY_STRING) {
-            response = check self.httpClient->get(self.nextRecordsUrl);
+    // Waits for the pages of one partition and immediately schedules the next fetch, so that the number of
+    // partitions being fetched stays at the configured concurrency. Partitions are started in order and each has at
+    // most one fetch in flight, so in ordered mode the lowest partition in flight is the one being consumed.
+    // In unordered mode the oldest fetch is taken first.
+    private isolated function receivePages() returns error? {
+        int selected = 0;
+        if self.ordered {
+            foreach int i in 1 ..< self.inFlight.length() {
+                if self.inFlight[i].partition < self.inFlight[selected].partition {
+                    selected = i;
+                }
+            }
+        }
+        PartitionFetch fetch = self.inFlight.remove(selected);
+        QueryPage[] pages = check wait fetch.pages;
+        string nextRecordsUrl = pages.length() > 0 ? pages[pages.length() - 1].nextRecordsUrl : PRIVATE_EMPTY_STRING;
+        if nextRecordsUrl.trim() != PRIVATE_EMPTY_STRING {
+            self.startFetch(fetch.partition, nextRecordsUrl);
         } else {
-            response = check self.httpClient->get(self.path);
+            self.startNextPartition();
+        }
+        self.bufferedPages.push(...pages);
+    }
+
+    private isolated function startNextPartition() {
+        if self.nextPartition >= self.paths.length() {
+            return;
+        }
+        int partition = self.nextPartition;
+        self.nextPartition += 1;
+        self.startFetch(partition, self.paths[partition]);
+    }
+
+    private isolated function startFetch(int partition, string path) {
+        future<QueryPage[]|error> pages = start fetchQueryPages(self.httpClient, path, self.headers,
+                self.pagesPerFetch);
+        self.inFlight.push({partition, pages});
+    }
+}
+
+# Fetches consecutive pages of a SOQL query result, following `nextRecordsUrl` until `maxPages` pages are
+# retrieved or the result is exhausted.
+#
+# + httpClient - HTTP client used to fetch the pages
+# + path - Path of the first page to fetch
+# + headers - Headers sent with each request
+# + maxPages - Maximum number of pages to fetch
+# + return - The fetched pages in order or else `error`
+isolated function fetchQueryPages(RestClient httpClient, string path, readonly & map<string> headers,
+        int maxPages) returns QueryPage[]|error {
+    QueryPage[] pages = [];
+    string nextPath = path;
+    while pages.length() < maxPages && nextPath.trim() != PRIVATE_EMPTY_STRING {
+        // The page is kept as raw bytes; its records are parsed and bound only when the stream reaches them.
+        byte[] payload = check httpClient->get(nextPath, headers);
+        QueryPageCursor cursor = check new (payload);
+        nextPath = cursor.getNextRecordsUrl();
+        pages.push({cursor, nextRecordsUrl: nextPath});
+    }
+    return pages;
+}
+
+isolated function closeQueryPages(QueryPageCursor? currentPage, QueryPage[] pages) {
+    if currentPage !is () {
+        currentPage.close();
+    }
+    foreach QueryPage page in pages {
+        page.cursor.close();
+    }
+}
+
+# A forward-only cursor over the records of a SOQL query result page. Records are parsed from the page content and
+# bound one at a time, and the content is released once the last record has been read.
+isolated class QueryPageCursor {
+
+    isolated function init(byte[] payload) returns error? {
+        check openQueryPageCursor(self, payload);
+    }
+
+    # Returns the next record of the page.
+    #
+    # + recordType - The type the record is bound to
+    # + return - The record, `()` if the page is exhausted, or else `error`
+    isolated function next(typedesc<record {}> recordType) returns record {}|error? {
+        return nextQueryRecord(self, recordType);
+    }
+
+    # Returns the URL of the following page.
+    #
+    # + return - The URL, or an empty string if this is the last page
+    isolated function getNextRecordsUrl() returns string {
+        return getQueryPageNextRecordsUrl(self);
+    }
+
+    # Releases the page content.
+    isolated function close() {
+        closeQueryPageCursor(self);
+    }
+}
+
+isolated function openQueryPageCursor(QueryPageCursor cursor, byte[] payload) returns error? = @java:Method {
+    'class: "io.ballerinax.salesforce.QueryPageCursor"
+} external;
+
+isolated function nextQueryRecord(QueryPageCursor cursor, typedesc<record {}> recordType) returns record {}|error? =
+@java:Method {
+    'class: "io.ballerinax.salesforce.QueryPageCursor"
+} external;
+
+isolated function getQueryPageNextRecordsUrl(QueryPageCursor cursor) returns string = @java:Method {
+    'class: "io.ballerinax.salesforce.QueryPageCursor"
+} external;
+
+isolated function closeQueryPageCursor(QueryPageCursor cursor) = @java:Method {
+    'class: "io.ballerinax.salesforce.QueryPageCursor"
+} external;
+
+class BulkQueryResultStream {
+    private QueryPageCursor? currentPage = ();
+    private string? locator;
+    private final RestClient httpClient;
+    private final string resultsPath;
+    private final typedesc<record {}> recordType;
+    private final int chunkSize;
+    private final boolean prefetch;
+    private future<BulkQueryChunk|error>? pendingChunk = ();
+
+    isolated function init(RestClient httpClient, string resultsPath, typedesc<record {}> recordType,
+            QueryConfig queryConfig) returns error? {
+        self.httpClient = httpClient;
+        self.resultsPath = resultsPath;
+        self.recordType = recordType;
+        self.chunkSize = queryConfig.bulkChunkSize;
+        self.prefetch = queryConfig.prefetchDepth > 0;
+        BulkQueryChunk firstChunk = check fetchBulkQueryChunk(httpClient, resultsPath, (), self.chunkSize,
+            recordType);
+        self.currentPage = firstChunk.cursor;
+        self.locator = firstChunk.locator;
+        self.fetchAhead();
+    }
+
+    public isolated function next() returns record {|record {} value;|}|error? {
+        while true {
+            QueryPageCursor? currentPage = self.currentPage;
+            if currentPage !is () {
+                record {}? nextRecord = check currentPage.next(self.recordType);
+                if nextRecord !is () {
+                    return {value: nextRecord};
+                }
+                self.currentPage = ();
+            }
+            future<BulkQueryChunk|error>? pendingChunk = self.pendingChunk;
+            BulkQueryChunk chunk;
+            if pendingChunk !is () {
+                self.pendingChunk = ();
+                chunk = check wait pendingChunk;
+            } else if self.locator !is () {
+                chunk = check fetchBulkQueryChunk(self.httpClient, self.resultsPath, self.locator, self.chunkSize,
+                    self.recordType);
+            } else {
+                return;
+            }
+            self.currentPage = chunk.cursor;
+            self.locator = chunk.locator;
+            self.fetchAhead();
+        }
+    }
+
+    public isolated function close() returns error? {
+        future<BulkQueryChunk|error>? pendingChunk = self.pendingChunk;
+        if pendingChunk !is () {
+            pendingChunk.cancel();
+            self.pendingChunk = ();
         }
-        self.nextRecordsUrl = response.hasKey(NEXT_RECORDS_URL) ? check response.get(NEXT_RECORDS_URL).ensureType() :
-            PRIVATE_EMPTY_STRING;
+        closeQueryPages(self.currentPage, []);
+        self.currentPage = ();
+        self.locator = ();
+    }
 
-        record {}[] returnData = check response.records.cloneWithType(self.returnType);
-        return returnData;
+    // Starts fetching the chunk following the current one in the background.
+    private isolated function fetchAhead() {
+        string? locator = self.locator;
+        if !self.prefetch || locator is () {
+            return;
+        }
+        self.pendingChunk = start fetchBulkQueryChunk(self.httpClient, self.resultsPath, locator, self.chunkSize,
+            self.recordType);
+        self.locator = ();
     }
 }
 
+# A chunk of Bulk API 2.0 query results.
+#
+# + cursor - Cursor over the records of the chunk
+# + locator - Locator of the following chunk, or `()` if this is the last chunk
+type BulkQueryChunk record {|
+    QueryPageCursor cursor;
+    string? locator;
+|};
+
+isolated function fetchBulkQueryChunk(RestClient httpClient, string resultsPath, string? locator, int chunkSize,
+        typedesc<record {}> recordType) returns BulkQueryChunk|error {
+    map<string> parameters = {maxRecords: chunkSize.toString()};
+    if locator is string {
+        parameters["locator"] = locator;
+    }
+    http:Response response = check httpClient->get(utils:addQueryParameters(resultsPath, parameters));
+    if response.statusCode >= 400 {
+        return getHttpError(response);
+    }
+    string|http:HeaderNotFoundError nextLocator = response.getHeader(SFORCE_LOCATOR);
+    // The CSV chunk is converted to the JSON shape of a REST query result page, so that its records are bound the
+    // same way.
+    QueryPageCursor cursor = check new (check getBulkQueryPage(check response.getTextPayload(), recordType));
+    return {
+        cursor,
+        locator: nextLocator is string && nextLocator != NULL_LOCATOR && nextLocator != PRIVATE_EMPTY_STRING
+            ? nextLocator : ()
+    };
+}
+
+# Writes SOQL query result pages to a file without binding the records to Ballerina values.
+isolated class QueryFileWriter {
+
+    isolated function init(string filePath, ExportFormat format, string soql) returns error? {
+        check openQueryFileWriter(self, filePath, format, soql);
+    }
+
+    # Writes the records of a page and releases the page.
+    #
+    # + cursor - The page
+    # + return - The number of records written or else `error`
+    isolated function writePage(QueryPageCursor cursor) returns int|error {
+        return writeQueryPage(self, cursor);
+    }
+
+    # Flushes and closes the file.
+    #
+    # + return - `()` if successful or else `error`
+    isolated function close() returns error? {
+        return closeQueryFileWriter(self);
+    }
+
+    # Closes and deletes the file.
+    isolated function abort() {
+        abortQueryFileWriter(self);
+    }
+}
+
+isolated function openQueryFileWriter(QueryFileWriter writer, string filePath, ExportFormat format, string soql)
+        returns error? =
+@java:Method {
+    'class: "io.ballerinax.salesforce.QueryFileWriter"
+} external;
+
+isolated function writeQueryPage(QueryFileWriter writer, QueryPageCursor cursor) returns int|error = @java:Method {
+    'class: "io.ballerinax.salesforce.QueryFileWriter"
+} external;
+
+isolated function closeQueryFileWriter(QueryFileWriter writer) returns error? = @java:Method {
+    'class: "io.ballerinax.salesforce.QueryFileWriter"
+} external;
+
+isolated function abortQueryFileWriter(QueryFileWriter writer) = @java:Method {
+    'class: "io.ballerinax.salesforce.QueryFileWriter"
+} external;
+
 class SOSLSearchResult {
     private record {}[] currentEntries = [];
     int index = 0;
-    private final http:Client httpClient;
+    private final RestClient httpClient;
     private final string path;
 
-    isolated function init(http:Client httpClient, string path) returns error? {
+    isolated function init(RestClient httpClient, string path) returns error? {
         self.httpClient = httpClient;
         self.path = path;
         self.currentEntries = check self.fetchSearchResult();
@@ -102,6 +522,24 @@ isolated function covertSearchResultsToRecordsArray(map<json>[] queryResultArray
 
 type Record record {};
 
+# Defines a fetched page of SOQL query results.
+#
+# + cursor - Cursor over the records of the page
+# + nextRecordsUrl - URL of the following page, or an empty string if this is the last page
+type QueryPage record {|
+    QueryPageCursor cursor;
+    string nextRecordsUrl;
+|};
+
+# Defines an in-flight fetch of the pages of a query partition.
+#
+# + partition - Index of the partition
+# + pages - Pages being fetched
+type PartitionFetch record {|
+    int partition;
+    future<QueryPage[]|error> pages;
+|};
+
 # Define the SOQL result type.
 #
 # + done - Query is completed or not
@@ -131,3 +569,259 @@ type SoslRecordData record {|
     string Id;
     json...;
 |};
+
+class RecordsByIdsStream {
+    private final RestClient httpClient;
+    private final string apiBasePath;
+    private final string sObjectName;
+    private final readonly & string[] ids;
+    private final readonly & string[] fields;
+    private final typedesc<record {}> recordType;
+    private final int maxConcurrency;
+    private int nextOffset = 0;
+    private future<json[]|error>[] inFlight = [];
+    private json[] buffer = [];
+
+    isolated function init(RestClient httpClient, string apiBasePath, string sObjectName, readonly & string[] ids,
+            readonly & string[] fields, typedesc<record {}> recordType, int maxConcurrency) {
+        self.httpClient = httpClient;
+        self.apiBasePath = apiBasePath;
+        self.sObjectName = sObjectName;
+        self.ids = ids;
+        self.fields = fields;
+        self.recordType = recordType;
+        self.maxConcurrency = maxConcurrency;
+    }
+
+    public isolated function next() returns record {|record {} value;|}|error? {
+        while true {
+            if self.buffer.length() > 0 {
+                json nextRecord = self.buffer.shift();
+                // IDs that were not found come back as `null`.
+                if nextRecord is () {
+                    continue;
+                }
+                return {value: check nextRecord.cloneWithType(self.recordType)};
+            }
+            if self.nextOffset >= self.ids.length() && self.inFlight.length() == 0 {
+                return;
+            }
+            // Keep up to `maxConcurrency` requests in flight and stream the oldest one, to stay in input order.
+            while self.nextOffset < self.ids.length() && self.inFlight.length() < self.maxConcurrency {
+                int end = int:min(self.nextOffset + MAX_COLLECTION_RETRIEVE_SIZE, self.ids.length());
+                self.inFlight.push(start retrieveRecords(self.httpClient, self.apiBasePath, self.sObjectName,
+                    self.ids.slice(self.nextOffset, end).cloneReadOnly(), self.fields));
+                self.nextOffset = end;
+            }
+            self.buffer = check wait self.inFlight.shift();
+        }
+    }
+
+    public isolated function close() returns error? {
+        foreach future<json[]|error> pending in self.inFlight {
+            pending.cancel();
+        }
+        self.inFlight = [];
+        self.nextOffset = self.ids.length();
+        self.buffer = [];
+    }
+}
+
+class ChangeStream {
+    private final RestClient httpClient;
+    private final string apiBasePath;
+    private final string sObjectName;
+    private final readonly & string[] fields;
+    private final typedesc<record {}> recordType;
+    private final WatermarkStore watermarkStore;
+    private final string syncId;
+    private final int maxConcurrency;
+    private final SyncWindow[] windows;
+    private readonly & string[] updatedIds = [];
+    private int nextOffset = 0;
+    private future<json[]|error>[] inFlight = [];
+    private final map<boolean> retrievedIds = {};
+    private RecordDeletion[] deletions = [];
+    private boolean deletionsQueued = true;
+    private time:Utc? windowWatermark = ();
+    private record {}[] buffer = [];
+
+    isolated function init(RestClient httpClient, string apiBasePath, string sObjectName,
+            readonly & string[] fields, typedesc<record {}> recordType, SyncConfig config) returns error? {
+        self.httpClient = httpClient;
+        self.apiBasePath = apiBasePath;
+        self.sObjectName = sObjectName;
+        self.fields = fields;
+        self.recordType = recordType;
+        WatermarkStore watermarkStore = config.watermarkStore ?: defaultWatermarkStore;
+        string syncId = config.syncId ?: sObjectName;
+        self.watermarkStore = watermarkStore;
+        self.syncId = syncId;
+        self.maxConcurrency = config.maxConcurrency;
+        time:Utc now = time:utcNow();
+        time:Utc? storedWatermark = check watermarkStore.getWatermark(syncId);
+        time:Utc watermark = storedWatermark ?: time:utcAddSeconds(now, -config.initialLookback);
+        if time:utcDiffSeconds(now, watermark) > MAX_CHANGE_HISTORY {
+            return error(string `The watermark of sync '${syncId}' (${time:utcToString(watermark)}) is older ` +
+                string `than the change history kept by Salesforce. Run a full load and reset the watermark.`);
+        }
+        self.windows = getSyncWindows(watermark, now, config.maxWindow);
+    }
+
+    public isolated function next() returns record {|record {} value;|}|error? {
+        while true {
+            if self.buffer.length() > 0 {
+                return {value: self.buffer.shift()};
+            }
+            if self.nextOffset < self.updatedIds.length() || self.inFlight.length() > 0 {
+                check self.retrieveNextChunk();
+                continue;
+            }
+            if !self.deletionsQueued {
+                // A record that was deleted and then restored in the window exists again, so it is not deleted.
+                foreach RecordDeletion deletion in self.deletions {
+                    if !self.retrievedIds.hasKey(deletion.id) {
+                        self.buffer.push(deletion);
+                    }
+                }
+                self.deletionsQueued = true;
+                continue;
+            }
+            // All the changes of the window have been delivered.
+            time:Utc? windowWatermark = self.windowWatermark;
+            if windowWatermark !is () {
+                check self.watermarkStore.setWatermark(self.syncId, windowWatermark);
+                self.windowWatermark = ();
+            }
+            if self.windows.length() == 0 {
+                return;
+            }
+            check self.openWindow(self.windows.shift());
+        }
+    }
+
+    public isolated function close() returns error? {
+        foreach future<json[]|error> pending in self.inFlight {
+            pending.cancel();
+        }
+        self.inFlight = [];
+        self.windows.removeAll();
+        self.updatedIds = [];
+        self.nextOffset = 0;
+        self.deletions = [];
+        self.deletionsQueued = true;
+        self.windowWatermark = ();
+        self.buffer = [];
+    }
+
+    // Fetches the updated and deleted IDs of a window. A window with more updates than Salesforce returns at once
+    // is split in two.
+    private isolated function openWindow(SyncWindow window) returns error? {
+        UpdatedRecordsResults|error updated = getUpdatedIds(self.httpClient, self.apiBasePath, self.sObjectName,
+            window);
+        if updated is error {
+            decimal span = time:utcDiffSeconds(window.end, window.'start);
+            if getSalesforceErrorCode(updated) != EXCEEDED_ID_LIMIT || span < 2d * MIN_SYNC_WINDOW {
+                return updated;
+            }
+            time:Utc middle = time:utcAddSeconds(window.'start, decimal:floor(span / 2d));
+            self.windows.unshift({'start: window.'start, end: middle}, {'start: middle, end: window.end});
+            return;
+        }
+        DeletedRecordsResult deleted = check getDeletedIds(self.httpClient, self.apiBasePath, self.sObjectName,
+            window);
+        time:Utc earliestAvailable = check parseSalesforceDateTime(deleted.earliestDateAvailable);
+        if time:utcDiffSeconds(earliestAvailable, window.'start) > 0d {
+            return error(string `Deletions of ${self.sObjectName} before ${deleted.earliestDateAvailable} are no ` +
+                string `longer available. Run a full load and reset the watermark of sync '${self.syncId}'.`);
+        }
+        time:Utc updatedCovered = check parseSalesforceDateTime(updated.latestDateCovered);
+        time:Utc deletedCovered = check parseSalesforceDateTime(deleted.latestDateCovered);
+        time:Utc covered = time:utcDiffSeconds(updatedCovered, deletedCovered) < 0d
+            ? updatedCovered : deletedCovered;
+        self.windowWatermark = covered;
+        // Salesforce may cover less than the window, e.g. up to the last full minute. The next window starts at the
+        // covered date so that the changes after it are not skipped. After the last window, they are left for the
+        // next sync, which starts at the watermark.
+        if self.windows.length() > 0 && time:utcDiffSeconds(window.end, covered) > 0d {
+            SyncWindow next = self.windows[0];
+            self.windows[0] = {'start: covered, end: next.end};
+        }
+        self.updatedIds = updated.ids.cloneReadOnly();
+        self.nextOffset = 0;
+        self.retrievedIds.removeAll();
+        self.deletions = from var {id, deletedDate} in deleted.deletedRecords
+            select {id, deletedDate};
+        self.deletionsQueued = false;
+    }
+
+    // Keeps up to `maxConcurrency` retrieve requests in flight and buffers the records of the oldest one.
+    private isolated function retrieveNextChunk() returns error? {
+        while self.nextOffset < self.updatedIds.length() && self.inFlight.length() < self.maxConcurrency {
+            int end = int:min(self.nextOffset + MAX_COLLECTION_RETRIEVE_SIZE, self.updatedIds.length());
+            self.inFlight.push(start retrieveRecords(self.httpClient, self.apiBasePath, self.sObjectName,
+                self.updatedIds.slice(self.nextOffset, end).cloneReadOnly(), self.fields));
+            self.nextOffset = end;
+        }
+        json[] records = check wait self.inFlight.shift();
+        foreach json changedRecord in records {
+            // Records deleted since they were updated come back as `null`.
+            if changedRecord is map<json> {
+                json id = changedRecord["Id"];
+                if id is string {
+                    self.retrievedIds[id] = true;
+                }
+                self.buffer.push(check changedRecord.cloneWithType(self.recordType));
+            }
+        }
+    }
+}
+
+# Defines a time span of a sync.
+#
+# + 'start - Start of the span
+# + end - End of the span
+type SyncWindow record {|
+    time:Utc 'start;
+    time:Utc end;
+|};
+
+// Splits the span from `watermark` to `now` into windows of at most `maxWindow` seconds. Spans shorter than the
+// one minute resolution of the updated and deleted resources are left for the next sync.
+isolated function getSyncWindows(time:Utc watermark, time:Utc now, decimal maxWindow) returns SyncWindow[] {
+    SyncWindow[] windows = [];
+    time:Utc windowStart = watermark;
+    while time:utcDiffSeconds(now, windowStart) >= MIN_SYNC_WINDOW {
+        time:Utc windowEnd = time:utcAddSeconds(windowStart, maxWindow);
+        if time:utcDiffSeconds(now, windowEnd) < 0d {
+            windowEnd = now;
+        }
+        windows.push({'start: windowStart, end: windowEnd});
+        windowStart = windowEnd;
+    }
+    return windows;
+}
+
+isolated function getUpdatedIds(RestClient httpClient, string apiBasePath, string sObjectName, SyncWindow window)
+        returns UpdatedRecordsResults|error {
+    return check httpClient->get(check getChangedIdsPath(apiBasePath, sObjectName, UPDATED, window));
+}
+
+isolated function getDeletedIds(RestClient httpClient, string apiBasePath, string sObjectName, SyncWindow window)
+        returns DeletedRecordsResult|error {
+    return check httpClient->get(check getChangedIdsPath(apiBasePath, sObjectName, DELETED, window));
+}
+
+isolated function getChangedIdsPath(string apiBasePath, string sObjectName, string resource, SyncWindow window)
+        returns string|error {
+    return utils:addQueryParameters(utils:prepareUrl([apiBasePath, SOBJECTS, sObjectName, resource]), {
+        'start: check time:civilToString(removeDecimalPlaces(time:utcToCivil(window.'start))),
+        end: check time:civilToString(removeDecimalPlaces(time:utcToCivil(window.end)))
+    });
+}
+
+isolated function retrieveRecords(RestClient httpClient, string apiBasePath, string sObjectName,
+        readonly & string[] ids, readonly & string[] fields) returns json[]|error {
+    string path = utils:prepareUrl([apiBasePath, COMPOSITE, SOBJECTS, sObjectName]);
+    return check httpClient->post(path, {"ids": ids, "fields": fields});
+}
@@ -0,0 +1,80 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// Offline tests of the token buckets and permit leases of InMemoryApiBudgetStore.
+//
+// Run: bal test --groups api-budget
+
+import ballerina/lang.runtime;
+import ballerina/test;
+
+@test:Config {groups: ["api-budget"]}
+function testNewBucketIsFullAndDoesNotOverdraw() returns error? {
+    InMemoryApiBudgetStore store = new;
+    test:assertEquals(check store.takeTokens("full", 6, 10, 0), 6);
+    test:assertEquals(check store.takeTokens("full", 6, 10, 0), 4);
+    test:assertEquals(check store.takeTokens("full", 1, 10, 0), 0);
+}
+
+@test:Config {groups: ["api-budget"]}
+function testBucketIsRefilledUpToCapacity() returns error? {
+    InMemoryApiBudgetStore store = new;
+    test:assertEquals(check store.takeTokens("refill", 10, 10, 1000), 10);
+    // 100 tokens are refilled in 0.1 seconds, but the bucket holds at most 10.
+    runtime:sleep(0.1);
+    test:assertEquals(check store.takeTokens("refill", 20, 10, 1000), 10);
+}
+
+@test:Config {groups: ["api-budget"]}
+function testBudgetsAreSeparate() returns error? {
+    InMemoryApiBudgetStore store = new;
+    test:assertEquals(check store.takeTokens("first", 10, 10, 0), 10);
+    test:assertEquals(check store.takeTokens("second", 10, 10, 0), 10);
+    test:assertEquals(check store.acquirePermits("first", "holder", 2, 2, 30), 2);
+    test:assertEquals(check store.acquirePermits("second", "holder", 2, 2, 30), 2);
+}
+
+@test:Config {groups: ["api-budget"]}
+function testPermitsAreSharedByHolders() returns error? {
+    InMemoryApiBudgetStore store = new;
+    test:assertEquals(check store.acquirePermits("permits", "a", 3, 4, 30), 3);
+    test:assertEquals(check store.acquirePermits("permits", "b", 3, 4, 30), 1);
+    // A renewal acquires nothing and keeps the permits held.
+    test:assertEquals(check store.acquirePermits("permits", "a", 0, 4, 30), 3);
+    check store.releasePermits("permits", "a", 2);
+    test:assertEquals(check store.acquirePermits("permits", "b", 3, 4, 30), 3);
+    test:assertEquals(check store.acquirePermits("permits", "a", 1, 4, 30), 1);
+}
+
+@test:Config {groups: ["api-budget"]}
+function testReleasingUnknownHolderIsIgnored() returns error? {
+    InMemoryApiBudgetStore store = new;
+    check store.releasePermits("unknown", "a", 1);
+    test:assertEquals(check store.acquirePermits("unknown", "a", 1, 1, 30), 1);
+    check store.releasePermits("unknown", "b", 1);
+    test:assertEquals(check store.acquirePermits("unknown", "b", 1, 1, 30), 0);
+}
+
+@test:Config {groups: ["api-budget"]}
+function testExpiredLeaseIsReleased() returns error? {
+    InMemoryApiBudgetStore store = new;
+    test:assertEquals(check store.acquirePermits("lease", "a", 4, 4, 0.1), 4);
+    test:assertEquals(check store.acquirePermits("lease", "b", 4, 4, 30), 0);
+    runtime:sleep(0.2);
+    test:assertEquals(check store.acquirePermits("lease", "b", 4, 4, 30), 4);
+    // The holder of the expired lease starts over.
+    test:assertEquals(check store.acquirePermits("lease", "a", 0, 4, 30), 0);
+}
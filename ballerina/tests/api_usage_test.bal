@@ -0,0 +1,107 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// Offline tests of the usage tracking and admission control of ApiUsageMonitor.
+//
+// Run: bal test --groups api-usage
+
+import ballerina/http;
+import ballerina/lang.runtime;
+import ballerina/test;
+import ballerina/time;
+
+@test:Config {groups: ["api-usage"]}
+function testUsageIsTheHighestShareOfAnyLimit() returns error? {
+    ApiUsageMonitor monitor = check new;
+    monitor.recordUsage(getUsageResponse("api-usage=50/1000, per-app-api-usage=20/100(appName=sample-app)"));
+    test:assertEquals(monitor.getUsage().usage, 0.2);
+    // A later response updates the limits it reports and keeps the others.
+    monitor.recordUsage(getUsageResponse("api-usage=900/1000"));
+    ApiUsage usage = monitor.getUsage();
+    test:assertEquals(usage.usage, 0.9);
+    test:assertEquals(usage.limits["per-app-api-usage"], {used: 20, max: 100});
+    // A response without the header changes nothing.
+    monitor.recordUsage(new http:Response());
+    test:assertEquals(monitor.getUsage().usage, 0.9);
+}
+
+@test:Config {groups: ["api-usage"]}
+function testRequestsBelowTheThresholdsAreAdmitted() returns error? {
+    ApiUsageMonitor monitor = check new;
+    monitor.recordUsage(getUsageResponse("api-usage=60/100"));
+    check monitor.admit(LOW);
+    check monitor.admit(NORMAL);
+    ApiUsage usage = monitor.getUsage();
+    test:assertEquals([usage.admitted, usage.delayed, usage.rejected], [2, 0, 0]);
+}
+
+@test:Config {groups: ["api-usage"]}
+function testRequestsAreDelayedBetweenTheThresholds() returns error? {
+    ApiUsageMonitor monitor = check new (low = {slowDownAt: 0.5, shedAt: 0.9}, maxDelay = 0.8);
+    monitor.recordUsage(getUsageResponse("api-usage=70/100"));
+    decimal startedAt = time:monotonicNow();
+    check monitor.admit(LOW);
+    // Halfway between the thresholds, so half of `maxDelay`.
+    decimal elapsed = time:monotonicNow() - startedAt;
+    test:assertTrue(elapsed >= 0.4d && elapsed < 0.8d, string `delayed by ${elapsed} seconds`);
+    // NORMAL requests are below their own thresholds.
+    check monitor.admit(NORMAL);
+    ApiUsage usage = monitor.getUsage();
+    test:assertEquals([usage.admitted, usage.delayed, usage.rejected], [2, 1, 0]);
+}
+
+@test:Config {groups: ["api-usage"]}
+function testRequestsAreRejectedAboveShedAtExceptProbes() returns error? {
+    ApiUsageMonitor monitor = check new (probeInterval = 0.3);
+    monitor.recordUsage(getUsageResponse("api-usage=90/100"));
+    // The first request is sent as a probe so that the usage gets refreshed; the next one is rejected.
+    check monitor.admit(LOW);
+    error? rejected = monitor.admit(LOW);
+    test:assertTrue(rejected is error);
+    // HIGH priority requests are never held back.
+    check monitor.admit(HIGH);
+    runtime:sleep(0.35);
+    check monitor.admit(LOW);
+    ApiUsage usage = monitor.getUsage();
+    test:assertEquals([usage.admitted, usage.rejected], [3, 1]);
+}
+
+@test:Config {groups: ["api-usage"]}
+function testMonitorWithoutThrottlingOnlyTracks() returns error? {
+    ApiUsageMonitor monitor = check new (throttle = false);
+    monitor.recordUsage(getUsageResponse("api-usage=99/100"));
+    check monitor.admit(LOW);
+    check monitor.admit(LOW);
+    ApiUsage usage = monitor.getUsage();
+    test:assertEquals([usage.admitted, usage.delayed, usage.rejected], [2, 0, 0]);
+    test:assertEquals(usage.usage, 0.99);
+}
+
+@test:Config {groups: ["api-usage"]}
+function testInvalidMonitorConfigIsRejected() {
+    ApiUsageMonitor|error inverted = new (low = {slowDownAt: 0.9, shedAt: 0.8});
+    test:assertTrue(inverted is error);
+    ApiUsageMonitor|error negativeDelay = new (maxDelay = -1);
+    test:assertTrue(negativeDelay is error);
+    ApiUsageMonitor|error noProbes = new (probeInterval = 0);
+    test:assertTrue(noProbes is error);
+}
+
+function getUsageResponse(string limitInfo) returns http:Response {
+    http:Response response = new;
+    response.setHeader(SFORCE_LIMIT_INFO, limitInfo);
+    return response;
+}
@@ -0,0 +1,95 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// Tests of batch requests against the mock REST API.
+//
+// Run: bal test --groups mock-batch
+
+import ballerina/test;
+
+@test:Config {groups: ["mock-batch"]}
+function testBatchSplitsSubrequestsAndMergesResultsInOrder() returns error? {
+    _ = takeRequestSizes();
+    BatchResult result = check mockRestClient->batch(getMockSubrequests(60, -1));
+    test:assertFalse(result.hasErrors);
+    test:assertEquals(result.results.length(), 60);
+    foreach int i in 0 ..< 60 {
+        test:assertEquals(result.results[i].result, {url: string `/services/data/v59.0/sobjects/Account/001${i}`});
+    }
+    test:assertEquals(takeRequestSizes().sort(), [10, 25, 25]);
+}
+
+@test:Config {groups: ["mock-batch"]}
+function testBatchHaltsAfterFailedSubrequest() returns error? {
+    _ = takeRequestSizes();
+    BatchResult result = check mockRestClient->batch(getMockSubrequests(60, 30), haltOnError = true);
+    test:assertTrue(result.hasErrors);
+    test:assertEquals(result.results.length(), 60);
+    test:assertEquals(result.results[29].statusCode, 200);
+    test:assertEquals(result.results[30].statusCode, 404);
+    test:assertEquals(result.results[31].statusCode, 412);
+    test:assertEquals(result.results[59].statusCode, 412);
+    // The requests after the failed one are not sent.
+    test:assertEquals(takeRequestSizes(), [25, 25]);
+}
+
+@test:Config {groups: ["mock-batch"]}
+function testBatchHaltsAtChunkBoundary() returns error? {
+    // The failed subrequest is the last one of the first request.
+    _ = takeRequestSizes();
+    BatchResult result = check mockRestClient->batch(getMockSubrequests(60, 24), haltOnError = true);
+    test:assertTrue(result.hasErrors);
+    test:assertEquals(result.results.length(), 60);
+    test:assertEquals(result.results[23].statusCode, 200);
+    test:assertEquals(result.results[24].statusCode, 404);
+    test:assertEquals(result.results[25].statusCode, 412);
+    test:assertEquals(result.results[59].statusCode, 412);
+    test:assertEquals(takeRequestSizes(), [25]);
+
+    // The failed subrequest is the first one of the second request.
+    result = check mockRestClient->batch(getMockSubrequests(60, 25), haltOnError = true);
+    test:assertEquals(result.results[24].statusCode, 200);
+    test:assertEquals(result.results[25].statusCode, 404);
+    test:assertEquals(result.results[26].statusCode, 412);
+    test:assertEquals(result.results[59].statusCode, 412);
+    test:assertEquals(takeRequestSizes(), [25, 25]);
+}
+
+@test:Config {groups: ["mock-batch"]}
+function testBatchWithoutHaltKeepsResultsAfterChunkBoundaryFailure() returns error? {
+    _ = takeRequestSizes();
+    BatchResult result = check mockRestClient->batch(getMockSubrequests(60, 24));
+    test:assertTrue(result.hasErrors);
+    test:assertEquals(result.results.length(), 60);
+    test:assertEquals(result.results[24].statusCode, 404);
+    test:assertEquals(result.results[25].result, {url: "/services/data/v59.0/sobjects/Account/00125"});
+    test:assertEquals(result.results[59].statusCode, 200);
+    test:assertEquals(takeRequestSizes().sort(), [10, 25, 25]);
+}
+
+@test:Config {groups: ["mock-batch"]}
+function testBatchRejectsInvalidConcurrency() {
+    BatchResult|error result = mockRestClient->batch(getMockSubrequests(1, -1), maxConcurrency = 0);
+    test:assertTrue(result is error);
+}
+
+// Returns GET subrequests of Account records, of which the one at `failedIndex` fails.
+function getMockSubrequests(int count, int failedIndex) returns Subrequest[] => from int i in 0 ..< count
+    select {
+        method: "GET",
+        url: i == failedIndex ? string `/services/data/v59.0/sobjects/Account/fail${i}`
+            : string `/services/data/v59.0/sobjects/Account/001${i}`
+    };
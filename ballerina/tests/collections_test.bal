@@ -0,0 +1,108 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// Tests of the sObject Collections operations against the mock REST API.
+//
+// Run: bal test --groups mock-collections
+
+import ballerina/test;
+
+@test:Config {groups: ["mock-collections"]}
+function testCreateManySplitsRecordsIntoRequests() returns error? {
+    _ = takeRequestSizes();
+    record {}[] records = from int i in 0 ..< 450
+        select {"Name": string `Account ${i}`};
+    SaveResult[] results = check mockRestClient->createMany("Account", records);
+    test:assertEquals(results.length(), 450);
+    foreach int i in 0 ..< 450 {
+        test:assertEquals(results[i].id, string `id-Account ${i}`, "results are not in input order");
+    }
+    test:assertEquals(takeRequestSizes().sort(), [50, 200, 200]);
+}
+
+@test:Config {groups: ["mock-collections"]}
+function testCreateManyReportsFailedRecords() returns error? {
+    SaveResult[] results = check mockRestClient->createMany("Account", [{"Name": "Acme"}, {"Name": "Invalid"}]);
+    test:assertTrue(results[0].success);
+    test:assertFalse(results[1].success);
+    test:assertEquals(results[1].errors[0].statusCode, "REQUIRED_FIELD_MISSING");
+}
+
+@test:Config {groups: ["mock-collections"]}
+function testAllOrNoneStopsAfterFailedRequest() returns error? {
+    _ = takeRequestSizes();
+    record {}[] records = from int i in 0 ..< 450
+        select {"Name": i == 10 ? "Invalid" : string `Account ${i}`};
+    SaveResult[] results = check mockRestClient->createMany("Account", records, allOrNone = true);
+    test:assertEquals(results.length(), 450);
+    test:assertFalse(results[10].success);
+    test:assertEquals(results[200].errors[0].statusCode, "NOT_PROCESSED");
+    test:assertEquals(results[449].errors[0].statusCode, "NOT_PROCESSED");
+    // The requests after the failed one are not sent.
+    test:assertEquals(takeRequestSizes(), [200]);
+}
+
+@test:Config {groups: ["mock-collections"]}
+function testDeleteManyReportsEachId() returns error? {
+    SaveResult[] results = check mockRestClient->deleteMany(["001A", "missing1", "001B"]);
+    test:assertEquals(results.map(result => result.success), [true, false, true]);
+    test:assertEquals(results[2].id, "001B");
+}
+
+@test:Config {groups: ["mock-collections"]}
+function testGetManyKeepsTheOrderOfIds() returns error? {
+    _ = takeRequestSizes();
+    string[] ids = from int i in 0 ..< 2500
+        select i == 3 ? "missing3" : string `001${i}`;
+    (MockAccount?)[] accounts = check mockRestClient->getMany("Account", ids);
+    test:assertEquals(accounts.length(), 2500);
+    test:assertEquals(accounts[3], ());
+    test:assertEquals(accounts[2499]?.Id, "0012499");
+    test:assertEquals(accounts[2499]?.Name, "Name of 0012499");
+    test:assertEquals(takeRequestSizes().sort(), [500, 2000]);
+}
+
+@test:Config {groups: ["mock-collections"]}
+function testGetByIdsStreamsRecordsInOrder() returns error? {
+    _ = takeRequestSizes();
+    string[] ids = from int i in 0 ..< 4500
+        select i % 1000 == 0 ? string `missing${i}` : string `001${i}`;
+    stream<MockAccount, error?> accounts = check mockRestClient->getByIds("Account", ids, maxConcurrency = 2);
+    string[] streamedIds = check from MockAccount account in accounts
+        select account.Id;
+    string[] foundIds = ids.filter(id => !id.startsWith("missing"));
+    test:assertEquals(streamedIds, foundIds);
+    test:assertEquals(takeRequestSizes().sort(), [500, 2000, 2000]);
+}
+
+@test:Config {groups: ["mock-collections"]}
+function testGetByIdsSkipsIdsOmittedFromTheResponse() returns error? {
+    _ = takeRequestSizes();
+    string[] ids = from int i in 0 ..< 2500
+        select i % 500 == 0 ? string `omitted${i}` : i % 700 == 0 ? string `missing${i}` : string `001${i}`;
+    stream<MockAccount, error?> accounts = check mockRestClient->getByIds("Account", ids, maxConcurrency = 2);
+    string[] streamedIds = check from MockAccount account in accounts
+        select account.Id;
+    // Records of the IDs around the omitted ones keep their order, including across the request boundary.
+    string[] foundIds = ids.filter(id => id.startsWith("001"));
+    test:assertEquals(streamedIds, foundIds);
+    test:assertEquals(takeRequestSizes().sort(), [500, 2000]);
+}
+
+type MockAccount record {
+    string Id;
+    string Name;
+};
@@ -0,0 +1,53 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// Offline tests of the subrequest URLs built by CompositeRequestBuilder.
+//
+// Run: bal test --groups composite-builder
+
+import ballerina/test;
+
+@test:Config {groups: ["composite-builder"]}
+function testQueryKeepsReferencesUnencoded() returns error? {
+    CompositeRequestBuilder builder = check new;
+    string accountId = check builder.create("NewAccount", "Account", {Name: "Acme"});
+    check builder.query("Contacts", string `SELECT Id FROM Contact WHERE AccountId = '${accountId}'`);
+    CompositeSubrequest[] subrequests = check builder.build();
+    test:assertTrue(subrequests[1].url.includes("%27@{NewAccount.id}%27"), subrequests[1].url);
+}
+
+@test:Config {groups: ["composite-builder"]}
+function testQueryKeepsLiteralBracesEncoded() returns error? {
+    CompositeRequestBuilder builder = check new;
+    _ = check builder.create("NewAccount", "Account", {Name: "Acme"});
+    check builder.query("Accounts", "SELECT Id FROM Account WHERE Name = '{Acme}' AND Id = '@{NewAccount.id}'");
+    string url = (check builder.build())[1].url;
+    test:assertTrue(url.includes("%7BAcme%7D"), url);
+    test:assertTrue(url.includes("@{NewAccount.id}"), url);
+}
+
+@test:Config {groups: ["composite-builder"]}
+function testBuilderUpdateReturnsTheGivenId() returns error? {
+    CompositeRequestBuilder builder = check new;
+    string accountId = check builder.create("NewAccount", "Account", {Name: "Acme"});
+    // An update answers with no body, so the ID it returns is the one it was given rather than a reference to it.
+    test:assertEquals(check builder.update("RenameAccount", "Account", accountId, {Name: "Acme Inc"}), accountId);
+    test:assertEquals(check builder.update("RenameOther", "Account", "001000000000001", {Name: "Other"}),
+            "001000000000001");
+    CompositeSubrequest[] subrequests = check builder.build();
+    test:assertEquals(subrequests[1].url, "/services/data/v59.0/sobjects/Account/@{NewAccount.id}");
+    test:assertEquals(subrequests[1].method, "PATCH");
+}
@@ -0,0 +1,45 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// Tests of composite requests against the mock REST API.
+//
+// Run: bal test --groups mock-composite
+
+import ballerina/test;
+
+@test:Config {groups: ["mock-composite"]}
+function testCompositeSendsReferencesAndReturnsResultsInOrder() returns error? {
+    CompositeRequestBuilder builder = check new;
+    string accountId = check builder.create("NewAccount", "Account", {Name: "Acme"});
+    _ = check builder.create("NewContact", "Contact", {LastName: "Smith", AccountId: accountId});
+    CompositeResult result = check mockRestClient->composite(check builder.build(), allOrNone = true);
+
+    test:assertEquals(result.compositeResponse.map(response => response.referenceId), ["NewAccount", "NewContact"]);
+    test:assertEquals(result.compositeResponse[1].body, {id: "id-NewContact", success: true, errors: []});
+    json request = getLastCompositeRequest();
+    test:assertEquals(check request.allOrNone, true);
+    json[] subrequests = check (check request.compositeRequest).ensureType();
+    test:assertEquals(check subrequests[0].url, "/services/data/v59.0/sobjects/Account");
+    test:assertEquals(check subrequests[1].body.AccountId, "@{NewAccount.id}");
+}
+
+@test:Config {groups: ["mock-composite"]}
+function testCompositeRejectsTooManySubrequests() {
+    CompositeSubrequest[] subrequests = from int i in 0 ..< 26
+        select {method: "GET", url: "/services/data/v59.0/limits", referenceId: string `Limits${i}`};
+    CompositeResult|error result = mockRestClient->composite(subrequests);
+    test:assertTrue(result is error);
+}
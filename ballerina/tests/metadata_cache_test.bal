@@ -0,0 +1,128 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// Offline tests of MetadataCache against the resource list of the mock REST API, which answers conditional
+// requests with `304 Not Modified` while its version is unchanged.
+//
+// Run: bal test --groups metadata-cache
+
+import ballerina/test;
+
+@test:Config {groups: ["metadata-cache"]}
+function testFreshEntryIsServedFromCache() returns error? {
+    setMockResources(1);
+    Client cachingClient = check newMockMetadataClient(check new MetadataCache());
+    int requests = getMockAttempts("resources");
+    map<string> resources = check cachingClient->getResources("v59.0");
+    test:assertEquals(resources["version"], "v1");
+    test:assertEquals(check cachingClient->getResources("v59.0"), resources);
+    test:assertEquals(getMockAttempts("resources") - requests, 1);
+}
+
+@test:Config {groups: ["metadata-cache"]}
+function testWithoutCacheEveryCallIsSent() returns error? {
+    setMockResources(1);
+    int requests = getMockAttempts("resources");
+    _ = check mockRestClient->getResources("v59.0");
+    _ = check mockRestClient->getResources("v59.0");
+    test:assertEquals(getMockAttempts("resources") - requests, 2);
+}
+
+@test:Config {groups: ["metadata-cache"]}
+function testStaleEntryIsRevalidated() returns error? {
+    setMockResources(1);
+    Client cachingClient = check newMockMetadataClient(check new MetadataCache(ttl = 0));
+    int requests = getMockAttempts("resources");
+    int notModified = getMockAttempts("resources-not-modified");
+    map<string> resources = check cachingClient->getResources("v59.0");
+    // An unchanged resource list is revalidated without a body and served from the cache.
+    test:assertEquals(check cachingClient->getResources("v59.0"), resources);
+    test:assertEquals(getMockAttempts("resources") - requests, 2);
+    test:assertEquals(getMockAttempts("resources-not-modified") - notModified, 1);
+    // A changed one replaces the entry.
+    setMockResources(2);
+    map<string> changed = check cachingClient->getResources("v59.0");
+    test:assertEquals(changed["version"], "v2");
+    test:assertEquals(getMockAttempts("resources-not-modified") - notModified, 1);
+    test:assertEquals(check cachingClient->getResources("v59.0"), changed);
+    test:assertEquals(getMockAttempts("resources-not-modified") - notModified, 2);
+    setMockResources(1);
+}
+
+@test:Config {groups: ["metadata-cache"]}
+function testFailedRevalidationEvictsEntry() returns error? {
+    setMockResources(1);
+    Client cachingClient = check newMockMetadataClient(check new MetadataCache(ttl = 0));
+    _ = check cachingClient->getResources("v59.0");
+    setMockResources(1, false);
+    map<string>|error failed = cachingClient->getResources("v59.0");
+    test:assertTrue(failed is error, "the error of the revalidation was not returned");
+    setMockResources(1);
+    // Without an entry, the next call is not conditional and is answered in full.
+    int notModified = getMockAttempts("resources-not-modified");
+    map<string> resources = check cachingClient->getResources("v59.0");
+    test:assertEquals(resources["version"], "v1");
+    test:assertEquals(getMockAttempts("resources-not-modified") - notModified, 0);
+}
+
+@test:Config {groups: ["metadata-cache"]}
+function testCacheIsSharedAndKeyedByBaseUrl() returns error? {
+    setMockResources(1);
+    MetadataCache cache = check new (maxEntries = 1);
+    Client firstClient = check newMockMetadataClient(cache);
+    Client secondClient = check newMockMetadataClient(cache);
+    // The same org under another host name is another key.
+    Client otherHostClient = check newMockMetadataClient(cache, string `http://127.0.0.1:${MOCK_PORT}`);
+    int requests = getMockAttempts("resources");
+    _ = check firstClient->getResources("v59.0");
+    _ = check secondClient->getResources("v59.0");
+    test:assertEquals(getMockAttempts("resources") - requests, 1);
+    // With one entry at most, caching the other key evicts the first one.
+    _ = check otherHostClient->getResources("v59.0");
+    _ = check firstClient->getResources("v59.0");
+    test:assertEquals(getMockAttempts("resources") - requests, 3);
+}
+
+@test:Config {groups: ["metadata-cache"]}
+function testClearRemovesAllEntries() returns error? {
+    setMockResources(1);
+    MetadataCache cache = check new;
+    Client cachingClient = check newMockMetadataClient(cache);
+    int requests = getMockAttempts("resources");
+    _ = check cachingClient->getResources("v59.0");
+    cache.clear();
+    _ = check cachingClient->getResources("v59.0");
+    test:assertEquals(getMockAttempts("resources") - requests, 2);
+}
+
+@test:Config {groups: ["metadata-cache"]}
+function testMetadataCacheConfigIsValidated() {
+    MetadataCache|error negativeTtl = new (ttl = -1);
+    test:assertTrue(negativeTtl is error);
+    MetadataCache|error noEntries = new (maxEntries = 0);
+    test:assertTrue(noEntries is error);
+}
+
+isolated function newMockMetadataClient(MetadataCache metadataCache, string baseUrl = MOCK_TOKEN_URL)
+        returns Client|error => new ({
+    baseUrl,
+    auth: {
+        tokenUrl: MOCK_TOKEN_URL,
+        clientId: "mock_client_id",
+        clientSecret: "mock_client_secret"
+    },
+    metadataCache
+});
@@ -0,0 +1,381 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// Mock Salesforce REST API for offline tests of the client's remote functions.
+// Mounted at `MOCK_API_BASE_PATH` on the mock listener next to the token endpoint,
+// which also issues the access tokens of `mockRestClient`.
+//
+// Records named `Invalid` fail to save and IDs starting with `missing` are not
+// found, so that tests can mix successes and failures in one request.
+
+import ballerina/http;
+
+const string MOCK_API_BASE_PATH = "/services/data/v59.0";
+
+final Client mockRestClient = check new ({
+    baseUrl: MOCK_TOKEN_URL,
+    auth: {
+        tokenUrl: MOCK_TOKEN_URL,
+        clientId: "mock_client_id",
+        clientSecret: "mock_client_secret"
+    }
+});
+
+// --- Request sizes ---
+// Number of records, IDs or subrequests of each request received, in arrival order.
+isolated int[] mockRequestSizes = [];
+
+isolated function recordRequestSize(int size) {
+    lock {
+        mockRequestSizes.push(size);
+    }
+}
+
+isolated function takeRequestSizes() returns int[] {
+    lock {
+        int[] sizes = mockRequestSizes.clone();
+        mockRequestSizes = [];
+        return sizes;
+    }
+}
+
+// Body of the last composite request received.
+isolated json lastCompositeRequest = ();
+
+isolated function getLastCompositeRequest() returns json {
+    lock {
+        return lastCompositeRequest.clone();
+    }
+}
+
+// Number of requests received for each key of the `flaky` resource, for each page of the `MockPage` query and
+// for the resource list.
+isolated map<int> mockAttempts = {};
+
+isolated function countMockAttempt(string key) returns int {
+    lock {
+        int attempt = (mockAttempts[key] ?: 0) + 1;
+        mockAttempts[key] = attempt;
+        return attempt;
+    }
+}
+
+isolated function getMockAttempts(string key) returns int {
+    lock {
+        return mockAttempts[key] ?: 0;
+    }
+}
+
+// Bulk API 2.0 ingest jobs by ID, and the CSV data uploaded to each.
+isolated map<map<json>> mockIngestJobs = {};
+isolated map<string> mockIngestData = {};
+
+isolated function getMockIngestData(string jobId) returns string? {
+    lock {
+        return mockIngestData[jobId];
+    }
+}
+
+// Version of the resource list, and whether it is available, of the `get .` resource.
+isolated int mockResourcesVersion = 1;
+isolated boolean mockResourcesAvailable = true;
+
+isolated function setMockResources(int version, boolean available = true) {
+    lock {
+        mockResourcesVersion = version;
+    }
+    lock {
+        mockResourcesAvailable = available;
+    }
+}
+
+final http:Service mockRestService = service object {
+
+    // Bulk API 2.0 ingest jobs. A job completes as soon as its data is uploaded, and the rows with an `Invalid`
+    // value fail.
+    resource function post jobs/ingest(@http:Payload json payload) returns json|error {
+        string id = string `750MOCK-${countMockAttempt("ingest-jobs")}`;
+        map<json> job = {
+            id,
+            operation: check payload.operation,
+            'object: check payload.'object,
+            createdById: "005MOCK",
+            createdDate: "2026-01-01T00:00:00.000+0000",
+            systemModstamp: "2026-01-01T00:00:00.000+0000",
+            state: "Open",
+            concurrencyMode: "Parallel",
+            contentType: "CSV",
+            apiVersion: 59.0
+        };
+        lock {
+            mockIngestJobs[id] = job.clone();
+        }
+        return job;
+    }
+
+    resource function put jobs/ingest/[string id]/batches(@http:Payload string csv) returns http:Created {
+        lock {
+            mockIngestData[id] = csv;
+        }
+        return http:CREATED;
+    }
+
+    resource function patch jobs/ingest/[string id](@http:Payload json payload) returns json|error {
+        json state = check payload.state;
+        lock {
+            map<json> job = mockIngestJobs.get(id);
+            job["state"] = state.clone();
+            return job.clone();
+        }
+    }
+
+    resource function get jobs/ingest/[string id]() returns json {
+        int processed = getMockIngestRows(id).length();
+        lock {
+            map<json> job = mockIngestJobs.get(id).clone();
+            if job["state"] == "UploadComplete" {
+                job["state"] = "JobComplete";
+                job["numberRecordsProcessed"] = processed;
+            }
+            return job.clone();
+        }
+    }
+
+    resource function get jobs/ingest/[string id]/failedResults() returns http:Response {
+        string header = getMockIngestHeader(id);
+        string[] failed = from string row in getMockIngestRows(id)
+            where re `,`.split(row).indexOf("Invalid") !is ()
+            select string `,REQUIRED_FIELD_MISSING,${row}`;
+        http:Response response = new;
+        response.setTextPayload(string:'join("\n", string `sf__Id,sf__Error,${header}`, ...failed) + "\n",
+            "text/csv");
+        return response;
+    }
+
+    // Resource list of the API version, with an `ETag` of its version. A request whose `If-None-Match` matches is
+    // answered with `304 Not Modified`. Requests are counted under the key `resources`, and the `304` answers also
+    // under `resources-not-modified`.
+    resource function get .(@http:Header {name: "If-None-Match"} string? ifNoneMatch) returns http:Response {
+        _ = countMockAttempt("resources");
+        http:Response response = new;
+        boolean available;
+        lock {
+            available = mockResourcesAvailable;
+        }
+        if !available {
+            response.statusCode = http:STATUS_SERVICE_UNAVAILABLE;
+            response.setJsonPayload([{errorCode: "SERVER_UNAVAILABLE", message: "Mock failure"}]);
+            return response;
+        }
+        int version;
+        lock {
+            version = mockResourcesVersion;
+        }
+        string etag = string `"resources-v${version}"`;
+        response.setHeader(ETAG, etag);
+        if ifNoneMatch == etag {
+            _ = countMockAttempt("resources-not-modified");
+            response.statusCode = http:STATUS_NOT_MODIFIED;
+            return response;
+        }
+        response.setJsonPayload({
+            sobjects: string `${MOCK_API_BASE_PATH}/sobjects`,
+            query: string `${MOCK_API_BASE_PATH}/query`,
+            version: string `v${version}`
+        });
+        return response;
+    }
+
+    // sObject Collections create.
+    resource function post composite/sobjects(@http:Payload json payload) returns http:Ok|error {
+        json[] records = check (check payload.records).ensureType();
+        recordRequestSize(records.length());
+        json[] results = [];
+        foreach json entry in records {
+            string name = check (check entry.Name).ensureType();
+            results.push(name == "Invalid" ? getMockFailure("REQUIRED_FIELD_MISSING") : {
+                id: string `id-${name}`,
+                success: true,
+                errors: []
+            });
+        }
+        return {body: results};
+    }
+
+    // sObject Collections delete.
+    resource function delete composite/sobjects(string ids, string allOrNone) returns http:Ok {
+        string[] idList = re `,`.split(ids);
+        recordRequestSize(idList.length());
+        json[] results = from string id in idList
+            select id.startsWith("missing") ? getMockFailure("ENTITY_IS_DELETED") : {id, success: true, errors: []};
+        return {body: results};
+    }
+
+    // sObject Collections retrieve. IDs starting with `missing` come back as `null`, and IDs starting with `omitted`
+    // are left out of the response.
+    resource function post composite/sobjects/[string sObjectName](@http:Payload json payload)
+            returns http:Ok|error {
+        string[] ids = check (check payload.ids).cloneWithType();
+        recordRequestSize(ids.length());
+        json[] records = from string id in ids
+            where !id.startsWith("omitted")
+            select id.startsWith("missing") ? () : {
+                attributes: {'type: sObjectName, url: string `${MOCK_API_BASE_PATH}/sobjects/${sObjectName}/${id}`},
+                Id: id,
+                Name: string `Name of ${id}`
+            };
+        return {body: records};
+    }
+
+    // Batch request. Subrequests with `fail` in the URL fail, and with `haltOnError` the ones after a failure
+    // are not run.
+    resource function post composite/batch(@http:Payload json payload) returns http:Ok|error {
+        json[] subrequests = check (check payload.batchRequests).ensureType();
+        boolean haltOnError = check (check payload.haltOnError).ensureType();
+        recordRequestSize(subrequests.length());
+        boolean hasErrors = false;
+        json[] results = [];
+        foreach json subrequest in subrequests {
+            string url = check (check subrequest.url).ensureType();
+            if hasErrors && haltOnError {
+                results.push({statusCode: 412, result: [{errorCode: "BATCH_PROCESSING_HALTED", message: "halted"}]});
+            } else if url.includes("fail") {
+                hasErrors = true;
+                results.push({statusCode: 404, result: [{errorCode: "NOT_FOUND", message: "not found"}]});
+            } else {
+                results.push({statusCode: 200, result: {url}});
+            }
+        }
+        return {body: {hasErrors, results}};
+    }
+
+    // First page of a query over three Account records, whatever the SOQL. A query `FROM MockPage` instead has
+    // `MOCK_QUERY_PAGES` pages of one record each, named after the `Sforce-Query-Options` header of the request.
+    resource function get query(string q, @http:Header {name: "Sforce-Query-Options"} string? queryOptions)
+            returns json {
+        if q.includes("FROM MockPage") {
+            return getMockQueryPage(1, queryOptions);
+        }
+        return {
+            totalSize: 3,
+            done: false,
+            nextRecordsUrl: string `${MOCK_API_BASE_PATH}/query/01gMOCK-2`,
+            records: [getMockQueryRecord("a1", "Acme, Inc"), getMockQueryRecord("a2", ())]
+        };
+    }
+
+    resource function get query/[string locator](@http:Header {name: "Sforce-Query-Options"} string? queryOptions)
+            returns json|error {
+        if locator.startsWith(MOCK_QUERY_PAGE_LOCATOR) {
+            return getMockQueryPage(check int:fromString(locator.substring(MOCK_QUERY_PAGE_LOCATOR.length())),
+                    queryOptions);
+        }
+        return {
+            totalSize: 3,
+            done: true,
+            records: [getMockQueryRecord("a3", "Globex")]
+        };
+    }
+
+    // Like `query`, with a deleted record.
+    resource function get queryAll(string q) returns json => {
+        totalSize: 2,
+        done: true,
+        records: [getMockQueryRecord("a1", "Acme, Inc"), getMockQueryRecord("d1", "Initech", true)]
+    };
+
+    resource function post composite(@http:Payload json payload) returns http:Ok|error {
+        return {body: check getMockCompositeResult(payload)};
+    }
+
+    // Answers the first `failures` requests of each key, of any method, with `status` (and `Retry-After` if given),
+    // and the later ones with the number of the attempt. Every response reports `usage` in `Sforce-Limit-Info`.
+    resource function 'default flaky/[string key](int? failures, int? status, string? retryAfter, string? usage)
+            returns http:Response {
+        int attempt = countMockAttempt(key);
+        http:Response response = new;
+        response.setHeader(SFORCE_LIMIT_INFO, usage ?: "api-usage=10/100");
+        if attempt <= (failures ?: 0) {
+            response.statusCode = status ?: http:STATUS_SERVICE_UNAVAILABLE;
+            if retryAfter is string {
+                response.setHeader(RETRY_AFTER, retryAfter);
+            }
+            response.setJsonPayload([{errorCode: "SERVER_UNAVAILABLE", message: "Mock failure"}]);
+            return response;
+        }
+        response.setJsonPayload({attempts: attempt});
+        return response;
+    }
+};
+
+// Composite request. Each subrequest succeeds with the ID `id-<referenceId>`.
+isolated function getMockCompositeResult(json payload) returns json|error {
+    lock {
+        lastCompositeRequest = payload.clone();
+    }
+    json[] subrequests = check (check payload.compositeRequest).ensureType();
+    json[] results = [];
+    foreach json subrequest in subrequests {
+        string referenceId = check (check subrequest.referenceId).ensureType();
+        results.push({
+            body: {id: string `id-${referenceId}`, success: true, errors: []},
+            httpHeaders: {},
+            httpStatusCode: 201,
+            referenceId
+        });
+    }
+    return {compositeResponse: results};
+}
+
+isolated function getMockQueryRecord(string id, string? name, boolean isDeleted = false) returns json => {
+    attributes: {'type: "Account", url: string `${MOCK_API_BASE_PATH}/sobjects/Account/${id}`},
+    Id: id,
+    Name: name,
+    IsDeleted: isDeleted
+};
+
+isolated function getMockIngestHeader(string jobId) returns string {
+    string[] lines = re `\n`.split((getMockIngestData(jobId) ?: "").trim());
+    return lines[0];
+}
+
+// Data rows uploaded to an ingest job.
+isolated function getMockIngestRows(string jobId) returns string[] {
+    string data = (getMockIngestData(jobId) ?: "").trim();
+    return data == "" ? [] : re `\n`.split(data).slice(1);
+}
+
+const int MOCK_QUERY_PAGES = 4;
+const string MOCK_QUERY_PAGE_LOCATOR = "01gPAGE-";
+
+// Page `page` of the `FROM MockPage` query. Each request is counted under the key `query-page-<page>`.
+isolated function getMockQueryPage(int page, string? queryOptions) returns json {
+    _ = countMockAttempt(string `query-page-${page}`);
+    map<json> result = {
+        totalSize: MOCK_QUERY_PAGES,
+        done: page == MOCK_QUERY_PAGES,
+        records: [getMockQueryRecord(string `p${page}`, queryOptions)]
+    };
+    if page < MOCK_QUERY_PAGES {
+        result[NEXT_RECORDS_URL] = string `${MOCK_API_BASE_PATH}/query/${MOCK_QUERY_PAGE_LOCATOR}${page + 1}`;
+    }
+    return result;
+}
+
+isolated function getMockFailure(string statusCode) returns json => {
+    success: false,
+    errors: [{statusCode, message: string `Mock failure: ${statusCode}`, fields: []}]
+};
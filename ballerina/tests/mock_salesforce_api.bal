@@ -178,6 +178,7 @@ final http:Service mockTokenService = service object {
 @test:BeforeSuite
 function startMockServer() returns error? {
     check mockListener.attach(mockTokenService, "/");
+    check mockListener.attach(mockRestService, MOCK_API_BASE_PATH);
     check mockListener.'start();
     log:printInfo(string `[MockSF] Mock Salesforce token endpoint started on port ${MOCK_PORT}`);
     // Give the listener a moment to bind the port
@@ -0,0 +1,173 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// Tests of SOQL queries and exports against the mock REST API.
+//
+// Run: bal test --groups mock-query
+
+import ballerina/io;
+import ballerina/lang.runtime;
+import ballerina/test;
+
+type MockQueryRecord record {
+    string Id;
+    string? Name;
+    boolean IsDeleted;
+};
+
+@test:Config {groups: ["mock-query"]}
+function testQueryFollowsNextRecordsUrl() returns error? {
+    stream<MockQueryRecord, error?> records = check mockRestClient->query("SELECT Id, Name, IsDeleted FROM Account");
+    string[] ids = check from MockQueryRecord item in records
+        select item.Id;
+    test:assertEquals(ids, ["a1", "a2", "a3"]);
+}
+
+@test:Config {groups: ["mock-query"]}
+function testQueryAllIncludesDeletedRecords() returns error? {
+    stream<MockQueryRecord, error?> records = check mockRestClient->queryAll(
+        "SELECT Id, Name, IsDeleted FROM Account");
+    MockQueryRecord[] deleted = check from MockQueryRecord item in records
+        where item.IsDeleted
+        select item;
+    test:assertEquals(deleted.length(), 1);
+    test:assertEquals(deleted[0].Id, "d1");
+}
+
+@test:Config {groups: ["mock-query"]}
+function testQueryToFileWritesCsv() returns error? {
+    string filePath = "target/mock_query_export.csv";
+    ExportResult result = check mockRestClient->queryToFile("SELECT Id, Name, IsDeleted FROM Account", filePath);
+    test:assertEquals(result.rows, 3);
+    test:assertEquals(check io:fileReadString(filePath),
+        "Id,Name,IsDeleted\r\na1,\"Acme, Inc\",false\r\na2,,false\r\na3,Globex,false\r\n");
+}
+
+@test:Config {groups: ["mock-query"]}
+function testQueryToFileWritesNdjson() returns error? {
+    string filePath = "target/mock_query_export.ndjson";
+    ExportResult result = check mockRestClient->queryToFile("SELECT Id, Name, IsDeleted FROM Account", filePath,
+        NDJSON);
+    test:assertEquals(result.rows, 3);
+    string[] lines = check io:fileReadLines(filePath);
+    test:assertEquals(lines[0], "{\"Id\":\"a1\",\"Name\":\"Acme, Inc\",\"IsDeleted\":false}");
+    test:assertEquals(lines.length(), 3);
+}
+
+@test:Config {groups: ["mock-query"]}
+function testQueryToFileFailsOnValueWithoutColumn() {
+    string filePath = "target/mock_query_unmapped.csv";
+    // The records have an `IsDeleted` value that the select list has no column for.
+    ExportResult|error result = mockRestClient->queryToFile("SELECT Id, Name FROM Account", filePath);
+    test:assertTrue(result is error);
+    test:assertTrue(io:fileReadString(filePath) is error, "the partial file was not removed");
+}
+
+@test:Config {groups: ["mock-query"]}
+function testQueryPrefetchKeepsPageOrder() returns error? {
+    foreach int prefetchDepth in [0, 1, 3, 10] {
+        Client queryClient = check newMockQueryClient({prefetchDepth});
+        stream<MockQueryRecord, error?> records = check queryClient->query("SELECT Id, Name, IsDeleted FROM MockPage");
+        string[] ids = check from MockQueryRecord item in records
+            select item.Id;
+        test:assertEquals(ids, ["p1", "p2", "p3", "p4"], string `prefetchDepth ${prefetchDepth}`);
+    }
+}
+
+@test:Config {groups: ["mock-query"]}
+function testQueryPrefetchFetchesAheadOfConsumption() returns error? {
+    int[] before = getMockQueryPageAttempts();
+    Client queryClient = check newMockQueryClient({prefetchDepth: 2});
+    stream<MockQueryRecord, error?> records = check queryClient->query("SELECT Id, Name, IsDeleted FROM MockPage");
+    record {|MockQueryRecord value;|}? first = check records.next();
+    test:assertEquals(first?.value?.Id, "p1");
+    runtime:sleep(0.5);
+    // The two pages after the first are fetched while it is being consumed, and the last one only once the
+    // prefetched pages are reached.
+    test:assertEquals(getMockQueryPageAttemptsSince(before), [1, 1, 1, 0]);
+    string[] ids = check from MockQueryRecord item in records
+        select item.Id;
+    test:assertEquals(ids, ["p2", "p3", "p4"]);
+    test:assertEquals(getMockQueryPageAttemptsSince(before), [1, 1, 1, 1], "a page was fetched more than once");
+}
+
+@test:Config {groups: ["mock-query"]}
+function testQueryWithoutPrefetchFetchesOnExhaustion() returns error? {
+    int[] before = getMockQueryPageAttempts();
+    Client queryClient = check newMockQueryClient({prefetchDepth: 0});
+    stream<MockQueryRecord, error?> records = check queryClient->query("SELECT Id, Name, IsDeleted FROM MockPage");
+    record {|MockQueryRecord value;|}? first = check records.next();
+    test:assertEquals(first?.value?.Id, "p1");
+    runtime:sleep(0.5);
+    test:assertEquals(getMockQueryPageAttemptsSince(before), [1, 0, 0, 0]);
+    check records.close();
+}
+
+@test:Config {groups: ["mock-query"]}
+function testQueryBatchSizeIsSentWithEveryPage() returns error? {
+    Client queryClient = check newMockQueryClient({batchSize: 500});
+    stream<MockQueryRecord, error?> records = check queryClient->query("SELECT Id, Name, IsDeleted FROM MockPage");
+    string?[] queryOptions = check from MockQueryRecord item in records
+        select item.Name;
+    test:assertEquals(queryOptions, ["batchSize=500", "batchSize=500", "batchSize=500", "batchSize=500"]);
+
+    // Without a batch size, Salesforce picks the page size.
+    records = check mockRestClient->query("SELECT Id, Name, IsDeleted FROM MockPage");
+    queryOptions = check from MockQueryRecord item in records
+        select item.Name;
+    test:assertEquals(queryOptions, [(), (), (), ()]);
+}
+
+@test:Config {groups: ["mock-query"]}
+function testQueryConfigIsValidated() returns error? {
+    Client|error tooSmall = newMockQueryClient({batchSize: 199});
+    test:assertTrue(tooSmall is error);
+    Client|error tooLarge = newMockQueryClient({batchSize: 2001});
+    test:assertTrue(tooLarge is error);
+    Client|error negativeDepth = newMockQueryClient({prefetchDepth: -1});
+    test:assertTrue(negativeDepth is error);
+    _ = check newMockQueryClient({batchSize: 200, prefetchDepth: 0});
+    _ = check newMockQueryClient({batchSize: 2000});
+}
+
+@test:Config {groups: ["mock-query"]}
+function testClosingQueryStreamWithPrefetchInFlight() returns error? {
+    Client queryClient = check newMockQueryClient({prefetchDepth: 3});
+    stream<MockQueryRecord, error?> records = check queryClient->query("SELECT Id, Name, IsDeleted FROM MockPage");
+    record {|MockQueryRecord value;|}? first = check records.next();
+    test:assertEquals(first?.value?.Id, "p1");
+    check records.close();
+}
+
+isolated function newMockQueryClient(QueryConfig queryConfig) returns Client|error => new ({
+    baseUrl: MOCK_TOKEN_URL,
+    auth: {
+        tokenUrl: MOCK_TOKEN_URL,
+        clientId: "mock_client_id",
+        clientSecret: "mock_client_secret"
+    },
+    queryConfig
+});
+
+isolated function getMockQueryPageAttempts() returns int[] =>
+    from int page in 1 ... MOCK_QUERY_PAGES
+        select getMockAttempts(string `query-page-${page}`);
+
+isolated function getMockQueryPageAttemptsSince(int[] before) returns int[] {
+    int[] attempts = getMockQueryPageAttempts();
+    return from int i in 0 ..< attempts.length()
+        select attempts[i] - before[i];
+}
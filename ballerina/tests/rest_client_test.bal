@@ -0,0 +1,142 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// Tests of the retries, concurrency limits and usage tracking of RestClient against the mock REST API.
+//
+// Run: bal test --groups mock-rest-client
+
+import ballerina/http;
+import ballerina/jballerina.java;
+import ballerina/test;
+import ballerina/time;
+
+@test:Config {groups: ["mock-rest-client"]}
+function testOverloadIsRetriedUntilSuccess() returns error? {
+    RestClient restClient = check newMockRestClient(3);
+    json result = check restClient->get(string `${MOCK_API_BASE_PATH}/flaky/overload?failures=2&status=503`);
+    test:assertEquals(result, {attempts: 3});
+
+    result = check restClient->get(string `${MOCK_API_BASE_PATH}/flaky/too-many?failures=1&status=429`);
+    test:assertEquals(result, {attempts: 2});
+}
+
+@test:Config {groups: ["mock-rest-client"]}
+function testRetryAfterIsHonoured() returns error? {
+    RestClient restClient = check newMockRestClient(3);
+    decimal startedAt = time:monotonicNow();
+    json result = check restClient->get(
+        string `${MOCK_API_BASE_PATH}/flaky/retry-after?failures=2&status=429&retryAfter=0.3`);
+    test:assertEquals(result, {attempts: 3});
+    test:assertTrue(time:monotonicNow() - startedAt >= 0.6d, "the retries did not wait for Retry-After");
+}
+
+@test:Config {groups: ["mock-rest-client"]}
+function testRetriesStopAtMaxRetries() returns error? {
+    RestClient restClient = check newMockRestClient(2);
+    json|error result = restClient->get(string `${MOCK_API_BASE_PATH}/flaky/exhausted?failures=10&status=503`);
+    if result !is http:RemoteServerError {
+        test:assertFail("expected the last HTTP 503 as a RemoteServerError");
+    }
+    test:assertEquals(result.detail().statusCode, 503);
+    test:assertEquals(getMockAttempts("exhausted"), 3);
+}
+
+@test:Config {groups: ["mock-rest-client"]}
+function testUncertainFailuresAreRetriedOnlyWhenIdempotent() returns error? {
+    RestClient restClient = check newMockRestClient(3);
+    json|error created = restClient->post(string `${MOCK_API_BASE_PATH}/flaky/uncertain-post?failures=1&status=502`,
+        {Name: "Acme"});
+    // A POST may have been applied, so a gateway error is returned rather than retried.
+    test:assertTrue(created is http:RemoteServerError);
+    test:assertEquals(getMockAttempts("uncertain-post"), 1);
+
+    json updated = check restClient->patch(
+        string `${MOCK_API_BASE_PATH}/flaky/uncertain-patch?failures=1&status=502`, {Name: "Acme"});
+    test:assertEquals(updated, {attempts: 2});
+}
+
+@test:Config {groups: ["mock-rest-client"]}
+function testPermitIsReleasedWhenRequestFails() returns error? {
+    // With a single permit, a request that failed without releasing it would block every later one.
+    RestClient restClient = check newMockRestClient(0, {initialLimit: 1, minLimit: 1, maxLimit: 1});
+    foreach int i in 0 ..< 3 {
+        json|error result = restClient->get(string `${MOCK_API_BASE_PATH}/flaky/released-${i}?failures=1&status=500`);
+        test:assertTrue(result is http:RemoteServerError);
+    }
+    json result = check restClient->get(string `${MOCK_API_BASE_PATH}/flaky/released-after`);
+    test:assertEquals(result, {attempts: 1});
+
+    // The same holds when no response is received at all.
+    http:Client unreachable = check new ("http://localhost:9", {timeout: 2});
+    RestClient offline = check new (unreachable, check new ApiUsageMonitor(throttle = false), NORMAL, false,
+        getMockResilience(0, {initialLimit: 1, minLimit: 1, maxLimit: 1}), ());
+    foreach int _ in 0 ..< 2 {
+        json|error failed = offline->get("/limits");
+        test:assertTrue(failed is error);
+    }
+}
+
+@test:Config {groups: ["mock-rest-client"]}
+function testLimiterShrinksOnOverloadAndRecovers() returns error? {
+    RestClient restClient = check newMockRestClient(0, {initialLimit: 4, minLimit: 1, maxLimit: 8, backoffRatio: 0.5});
+    test:assertEquals(getConcurrencyLimit(restClient, READ_OPERATIONS), 4);
+    int[] limits = [];
+    foreach int i in 0 ..< 3 {
+        json|error result = restClient->get(string `${MOCK_API_BASE_PATH}/flaky/shrink-${i}?failures=1&status=503`);
+        test:assertTrue(result is http:RemoteServerError);
+        limits.push(getConcurrencyLimit(restClient, READ_OPERATIONS));
+    }
+    // Halved on each overload, down to the minimum.
+    test:assertEquals(limits, [2, 1, 1]);
+    // A request that uses the whole limit without overload raises it by one.
+    json _ = check restClient->get(string `${MOCK_API_BASE_PATH}/flaky/recover`);
+    test:assertEquals(getConcurrencyLimit(restClient, READ_OPERATIONS), 2);
+    // Other operation classes keep their own limit.
+    test:assertEquals(getConcurrencyLimit(restClient, WRITE_OPERATIONS), 4);
+}
+
+@test:Config {groups: ["mock-rest-client"]}
+function testSforceLimitInfoIsParsed() returns error? {
+    ApiUsageMonitor monitor = check new (throttle = false);
+    http:Client httpClient = check new (MOCK_TOKEN_URL);
+    RestClient restClient = check new (httpClient, monitor, NORMAL, false, (), ());
+    json _ = check restClient->get(string `${MOCK_API_BASE_PATH}/flaky/usage?usage=` +
+        "api-usage%3D18%2F15000%2C%20per-app-api-usage%3D17%2F250(appName%3Dsample-app)");
+    ApiUsage usage = monitor.getUsage();
+    test:assertEquals(usage.limits, {"api-usage": {used: 18, max: 15000}, "per-app-api-usage": {used: 17, max: 250}});
+    test:assertEquals(usage.usage, 17.0 / 250.0);
+    test:assertEquals(usage.admitted, 1);
+
+    // Malformed entries are skipped and do not erase the known usage.
+    json _ = check restClient->get(string `${MOCK_API_BASE_PATH}/flaky/usage-malformed?usage=` +
+        "api-usage%3Dunknown%2C%20other%3D1%2F0");
+    test:assertEquals(monitor.getUsage().limits["api-usage"], {used: 18, max: 15000});
+}
+
+function newMockRestClient(int maxRetries, ConcurrencyLimitConfig concurrency = {}) returns RestClient|error {
+    http:Client httpClient = check new (MOCK_TOKEN_URL);
+    return new (httpClient, check new ApiUsageMonitor(throttle = false), NORMAL, false,
+        getMockResilience(maxRetries, concurrency), ());
+}
+
+function getMockResilience(int maxRetries, ConcurrencyLimitConfig concurrency) returns ResilienceConfig {
+    OperationPolicy policy = {concurrency, retry: {maxRetries, interval: 0.01, maxInterval: 1}};
+    return {reads: policy, writes: policy, composite: policy};
+}
+
+isolated function getConcurrencyLimit(RestClient client, string operationClass) returns int = @java:Method {
+    'class: "io.ballerinax.salesforce.ConcurrencyLimiter"
+} external;
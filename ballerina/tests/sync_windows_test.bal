@@ -0,0 +1,58 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// Offline tests of the windows that syncChanges splits the span since the watermark into.
+//
+// Run: bal test --groups sync-windows
+
+import ballerina/test;
+import ballerina/time;
+
+final time:Utc syncWatermark = check time:utcFromString("2026-01-01T00:00:00Z");
+
+@test:Config {groups: ["sync-windows"]}
+function testSpanIsSplitIntoContiguousWindows() {
+    time:Utc firstEnd = time:utcAddSeconds(syncWatermark, 3600);
+    time:Utc secondEnd = time:utcAddSeconds(syncWatermark, 7200);
+    time:Utc now = time:utcAddSeconds(syncWatermark, 9000);
+    SyncWindow[] expected = [
+        {'start: syncWatermark, end: firstEnd},
+        {'start: firstEnd, end: secondEnd},
+        {'start: secondEnd, end: now}
+    ];
+    test:assertEquals(getSyncWindows(syncWatermark, now, 3600), expected);
+}
+
+@test:Config {groups: ["sync-windows"]}
+function testSpanWithinMaxWindowIsOneWindow() {
+    time:Utc now = time:utcAddSeconds(syncWatermark, 600);
+    SyncWindow[] expected = [{'start: syncWatermark, end: now}];
+    test:assertEquals(getSyncWindows(syncWatermark, now, 3600), expected);
+}
+
+@test:Config {groups: ["sync-windows"]}
+function testSpanShorterThanAMinuteIsLeftForTheNextSync() {
+    test:assertEquals(getSyncWindows(syncWatermark, time:utcAddSeconds(syncWatermark, 59), 3600).length(), 0);
+    test:assertEquals(getSyncWindows(syncWatermark, syncWatermark, 3600).length(), 0);
+}
+
+@test:Config {groups: ["sync-windows"]}
+function testRemainderShorterThanAMinuteIsLeftForTheNextSync() {
+    // The last 30 seconds after two full windows are covered by the next sync.
+    SyncWindow[] windows = getSyncWindows(syncWatermark, time:utcAddSeconds(syncWatermark, 7230), 3600);
+    test:assertEquals(windows.length(), 2);
+    test:assertEquals(windows[1].end, time:utcAddSeconds(syncWatermark, 7200));
+}
@@ -0,0 +1,154 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied. See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+// Tests of the write routing of insertAll and deleteAll against the mock REST API, whose Bulk API 2.0 ingest jobs
+// complete as soon as their data is uploaded.
+//
+// Run: bal test --groups mock-write-router
+
+import ballerina/http;
+import ballerina/test;
+
+@test:Config {groups: ["mock-write-router"]}
+function testSmallInsertGoesThroughCollections() returns error? {
+    _ = takeRequestSizes();
+    record {}[] records = [{"Name": "Acme"}, {"Name": "Invalid"}, {"Name": "Globex"}];
+    WriteResult result = check mockRestClient->insertAll("Account", records.toStream());
+    test:assertEquals(result.route, COLLECTIONS);
+    test:assertEquals(result.processed, 2);
+    test:assertEquals(result.failures.length(), 1);
+    test:assertEquals(result.failures[0].'record, {"Name": "Invalid"});
+    test:assertTrue(result.failures[0].message.includes("REQUIRED_FIELD_MISSING"), result.failures[0].message);
+    test:assertEquals(result.jobIds, []);
+    test:assertEquals(takeRequestSizes(), [3]);
+}
+
+@test:Config {groups: ["mock-write-router"]}
+function testLargeInsertGoesThroughBulk() returns error? {
+    _ = takeRequestSizes();
+    record {}[] records = [
+        {"Name": "Acme, Inc", "NumberOfEmployees": 10},
+        {"Name": "Invalid", "NumberOfEmployees": 20},
+        {"Name": "Globex", "NumberOfEmployees": ()},
+        {"Name": "Initech"}
+    ];
+    WriteResult result = check mockRestClient->insertAll("Account", records.toStream(), maxCollectionRecords = 2,
+        pollInterval = 0.01);
+    test:assertEquals(result.route, BULK);
+    test:assertEquals(result.processed, 3);
+    test:assertEquals(result.failures, [{'record: {"Name": "Invalid", "NumberOfEmployees": "20"},
+        message: "REQUIRED_FIELD_MISSING"}]);
+    test:assertEquals(result.jobIds.length(), 1);
+    // Nil fields are set to null, and absent ones are left empty.
+    test:assertEquals(getMockIngestData(result.jobIds[0]),
+        "Name,NumberOfEmployees\n\"Acme, Inc\",10\nInvalid,20\nGlobex,#N/A\nInitech,\n");
+    // No sObject Collections request was sent.
+    test:assertEquals(takeRequestSizes(), []);
+}
+
+@test:Config {groups: ["mock-write-router"]}
+function testLargeInputIsSplitIntoJobs() returns error? {
+    record {}[] records = from int i in 0 ..< 10
+        select {"Name": string `Account ${i}`};
+    // Each line of `Account <i>` takes 10 bytes, so three fit in a job of up to 30 bytes of data.
+    WriteResult result = check mockRestClient->insertAll("Account", records.toStream(), maxCollectionRecords = 5,
+        maxJobBytes = 30, pollInterval = 0.01);
+    test:assertEquals(result.route, BULK);
+    test:assertEquals(result.processed, 10);
+    test:assertEquals(result.jobIds.length(), 4);
+    test:assertEquals(getMockIngestData(result.jobIds[3]), "Name\nAccount 9\n");
+}
+
+@test:Config {groups: ["mock-write-router"]}
+function testLargeRecordsGoThroughBulk() returns error? {
+    record {}[] records = [{"Name": "Acme"}, {"Name": "Globex"}];
+    WriteResult result = check mockRestClient->insertAll("Account", records.toStream(), maxCollectionBytes = 20,
+        pollInterval = 0.01);
+    test:assertEquals(result.route, BULK);
+    test:assertEquals(result.processed, 2);
+}
+
+@test:Config {groups: ["mock-write-router"]}
+function testHighApiUsageSendsMultiRequestInputsToBulk() returns error? {
+    ApiUsageMonitor apiUsageMonitor = check new (throttle = false);
+    http:Response usage = new;
+    usage.setHeader(SFORCE_LIMIT_INFO, "api-usage=90/100");
+    apiUsageMonitor.recordUsage(usage);
+    Client busyClient = check new ({
+        baseUrl: MOCK_TOKEN_URL,
+        auth: {
+            tokenUrl: MOCK_TOKEN_URL,
+            clientId: "mock_client_id",
+            clientSecret: "mock_client_secret"
+        },
+        apiUsageMonitor
+    });
+    // 201 records need two sObject Collections requests, but a single job.
+    record {}[] records = from int i in 0 ..< 201
+        select {"Name": string `Account ${i}`};
+    WriteResult result = check busyClient->insertAll("Account", records.toStream(), pollInterval = 0.01);
+    test:assertEquals(result.route, BULK);
+    // Inputs that fit in one request still go through sObject Collections.
+    result = check busyClient->insertAll("Account", records.slice(0, 200).toStream());
+    test:assertEquals(result.route, COLLECTIONS);
+}
+
+@test:Config {groups: ["mock-write-router"]}
+function testDeleteAllSendsOnlyIds() returns error? {
+    record {}[] records = [{"Id": "001A", "Name": "Acme"}, {"Id": "missing1"}, {"Id": "001B"}];
+    WriteResult result = check mockRestClient->deleteAll("Account", records.toStream());
+    test:assertEquals(result.route, COLLECTIONS);
+    test:assertEquals(result.processed, 2);
+    test:assertEquals(result.failures[0].'record, {"Id": "missing1"});
+
+    result = check mockRestClient->deleteAll("Account", records.toStream(), maxCollectionRecords = 1,
+        pollInterval = 0.01);
+    test:assertEquals(result.route, BULK);
+    test:assertEquals(getMockIngestData(result.jobIds[0]), "Id\n001A\nmissing1\n001B\n");
+
+    WriteResult|error missingId = mockRestClient->deleteAll("Account", [{"Name": "Acme"}].toStream());
+    test:assertTrue(missingId is error, "a record without an Id was accepted");
+}
+
+@test:Config {groups: ["mock-write-router"]}
+function testFailureAfterJobsKeepsTheirResult() returns error? {
+    // The columns come from the records read ahead, so the `Phone` of the last record has no column. By then the
+    // first job has run.
+    record {}[] records = [{"Name": "A"}, {"Name": "B"}, {"Name": "C", "Phone": "1"}];
+    WriteResult|error result = mockRestClient->insertAll("Account", records.toStream(), maxCollectionRecords = 1,
+        maxJobBytes = 3, pollInterval = 0.01);
+    if result !is WriteError {
+        test:assertFail(msg = "expected a WriteError");
+        return;
+    }
+    WriteResult partial = result.detail().result;
+    test:assertEquals(partial.route, BULK);
+    test:assertEquals(partial.jobIds.length(), 1);
+    test:assertEquals(partial.processed, 1);
+    test:assertEquals(getMockIngestData(partial.jobIds[0]), "Name\nA\n");
+}
+
+@test:Config {groups: ["mock-write-router"]}
+function testWriteRouterConfigIsValidated() {
+    WriteResult|error negativeRecords = mockRestClient->insertAll("Account", [{"Name": "A"}].toStream(),
+        maxCollectionRecords = -1);
+    test:assertTrue(negativeRecords is error);
+    WriteResult|error noConcurrency = mockRestClient->insertAll("Account", [{"Name": "A"}].toStream(),
+        maxConcurrency = 0);
+    test:assertTrue(noConcurrency is error);
+    WriteResult|error noTimeout = mockRestClient->insertAll("Account", [{"Name": "A"}].toStream(), jobTimeout = 0);
+    test:assertTrue(noTimeout is error);
+}
@@ -76,6 +76,149 @@ public type ConnectionConfig record {|
         http:OAuth2PasswordGrantConfig|http:OAuth2ClientCredentialsGrantConfig auth;
     # The Salesforce API version
     string apiVersion = "59.0";
+    # Configurations related to paging the results of `query`
+    QueryConfig queryConfig = {};
+    # Cache for the responses of the metadata operations. Not cached if not set
+    MetadataCache metadataCache?;
+    # Cache for the records read with `getById` and `getByExternalId`. Not cached if not set
+    RecordCache recordCache?;
+    # Tracks the API usage of the org and throttles requests by `priority` as it nears the limit. If not set, the
+    # client tracks the usage it sees without throttling
+    ApiUsageMonitor apiUsageMonitor?;
+    # Priority of the requests of the client, for the admission control of `apiUsageMonitor`
+    RequestPriority priority = NORMAL;
+    # Token bucket and concurrency limit shared with the other clients and replicas of the org. If not set, requests
+    # are not paced by the client
+    ApiBudget apiBudget?;
+    # Adaptive concurrency limits and retries of the REST requests, per class of operation. If not set, requests are
+    # neither limited nor retried by the client
+    ResilienceConfig resilience?;
+|};
+
+# Represents the adaptive concurrency limits and retries of the REST requests of a client. Requests are classified
+# as `reads` (`GET` requests), `composite` (requests to the composite resources, including sObject Collections),
+# and `writes` (all other requests).
+public type ResilienceConfig record {|
+    # Policy of the read requests
+    OperationPolicy reads = {};
+    # Policy of the write requests
+    OperationPolicy writes = {};
+    # Policy of the composite requests, each of which runs several operations in Salesforce
+    OperationPolicy composite = {concurrency: {initialLimit: 4, maxLimit: 16}};
+|};
+
+# Represents the concurrency limit and the retries of a class of operations.
+public type OperationPolicy record {|
+    # Adaptive limit of the concurrent requests
+    ConcurrencyLimitConfig concurrency = {};
+    # Retries of the failed requests
+    RetryPolicy retry = {};
+|};
+
+# Represents an adaptive concurrency limit. While Salesforce keeps up, the limit grows by one for each round of
+# requests that uses it fully. When Salesforce signals overload, i.e. `503 Service Unavailable`, `429 Too Many
+# Requests` or a `REQUEST_LIMIT_EXCEEDED` error for concurrent requests, the limit is multiplied by `backoffRatio`.
+public type ConcurrencyLimitConfig record {|
+    # Limit at start
+    int initialLimit = 8;
+    # Lowest limit
+    int minLimit = 1;
+    # Highest limit
+    int maxLimit = 64;
+    # Factor applied to the limit on overload, between 0 and 1
+    float backoffRatio = 0.5;
+|};
+
+# Represents the retries of failed requests. Overload errors and `UNABLE_TO_LOCK_ROW` are retried for all requests,
+# as Salesforce did not apply the request. Gateway errors and connection failures are retried only for idempotent
+# requests (`GET`, `PUT`, `PATCH` and `DELETE`), since a `POST` may have been applied. Request bodies given as an
+# `http:Request`, a stream or MIME entities are never retried.
+public type RetryPolicy record {|
+    # Maximum number of retries of a request. Set to `0` to disable retries
+    int maxRetries = 3;
+    # Base delay in seconds. The delay before retry `n` is a random duration of up to `interval * 2^(n-1)`, or the
+    # `Retry-After` of the response if given
+    decimal interval = 0.5;
+    # Longest delay in seconds
+    decimal maxInterval = 10;
+|};
+
+# Represents the configurations used when paging through SOQL query results.
+public type QueryConfig record {|
+    # Number of records requested per page through the `Sforce-Query-Options` header. Must be between 200 and 2000.
+    # If not set, Salesforce decides the page size (2000 by default)
+    int batchSize?;
+    # Number of pages fetched ahead of the page being consumed. Set to `0` to fetch each page only after
+    # the previous one has been fully consumed
+    int prefetchDepth = 1;
+    # If set, `query` and `queryAll` first count the records of the query with a `SELECT COUNT()` probe, and queries
+    # with more records are run as Bulk API 2.0 query jobs, streamed as the same record type. Queries with
+    # sub-queries, functions in the select list, or `GROUP BY`, `HAVING`, `OFFSET` or `TYPEOF` clauses, and queries
+    # whose probe fails, are run through REST. Bulk API 2.0 does not tell empty strings from nulls, so empty values
+    # are bound as nil
+    int bulkThreshold?;
+    # Number of records fetched per Bulk API 2.0 query results request
+    int bulkChunkSize = 50000;
+    # Interval in seconds between checks of the state of a Bulk API 2.0 query job
+    decimal bulkPollInterval = 2;
+    # The longest time in seconds a Bulk API 2.0 query job may run. A job still running after it is aborted and the
+    # query fails
+    decimal bulkJobTimeout = 3600;
+|};
+
+# Represents the configurations of `Client->queryResumable`.
+public type ResumableQueryConfig record {|
+    # Store of the query checkpoints. If not set, checkpoints are kept in process memory
+    CursorStore cursorStore?;
+    # Key of the checkpoint in the store. Defaults to the SOQL query
+    string cursorId?;
+    # Whether deleted and archived records are included, as with `Client->queryAll`
+    boolean includeDeleted = false;
+|};
+
+# Formats in which SOQL query results are exported to a file.
+public enum ExportFormat {
+    # Comma-separated values with a header row. Relationship fields are flattened into dotted columns such as
+    # `Account.Name`. The columns are the fields of the select list or, if it has sub-queries or functions, the
+    # fields of the records of the first page. The export fails if a later record has a value without a column
+    CSV,
+    # One JSON object per line, keeping the structure of the records
+    NDJSON
+}
+
+# Represents the outcome of a SOQL query export.
+public type ExportResult record {|
+    # Number of records written
+    int rows;
+    # Duration of the export in seconds
+    decimal seconds;
+    # Records written per second
+    decimal rowsPerSecond;
+|};
+
+# Fields used to split a SOQL query into disjoint partitions.
+public enum PartitionStrategy {
+    # Splits the query on `Id` boundaries sampled from the query result. Sampling jumps to offsets of the
+    # query cursor through an undocumented form of `nextRecordsUrl`; if that is not available, the query is split
+    # into fewer partitions or not at all
+    ID_RANGE = "Id",
+    # Splits the query into equally sized `CreatedDate` windows
+    CREATED_DATE = "CreatedDate",
+    # Splits the query into equally sized `SystemModstamp` windows
+    SYSTEM_MODSTAMP = "SystemModstamp"
+}
+
+# Represents the configurations of a partitioned SOQL query.
+public type PartitionedQueryConfig record {|
+    # Field used to split the query into partitions
+    PartitionStrategy strategy = ID_RANGE;
+    # Number of partitions the query is split into
+    int partitions = 4;
+    # Maximum number of partitions fetched concurrently
+    int maxConcurrency = 4;
+    # If `true`, records are returned partition by partition in partition order. Otherwise, records are returned
+    # in the order in which the pages arrive
+    boolean ordered = false;
 |};
 
 # Defines the Salesforce version type.
@@ -271,6 +414,31 @@ public type UpdatedRecordsResults record {
     string latestDateCovered;
 };
 
+# Represents the configurations of `Client->getChanges`.
+public type SyncConfig record {|
+    # Store of the sync watermark. If not set, the watermark is kept in process memory
+    WatermarkStore watermarkStore?;
+    # Key of the watermark in the store. Defaults to the sObject name. Set it when several syncs of the same sObject
+    # share a store
+    string syncId?;
+    # Time in seconds before now at which the first sync starts, when the store has no watermark. Salesforce keeps
+    # about 30 days of change history
+    decimal initialLookback = 86400;
+    # Longest time span in seconds fetched with one request for updated and deleted IDs. A span with more changes
+    # than Salesforce returns at once (600,000 IDs) is split further
+    decimal maxWindow = 86400;
+    # Maximum number of sObject Collections retrieve requests in flight, of up to 2000 records each
+    int maxConcurrency = 4;
+|};
+
+# Represents the deletion of a record, delivered by `Client->getChanges`.
+public type RecordDeletion record {|
+    # ID of the deleted record
+    string id;
+    # Date and time of the deletion
+    string deletedDate;
+|};
+
 # Represent the password status.
 public type PasswordStatus record{
     # Indicates whether the password is expired
@@ -330,6 +498,171 @@ public type BatchResult record {
     SubRequestResult[] results;
 };
 
+# Represents a subrequest of a composite request. Later subrequests can use the results of earlier ones through
+# references of the form `@{referenceId.field}` in their URL or body.
+public type CompositeSubrequest record {|
+    # HTTP method of the subrequest
+    string method;
+    # URL of the subrequest, starting with `/services/data`
+    string url;
+    # Reference ID used to refer to the result of the subrequest
+    string referenceId;
+    # Body of the subrequest
+    json body?;
+    # Headers of the subrequest
+    map<string> httpHeaders?;
+|};
+
+# Represents the result of a subrequest of a composite request.
+public type CompositeSubrequestResult record {
+    # Body of the subrequest response
+    json body;
+    # Headers of the subrequest response
+    map<string> httpHeaders;
+    # HTTP status code of the subrequest response
+    int httpStatusCode;
+    # Reference ID of the subrequest
+    string referenceId;
+};
+
+# Represents the result of a composite request.
+public type CompositeResult record {
+    # Results of the subrequests, in request order
+    CompositeSubrequestResult[] compositeResponse;
+};
+
+# Represents a graph of a composite graph request. The subrequests of a graph succeed or fail together.
+public type CompositeGraph record {|
+    # ID of the graph, unique within the request
+    string graphId;
+    # Subrequests (nodes) of the graph
+    CompositeSubrequest[] compositeRequest;
+|};
+
+# Represents the result of a graph of a composite graph request.
+public type CompositeGraphResult record {
+    # ID of the graph
+    string graphId;
+    # Indicates whether all the subrequests of the graph succeeded
+    boolean isSuccessful;
+    # Results of the subrequests of the graph
+    CompositeResult graphResponse;
+};
+
+# Represents the result of a composite graph request.
+public type CompositeGraphResponse record {
+    # Results of the graphs, in request order
+    CompositeGraphResult[] graphs;
+};
+
+# Represents the result of writing a record through the sObject Collections API.
+public type SaveResult record {
+    # ID of the record. Not present if the record could not be created
+    string id?;
+    # Indicates whether the operation succeeded for the record
+    boolean success;
+    # Errors that occurred while writing the record
+    CollectionError[] errors = [];
+    # Indicates whether the record was created rather than updated. Present in upsert results only
+    boolean created?;
+};
+
+# Represents the configurations of sObject Collections operations.
+public type CollectionConfig record {|
+    # If `true`, a request is rolled back when any of its records fails. Inputs that span several requests are
+    # then sent one request after another, and the records after a failed request are not processed
+    boolean allOrNone = false;
+    # The maximum number of requests sent concurrently
+    int maxConcurrency = 4;
+|};
+
+# Routes taken by `Client->insertAll`, `Client->upsertAll` and `Client->deleteAll`.
+public enum WriteRoute {
+    # Parallel sObject Collections requests of up to 200 records
+    COLLECTIONS,
+    # Bulk API 2.0 ingest jobs
+    BULK
+}
+
+# Represents the configurations of `Client->insertAll`, `Client->upsertAll` and `Client->deleteAll`. Inputs within
+# both `maxCollectionRecords` and `maxCollectionBytes` are written through sObject Collections, and larger inputs
+# through Bulk API 2.0 ingest jobs.
+public type WriteRouterConfig record {|
+    # Largest number of records written through sObject Collections
+    int maxCollectionRecords = 2000;
+    # Largest JSON size in bytes of the records written through sObject Collections
+    int maxCollectionBytes = 10000000;
+    # API usage of the org, between 0 and 1, from which inputs that need more than one sObject Collections request
+    # are written through Bulk API 2.0, since a job takes the same few API requests whatever its size
+    float highApiUsage = 0.8;
+    # The maximum number of sObject Collections requests sent concurrently
+    int maxConcurrency = 4;
+    # Largest size in bytes of the CSV data of one ingest job. Larger inputs are split into several jobs, run one
+    # after another. Salesforce accepts up to 150 MB of data per job
+    int maxJobBytes = 100000000;
+    # Interval in seconds between checks of the state of an ingest job
+    decimal pollInterval = 5;
+    # The longest time in seconds an ingest job may run. A job still running after it is aborted and the write fails
+    decimal jobTimeout = 3600;
+|};
+
+# Represents a record that could not be written by `Client->insertAll`, `Client->upsertAll` or `Client->deleteAll`.
+public type FailedRecord record {|
+    # Fields of the record. The fields of records written through Bulk API 2.0 are the columns of the job, with text
+    # values
+    map<anydata> 'record;
+    # Why the record could not be written
+    string message;
+|};
+
+# Represents the outcome of `Client->insertAll`, `Client->upsertAll` or `Client->deleteAll`.
+public type WriteResult record {|
+    # Route the records were written through
+    WriteRoute route;
+    # Number of records written
+    int processed;
+    # Records that could not be written
+    FailedRecord[] failures;
+    # IDs of the ingest jobs, if written through Bulk API 2.0
+    string[] jobIds = [];
+|};
+
+# Defines a write of `Client->insertAll`, `Client->upsertAll` or `Client->deleteAll`.
+#
+# + operation - The Bulk API 2.0 operation
+# + sObjectName - sObject name
+# + externalIdField - External ID field, for upsert
+type RoutedWrite record {|
+    Operation operation;
+    string sObjectName;
+    string externalIdField = "";
+|};
+
+# Defines a write sent through the sObject Collections API in chunks.
+#
+# + operation - The write operation
+# + sObjectName - sObject name, for create, update and upsert
+# + externalIdField - External ID field, for upsert
+# + records - Records to be written, for create, update and upsert
+# + ids - IDs of the records to be deleted, for delete
+type CollectionWrite record {|
+    string operation;
+    string sObjectName = "";
+    string externalIdField = "";
+    record {}[] records = [];
+    string[] ids = [];
+|};
+
+# Represents an error that occurred while writing a record through the sObject Collections API.
+public type CollectionError record {
+    # Status code of the error
+    string statusCode;
+    # Error message
+    string message;
+    # Fields that caused the error
+    string[] fields = [];
+};
+
 # Represents the bulk job creation request payload. 
 public type BulkCreatePayload record {
     # the sObject type of the bulk job
@@ -14,6 +14,7 @@
 // specific language governing permissions and limitations
 // under the License.
 
+import ballerina/http;
 import ballerina/io;
 import ballerina/log;
 import ballerina/time;
@@ -101,3 +102,227 @@ isolated function parseCsvString(string stringContent) returns string[][]|error
    'class: "io.ballerinax.salesforce.CsvParserUtils",
    name: "parseCsvToStringArray"
 } external;
+
+# Validates the SOQL query paging configurations.
+#
+# + queryConfig - Query configurations
+# + return - `error` if a configuration is out of range, else `()`
+isolated function validateQueryConfig(QueryConfig queryConfig) returns error? {
+    int? batchSize = queryConfig.batchSize;
+    if batchSize is int && (batchSize < MIN_QUERY_BATCH_SIZE || batchSize > MAX_QUERY_BATCH_SIZE) {
+        return error(string `batchSize must be between ${MIN_QUERY_BATCH_SIZE} and ${MAX_QUERY_BATCH_SIZE}.`);
+    }
+    if queryConfig.prefetchDepth < 0 {
+        return error("prefetchDepth must not be negative.");
+    }
+    int? bulkThreshold = queryConfig.bulkThreshold;
+    if bulkThreshold is int && bulkThreshold < 0 {
+        return error("bulkThreshold must not be negative.");
+    }
+    if queryConfig.bulkChunkSize <= 0 || queryConfig.bulkPollInterval <= 0d || queryConfig.bulkJobTimeout <= 0d {
+        return error("bulkChunkSize, bulkPollInterval and bulkJobTimeout must be greater than 0.");
+    }
+}
+
+# Returns the headers sent with each SOQL query page request.
+#
+# + queryConfig - Query configurations
+# + return - The request headers
+isolated function getQueryHeaders(QueryConfig queryConfig) returns readonly & map<string> {
+    int? batchSize = queryConfig.batchSize;
+    return batchSize is int ? {[SFORCE_QUERY_OPTIONS]: string `batchSize=${batchSize}`} : {};
+}
+
+# Validates the partitioned query configurations.
+#
+# + config - Partitioned query configurations
+# + return - `error` if a configuration is out of range, else `()`
+isolated function validatePartitionedQueryConfig(PartitionedQueryConfig config) returns error? {
+    if config.partitions <= 0 {
+        return error("partitions must be greater than 0.");
+    }
+    if config.maxConcurrency <= 0 {
+        return error("maxConcurrency must be greater than 0.");
+    }
+}
+
+isolated function getSObjectName(string soql) returns string|error = @java:Method {
+    'class: "io.ballerinax.salesforce.SoqlUtils"
+} external;
+
+isolated function getWhereClause(string soql) returns string = @java:Method {
+    'class: "io.ballerinax.salesforce.SoqlUtils"
+} external;
+
+isolated function addFilter(string soql, string condition) returns string|error = @java:Method {
+    'class: "io.ballerinax.salesforce.SoqlUtils"
+} external;
+
+isolated function isBulkQueryable(string soql) returns boolean = @java:Method {
+    'class: "io.ballerinax.salesforce.SoqlUtils"
+} external;
+
+isolated function getQueryLimit(string soql) returns int? = @java:Method {
+    'class: "io.ballerinax.salesforce.SoqlUtils"
+} external;
+
+isolated function getBulkQueryPage(string csv, typedesc<record {}> recordType) returns byte[]|error = @java:Method {
+    'class: "io.ballerinax.salesforce.BulkQueryResults"
+} external;
+
+isolated function getDateWindowBoundaries(string lowest, string highest, int windows) returns string[]|error =
+@java:Method {
+    'class: "io.ballerinax.salesforce.SoqlUtils"
+} external;
+
+isolated function bindRecord(byte[] payload, typedesc<record {}> targetType) returns record {}|error = @java:Method {
+    'class: "io.ballerinax.salesforce.RecordBinder"
+} external;
+
+# Builds the payload of an sObject Collections write request.
+#
+# + sObjectName - sObject name
+# + records - Records to be written
+# + allOrNone - Whether the request is rolled back when a record fails
+# + return - The request payload
+isolated function getCollectionPayload(string sObjectName, record {}[] records, boolean allOrNone) returns json {
+    json[] entries = [];
+    foreach record {} sObject in records {
+        map<json> entry = <map<json>>sObject.toJson();
+        entry["attributes"] = {"type": sObjectName};
+        entries.push(entry);
+    }
+    return {"allOrNone": allOrNone, "records": entries};
+}
+
+# Returns failed results for records that were not written.
+#
+# + count - Number of records
+# + statusCode - Status code of the failure
+# + message - Reason of the failure
+# + return - A failed result for each record
+isolated function getFailedResults(int count, string statusCode, string message) returns SaveResult[] {
+    SaveResult[] results = [];
+    foreach int i in 0 ..< count {
+        results.push({success: false, errors: [{statusCode, message}]});
+    }
+    return results;
+}
+
+# Parses a Salesforce date-time, e.g. `2024-05-08T20:00:00.000+0000`.
+#
+# + value - Date-time string
+# + return - The date-time, or an error if it cannot be parsed
+isolated function parseSalesforceDateTime(string value) returns time:Utc|error {
+    int length = value.length();
+    if length > 5 && (value[length - 5] == "+" || value[length - 5] == "-") {
+        // The UTC offset has no colon, which `time:utcFromString` requires.
+        return time:utcFromString(value.substring(0, length - 2) + ":" + value.substring(length - 2));
+    }
+    return time:utcFromString(value);
+}
+
+# Returns the Salesforce error code of a failed request, e.g. `EXCEEDED_ID_LIMIT`.
+#
+# + err - Error returned for the request
+# + return - The error code, or `()` if the error has none
+isolated function getSalesforceErrorCode(error err) returns string? {
+    if err !is http:ClientRequestError {
+        return;
+    }
+    anydata body = err.detail().body;
+    if body is json[] && body.length() > 0 && body[0] is map<json> {
+        json errorCode = (<map<json>>body[0])["errorCode"];
+        return errorCode is string ? errorCode : ();
+    }
+    return;
+}
+
+# Returns the Bulk API 2.0 CSV columns of records: their fields in the order first seen, with the fields of nested
+# records, such as relationships matched by external ID, as dotted columns like `Account.ExternalId__c`.
+#
+# + records - The records
+# + return - The columns
+isolated function getCsvColumns(record {}[] records) returns string[] {
+    string[] columns = [];
+    map<boolean> seen = {};
+    foreach record {} rec in records {
+        map<anydata> fields = {};
+        flattenRecord(rec, "", fields);
+        foreach string column in fields.keys() {
+            if !seen.hasKey(column) {
+                seen[column] = true;
+                columns.push(column);
+            }
+        }
+    }
+    return columns;
+}
+
+# Returns the Bulk API 2.0 CSV line of a record. Absent fields are left empty, which leaves them unchanged, and nil
+# fields are set to null.
+#
+# + rec - The record
+# + columns - The CSV columns
+# + index - Position of the record in the input, for error messages
+# + return - The line, or an error if the record has fields that are not columns
+isolated function getCsvLine(record {} rec, string[] columns, int index) returns string|error {
+    map<anydata> fields = {};
+    flattenRecord(rec, "", fields);
+    string[] values = [];
+    foreach string column in columns {
+        if !fields.hasKey(column) {
+            values.push(PRIVATE_EMPTY_STRING);
+            continue;
+        }
+        anydata value = fields.remove(column);
+        values.push(value is () ? BULK_NULL_VALUE : escapeCsvValue(value is string ? value : value.toString()));
+    }
+    if fields.length() > 0 {
+        return error(string `Record ${index} has fields that are not in the records read before the write was ` +
+            string `routed: ${string:'join(", ", ...fields.keys())}.`);
+    }
+    return string:'join(",", ...values);
+}
+
+isolated function flattenRecord(map<anydata> value, string prefix, map<anydata> fields) {
+    foreach [string, anydata] [name, fieldValue] in value.entries() {
+        if name == ATTRIBUTES {
+            continue;
+        }
+        string path = prefix == PRIVATE_EMPTY_STRING ? name : prefix + "." + name;
+        if fieldValue is map<anydata> {
+            flattenRecord(fieldValue, path, fields);
+        } else {
+            fields[path] = fieldValue;
+        }
+    }
+}
+
+isolated function escapeCsvValue(string value) returns string {
+    if value.includes(",") || value.includes("\"") || value.includes("\n") || value.includes("\r") {
+        return string `"${re `"`.replaceAll(value, "\"\"")}"`;
+    }
+    return value;
+}
+
+# Returns the `Id` of a record.
+#
+# + rec - The record
+# + index - Position of the record in the input, for error messages
+# + return - The ID, or an error if the record has none
+isolated function getRecordId(record {} rec, int index) returns string|error {
+    anydata id = rec[ID];
+    if id is string {
+        return id;
+    }
+    return error(string `Record ${index} has no ${ID}.`);
+}
+
+# Returns the messages of the errors of a record written through sObject Collections.
+#
+# + errors - The errors
+# + return - The messages, with their status codes
+isolated function getCollectionErrorMessage(CollectionError[] errors) returns string {
+    return string:'join("; ", ...errors.'map(e => string `${e.statusCode}: ${e.message}`));
+}
@@ -0,0 +1,62 @@
+// Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+//
+// WSO2 LLC. licenses this file to you under the Apache License,
+// Version 2.0 (the "License"); you may not use this file except
+// in compliance with the License.
+// You may obtain a copy of the License at
+//
+// http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+
+import ballerina/time;
+
+# Pluggable store of the watermarks of `Client->getChanges`. A watermark is the time up to which the changes of a
+# sync have been delivered, and where the next sync starts. Implementations must be `isolated`.
+#
+# The default implementation (`InMemoryWatermarkStore`) keeps the watermarks in process memory, so a restarted
+# process starts over from `SyncConfig.initialLookback`. Provide an implementation backed by a database or another
+# durable store to resume syncs across restarts.
+public type WatermarkStore isolated object {
+
+    # Reads the watermark of a sync.
+    #
+    # + syncId - The ID of the sync
+    # + return - The watermark, `()` if the sync has not run yet, or an `error`
+    public isolated function getWatermark(string syncId) returns time:Utc?|error;
+
+    # Writes the watermark of a sync, after the changes up to it have been delivered.
+    #
+    # + syncId - The ID of the sync
+    # + watermark - The new watermark
+    # + return - `()` on success, or an `error` if the write fails
+    public isolated function setWatermark(string syncId, time:Utc watermark) returns error?;
+};
+
+# Default in-memory watermark store. Watermarks are not kept across restarts.
+public isolated class InMemoryWatermarkStore {
+    *WatermarkStore;
+
+    private final map<time:Utc> watermarks = {};
+
+    public isolated function getWatermark(string syncId) returns time:Utc?|error {
+        lock {
+            return self.watermarks[syncId];
+        }
+    }
+
+    public isolated function setWatermark(string syncId, time:Utc watermark) returns error? {
+        lock {
+            self.watermarks[syncId] = watermark;
+        }
+    }
+}
+
+// Store used by syncs that do not configure one.
+final InMemoryWatermarkStore defaultWatermarkStore = new;
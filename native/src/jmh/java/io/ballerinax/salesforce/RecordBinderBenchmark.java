@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.utils.JsonUtils;
+import io.ballerina.runtime.api.utils.ValueUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BTypedesc;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares binding a record response through {@link RecordBinder} with the generic conversion it replaced (parse the
+ * payload to JSON, then convert it to the record type, as {@code cloneWithType} does).
+ *
+ * <p>Run with {@code ./gradlew :salesforce-native:jmh}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+public class RecordBinderBenchmark {
+
+    private static final String ACCOUNT = "{\"attributes\":{\"type\":\"Account\",\"url\":" +
+            "\"/services/data/v59.0/sobjects/Account/0015g00000XyZabAAB\"},\"Id\":\"0015g00000XyZabAAB\"," +
+            "\"Name\":\"Acme Corporation\",\"Type\":\"Customer - Direct\",\"Industry\":\"Manufacturing\"," +
+            "\"BillingCity\":\"San Francisco\",\"Phone\":\"(415) 555-1212\",\"NumberOfEmployees\":1200," +
+            "\"AnnualRevenue\":350000000.0,\"IsDeleted\":false,\"Description\":null}";
+
+    private byte[] payload;
+    private BArray payloadArray;
+    private RecordType recordType;
+    private BTypedesc typedesc;
+
+    @Setup
+    public void setUp() {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        addField(fields, "attributes", PredefinedTypes.TYPE_JSON);
+        for (String name : new String[]{"Id", "Name", "Type", "Industry", "BillingCity", "Phone"}) {
+            addField(fields, name, PredefinedTypes.TYPE_STRING);
+        }
+        addField(fields, "NumberOfEmployees", PredefinedTypes.TYPE_INT);
+        addField(fields, "AnnualRevenue", PredefinedTypes.TYPE_DECIMAL);
+        addField(fields, "IsDeleted", PredefinedTypes.TYPE_BOOLEAN);
+        addField(fields, "Description",
+                TypeCreator.createUnionType(PredefinedTypes.TYPE_STRING, PredefinedTypes.TYPE_NULL));
+        recordType = TypeCreator.createRecordType("Account", new Module("ballerinax", "salesforce", "8"), 0, fields,
+                null, true, 0);
+        typedesc = ValueCreator.createTypedescValue(recordType);
+        payload = ACCOUNT.getBytes(StandardCharsets.UTF_8);
+        payloadArray = ValueCreator.createArrayValue(payload);
+    }
+
+    @Benchmark
+    public Object directBinding() {
+        return RecordBinder.bindRecord(payloadArray, typedesc);
+    }
+
+    @Benchmark
+    public Object genericConversion() {
+        return ValueUtils.convert(JsonUtils.parse(new String(payload, StandardCharsets.UTF_8)), recordType);
+    }
+
+    private static void addField(Map<String, Field> fields, String name, Type type) {
+        fields.put(name, TypeCreator.createField(type, name, SymbolFlags.REQUIRED));
+    }
+}
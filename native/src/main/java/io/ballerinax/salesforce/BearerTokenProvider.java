@@ -38,10 +38,21 @@ import java.util.function.Supplier;
 public class BearerTokenProvider implements Function<Boolean, String> {
 
     private Supplier<BayeuxParameters> sessionSupplier;
+    private Runnable sessionInvalidator;
     private String bearerToken;
 
     public BearerTokenProvider(Supplier<BayeuxParameters> sessionSupplier) {
+        this(sessionSupplier, () -> { });
+    }
+
+    /**
+     * @param sessionSupplier    supplies the Bayeux parameters of a (possibly cached) session
+     * @param sessionInvalidator discards a cached session before re-authentication, so that the
+     *                           supplier performs a fresh login instead of returning the rejected session
+     */
+    public BearerTokenProvider(Supplier<BayeuxParameters> sessionSupplier, Runnable sessionInvalidator) {
         this.sessionSupplier = sessionSupplier;
+        this.sessionInvalidator = sessionInvalidator;
     }
 
     public BayeuxParameters login() throws Exception {
@@ -53,6 +64,7 @@ public class BearerTokenProvider implements Function<Boolean, String> {
     @Override
     public String apply(Boolean reAuth) {
         if (reAuth) {
+            sessionInvalidator.run();
             try {
                 bearerToken = sessionSupplier.get().bearerToken();
             } catch (Exception e) {
@@ -0,0 +1,220 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.opencsv.CSVReader;
+import com.opencsv.exceptions.CsvException;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.TypeTags;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * Converts the CSV results of a Bulk API 2.0 query job into the JSON shape of a REST query result page, so that they
+ * are bound by a {@code QueryPageCursor} like the records of a REST query. Relationship columns such as
+ * {@code Account.Name} become nested objects, and values are written as JSON numbers or booleans where the field of
+ * the target record type is one. Bulk API 2.0 writes null values as empty strings, so empty values become nulls.
+ *
+ * @since 8.8.0
+ */
+public final class BulkQueryResults {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final String RECORDS = "records";
+    private static final String DONE = "done";
+
+    private BulkQueryResults() {
+    }
+
+    public static Object getBulkQueryPage(BString csv, BTypedesc recordType) {
+        try {
+            return ValueCreator.createArrayValue(toQueryPage(csv.getValue(), recordType.getDescribingType()));
+        } catch (IOException | CsvException e) {
+            return ErrorCreator.createError(fromString("Failed to parse the Bulk API 2.0 query results: " +
+                    e.getMessage()));
+        }
+    }
+
+    static byte[] toQueryPage(String csv, Type recordType) throws IOException, CsvException {
+        try (CSVReader reader = new CSVReader(new StringReader(csv))) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(csv.length() * 2);
+            try (JsonGenerator generator = JSON_FACTORY.createGenerator(out)) {
+                generator.writeStartObject();
+                generator.writeBooleanField(DONE, true);
+                generator.writeArrayFieldStart(RECORDS);
+                String[] header = reader.readNext();
+                if (header != null) {
+                    Column root = Column.forHeader(header, recordType);
+                    String[] row;
+                    while ((row = reader.readNext()) != null) {
+                        generator.writeStartObject();
+                        root.writeFields(generator, row);
+                        generator.writeEndObject();
+                    }
+                }
+                generator.writeEndArray();
+                generator.writeEndObject();
+            }
+            return out.toByteArray();
+        }
+    }
+
+    /**
+     * A column of the results, or a relationship grouping the columns of its fields.
+     */
+    private static final class Column {
+
+        private final Type type;
+        private final Map<String, Column> fields = new LinkedHashMap<>();
+        private int index = -1;
+
+        private Column(Type type) {
+            this.type = type;
+        }
+
+        static Column forHeader(String[] header, Type recordType) {
+            Column root = new Column(valueType(recordType));
+            for (int i = 0; i < header.length; i++) {
+                Column column = root;
+                for (String name : header[i].split("\\.")) {
+                    Column parent = column;
+                    column = parent.fields.computeIfAbsent(name, field -> new Column(parent.fieldType(field)));
+                }
+                column.index = i;
+            }
+            return root;
+        }
+
+        void writeFields(JsonGenerator generator, String[] row) throws IOException {
+            for (Map.Entry<String, Column> field : fields.entrySet()) {
+                generator.writeFieldName(field.getKey());
+                field.getValue().writeValue(generator, row);
+            }
+        }
+
+        private void writeValue(JsonGenerator generator, String[] row) throws IOException {
+            if (!fields.isEmpty()) {
+                // A relationship with no values is null in the result, as with REST queries.
+                if (isEmpty(row)) {
+                    generator.writeNull();
+                    return;
+                }
+                generator.writeStartObject();
+                writeFields(generator, row);
+                generator.writeEndObject();
+                return;
+            }
+            String value = index < row.length ? row[index] : "";
+            if (value.isEmpty()) {
+                generator.writeNull();
+                return;
+            }
+            int tag = type == null ? TypeTags.STRING_TAG : type.getTag();
+            switch (tag) {
+                case TypeTags.INT_TAG:
+                case TypeTags.FLOAT_TAG:
+                case TypeTags.DECIMAL_TAG:
+                    if (isNumber(value)) {
+                        generator.writeNumber(value);
+                        return;
+                    }
+                    break;
+                case TypeTags.BOOLEAN_TAG:
+                    if ("true".equals(value) || "false".equals(value)) {
+                        generator.writeBoolean(Boolean.parseBoolean(value));
+                        return;
+                    }
+                    break;
+                default:
+                    break;
+            }
+            // Values that do not fit the field are left as text, and are reported when the record is bound.
+            generator.writeString(value);
+        }
+
+        private boolean isEmpty(String[] row) {
+            if (fields.isEmpty()) {
+                return index >= row.length || row[index].isEmpty();
+            }
+            for (Column field : fields.values()) {
+                if (!field.isEmpty(row)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private Type fieldType(String name) {
+            if (!(type instanceof RecordType recordType)) {
+                return null;
+            }
+            Field field = recordType.getFields().get(name);
+            if (field != null) {
+                return valueType(field.getFieldType());
+            }
+            return recordType.isSealed() ? null : valueType(recordType.getRestFieldType());
+        }
+
+        // Returns the type of the non-nil values of a type, or null if it is a union of several types.
+        private static Type valueType(Type type) {
+            Type implied = TypeUtils.getImpliedType(type);
+            if (!(implied instanceof UnionType unionType)) {
+                return implied;
+            }
+            Type member = null;
+            for (Type memberType : unionType.getMemberTypes()) {
+                Type impliedMember = TypeUtils.getImpliedType(memberType);
+                if (impliedMember.getTag() == TypeTags.NULL_TAG) {
+                    continue;
+                }
+                if (member != null) {
+                    return null;
+                }
+                member = impliedMember;
+            }
+            return member;
+        }
+
+        private static boolean isNumber(String value) {
+            try {
+                new BigDecimal(value);
+                return true;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Adaptive concurrency limit of one operation class of the Ballerina {@code RestClient}, adjusted with additive
+ * increase and multiplicative decrease. Each request that completes without a sign of overload while the limit is
+ * in full use raises the limit by {@code 1 / limit}, i.e. by one per round of requests. A request that Salesforce
+ * rejects as overloaded multiplies it by the backoff ratio. Requests over the limit wait in FIFO order.
+ *
+ * @since 8.8.0
+ */
+public final class ConcurrencyLimiter {
+
+    private static final String NATIVE_LIMITER_PREFIX = "CONCURRENCY_LIMITER_";
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final Deque<CompletableFuture<Void>> waiters = new ArrayDeque<>();
+    private double limit;
+    private int inFlight;
+
+    ConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double backoffRatio) {
+        this.limit = initialLimit;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.backoffRatio = backoffRatio;
+    }
+
+    public static void initConcurrencyLimiter(BObject client, BString operationClass, BMap<BString, Object> config) {
+        int initialLimit = config.getIntValue(StringUtils.fromString("initialLimit")).intValue();
+        int minLimit = config.getIntValue(StringUtils.fromString("minLimit")).intValue();
+        int maxLimit = config.getIntValue(StringUtils.fromString("maxLimit")).intValue();
+        double backoffRatio = config.getFloatValue(StringUtils.fromString("backoffRatio"));
+        client.addNativeData(NATIVE_LIMITER_PREFIX + operationClass.getValue(),
+                new ConcurrencyLimiter(initialLimit, minLimit, maxLimit, backoffRatio));
+    }
+
+    public static void acquirePermit(Environment env, BObject client, BString operationClass) {
+        CompletableFuture<Void> permit = getLimiter(client, operationClass).acquire();
+        if (!permit.isDone()) {
+            env.yieldAndRun(permit::join);
+        }
+    }
+
+    public static void releasePermit(BObject client, BString operationClass, boolean overloaded) {
+        getLimiter(client, operationClass).release(overloaded);
+    }
+
+    public static long getConcurrencyLimit(BObject client, BString operationClass) {
+        return getLimiter(client, operationClass).currentLimit();
+    }
+
+    private static ConcurrencyLimiter getLimiter(BObject client, BString operationClass) {
+        return (ConcurrencyLimiter) client.getNativeData(NATIVE_LIMITER_PREFIX + operationClass.getValue());
+    }
+
+    synchronized CompletableFuture<Void> acquire() {
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        if (waiters.isEmpty() && inFlight < currentLimit()) {
+            inFlight++;
+            permit.complete(null);
+        } else {
+            waiters.add(permit);
+        }
+        return permit;
+    }
+
+    synchronized void release(boolean overloaded) {
+        if (overloaded) {
+            limit = Math.max(minLimit, limit * backoffRatio);
+        } else if (inFlight >= currentLimit()) {
+            limit = Math.min(maxLimit, limit + 1 / limit);
+        }
+        inFlight--;
+        while (!waiters.isEmpty() && inFlight < currentLimit()) {
+            inFlight++;
+            waiters.poll().complete(null);
+        }
+    }
+
+    synchronized int currentLimit() {
+        return (int) limit;
+    }
+}
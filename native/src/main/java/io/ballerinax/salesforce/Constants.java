@@ -41,9 +41,12 @@ public class Constants {
     public static final String COMMIT_USER = "commitUser";
     public static final String COMMIT_NUMBER = "commitNumber";
     public static final String RECORD_IDS = "recordIds";
+    public static final String NULLED_FIELDS = "nulledFields";
+    public static final String DIFF_FIELDS = "diffFields";
     public static final String EVENT_PAYLOAD = "payload";
     public static final String EVENT_HEADER = "ChangeEventHeader";
     public static final String EVENT_CHANGE_TYPE = "changeType";
+    public static final String ENRICHED_RECORDS = "enrichedRecords";
 
     /* Events */
     public static final String ON_CREATE = "onCreate";
@@ -57,8 +60,14 @@ public class Constants {
     public static final String UNDELETE = "UNDELETE";
     
     public static final String IS_SAND_BOX = "isSandBox";
+    public static final String ENRICHMENT = "enrichment";
+    public static final String ENRICHMENT_STAGE = "enrichment_stage";
 
     /* Ballerina Listener method invoked from the Java dispatcher after each
      * successful user-handler execution to persist the event's replayId. */
     public static final String RECORD_EVENT_DISPATCHED = "recordEventDispatched";
+
+    /* Ballerina Listener method invoked from the Java dispatcher to read a service's
+     * persisted replayId checkpoint. */
+    public static final String GET_EVENT_CHECKPOINT = "getEventCheckpoint";
 }
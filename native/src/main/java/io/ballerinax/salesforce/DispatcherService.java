@@ -23,22 +23,33 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.google.gson.Gson;
 import io.ballerina.runtime.api.Runtime;
 import io.ballerina.runtime.api.concurrent.StrandMetadata;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.TypeCreator;
 import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
 import io.ballerina.runtime.api.types.MethodType;
 import io.ballerina.runtime.api.types.ObjectType;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.utils.JsonUtils;
 import io.ballerina.runtime.api.utils.StringUtils;
 import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BMap;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
+import org.json.JSONArray;
 import org.json.JSONObject;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static io.ballerinax.salesforce.Constants.CHANGE_ORIGIN;
@@ -46,13 +57,17 @@ import static io.ballerinax.salesforce.Constants.COMMIT_NUMBER;
 import static io.ballerinax.salesforce.Constants.COMMIT_TIME_STAMP;
 import static io.ballerinax.salesforce.Constants.COMMIT_USER;
 import static io.ballerinax.salesforce.Constants.CREATE;
+import static io.ballerinax.salesforce.Constants.DIFF_FIELDS;
 import static io.ballerinax.salesforce.Constants.DELETE;
+import static io.ballerinax.salesforce.Constants.ENRICHED_RECORDS;
 import static io.ballerinax.salesforce.Constants.ENTITY_NAME;
 import static io.ballerinax.salesforce.Constants.EVENT_CHANGE_TYPE;
 import static io.ballerinax.salesforce.Constants.EVENT_DATA_RECORD;
 import static io.ballerinax.salesforce.Constants.EVENT_HEADER;
 import static io.ballerinax.salesforce.Constants.EVENT_METADATA_RECORD;
 import static io.ballerinax.salesforce.Constants.EVENT_PAYLOAD;
+import static io.ballerinax.salesforce.Constants.GET_EVENT_CHECKPOINT;
+import static io.ballerinax.salesforce.Constants.NULLED_FIELDS;
 import static io.ballerinax.salesforce.Constants.ON_CREATE;
 import static io.ballerinax.salesforce.Constants.ON_DELETE;
 import static io.ballerinax.salesforce.Constants.ON_ERROR;
@@ -68,10 +83,18 @@ import static io.ballerinax.salesforce.Constants.UPDATE;
 /**
  * Dispatcher Service class to dispatch the event data obtained through the streaming API.
  *
- * <p>After each successful user-handler invocation, {@link #notifyCheckpoint(long)} calls
- * {@code Listener.recordEventDispatched(channel, replayId)} on the Ballerina listener so
- * that the Active-Standby coordinator can persist the high-water mark and resume correctly
- * after a leader failover.
+ * <p>One dispatcher exists per subscribed channel. Every service attached to that channel is
+ * registered with the same dispatcher, so each event is received over a single subscription,
+ * decoded once and fanned out to all services. A failing handler (or {@code onError}) affects only
+ * its own service; the remaining services still receive the event.
+ *
+ * <p>Every service keeps its own checkpoint, persisted through
+ * {@code Listener.recordEventDispatched} under {@code <channel>#<service type>}, and only advanced when
+ * that service handled the event. The channel checkpoint, which the Active-Standby coordinator resumes
+ * the subscription from after a leader failover, is the lowest of the service checkpoints. When events
+ * are redelivered from there, services whose own checkpoint is already past an event skip it, so a
+ * failing service does not cause redelivery to the others. A failing service holds its checkpoint, and
+ * with it the channel's, until the failed event is redelivered.
  */
 public class DispatcherService {
     private static final Logger log = LoggerFactory.getLogger(DispatcherService.class);
@@ -83,16 +106,19 @@ public class DispatcherService {
     public static final String REPLAY_ID = "replayId";
 
     /**
-     * Strand metadata used when invoking {@code recordEventDispatched} on the Ballerina
-     * listener. The method is {@code public isolated} on an {@code isolated class}, so
+     * Strand metadata used when invoking {@code recordEventDispatched} and {@code getEventCheckpoint}
+     * on the Ballerina listener. Both are {@code public isolated} on an {@code isolated class}, so
      * concurrent invocations are safe — hence {@code isConcurrentSafe = true}.
      */
     private static final StrandMetadata CHECKPOINT_STRAND_META = new StrandMetadata(true, null);
 
-    private final BObject service;
+    /** Type of {@code EventData.enrichedRecords} ({@code map<json>[]}). */
+    private static final ArrayType ENRICHED_RECORDS_TYPE =
+            TypeCreator.createArrayType(TypeCreator.createMapType(PredefinedTypes.TYPE_JSON));
+
+    private final List<ServiceHandler> handlers = new CopyOnWriteArrayList<>();
     private final Runtime runtime;
     private final String channelName;
-    private final Set<String> methodNames;
 
     /**
      * The Ballerina {@code Listener} BObject. Used to invoke
@@ -113,10 +139,7 @@ public class DispatcherService {
     }
 
     /**
-     * Full constructor used by {@link ListenerUtil#attachService} to wire the checkpoint
-     * callback. The {@code listener} BObject is retained so that after each successful
-     * user-handler execution the dispatcher can call
-     * {@code listener.recordEventDispatched(channel, replayId)}.
+     * Creates a dispatcher for a channel with its first service attached.
      *
      * @param service     the Ballerina service BObject ({@code CdcService} or
      *                    {@code PlatformEventsService})
@@ -126,24 +149,79 @@ public class DispatcherService {
      *                    checkpointing is not required
      */
     public DispatcherService(BObject service, Runtime runtime, String channelName, BObject listener) {
-        this.service = service;
+        this(runtime, channelName, listener);
+        addService(service);
+    }
+
+    /**
+     * Creates a dispatcher for a channel with no services attached. Used by
+     * {@link ListenerUtil#attachService}, which registers services through {@link #addService}.
+     *
+     * @param runtime     the Ballerina runtime used to invoke service methods
+     * @param channelName fully-qualified Salesforce channel (e.g. {@code /event/Foo__e})
+     * @param listener    the Ballerina {@code Listener} BObject; may be {@code null} if
+     *                    checkpointing is not required
+     */
+    public DispatcherService(Runtime runtime, String channelName, BObject listener) {
         this.runtime = runtime;
         this.channelName = channelName;
         this.listener = listener;
-        this.methodNames = Arrays.stream(service.getType().getMethods())
-                .map(MethodType::getName)
-                .collect(Collectors.toSet());
     }
 
     public String getChannelName() {
         return channelName;
     }
 
+    /**
+     * Registers a service to receive the events of this channel.
+     *
+     * @param service the Ballerina service BObject
+     * @return {@code false} if the service is already attached to this channel
+     */
+    public boolean addService(BObject service) {
+        if (hasService(service)) {
+            return false;
+        }
+        handlers.add(new ServiceHandler(service, checkpointKey(service)));
+        return true;
+    }
+
+    private String checkpointKey(BObject service) {
+        String key = channelName + "#" + TypeUtils.getType(service).getName();
+        String unique = key;
+        for (int i = 2; isCheckpointKeyUsed(unique); i++) {
+            // Several instances of the same service type on one channel.
+            unique = key + "#" + i;
+        }
+        return unique;
+    }
+
+    private boolean isCheckpointKeyUsed(String key) {
+        return handlers.stream().anyMatch(handler -> handler.checkpointKey.equals(key));
+    }
+
+    /**
+     * Removes a service from this channel.
+     *
+     * @param service the Ballerina service BObject
+     * @return {@code true} if the service was attached to this channel
+     */
+    public boolean removeService(BObject service) {
+        return handlers.removeIf(handler -> handler.service == service);
+    }
+
+    public boolean hasService(BObject service) {
+        return handlers.stream().anyMatch(handler -> handler.service == service);
+    }
+
+    public boolean hasServices() {
+        return !handlers.isEmpty();
+    }
+
     /**
      * Entry point for a single CometD event. Extracts the {@code replayId} from the
-     * envelope, dispatches to the appropriate user handler, and — if the handler
-     * completes without throwing — notifies the checkpoint so the coordinator can
-     * persist the high-water mark.
+     * envelope, decodes the event once, dispatches it to every attached service that has
+     * not already handled it and checkpoints each service that handles it successfully.
      *
      * <p>The checkpoint notification is a best-effort fire-and-forget: any exception
      * it raises is logged and swallowed so that a checkpoint failure never disrupts
@@ -152,78 +230,194 @@ public class DispatcherService {
      * @param eventData raw CometD message payload
      */
     public void handleDispatch(Map<String, Object> eventData) {
+        handleDispatch(eventData, null);
+    }
+
+    /**
+     * Dispatches a CDC event that has been through the listener's enrichment stage.
+     *
+     * @param eventData       raw CometD message payload
+     * @param enrichedRecords JSON text of the full records fetched for the event's record IDs, or
+     *                        {@code null} if the event was not enriched
+     * @throws BError the first error escalated by a service (a handler error with no {@code onError},
+     *                or an error returned by {@code onError}), after all services have been invoked and
+     *                the successful ones checkpointed
+     */
+    public void handleDispatch(Map<String, Object> eventData, List<String> enrichedRecords) {
         // Extract replayId before dispatching so we have it regardless of which
         // handler path (platform event vs. CDC) is taken below.
         Long replayId = extractReplayId(eventData);
 
-        boolean isPlatformEvent = channelName != null &&
-                channelName.startsWith(PLATFORM_EVENT_CHANNEL_PREFIX);
-        if (isPlatformEvent) {
-            handlePlatformEvent(eventData);
-        } else {
-            handleCdcEvent(eventData);
+        String functionName;
+        BMap<BString, Object> eventRecord;
+        try {
+            boolean isPlatformEvent = channelName != null &&
+                    channelName.startsWith(PLATFORM_EVENT_CHANNEL_PREFIX);
+            if (isPlatformEvent) {
+                functionName = ON_MESSAGE;
+                eventRecord = getPlatformEventDataRecord(eventData);
+            } else {
+                JSONObject header = getEventHeader(eventData);
+                functionName = getCdcFunctionName(header.get(EVENT_CHANGE_TYPE).toString());
+                eventRecord = getCdcEventDataRecord(eventData, header);
+                if (enrichedRecords != null) {
+                    eventRecord.put(StringUtils.fromString(ENRICHED_RECORDS), toEnrichedRecords(enrichedRecords));
+                }
+            }
+        } catch (RuntimeException e) {
+            // A malformed event fails for every service alike, so it is reported to all of them.
+            BError decodeError = e instanceof BError bError ? bError : ErrorCreator.createError(
+                    StringUtils.fromString("Failed to decode event on channel '" + channelName + "': "
+                            + e.getMessage()));
+            BError onErrorResult = notifyError(decodeError);
+            if (onErrorResult != null) {
+                throw onErrorResult;
+            }
+            return;
+        }
+
+        // Every service, the first included, works on its own copy of a snapshot taken before any
+        // handler runs, so a handler mutating its payload cannot affect the services after it.
+        BMap<BString, Object> snapshot = snapshot(eventRecord);
+        BError failure = null;
+        for (ServiceHandler handler : handlers) {
+            if (replayId != null && handler.position.isHandled(replayId)) {
+                // Redelivered after a failover; this service handled the event before.
+                continue;
+            }
+            if (functionName != null && handler.methodNames.contains(functionName)) {
+                BError result = handler.dispatch(functionName, copyOf(snapshot));
+                if (result != null) {
+                    if (failure == null) {
+                        failure = result;
+                    }
+                    if (replayId != null) {
+                        handler.position.fail(replayId);
+                    }
+                    continue;
+                }
+            }
+            if (replayId != null && handler.position.acknowledge(replayId)) {
+                notifyCheckpoint(handler.checkpointKey, replayId);
+            }
         }
 
-        // Only reached when the user handler returned successfully (no BError thrown).
-        // Notify the Ballerina listener so it can persist the checkpoint replayId.
+        // Notify the Ballerina listener so it can persist the channel checkpoint the subscription
+        // resumes from: the oldest event that some service has not handled yet. While a service that
+        // never acknowledged an event is failing, the channel stays where it was.
         if (replayId != null) {
-            notifyCheckpoint(replayId);
+            Long channelCheckpoint = ServicePosition.channelCheckpoint(
+                    handlers.stream().map(handler -> handler.position).toList(), replayId);
+            if (channelCheckpoint != null) {
+                notifyCheckpoint(channelName, channelCheckpoint);
+            }
+        }
+        if (failure != null) {
+            throw failure;
         }
     }
 
-    private void handlePlatformEvent(Map<String, Object> eventData) {
-        if (methodNames.contains(ON_MESSAGE)) {
-            BMap<BString, Object> record = getPlatformEventDataRecord(eventData);
-            executeResourceOnEvent(record, ON_MESSAGE);
-        }
+    /** Returns a read-only deep copy of the event record, taken before any service sees it. */
+    @SuppressWarnings("unchecked")
+    static BMap<BString, Object> snapshot(BMap<BString, Object> eventRecord) {
+        return (BMap<BString, Object>) eventRecord.frozenCopy(new HashMap<>());
     }
 
-    private void handleCdcEvent(Map<String, Object> eventData) {
-        Gson gson = new Gson();
-        String eventType = new JSONObject(gson.toJson(eventData.get(EVENT_PAYLOAD)))
-                .getJSONObject(EVENT_HEADER)
-                .get(EVENT_CHANGE_TYPE).toString();
-        BMap<BString, Object> eventDataRecord = getCdcEventDataRecord(eventData);
-        if (methodNames.contains(ON_CREATE) && eventType.equals(CREATE)) {
-            executeResourceOnEvent(eventDataRecord, ON_CREATE);
-        } else if (methodNames.contains(ON_UPDATE) && eventType.equals(UPDATE)) {
-            executeResourceOnEvent(eventDataRecord, ON_UPDATE);
-        } else if (methodNames.contains(ON_DELETE) && eventType.equals(DELETE)) {
-            executeResourceOnEvent(eventDataRecord, ON_DELETE);
-        } else if (methodNames.contains(ON_RESTORE) && eventType.equals(UNDELETE)) {
-            executeResourceOnEvent(eventDataRecord, ON_RESTORE);
-        }
+    /** Returns a mutable deep copy of the snapshot for one service. */
+    @SuppressWarnings("unchecked")
+    static BMap<BString, Object> copyOf(BMap<BString, Object> snapshot) {
+        return (BMap<BString, Object>) snapshot.copy(new HashMap<>());
     }
 
-    private void executeResourceOnEvent(BMap<BString, Object> eventRecord, String functionName) {
-        Object result = executeResource(functionName, eventRecord);
-        if (result instanceof BError bError) {
-            if (!methodNames.contains(ON_ERROR)) {
-                throw bError;
-            }
-            BError onErrorResult = invokeOnError(bError);
-            if (onErrorResult != null) {
-                throw onErrorResult;
+    private static String getCdcFunctionName(String eventType) {
+        return switch (eventType) {
+            case CREATE -> ON_CREATE;
+            case UPDATE -> ON_UPDATE;
+            case DELETE -> ON_DELETE;
+            case UNDELETE -> ON_RESTORE;
+            default -> null;
+        };
+    }
+
+    /**
+     * Delivers an error to the {@code onError} method of every attached service.
+     *
+     * @param error the error to deliver
+     * @return the first error returned by an {@code onError} method, or {@code null}
+     */
+    public BError invokeOnError(BError error) {
+        return notifyError(error);
+    }
+
+    private BError notifyError(BError error) {
+        BError failure = null;
+        for (ServiceHandler handler : handlers) {
+            BError result = handler.invokeOnError(error);
+            if (result != null && failure == null) {
+                failure = result;
             }
         }
+        return failure;
     }
 
-    public BError invokeOnError(BError error) {
-        if (!methodNames.contains(ON_ERROR)) {
+    /**
+     * A single service attached to the channel, with the handler methods it implements.
+     */
+    private final class ServiceHandler {
+        private final BObject service;
+        private final Set<String> methodNames;
+        private final String checkpointKey;
+        private final ServicePosition position;
+
+        private ServiceHandler(BObject service, String checkpointKey) {
+            this.service = service;
+            this.checkpointKey = checkpointKey;
+            this.position = new ServicePosition(() -> loadCheckpoint(checkpointKey));
+            this.methodNames = Arrays.stream(service.getType().getMethods())
+                    .map(MethodType::getName)
+                    .collect(Collectors.toSet());
+        }
+
+        /**
+         * Invokes the handler and, on failure, the service's {@code onError}.
+         *
+         * @return the error to escalate, or {@code null} if the event was handled
+         */
+        private BError dispatch(String functionName, BMap<BString, Object> eventRecord) {
+            Object result;
+            try {
+                result = executeResource(functionName, eventRecord);
+            } catch (BError e) {
+                result = e;
+            }
+            if (result instanceof BError bError) {
+                if (!methodNames.contains(ON_ERROR)) {
+                    log.error("Service failed to handle event on channel '{}': {}", channelName,
+                            bError.getMessage());
+                    return bError;
+                }
+                return invokeOnError(bError);
+            }
             return null;
         }
-        ObjectType serviceType = (ObjectType) TypeUtils.getReferredType(TypeUtils.getType(service));
-        boolean isIsolated = serviceType.isIsolated() && serviceType.isIsolated(ON_ERROR);
-        Object result = runtime.callMethod(service, ON_ERROR,
-                new StrandMetadata(isIsolated, ModuleUtils.getProperties(ON_ERROR)), error);
-        return result instanceof BError bError ? bError : null;
-    }
 
-    private Object executeResource(String functionName, BMap<BString, Object> eventRecord) {
-        ObjectType serviceType = (ObjectType) TypeUtils.getReferredType(TypeUtils.getType(service));
-        boolean isIsolated = serviceType.isIsolated() && serviceType.isIsolated(functionName);
-        return runtime.callMethod(service, functionName,
-                new StrandMetadata(isIsolated, ModuleUtils.getProperties(functionName)), eventRecord);
+        private BError invokeOnError(BError error) {
+            if (!methodNames.contains(ON_ERROR)) {
+                return null;
+            }
+            ObjectType serviceType = (ObjectType) TypeUtils.getReferredType(TypeUtils.getType(service));
+            boolean isIsolated = serviceType.isIsolated() && serviceType.isIsolated(ON_ERROR);
+            Object result = runtime.callMethod(service, ON_ERROR,
+                    new StrandMetadata(isIsolated, ModuleUtils.getProperties(ON_ERROR)), error);
+            return result instanceof BError bError ? bError : null;
+        }
+
+        private Object executeResource(String functionName, BMap<BString, Object> eventRecord) {
+            ObjectType serviceType = (ObjectType) TypeUtils.getReferredType(TypeUtils.getType(service));
+            boolean isIsolated = serviceType.isIsolated() && serviceType.isIsolated(functionName);
+            return runtime.callMethod(service, functionName,
+                    new StrandMetadata(isIsolated, ModuleUtils.getProperties(functionName)), eventRecord);
+        }
     }
 
     /**
@@ -246,7 +440,90 @@ public class DispatcherService {
     }
 
     /**
-     * Invokes {@code Listener.recordEventDispatched(channel, replayId)} on the Ballerina
+     * Checkpoint bookkeeping of one service on the channel.
+     *
+     * <p>The checkpoint is the last event the service acknowledged. Once a handler fails, the
+     * checkpoint stops advancing until the failed event is redelivered, so neither the service nor the
+     * channel moves past an event the service never processed.
+     */
+    static final class ServicePosition {
+        private final Supplier<Long> loader;
+        private boolean loaded = false;
+        private Long checkpoint;
+        private Long failedAt;
+
+        /**
+         * @param loader reads the persisted checkpoint; called once, on the first event
+         */
+        ServicePosition(Supplier<Long> loader) {
+            this.loader = loader;
+        }
+
+        /**
+         * Returns {@code true} if the service already handled the event, as recorded in its checkpoint.
+         * An event at or before the failed one is a redelivery, which lifts the hold so the service
+         * can catch up.
+         */
+        synchronized boolean isHandled(long replayId) {
+            if (!loaded) {
+                loaded = true;
+                checkpoint = loader.get();
+            }
+            if (failedAt != null && replayId <= failedAt) {
+                failedAt = null;
+            }
+            return checkpoint != null && replayId <= checkpoint;
+        }
+
+        /**
+         * Records that the service handled the event.
+         *
+         * @return {@code true} if the checkpoint advanced and should be persisted
+         */
+        synchronized boolean acknowledge(long replayId) {
+            if (failedAt != null || (checkpoint != null && checkpoint >= replayId)) {
+                return false;
+            }
+            checkpoint = replayId;
+            return true;
+        }
+
+        /** Records that the service failed to handle the event, holding its checkpoint. */
+        synchronized void fail(long replayId) {
+            failedAt = failedAt == null ? replayId : Math.min(failedAt, replayId);
+        }
+
+        /**
+         * Returns the position the channel may resume from for this service: its checkpoint, the
+         * current event if it has neither a checkpoint nor a failure, or {@code null} if it failed
+         * before acknowledging any event.
+         */
+        synchronized Long position(long replayId) {
+            if (checkpoint != null) {
+                return checkpoint;
+            }
+            return failedAt == null ? replayId : null;
+        }
+
+        /**
+         * Returns the lowest position of the services, or {@code null} if the channel checkpoint
+         * must stay at its last persisted position (or the subscription start).
+         */
+        static Long channelCheckpoint(Collection<ServicePosition> positions, long replayId) {
+            long channelCheckpoint = replayId;
+            for (ServicePosition servicePosition : positions) {
+                Long position = servicePosition.position(replayId);
+                if (position == null) {
+                    return null;
+                }
+                channelCheckpoint = Math.min(channelCheckpoint, position);
+            }
+            return channelCheckpoint;
+        }
+    }
+
+    /**
+     * Invokes {@code Listener.recordEventDispatched(key, replayId)} on the Ballerina
      * listener after a successful user-handler execution. This persists the high-water
      * mark so that an Active-Standby failover replica resumes from the correct position.
      *
@@ -255,9 +532,10 @@ public class DispatcherService {
      * replica re-delivers a handful of recent events, which is consistent with
      * Salesforce's at-least-once delivery guarantee.
      *
+     * @param key      the channel, or a service checkpoint key on the channel
      * @param replayId the Salesforce-issued, monotonically increasing replay ID
      */
-    private void notifyCheckpoint(long replayId) {
+    private void notifyCheckpoint(String key, long replayId) {
         if (listener == null || channelName == null) {
             return;
         }
@@ -266,13 +544,32 @@ public class DispatcherService {
                     listener,
                     RECORD_EVENT_DISPATCHED,
                     CHECKPOINT_STRAND_META,
-                    StringUtils.fromString(channelName),
+                    StringUtils.fromString(key),
                     replayId
             );
         } catch (Exception e) {
             // Swallow: checkpoint failure must never disrupt event dispatch.
-            log.warn("Failed to notify checkpoint for channel '{}', replayId {}",
-                    channelName, replayId, e);
+            log.warn("Failed to notify checkpoint for '{}', replayId {}", key, replayId, e);
+        }
+    }
+
+    /**
+     * Reads a service checkpoint through {@code Listener.getEventCheckpoint(key)}.
+     *
+     * @return the persisted replayId, or {@code null} if there is none or it cannot be read, in which
+     *         case the service receives every event delivered on the subscription
+     */
+    private Long loadCheckpoint(String key) {
+        if (listener == null || channelName == null) {
+            return null;
+        }
+        try {
+            Object result = runtime.callMethod(listener, GET_EVENT_CHECKPOINT, CHECKPOINT_STRAND_META,
+                    StringUtils.fromString(key));
+            return result instanceof Long checkpoint ? checkpoint : null;
+        } catch (Exception e) {
+            log.warn("Failed to read checkpoint for '{}'", key, e);
+            return null;
         }
     }
 
@@ -294,23 +591,35 @@ public class DispatcherService {
         return ValueCreator.createRecordValue(record, payloadBMap, replayId);
     }
 
+    private static Object toEnrichedRecords(List<String> enrichedRecords) {
+        Object[] records = new Object[enrichedRecords.size()];
+        for (int i = 0; i < records.length; i++) {
+            records[i] = JsonUtils.parse(enrichedRecords.get(i));
+        }
+        return ValueCreator.createArrayValue(records, ENRICHED_RECORDS_TYPE);
+    }
+
     public static BMap<BString, Object> toBMap(Map<?, ?> map) {
         BMap<BString, Object> returnMap = ValueCreator.createMapValue();
         if (map != null) {
             for (Object aKey : map.keySet().toArray()) {
                 Object value = map.get(aKey);
-                returnMap.put(StringUtils.fromString(aKey.toString()),
-                        value != null ? StringUtils.fromString(value.toString()) : null);
+                // Compound fields, such as a Contact's Name, are kept as maps rather than their text form.
+                returnMap.put(StringUtils.fromString(aKey.toString()), value instanceof Map<?, ?> nested ?
+                        toBMap(nested) : value != null ? StringUtils.fromString(value.toString()) : null);
             }
         }
         return returnMap;
     }
 
-    private static BMap<BString, Object> getCdcEventDataRecord(Map<String, Object> event) {
-        Gson gson = new Gson();
+    private static JSONObject getEventHeader(Map<String, Object> event) {
+        return new JSONObject(new Gson().toJson(event.get(EVENT_PAYLOAD))).getJSONObject(EVENT_HEADER);
+    }
+
+    private static BMap<BString, Object> getCdcEventDataRecord(Map<String, Object> event, JSONObject header) {
         ObjectMapper oMapper = new ObjectMapper();
         Object[] eventData = new Object[2];
-        Object[] metadata = new Object[9];
+        Object[] metadata = new Object[12];
 
         Object eventPayload = event.get(EVENT_PAYLOAD);
         Map<?, ?> map = oMapper.convertValue(eventPayload, Map.class);
@@ -319,34 +628,27 @@ public class DispatcherService {
         eventData[0] = toBMap(map);
         BMap<BString, Object> eventMetadataRecord =
                 ValueCreator.createRecordValue(ModuleUtils.getModule(), EVENT_METADATA_RECORD);
-        String commitTimestamp = new JSONObject(gson.toJson(event.get(EVENT_PAYLOAD)))
-                .getJSONObject(EVENT_HEADER).get(COMMIT_TIME_STAMP).toString();
-        metadata[0] = commitTimestamp;
-        String transactionKey = new JSONObject(gson.toJson(event.get(EVENT_PAYLOAD)))
-                .getJSONObject(EVENT_HEADER).get(TRANSACTION_KEY).toString();
-        metadata[1] = transactionKey;
-        String changeOrigin = (String) new JSONObject(gson.toJson(event.get(EVENT_PAYLOAD)))
-                .getJSONObject(EVENT_HEADER).get(CHANGE_ORIGIN);
-        metadata[2] = changeOrigin;
-        String changeType = new JSONObject(gson.toJson(event.get(EVENT_PAYLOAD)))
-                .getJSONObject(EVENT_HEADER).get(EVENT_CHANGE_TYPE).toString();
-        metadata[3] = changeType;
-        String entityName = (String) new JSONObject(gson.toJson(event.get(EVENT_PAYLOAD)))
-                .getJSONObject(EVENT_HEADER).get(ENTITY_NAME);
-        metadata[4] = entityName;
-        Integer sequenceNumber = (Integer) new JSONObject(gson.toJson(event.get(EVENT_PAYLOAD)))
-                .getJSONObject(EVENT_HEADER).get(SEQUENCE_NUMBER);
-        metadata[5] = sequenceNumber;
-        String commitUser = (String) new JSONObject(gson.toJson(event.get(EVENT_PAYLOAD)))
-                .getJSONObject(EVENT_HEADER).get(COMMIT_USER);
-        metadata[6] = commitUser;
-        String commitNumber = new JSONObject(gson.toJson(event.get(EVENT_PAYLOAD)))
-                .getJSONObject(EVENT_HEADER).get(COMMIT_NUMBER).toString();
-        metadata[7] = commitNumber;
-        String recordId = new JSONObject(gson.toJson(event.get(EVENT_PAYLOAD)))
-                .getJSONObject(EVENT_HEADER).getJSONArray(RECORD_IDS).get(0).toString();
-        metadata[8] = recordId;
+        metadata[0] = header.get(COMMIT_TIME_STAMP).toString();
+        metadata[1] = header.get(TRANSACTION_KEY).toString();
+        metadata[2] = (String) header.get(CHANGE_ORIGIN);
+        metadata[3] = header.get(EVENT_CHANGE_TYPE).toString();
+        metadata[4] = (String) header.get(ENTITY_NAME);
+        metadata[5] = (Integer) header.get(SEQUENCE_NUMBER);
+        metadata[6] = (String) header.get(COMMIT_USER);
+        metadata[7] = header.get(COMMIT_NUMBER).toString();
+        metadata[8] = header.getJSONArray(RECORD_IDS).get(0).toString();
+        metadata[9] = toStringArray(header.getJSONArray(RECORD_IDS));
+        metadata[10] = toStringArray(header.optJSONArray(NULLED_FIELDS));
+        metadata[11] = toStringArray(header.optJSONArray(DIFF_FIELDS));
         eventData[1] = ValueCreator.createRecordValue(eventMetadataRecord, metadata);
         return ValueCreator.createRecordValue(eventDataRecord, eventData);
     }
+
+    private static Object toStringArray(JSONArray values) {
+        BString[] strings = new BString[values == null ? 0 : values.length()];
+        for (int i = 0; i < strings.length; i++) {
+            strings[i] = StringUtils.fromString(values.get(i).toString());
+        }
+        return ValueCreator.createArrayValue(strings);
+    }
 }
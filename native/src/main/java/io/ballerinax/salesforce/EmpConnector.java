@@ -28,18 +28,23 @@ package io.ballerinax.salesforce;
 
 import org.cometd.bayeux.Channel;
 import org.cometd.bayeux.Message;
+import org.cometd.bayeux.client.ClientSession;
 import org.cometd.bayeux.client.ClientSessionChannel;
 import org.cometd.client.BayeuxClient;
 import org.cometd.client.http.jetty.JettyHttpClientTransport;
+import org.cometd.common.TransportException;
 import org.eclipse.jetty.client.Authentication;
 import org.eclipse.jetty.client.BasicAuthentication;
 import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.ProxyConfiguration;
 import org.eclipse.jetty.client.Request;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.ConnectException;
 import java.net.URI;
+import java.util.Collection;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
@@ -136,21 +141,61 @@ public class EmpConnector {
 
     private volatile BayeuxClient client;
     private final HttpClient httpClient;
+    private final boolean ownsHttpClient;
     private final BayeuxParameters parameters;
     private final ConcurrentMap<String, Long> replay = new ConcurrentHashMap<>();
     private final AtomicBoolean running = new AtomicBoolean();
 
     private final Set<SubscriptionImpl> subscriptions = new CopyOnWriteArraySet<>();
     private final Set<MessageListenerInfo> listenerInfos = new CopyOnWriteArraySet<>();
+    private final Set<ClientSession.Extension> extensions = new CopyOnWriteArraySet<>();
 
     private Function<Boolean, String> bearerTokenProvider;
     private AtomicBoolean reauthenticate = new AtomicBoolean(false);
 
     public EmpConnector(BayeuxParameters parameters) {
+        this(parameters, newHttpClient(parameters.sslContextFactory(), parameters.proxies()));
+    }
+
+    /**
+     * Creates a connector over an existing HTTP transport. The transport may already be started (e.g. in
+     * parallel with authentication), in which case {@link #start()} goes straight to the handshake. The
+     * connector takes ownership of the client and stops it in {@link #stop()}.
+     *
+     * @param parameters the Bayeux parameters
+     * @param httpClient the HTTP transport, created with {@link #newHttpClient}
+     */
+    public EmpConnector(BayeuxParameters parameters, HttpClient httpClient) {
+        this(parameters, httpClient, true);
+    }
+
+    /**
+     * Creates a connector over an HTTP transport that may be shared with other connectors.
+     *
+     * @param parameters     the Bayeux parameters
+     * @param httpClient     the HTTP transport
+     * @param ownsHttpClient {@code false} if the transport is shared (e.g. owned by a {@link ListenerHost})
+     *                       and must be left running when this connector stops
+     */
+    public EmpConnector(BayeuxParameters parameters, HttpClient httpClient, boolean ownsHttpClient) {
         this.parameters = parameters;
-        httpClient = new HttpClient();
-        httpClient.setSslContextFactory(parameters.sslContextFactory());
-        parameters.proxies().forEach(httpClient.getProxyConfiguration()::addProxy);
+        this.httpClient = httpClient;
+        this.ownsHttpClient = ownsHttpClient;
+    }
+
+    /**
+     * Creates an unstarted HTTP transport configured for the Streaming API.
+     *
+     * @param sslContextFactory the SslContextFactory for secure outbound connections
+     * @param proxies           the proxies to use for outbound connections
+     * @return the HTTP client
+     */
+    public static HttpClient newHttpClient(SslContextFactory.Client sslContextFactory,
+            Collection<? extends ProxyConfiguration.Proxy> proxies) {
+        HttpClient client = new HttpClient();
+        client.setSslContextFactory(sslContextFactory);
+        proxies.forEach(client.getProxyConfiguration()::addProxy);
+        return client;
     }
 
     /**
@@ -189,7 +234,7 @@ public class EmpConnector {
      */
     public void stop() {
         disconnect();
-        if (httpClient != null) {
+        if (httpClient != null && ownsHttpClient) {
             try {
                 log.info("Stopping the http client!");
                 httpClient.stop();
@@ -299,6 +344,17 @@ public class EmpConnector {
         return this;
     }
 
+    /**
+     * Registers a Bayeux extension that is added to every client the connector creates.
+     *
+     * @param extension the extension
+     * @return this connector
+     */
+    public EmpConnector addExtension(ClientSession.Extension extension) {
+        extensions.add(extension);
+        return this;
+    }
+
     public boolean isConnected() {
         return client != null && client.isConnected();
     }
@@ -348,6 +404,7 @@ public class EmpConnector {
         client.setOption("maxInterval", keepAliveMs);
 
         client.addExtension(new ReplayExtension(replay));
+        extensions.forEach(client::addExtension);
 
         addListeners(client);
 
@@ -357,8 +414,8 @@ public class EmpConnector {
                 if (error == null) {
                     error = m.get(FAILURE);
                 }
-                future.completeExceptionally(new ConnectException(
-                        String.format("Cannot connect [%s] : %s", parameters.endpoint(), error)));
+                future.completeExceptionally(new HandshakeException(
+                        String.format("Cannot connect [%s] : %s", parameters.endpoint(), error), errorCode(m)));
                 running.set(false);
             } else {
                 subscriptions.forEach(SubscriptionImpl::subscribe);
@@ -368,6 +425,59 @@ public class EmpConnector {
         return future;
     }
 
+    /**
+     * Returns the status code of a failed Bayeux reply: the code of its {@code error} field (formatted
+     * as {@code <code>:<args>:<message>}), of its Salesforce {@code failureReason}, or the HTTP status of
+     * the transport failure.
+     *
+     * @return the code, or {@code -1} if the reply carries none
+     */
+    static int errorCode(Message message) {
+        int code = leadingCode(message.get(Message.ERROR_FIELD));
+        if (code < 0 && message.getExt() != null && message.getExt().get("sfdc") instanceof Map<?, ?> sfdc) {
+            code = leadingCode(sfdc.get("failureReason"));
+        }
+        if (code < 0 && message.get(FAILURE) instanceof Map<?, ?> failure
+                && failure.get("exception") instanceof TransportException exception
+                && exception.getFields().get("httpCode") instanceof Number httpCode) {
+            code = httpCode.intValue();
+        }
+        return code;
+    }
+
+    private static int leadingCode(Object error) {
+        if (!(error instanceof String text)) {
+            return -1;
+        }
+        int end = text.indexOf(':');
+        try {
+            return Integer.parseInt(end < 0 ? text : text.substring(0, end));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * A handshake rejected by the server, with the status code of the rejection when one is known.
+     */
+    static final class HandshakeException extends ConnectException {
+        private static final long serialVersionUID = 1L;
+
+        private final int errorCode;
+
+        HandshakeException(String message, int errorCode) {
+            super(message);
+            this.errorCode = errorCode;
+        }
+
+        /**
+         * @return {@code true} if the server rejected the session (401) or the credentials (403)
+         */
+        boolean isAuthFailure() {
+            return errorCode == 401 || errorCode == 403;
+        }
+    }
+
     private void addListeners(BayeuxClient client) {
         for (MessageListenerInfo info : listenerInfos) {
             client.getChannel(info.getChannelName()).addListener(info.getMessageListener());
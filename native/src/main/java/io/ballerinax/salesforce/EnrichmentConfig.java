@@ -0,0 +1,76 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Representation of the EnrichmentConfig record.
+ *
+ * @param fields        fields to retrieve per sObject, keyed by entity name
+ * @param windowMs      time in milliseconds to collect record IDs before issuing a retrieve
+ * @param maxBatchSize  maximum number of record IDs per sObject Collections retrieve request
+ * @param cacheTtlMs    time in milliseconds a fetched record is reused for later events on the same record
+ * @param cacheSize     maximum number of records kept in the enrichment cache
+ */
+record EnrichmentConfig(Map<String, List<String>> fields, long windowMs, int maxBatchSize,
+                        long cacheTtlMs, int cacheSize) {
+
+    static final String FIELD_FIELDS = "fields";
+    static final String FIELD_WINDOW = "window";
+    static final String FIELD_MAX_BATCH_SIZE = "maxBatchSize";
+    static final String FIELD_CACHE_TTL = "cacheTtl";
+    static final String FIELD_CACHE_SIZE = "cacheSize";
+
+    boolean isEnriched(String entityName) {
+        return entityName != null && fields.containsKey(entityName);
+    }
+
+    @SuppressWarnings("unchecked")
+    static EnrichmentConfig fromBMap(Object obj) {
+        BMap<BString, Object> map = (BMap<BString, Object>) obj;
+        BMap<BString, Object> fieldMap = (BMap<BString, Object>) map.get(StringUtils.fromString(FIELD_FIELDS));
+        Map<String, List<String>> fields = new HashMap<>();
+        for (Map.Entry<BString, Object> entry : fieldMap.entrySet()) {
+            fields.put(entry.getKey().getValue(), List.copyOf(Arrays.asList(((BArray) entry.getValue())
+                    .getStringArray())));
+        }
+        return new EnrichmentConfig(
+                Map.copyOf(fields),
+                toMillis((BDecimal) map.get(StringUtils.fromString(FIELD_WINDOW))),
+                ((Long) map.get(StringUtils.fromString(FIELD_MAX_BATCH_SIZE))).intValue(),
+                toMillis((BDecimal) map.get(StringUtils.fromString(FIELD_CACHE_TTL))),
+                ((Long) map.get(StringUtils.fromString(FIELD_CACHE_SIZE))).intValue()
+        );
+    }
+
+    private static long toMillis(BDecimal seconds) {
+        return seconds.value().multiply(BigDecimal.valueOf(1000)).longValue();
+    }
+}
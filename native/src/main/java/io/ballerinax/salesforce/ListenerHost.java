@@ -0,0 +1,515 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import org.cometd.bayeux.Channel;
+import org.cometd.bayeux.Message;
+import org.cometd.bayeux.client.ClientSession;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.HttpProxy;
+import org.eclipse.jetty.client.Origin;
+import org.eclipse.jetty.client.ProxyConfiguration;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared runtime for many tenant (org) listeners in one process.
+ *
+ * <p>All listeners attached to a host share one pool of dispatch workers, and listeners with the same
+ * SSL configuration share one Jetty {@link HttpClient} (connection pools, selector and worker threads)
+ * for their Streaming API sessions. A transport is started when the first listener with its SSL
+ * configuration starts, using that listener's SSL context factory and the host's proxy. Events are
+ * queued per tenant and the workers serve tenants round-robin, taking at most {@code eventsPerTurn}
+ * events from a tenant before moving to the next one, so a noisy org cannot starve the others. A
+ * tenant is served by at most one worker at a time, which keeps its events in delivery order.
+ *
+ * <p>Each tenant queue is bounded without blocking the delivering thread, which is shared with every
+ * other tenant on the transport. While a tenant's queue is full, the {@link #backpressure} extension on
+ * its connectors delays that org's next {@code /meta/connect} by roughly the time its backlog needs to
+ * drain, so only that org's long poll pauses. Events already carried by the reply that filled the queue
+ * are still queued, so the capacity can be exceeded by one reply's worth of events.
+ *
+ * <p>Closing the host stops accepting events, lets the workers finish the queued ones (up to
+ * {@link #CLOSE_TIMEOUT_SECONDS}) and then stops the transports.
+ */
+public final class ListenerHost {
+    private static final Logger log = LoggerFactory.getLogger(ListenerHost.class);
+
+    static final String NATIVE_HOST = "listener_host";
+    static final String TENANT_ID = "tenant_id";
+    private static final String HOST_REGISTERED = "host_registered";
+    private static final long MIN_CONNECT_DELAY_MS = 100;
+    private static final long MAX_CONNECT_DELAY_MS = 10_000;
+    private static final long DEFAULT_DISPATCH_NANOS = TimeUnit.MILLISECONDS.toNanos(10);
+    private static final String TENANT_METRICS_RECORD = "TenantMetrics";
+    static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    private final List<ProxyConfiguration.Proxy> proxies;
+    // Started transports, keyed by the SSL configuration of the listeners that share them.
+    private final Map<List<Object>, HttpClient> transports = new HashMap<>();
+    private final ExecutorService workers;
+    private final LinkedBlockingQueue<TenantQueue> readyTenants = new LinkedBlockingQueue<>();
+    private final Map<String, TenantQueue> tenants = new ConcurrentHashMap<>();
+    private final int defaultQueueCapacity;
+    private final int defaultEventsPerTurn;
+    private final Map<String, int[]> tenantQuotas;
+    private volatile boolean closed = false;
+
+    ListenerHost(int dispatchWorkers, int queueCapacity, int eventsPerTurn, Map<String, int[]> tenantQuotas,
+                 ProxyConfig proxy) {
+        this.defaultQueueCapacity = queueCapacity;
+        this.defaultEventsPerTurn = eventsPerTurn;
+        this.tenantQuotas = tenantQuotas;
+        this.proxies = proxy == null ? Collections.emptyList()
+                : Collections.singletonList(
+                        new HttpProxy(new Origin.Address(proxy.host(), proxy.port()), proxy.isSecure(), null));
+        AtomicInteger workerId = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(dispatchWorkers, runnable -> {
+            Thread thread = new Thread(runnable, "salesforce-listener-host-" + workerId.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        for (int i = 0; i < dispatchWorkers; i++) {
+            workers.execute(this::serveTenants);
+        }
+    }
+
+    /**
+     * Creates the native host for a Ballerina {@code ListenerHost}.
+     *
+     * @param host   the Ballerina {@code ListenerHost} BObject
+     * @param config the {@code ListenerHostConfig} record
+     * @return an error if the host could not be created, otherwise {@code null}
+     */
+    @SuppressWarnings("unchecked")
+    public static Object initListenerHost(BObject host, BMap<BString, Object> config) {
+        Map<String, int[]> quotas = new HashMap<>();
+        BMap<BString, Object> quotaMap = (BMap<BString, Object>) config.get(StringUtils.fromString("tenantQuotas"));
+        for (Map.Entry<BString, Object> entry : quotaMap.entrySet()) {
+            BMap<BString, Object> quota = (BMap<BString, Object>) entry.getValue();
+            quotas.put(entry.getKey().getValue(), new int[]{
+                    quota.getIntValue(StringUtils.fromString("queueCapacity")).intValue(),
+                    quota.getIntValue(StringUtils.fromString("eventsPerTurn")).intValue()});
+        }
+        Object proxyConfig = config.get(StringUtils.fromString(ListenerUtil.PROXY_CONFIG));
+        try {
+            ListenerHost listenerHost = new ListenerHost(
+                    config.getIntValue(StringUtils.fromString("dispatchWorkers")).intValue(),
+                    config.getIntValue(StringUtils.fromString("queueCapacity")).intValue(),
+                    config.getIntValue(StringUtils.fromString("eventsPerTurn")).intValue(),
+                    Map.copyOf(quotas),
+                    proxyConfig != null ? ProxyConfig.fromBMap(proxyConfig) : null);
+            host.addNativeData(NATIVE_HOST, listenerHost);
+            return null;
+        } catch (RuntimeException e) {
+            return ErrorCreator.createError(StringUtils.fromString(
+                    "Failed to create the listener host: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Binds a listener to a host under the given tenant ID. Called from {@code Listener.init}.
+     *
+     * @param listener the Ballerina {@code Listener} BObject
+     * @param host     the Ballerina {@code ListenerHost} BObject
+     * @param tenantId the tenant the listener's events are scheduled and reported under
+     * @return an error if the host has been closed, otherwise {@code null}
+     */
+    public static Object attachToHost(BObject listener, BObject host, BString tenantId) {
+        ListenerHost listenerHost = (ListenerHost) host.getNativeData(NATIVE_HOST);
+        if (listenerHost == null || listenerHost.closed) {
+            return ErrorCreator.createError(StringUtils.fromString("The listener host has been closed."));
+        }
+        listener.addNativeData(NATIVE_HOST, listenerHost);
+        listener.addNativeData(TENANT_ID, tenantId.getValue());
+        listenerHost.register(listener);
+        return null;
+    }
+
+    /**
+     * Counts a listener under its tenant again after it was stopped. Called when the listener starts.
+     */
+    void register(BObject listener) {
+        if (!Boolean.TRUE.equals(listener.getNativeData(HOST_REGISTERED))) {
+            register(tenantOf(listener));
+            listener.addNativeData(HOST_REGISTERED, true);
+        }
+    }
+
+    void register(String tenantId) {
+        tenant(tenantId).listeners.incrementAndGet();
+    }
+
+    /**
+     * Stops counting a stopped listener under its tenant. The tenant is dropped, together with its
+     * metrics, once none of its listeners is running.
+     */
+    void unregister(BObject listener) {
+        if (!Boolean.TRUE.equals(listener.getNativeData(HOST_REGISTERED))) {
+            return;
+        }
+        listener.addNativeData(HOST_REGISTERED, false);
+        String tenantId = tenantOf(listener);
+        TenantQueue tenant = tenants.get(tenantId);
+        if (tenant != null && tenant.listeners.decrementAndGet() <= 0) {
+            // A queued backlog still drains; the queue stays referenced by the workers until then.
+            tenants.remove(tenantId, tenant);
+        }
+    }
+
+    /**
+     * Stops accepting events, waits for the queued ones to be dispatched and stops the shared transports.
+     * Listeners still attached to the host stop receiving events.
+     *
+     * @param host the Ballerina {@code ListenerHost} BObject
+     * @return {@code null}
+     */
+    public static Object closeListenerHost(BObject host) {
+        ListenerHost listenerHost = (ListenerHost) host.getNativeData(NATIVE_HOST);
+        if (listenerHost != null) {
+            listenerHost.close();
+        }
+        return null;
+    }
+
+    public static Object getHostTenantMetrics(BObject host, BString tenantId) {
+        ListenerHost listenerHost = (ListenerHost) host.getNativeData(NATIVE_HOST);
+        TenantQueue tenant = listenerHost != null ? listenerHost.tenants.get(tenantId.getValue()) : null;
+        return tenant != null ? tenant.toRecord() : null;
+    }
+
+    public static Object getHostMetrics(BObject host) {
+        ListenerHost listenerHost = (ListenerHost) host.getNativeData(NATIVE_HOST);
+        List<Object> records = new ArrayList<>();
+        if (listenerHost != null) {
+            listenerHost.tenants.values().forEach(tenant -> records.add(tenant.toRecord()));
+        }
+        return ValueCreator.createArrayValue(records.toArray(), TypeCreator.createArrayType(
+                ValueCreator.createRecordValue(ModuleUtils.getModule(), TENANT_METRICS_RECORD).getType()));
+    }
+
+    static ListenerHost fromListener(BObject listener) {
+        return (ListenerHost) listener.getNativeData(NATIVE_HOST);
+    }
+
+    static String tenantOf(BObject listener) {
+        return (String) listener.getNativeData(TENANT_ID);
+    }
+
+    /**
+     * Returns the shared Streaming API transport for listeners with the given SSL configuration, starting
+     * it for the first of them.
+     *
+     * @param sslContextFactory the SSL context factory of the listener
+     * @return the started transport. Connectors must not stop it.
+     * @throws Exception if the transport could not be started
+     */
+    synchronized HttpClient transport(SslContextFactory.Client sslContextFactory) throws Exception {
+        if (closed) {
+            throw new IllegalStateException("The listener host has been closed.");
+        }
+        List<Object> key = sslKey(sslContextFactory);
+        HttpClient httpClient = transports.get(key);
+        if (httpClient == null) {
+            httpClient = EmpConnector.newHttpClient(sslContextFactory, proxies);
+            httpClient.start();
+            transports.put(key, httpClient);
+        }
+        return httpClient;
+    }
+
+    /**
+     * Returns the settings that make two SSL context factories interchangeable for a shared transport.
+     * Store passwords are not readable, so stores are told apart by their location and type.
+     */
+    static List<Object> sslKey(SslContextFactory.Client sslContextFactory) {
+        return Arrays.asList(sslContextFactory.getSslContext(),
+                String.valueOf(sslContextFactory.getKeyStoreResource()), sslContextFactory.getKeyStoreType(),
+                sslContextFactory.getCertAlias(),
+                String.valueOf(sslContextFactory.getTrustStoreResource()), sslContextFactory.getTrustStoreType(),
+                sslContextFactory.isTrustAll(), sslContextFactory.getEndpointIdentificationAlgorithm(),
+                List.of(sslContextFactory.getIncludeProtocols()), List.of(sslContextFactory.getExcludeProtocols()),
+                List.of(sslContextFactory.getIncludeCipherSuites()),
+                List.of(sslContextFactory.getExcludeCipherSuites()));
+    }
+
+    /**
+     * Queues an event dispatch for a tenant. Never blocks: a full queue is reported through
+     * {@link #backpressure} instead.
+     *
+     * @param tenantId the tenant the event belongs to
+     * @param dispatch the dispatch to run on a host worker
+     */
+    void submit(String tenantId, Runnable dispatch) {
+        TenantQueue tenant = tenants.get(tenantId);
+        if (tenant == null) {
+            // Delivered after the tenant's last listener stopped; the event was not checkpointed, so it
+            // is replayed when a listener of the tenant resumes.
+            log.debug("Dropping an event for tenant '{}', which has no running listener", tenantId);
+            return;
+        }
+        tenant.offer(dispatch);
+    }
+
+    /**
+     * Returns a Bayeux extension that delays a connector's next {@code /meta/connect} while the tenant's
+     * queue is full. Each connector needs its own instance.
+     *
+     * @param tenantId the tenant the connector delivers events for
+     * @return the extension
+     */
+    ClientSession.Extension backpressure(String tenantId) {
+        return new BackpressureExtension(tenantId);
+    }
+
+    private TenantQueue tenant(String tenantId) {
+        return tenants.computeIfAbsent(tenantId, id -> {
+            int[] quota = tenantQuotas.get(id);
+            return quota != null ? new TenantQueue(id, quota[0], quota[1])
+                    : new TenantQueue(id, defaultQueueCapacity, defaultEventsPerTurn);
+        });
+    }
+
+    private void serveTenants() {
+        while (true) {
+            TenantQueue tenant;
+            try {
+                tenant = readyTenants.poll(1, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            if (tenant != null) {
+                tenant.runTurn();
+            } else if (closed) {
+                // Nothing is queued and nothing more is accepted. A tenant in another worker's turn is
+                // requeued by that worker, which keeps serving it.
+                return;
+            }
+        }
+    }
+
+    void close() {
+        List<HttpClient> stopping;
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            stopping = new ArrayList<>(transports.values());
+            transports.clear();
+        }
+        workers.shutdown();
+        try {
+            if (!workers.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Listener host workers did not finish the queued events within {} seconds",
+                        CLOSE_TIMEOUT_SECONDS);
+                workers.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+        }
+        for (HttpClient httpClient : stopping) {
+            try {
+                httpClient.stop();
+            } catch (Exception e) {
+                log.warn("Failed to stop the listener host transport", e);
+            }
+        }
+    }
+
+    /**
+     * Per-tenant event queue, quota and counters.
+     */
+    private final class TenantQueue {
+        private final String tenantId;
+        private final int capacity;
+        private final int eventsPerTurn;
+        private final ArrayDeque<Runnable> events = new ArrayDeque<>();
+        private final AtomicInteger listeners = new AtomicInteger();
+        private boolean scheduled = false;
+        private boolean paused = false;
+
+        private long received = 0;
+        private long dispatched = 0;
+        private long failed = 0;
+        private long throttled = 0;
+        private long dispatchNanos = 0;
+
+        private TenantQueue(String tenantId, int capacity, int eventsPerTurn) {
+            this.tenantId = tenantId;
+            this.capacity = capacity;
+            this.eventsPerTurn = eventsPerTurn;
+        }
+
+        private synchronized void offer(Runnable dispatch) {
+            if (closed) {
+                return;
+            }
+            if (events.size() >= capacity && !paused) {
+                paused = true;
+                throttled++;
+            }
+            events.add(dispatch);
+            received++;
+            if (!scheduled) {
+                scheduled = true;
+                readyTenants.add(this);
+            }
+        }
+
+        /**
+         * @return how long to hold back the tenant's next {@code /meta/connect}: {@code 0} if the queue
+         *         has room, otherwise an estimate of the time needed to drain below the capacity
+         */
+        private synchronized long connectDelayMs() {
+            int excess = events.size() - capacity + 1;
+            if (excess <= 0) {
+                paused = false;
+                return 0;
+            }
+            long completed = dispatched + failed;
+            long nanosPerEvent = completed == 0 ? DEFAULT_DISPATCH_NANOS : dispatchNanos / completed;
+            long delayMs = TimeUnit.NANOSECONDS.toMillis(nanosPerEvent * excess);
+            return Math.max(MIN_CONNECT_DELAY_MS, Math.min(MAX_CONNECT_DELAY_MS, delayMs));
+        }
+
+        private void runTurn() {
+            for (int i = 0; i < eventsPerTurn; i++) {
+                Runnable dispatch;
+                synchronized (this) {
+                    dispatch = events.poll();
+                    if (dispatch == null) {
+                        break;
+                    }
+                }
+                long start = System.nanoTime();
+                boolean success = true;
+                try {
+                    dispatch.run();
+                } catch (RuntimeException e) {
+                    success = false;
+                    log.error("Failed to dispatch event for tenant '{}'", tenantId, e);
+                }
+                synchronized (this) {
+                    dispatchNanos += System.nanoTime() - start;
+                    if (success) {
+                        dispatched++;
+                    } else {
+                        failed++;
+                    }
+                }
+            }
+            synchronized (this) {
+                // Requeue at the tail so the other ready tenants are served before this one again.
+                if (events.isEmpty()) {
+                    scheduled = false;
+                } else {
+                    readyTenants.add(this);
+                }
+            }
+        }
+
+        private synchronized BMap<BString, Object> toRecord() {
+            Map<String, Object> values = new HashMap<>();
+            values.put("tenantId", StringUtils.fromString(tenantId));
+            values.put("listeners", (long) listeners.get());
+            values.put("eventsReceived", received);
+            values.put("eventsDispatched", dispatched);
+            values.put("eventsFailed", failed);
+            values.put("queueDepth", (long) events.size());
+            values.put("throttledCount", throttled);
+            long completed = dispatched + failed;
+            BigDecimal averageSeconds = completed == 0 ? BigDecimal.ZERO
+                    : BigDecimal.valueOf(dispatchNanos / completed).divide(BigDecimal.valueOf(1_000_000_000L),
+                    6, RoundingMode.HALF_UP);
+            BDecimal average = ValueCreator.createDecimalValue(averageSeconds);
+            values.put("averageDispatchTime", average);
+            return ValueCreator.createRecordValue(ModuleUtils.getModule(), TENANT_METRICS_RECORD, values);
+        }
+    }
+
+    /**
+     * Delays a connector's next {@code /meta/connect} while its tenant's queue is full by raising the
+     * {@code interval} advice of the {@code /meta/connect} reply, which the client waits before
+     * reconnecting. Once the queue has room again the server's own interval is restored.
+     */
+    private final class BackpressureExtension implements ClientSession.Extension {
+        private final String tenantId;
+        private Map<String, Object> serverAdvice = Map.of();
+        private boolean delaying = false;
+
+        private BackpressureExtension(String tenantId) {
+            this.tenantId = tenantId;
+        }
+
+        @Override
+        public synchronized boolean rcvMeta(ClientSession session, Message.Mutable message) {
+            if (!Channel.META_CONNECT.equals(message.getChannel()) || !message.isSuccessful()) {
+                return true;
+            }
+            Map<String, Object> advice = message.getAdvice();
+            if (advice != null) {
+                serverAdvice = new HashMap<>(advice);
+            }
+            TenantQueue tenant = tenants.get(tenantId);
+            long delayMs = tenant != null ? tenant.connectDelayMs() : 0;
+            if (delayMs == 0 && !delaying) {
+                return true;
+            }
+            delaying = delayMs > 0;
+            // A reply without advice keeps the previous one, so the override is written on top of the
+            // server's last advice rather than replacing it (which would drop e.g. its timeout).
+            Map<String, Object> effective = message.getAdvice(true);
+            serverAdvice.forEach(effective::putIfAbsent);
+            if (delaying) {
+                effective.put(Message.INTERVAL_FIELD, delayMs);
+            } else {
+                effective.put(Message.INTERVAL_FIELD, serverAdvice.getOrDefault(Message.INTERVAL_FIELD, 0L));
+            }
+            return true;
+        }
+    }
+}
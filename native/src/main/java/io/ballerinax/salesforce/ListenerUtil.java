@@ -29,24 +29,36 @@ import io.ballerina.runtime.api.values.BDecimal;
 import io.ballerina.runtime.api.values.BError;
 import io.ballerina.runtime.api.values.BObject;
 import io.ballerina.runtime.api.values.BString;
+import org.eclipse.jetty.client.HttpClient;
 import org.eclipse.jetty.client.HttpProxy;
 import org.eclipse.jetty.client.Origin;
 import org.eclipse.jetty.client.ProxyConfiguration;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
 import java.util.function.Consumer;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static io.ballerinax.salesforce.Constants.CONSUMER_SERVICES;
 import static io.ballerinax.salesforce.Constants.DISPATCHERS;
+import static io.ballerinax.salesforce.Constants.ENRICHMENT;
+import static io.ballerinax.salesforce.Constants.ENRICHMENT_STAGE;
 import static io.ballerinax.salesforce.Constants.IS_SAND_BOX;
 import static io.ballerinax.salesforce.Constants.REPLAY_FROM;
 
@@ -63,6 +75,8 @@ public class ListenerUtil {
     public static final String GET_OAUTH2_TOKEN_METHOD = "getOAuth2Token";
     public static final String SUBSCRIPTIONS = "subscriptions";
     public static final String PROXY_CONFIG = "proxyConfig";
+    public static final String SESSION_TIMEOUT = "sessionTimeout";
+    public static final String SESSION_STORE = "sessionStore";
 
     /**
      * Native data key for the per-start-cycle replayFrom override set by
@@ -74,15 +88,22 @@ public class ListenerUtil {
     public static final String EFFECTIVE_REPLAY_FROM = "effective_replay_from";
 
     private static final String CONNECTOR = "connector";
+    private static final String PHASE_AUTHENTICATION = "authentication";
+    private static final String PHASE_TRANSPORT = "transport";
+    private static final String PHASE_HANDSHAKE = "handshake";
+    private static final String PHASE_SUBSCRIBE = "subscribe";
+    private static final Logger log = LoggerFactory.getLogger(ListenerUtil.class);
     private static final List<String> CDC_METHODS = List.of(
             Constants.ON_CREATE, Constants.ON_UPDATE, Constants.ON_DELETE, Constants.ON_RESTORE);
 
     private static void extractBaseConfigs(BObject listener, long replayFrom,
             BDecimal connectionTimeout, BDecimal readTimeout, BDecimal keepAliveInterval,
-            BString apiVersion, Object proxyConfig) {
+            BString apiVersion, Object proxyConfig, Object enrichment) {
         listener.addNativeData(CONSUMER_SERVICES, new ArrayList<BObject>());
-        listener.addNativeData(DISPATCHERS, new HashMap<BObject, DispatcherService>());
-        listener.addNativeData(SUBSCRIPTIONS, new HashMap<BObject, TopicSubscription>());
+        // Both maps are keyed by channel name: every service attached to a channel shares
+        // one dispatcher and one subscription.
+        listener.addNativeData(DISPATCHERS, new LinkedHashMap<String, DispatcherService>());
+        listener.addNativeData(SUBSCRIPTIONS, new HashMap<String, TopicSubscription>());
         listener.addNativeData(REPLAY_FROM, replayFrom);
         listener.addNativeData(API_VERSION, apiVersion.getValue());
         long connectionTimeoutMs = connectionTimeout.value().multiply(java.math.BigDecimal.valueOf(1000)).longValue();
@@ -96,22 +117,27 @@ public class ListenerUtil {
         if (proxyConfig != null) {
             listener.addNativeData(PROXY_CONFIG, ProxyConfig.fromBMap(proxyConfig));
         }
+        if (enrichment != null) {
+            listener.addNativeData(ENRICHMENT, EnrichmentConfig.fromBMap(enrichment));
+        }
     }
 
     public static void initListener(BObject listener, long replayFrom, boolean isSandBox,
             BDecimal connectionTimeout, BDecimal readTimeout, BDecimal keepAliveInterval,
-            BString apiVersion, Object proxyConfig) {
+            BString apiVersion, Object proxyConfig, Object enrichment, long sessionTimeout, Object sessionStore) {
         extractBaseConfigs(listener, replayFrom, connectionTimeout, readTimeout, keepAliveInterval,
-                apiVersion, proxyConfig);
+                apiVersion, proxyConfig, enrichment);
         listener.addNativeData(IS_OAUTH2, false);
         listener.addNativeData(IS_SAND_BOX, isSandBox);
+        listener.addNativeData(SESSION_TIMEOUT, sessionTimeout);
+        listener.addNativeData(SESSION_STORE, sessionStore);
     }
 
     public static void initListener(BObject listener, long replayFrom, BString baseUrl,
             BDecimal connectionTimeout, BDecimal readTimeout, BDecimal keepAliveInterval,
-            BString apiVersion, Object proxyConfig) {
+            BString apiVersion, Object proxyConfig, Object enrichment) {
         extractBaseConfigs(listener, replayFrom, connectionTimeout, readTimeout, keepAliveInterval,
-                apiVersion, proxyConfig);
+                apiVersion, proxyConfig, enrichment);
         listener.addNativeData(IS_OAUTH2, true);
         listener.addNativeData(BASE_URL, baseUrl.getValue());
     }
@@ -171,8 +197,8 @@ public class ListenerUtil {
         @SuppressWarnings("unchecked")
         ArrayList<BObject> services = (ArrayList<BObject>) listener.getNativeData(CONSUMER_SERVICES);
         @SuppressWarnings("unchecked")
-        Map<BObject, DispatcherService> serviceDispatcherMap =
-                (Map<BObject, DispatcherService>) listener.getNativeData(DISPATCHERS);
+        Map<String, DispatcherService> channelDispatcherMap =
+                (Map<String, DispatcherService>) listener.getNativeData(DISPATCHERS);
 
         if (service == null) {
             return null;
@@ -187,13 +213,17 @@ public class ListenerUtil {
             return sfdcError("Ambiguous service: the service contains methods from both 'CdcService' " +
                     "and 'PlatformEventsService'. A service must implement only one of these types.", null);
         }
+        if (services.contains(service)) {
+            return sfdcError("The service is already attached to the listener.", null);
+        }
 
-        // Pass the listener BObject to DispatcherService so it can invoke
-        // `recordEventDispatched` after each successful user-handler execution.
-        DispatcherService dispatcherService =
-                new DispatcherService(service, environment.getRuntime(), channel, listener);
+        // Services on the same channel share one dispatcher, so the event is received over a
+        // single subscription and decoded once. The listener BObject is passed so the dispatcher
+        // can invoke `recordEventDispatched` after each successfully handled event.
+        DispatcherService dispatcherService = channelDispatcherMap.computeIfAbsent(channel,
+                key -> new DispatcherService(environment.getRuntime(), key, listener));
+        dispatcherService.addService(service);
         services.add(service);
-        serviceDispatcherMap.put(service, dispatcherService);
 
         return null;
     }
@@ -204,23 +234,64 @@ public class ListenerUtil {
         String apiVersion = (String) listener.getNativeData(API_VERSION);
         List<ProxyConfiguration.Proxy> proxies = buildProxies(listener);
 
+        // Sessions are reused across starts, reconnects and leadership changes until they expire or
+        // are rejected, instead of performing a SOAP login every time.
+        boolean isSandBox = (Boolean) listener.getNativeData(IS_SAND_BOX);
+        SoapSessionCache sessionCache = new SoapSessionCache(
+                isSandBox ? LoginHelper.TEST_LOGIN_ENDPOINT : LoginHelper.LOGIN_ENDPOINT,
+                username.getValue(), password.getValue(), apiVersion, env.getRuntime(),
+                (BObject) listener.getNativeData(SESSION_STORE));
         BearerTokenProvider tokenProvider = new BearerTokenProvider(() -> {
             try {
-                return LoginHelper.login(username.getValue(), password.getValue(), listener, apiVersion);
+                return LoginHelper.login(username.getValue(), password.getValue(), listener, apiVersion,
+                        sessionCache);
             } catch (Exception e) {
                 throw sfdcError(e.getMessage(), e.getCause());
             }
-        });
+        }, sessionCache::invalidate);
+
+        // The Streaming API transport does not depend on the session, so it is started while
+        // the SOAP login is in flight.
+        boolean hasCachedSession = sessionCache.get() != null;
+        SslContextFactory.Client sslContextFactory =
+                LoginHelper.soapParameters(listener, apiVersion).sslContextFactory();
+        Supplier<Object> retryWithFreshLogin = !hasCachedSession ? null : () -> {
+            // The cached session was revoked or expired early; retry once with a fresh login.
+            log.info("Cached Salesforce session was rejected, logging in again");
+            sessionCache.invalidate();
+            return startSoapConnector(tokenProvider, listener, proxies, sslContextFactory, readTimeoutMs,
+                    keepAliveIntervalMs, null);
+        };
+        return startSoapConnector(tokenProvider, listener, proxies, sslContextFactory, readTimeoutMs,
+                keepAliveIntervalMs, retryWithFreshLogin);
+    }
 
+    private static Object startSoapConnector(BearerTokenProvider tokenProvider, BObject listener,
+            List<ProxyConfiguration.Proxy> proxies, SslContextFactory.Client sslContextFactory, long readTimeoutMs,
+            long keepAliveIntervalMs, Supplier<Object> onAuthFailure) {
+        StartupTimings timings = new StartupTimings();
+        CompletableFuture<HttpClient> transport = startTransport(listener, proxies, sslContextFactory, timings);
         BayeuxParameters params;
         try {
+            timings.begin(PHASE_AUTHENTICATION);
             BayeuxParameters loginParams = tokenProvider.login();
+            timings.end(PHASE_AUTHENTICATION);
             params = new TimeoutBayeuxParameters(loginParams, readTimeoutMs, keepAliveIntervalMs, proxies);
         } catch (Exception e) {
+            releaseTransport(listener, transport);
             throw sfdcError(e.getMessage(), e.getCause());
         }
 
-        return startConnector(params, tokenProvider, listener);
+        return startConnector(params, tokenProvider, listener, transport, timings, onAuthFailure);
+    }
+
+    private static boolean isAuthFailure(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof EmpConnector.HandshakeException handshake) {
+                return handshake.isAuthFailure();
+            }
+        }
+        return false;
     }
 
     public static Object startListener(Environment env, BObject listener) {
@@ -230,18 +301,25 @@ public class ListenerUtil {
         String apiVersion = (String) listener.getNativeData(API_VERSION);
         List<ProxyConfiguration.Proxy> proxies = buildProxies(listener);
 
-        BearerTokenProvider tokenProvider = new BearerTokenProvider(() ->
-            new OAuth2BayeuxParameters(() -> getOAuth2Token(env, listener), baseUrl,
-                readTimeoutMs, keepAliveIntervalMs, apiVersion, proxies));
+        OAuth2BayeuxParameters oauth2Params = new OAuth2BayeuxParameters(() -> getOAuth2Token(env, listener),
+                baseUrl, readTimeoutMs, keepAliveIntervalMs, apiVersion, proxies);
+        BearerTokenProvider tokenProvider = new BearerTokenProvider(() -> oauth2Params);
 
+        // Start the transport while the OAuth2 token is being acquired.
+        StartupTimings timings = new StartupTimings();
+        CompletableFuture<HttpClient> transport = startTransport(listener, proxies,
+                oauth2Params.sslContextFactory(), timings);
         BayeuxParameters params;
         try {
+            timings.begin(PHASE_AUTHENTICATION);
             params = tokenProvider.login();
+            timings.end(PHASE_AUTHENTICATION);
         } catch (Exception e) {
+            releaseTransport(listener, transport);
             return sfdcError(e.getMessage(), e.getCause());
         }
 
-        return startConnector(params, tokenProvider, listener);
+        return startConnector(params, tokenProvider, listener, transport, timings, null);
     }
 
     static ProxyConfig getProxyConfig(BObject listener) {
@@ -257,12 +335,78 @@ public class ListenerUtil {
                 new HttpProxy(new Origin.Address(proxy.host(), proxy.port()), proxy.isSecure(), null));
     }
 
+    /**
+     * Starts the Streaming API transport ahead of the handshake. The SSL context factory comes from the
+     * same Bayeux parameters the connector is started with, so the pre-started transport is configured
+     * exactly like the one the connector would otherwise create.
+     */
+    private static CompletableFuture<HttpClient> startTransport(BObject listener,
+            List<ProxyConfiguration.Proxy> proxies, SslContextFactory.Client sslContextFactory,
+            StartupTimings timings) {
+        ListenerHost host = ListenerHost.fromListener(listener);
+        if (host != null) {
+            // Listeners on a host share its transport for their SSL configuration.
+            try {
+                return CompletableFuture.completedFuture(host.transport(sslContextFactory));
+            } catch (Exception e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            timings.begin(PHASE_TRANSPORT);
+            HttpClient httpClient = EmpConnector.newHttpClient(sslContextFactory, proxies);
+            try {
+                httpClient.start();
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            }
+            timings.end(PHASE_TRANSPORT);
+            return httpClient;
+        });
+    }
+
+    private static void releaseTransport(BObject listener, CompletableFuture<HttpClient> transport) {
+        if (ListenerHost.fromListener(listener) != null) {
+            return;
+        }
+        transport.thenAccept(httpClient -> {
+            try {
+                httpClient.stop();
+            } catch (Exception e) {
+                log.debug("Failed to stop the Streaming API transport", e);
+            }
+        });
+    }
+
+    /**
+     * Connects and subscribes the listener's services.
+     *
+     * @param onAuthFailure called instead of failing when the handshake is rejected with a 401 or 403, or
+     *                      {@code null} to fail
+     */
     private static Object startConnector(BayeuxParameters params, BearerTokenProvider tokenProvider,
-            BObject listener) {
+            BObject listener, CompletableFuture<HttpClient> transport, StartupTimings timings,
+            Supplier<Object> onAuthFailure) {
         long connectionTimeoutMs = (Long) listener.getNativeData(CONNECTION_TIMEOUT);
         String connectionTimeoutDisplay = (String) listener.getNativeData(CONNECTION_TIMEOUT + "_display");
 
-        EmpConnector connector = new EmpConnector(params);
+        ListenerHost host = ListenerHost.fromListener(listener);
+        HttpClient httpClient;
+        boolean ownsHttpClient = host == null;
+        try {
+            httpClient = transport.get(connectionTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (Exception e) {
+            // Fall back to letting the connector start its own transport during the handshake.
+            releaseTransport(listener, transport);
+            log.debug("Streaming API transport was not started in advance", e);
+            httpClient = EmpConnector.newHttpClient(params.sslContextFactory(), params.proxies());
+            ownsHttpClient = true;
+        }
+        EmpConnector connector = new EmpConnector(params, httpClient, ownsHttpClient);
+        if (host != null) {
+            host.register(listener);
+            connector.addExtension(host.backpressure(ListenerHost.tenantOf(listener)));
+        }
         ProxyConfig proxy = getProxyConfig(listener);
         if (proxy != null && proxy.hasCredentials()) {
             connector.setProxyAuthentication(proxy.host(), proxy.port(),
@@ -270,25 +414,69 @@ public class ListenerUtil {
         }
         connector.setBearerTokenProvider(tokenProvider);
         try {
+            timings.begin(PHASE_HANDSHAKE);
             connector.start().get(connectionTimeoutMs, TimeUnit.MILLISECONDS);
+            timings.end(PHASE_HANDSHAKE);
         } catch (TimeoutException exception) {
             connector.stop();
             return sfdcError("Connection timed out after " + connectionTimeoutDisplay + " seconds.", null);
         } catch (Exception e) {
+            // Stop the connector so its auth-failure listener does not keep reconnecting in the background.
+            connector.stop();
+            if (onAuthFailure != null && isAuthFailure(e)) {
+                return onAuthFailure.get();
+            }
             return sfdcError(e.getMessage(), e.getCause());
         }
         listener.addNativeData(CONNECTOR, connector);
-        return subscribeServices(listener, connector, connectionTimeoutMs);
+        Object enrichmentError = startEnrichmentStage(params, tokenProvider, listener);
+        if (enrichmentError != null) {
+            connector.stop();
+            return enrichmentError;
+        }
+        timings.begin(PHASE_SUBSCRIBE);
+        Object result = subscribeServices(listener, connector, connectionTimeoutMs);
+        timings.end(PHASE_SUBSCRIBE);
+        if (result == null) {
+            log.info("Salesforce listener started on {}: {}", params.endpoint(), timings);
+        } else {
+            log.warn("Salesforce listener failed to start on {}: {}", params.endpoint(), timings);
+        }
+        return result;
+    }
+
+    private static Object startEnrichmentStage(BayeuxParameters params, BearerTokenProvider tokenProvider,
+            BObject listener) {
+        stopEnrichmentStage(listener);
+        EnrichmentConfig config = (EnrichmentConfig) listener.getNativeData(ENRICHMENT);
+        if (config == null) {
+            return null;
+        }
+        try {
+            long readTimeoutMs = (Long) listener.getNativeData(READ_TIMEOUT);
+            listener.addNativeData(ENRICHMENT_STAGE, new RecordEnrichmentStage(config, params.endpoint(),
+                    params.version(), tokenProvider, readTimeoutMs, params.proxies()));
+        } catch (Exception e) {
+            return sfdcError("Failed to start the CDC enrichment stage: " + e.getMessage(), e.getCause());
+        }
+        return null;
+    }
+
+    private static void stopEnrichmentStage(BObject listener) {
+        RecordEnrichmentStage stage = (RecordEnrichmentStage) listener.getNativeData(ENRICHMENT_STAGE);
+        if (stage != null) {
+            listener.addNativeData(ENRICHMENT_STAGE, null);
+            stage.stop();
+        }
     }
 
     private static Object subscribeServices(BObject listener, EmpConnector connector, long connectionTimeoutMs) {
         @SuppressWarnings("unchecked")
-        ArrayList<BObject> services = (ArrayList<BObject>) listener.getNativeData(CONSUMER_SERVICES);
+        Map<String, DispatcherService> channelDispatcherMap =
+                (Map<String, DispatcherService>) listener.getNativeData(DISPATCHERS);
         @SuppressWarnings("unchecked")
-        Map<BObject, DispatcherService> serviceDispatcherMap =
-                (Map<BObject, DispatcherService>) listener.getNativeData(DISPATCHERS);
-        Map<BObject, TopicSubscription> subscriptionMap =
-                (Map<BObject, TopicSubscription>) listener.getNativeData(SUBSCRIPTIONS);
+        Map<String, TopicSubscription> subscriptionMap =
+                (Map<String, TopicSubscription>) listener.getNativeData(SUBSCRIPTIONS);
 
         // Resolve the effective replayFrom for this subscription attempt.
         // When CometdStateManager.standbyTick() loads a persisted checkpoint, it
@@ -305,62 +493,80 @@ public class ListenerUtil {
             replayFrom = (Long) listener.getNativeData(REPLAY_FROM);
         }
 
-        for (BObject service : services) {
-            DispatcherService dispatcherService = serviceDispatcherMap.get(service);
-            if (dispatcherService == null) {
-                return sfdcError("DispatcherService not found for service.", null);
-            }
+        if (channelDispatcherMap.isEmpty()) {
+            return sfdcError("Channel name is not set. Please attach a service before starting the listener.",
+                    null);
+        }
 
-            String channelName = dispatcherService.getChannelName();
-            if (channelName == null) {
-                return sfdcError("Channel name is not set. Please attach a service before starting the listener.",
-                        null);
+        // Issue every /meta/subscribe request before waiting on any of them, then wait for all of
+        // them against a single deadline so N channels cost one round trip rather than N.
+        RecordEnrichmentStage enrichmentStage = (RecordEnrichmentStage) listener.getNativeData(ENRICHMENT_STAGE);
+        Map<DispatcherService, Future<TopicSubscription>> pendingSubscriptions = new LinkedHashMap<>();
+        ListenerHost host = ListenerHost.fromListener(listener);
+        String tenantId = ListenerHost.tenantOf(listener);
+        for (DispatcherService dispatcherService : channelDispatcherMap.values()) {
+            // On a listener host the dispatch runs on the host's shared workers, scheduled fairly
+            // against the other tenants; otherwise it runs on the delivering thread.
+            RecordEnrichmentStage.Sink sink = host == null
+                    ? (event, enrichedRecords) -> injectEvent(dispatcherService, event, enrichedRecords)
+                    : (event, enrichedRecords) -> host.submit(tenantId,
+                            () -> injectEvent(dispatcherService, event, enrichedRecords));
+            Consumer<Map<String, Object>> consumer = enrichmentStage == null
+                    ? event -> sink.dispatch(event, null)
+                    : event -> enrichmentStage.submit(event, sink);
+            try {
+                pendingSubscriptions.put(dispatcherService,
+                        connector.subscribe(dispatcherService.getChannelName(), replayFrom, consumer));
+            } catch (Exception e) {
+                return failSubscription(connector, dispatcherService, e);
             }
+        }
 
-            Consumer<Map<String, Object>> consumer = event -> {
-                try {
-                    injectEvent(dispatcherService, event);
-                } catch (Exception e) {
-                    BError error = sfdcError(e.getMessage(), e.getCause());
-                    BError onErrorResult = dispatcherService.invokeOnError(error);
-                    if (onErrorResult != null) {
-                        throw onErrorResult;
-                    }
-                }
-            };
-
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(connectionTimeoutMs);
+        for (Map.Entry<DispatcherService, Future<TopicSubscription>> entry : pendingSubscriptions.entrySet()) {
+            DispatcherService dispatcherService = entry.getKey();
             try {
-                TopicSubscription subscription = connector.subscribe(channelName, replayFrom, consumer)
-                        .get(connectionTimeoutMs, TimeUnit.MILLISECONDS);
-                subscriptionMap.put(service, subscription);
+                TopicSubscription subscription = awaitBefore(entry.getValue(), deadline);
+                subscriptionMap.put(dispatcherService.getChannelName(), subscription);
             } catch (Exception e) {
-                connector.stop();
-                BError subscriptionError = sfdcError(e.getMessage(), e.getCause());
-                BError onErrorResult = dispatcherService.invokeOnError(subscriptionError);
-                return onErrorResult != null ? onErrorResult : subscriptionError;
+                return failSubscription(connector, dispatcherService, e);
             }
         }
         return null;
     }
 
+    /**
+     * Waits for the future until the given {@link System#nanoTime()} deadline, failing at once if it has passed.
+     */
+    static <T> T awaitBefore(Future<T> future, long deadlineNanos)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        long remainingNanos = Math.max(0, deadlineNanos - System.nanoTime());
+        return future.get(remainingNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private static BError failSubscription(EmpConnector connector, DispatcherService dispatcherService,
+            Exception e) {
+        connector.stop();
+        BError subscriptionError = e instanceof TimeoutException
+                ? sfdcError("Subscription to '" + dispatcherService.getChannelName() + "' timed out.", null)
+                : sfdcError(e.getMessage(), e.getCause());
+        BError onErrorResult = dispatcherService.invokeOnError(subscriptionError);
+        return onErrorResult != null ? onErrorResult : subscriptionError;
+    }
+
     public static void notifyServicesOnError(BObject listener, BString message) {
         notifyAllDispatchersOnError(listener, sfdcError(message.getValue(), null));
     }
 
     private static void notifyAllDispatchersOnError(BObject listener, BError error) {
         @SuppressWarnings("unchecked")
-        ArrayList<BObject> services = (ArrayList<BObject>) listener.getNativeData(CONSUMER_SERVICES);
-        @SuppressWarnings("unchecked")
-        Map<BObject, DispatcherService> serviceDispatcherMap =
-                (Map<BObject, DispatcherService>) listener.getNativeData(DISPATCHERS);
-        if (services == null || serviceDispatcherMap == null) {
+        Map<String, DispatcherService> channelDispatcherMap =
+                (Map<String, DispatcherService>) listener.getNativeData(DISPATCHERS);
+        if (channelDispatcherMap == null) {
             return;
         }
-        for (BObject service : services) {
-            DispatcherService dispatcher = serviceDispatcherMap.get(service);
-            if (dispatcher != null) {
-                dispatcher.invokeOnError(error);
-            }
+        for (DispatcherService dispatcher : channelDispatcherMap.values()) {
+            dispatcher.invokeOnError(error);
         }
     }
 
@@ -368,33 +574,38 @@ public class ListenerUtil {
         @SuppressWarnings("unchecked")
         ArrayList<BObject> services = (ArrayList<BObject>) listener.getNativeData(CONSUMER_SERVICES);
         @SuppressWarnings("unchecked")
-        Map<BObject, DispatcherService> serviceDispatcherMap =
-                (Map<BObject, DispatcherService>) listener.getNativeData(DISPATCHERS);
-        Map<BObject, TopicSubscription> subscriptionMap =
-                (Map<BObject, TopicSubscription>) listener.getNativeData(SUBSCRIPTIONS);
-
-        DispatcherService dispatcherService = serviceDispatcherMap.get(service);
-        if (dispatcherService != null) {
-            TopicSubscription subscription = subscriptionMap.get(service);
+        Map<String, DispatcherService> channelDispatcherMap =
+                (Map<String, DispatcherService>) listener.getNativeData(DISPATCHERS);
+        @SuppressWarnings("unchecked")
+        Map<String, TopicSubscription> subscriptionMap =
+                (Map<String, TopicSubscription>) listener.getNativeData(SUBSCRIPTIONS);
+
+        for (DispatcherService dispatcherService : new ArrayList<>(channelDispatcherMap.values())) {
+            if (!dispatcherService.removeService(service) || dispatcherService.hasServices()) {
+                continue;
+            }
+            // The last service on the channel has been detached: drop the shared subscription.
+            String channelName = dispatcherService.getChannelName();
+            TopicSubscription subscription = subscriptionMap.remove(channelName);
             if (subscription != null) {
                 subscription.cancel();
-                subscriptionMap.remove(service);
             } else {
                 EmpConnector connector = (EmpConnector) listener.getNativeData(CONNECTOR);
                 if (connector != null) {
-                    connector.unsubscribe(dispatcherService.getChannelName());
+                    connector.unsubscribe(channelName);
                 }
             }
+            channelDispatcherMap.remove(channelName);
         }
 
         services.remove(service);
-        serviceDispatcherMap.remove(service);
         return null;
     }
 
     public static Object stopListener(BObject listener) {
-        Map<BObject, TopicSubscription> subscriptionMap =
-                (Map<BObject, TopicSubscription>) listener.getNativeData(SUBSCRIPTIONS);
+        @SuppressWarnings("unchecked")
+        Map<String, TopicSubscription> subscriptionMap =
+                (Map<String, TopicSubscription>) listener.getNativeData(SUBSCRIPTIONS);
         if (subscriptionMap != null) {
             subscriptionMap.values().forEach(TopicSubscription::cancel);
         }
@@ -402,11 +613,19 @@ public class ListenerUtil {
         if (connector != null) {
             connector.stop();
         }
+        stopEnrichmentStage(listener);
+        ListenerHost host = ListenerHost.fromListener(listener);
+        if (host != null) {
+            host.unregister(listener);
+        }
         return null;
     }
 
-    private static void injectEvent(DispatcherService dispatcherService, Map<String, Object> eventData) {
-        dispatcherService.handleDispatch(eventData);
+    private static void injectEvent(DispatcherService dispatcherService, Map<String, Object> eventData,
+            List<String> enrichedRecords) {
+        // Handler failures are routed to each service's own onError inside the dispatcher;
+        // only errors that a service escalates propagate from here.
+        dispatcherService.handleDispatch(eventData, enrichedRecords);
     }
 
     private static String getOAuth2Token(Environment env, BObject listener) {
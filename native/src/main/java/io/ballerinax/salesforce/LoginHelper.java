@@ -39,6 +39,7 @@ import org.xml.sax.helpers.DefaultHandler;
 import java.io.ByteArrayInputStream;
 import java.io.UnsupportedEncodingException;
 import java.net.ConnectException;
+import java.net.MalformedURLException;
 import java.net.URI;
 import java.net.URL;
 import java.util.Collection;
@@ -66,6 +67,7 @@ public class LoginHelper {
         private boolean reading = false;
         private String serverUrl;
         private String sessionId;
+        private String sessionSecondsValid;
 
         @Override
         public void characters(char[] ch, int start, int length) {
@@ -87,6 +89,9 @@ public class LoginHelper {
                 case "faultstring":
                     faultstring = buffer;
                     break;
+                case "sessionSecondsValid":
+                    sessionSecondsValid = buffer;
+                    break;
                 default:
             }
             buffer = null;
@@ -104,6 +109,9 @@ public class LoginHelper {
                 case "faultstring":
                     reading = true;
                     break;
+                case "sessionSecondsValid":
+                    reading = true;
+                    break;
                 default:
             }
         }
@@ -123,28 +131,79 @@ public class LoginHelper {
     private static final String SERVICES_SOAP_PARTNER_ENDPOINT_PREFIX = "/services/Soap/u/";
     private static final String SERVICES_SOAP_PARTNER_ENDPOINT_SUFFIX = "/";
 
+    // Session validity assumed when the login response does not report sessionSecondsValid
+    private static final long DEFAULT_SESSION_SECONDS = 900;
+
+    // The factory is configured once; SAXParser instances are not thread-safe, so each thread keeps
+    // its own and resets it before reuse.
+    private static final SAXParserFactory PARSER_FACTORY = newParserFactory();
+    private static final ThreadLocal<SAXParser> PARSER = ThreadLocal.withInitial(() -> {
+        try {
+            synchronized (PARSER_FACTORY) {
+                return PARSER_FACTORY.newSAXParser();
+            }
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to create the SOAP login response parser", e);
+        }
+    });
+
     public static BayeuxParameters login(String username, String password,
         BObject listener, String apiVersion) throws Exception {
+        return login(username, password, listener, apiVersion, null);
+    }
+
+    /**
+     * Logs in with the listener's SOAP settings, reusing a cached session when one is still valid.
+     *
+     * @param username     the login username
+     * @param password     the login password with the security token appended
+     * @param listener     the Ballerina {@code Listener} BObject
+     * @param apiVersion   the API version
+     * @param sessionCache the session cache to consult and update, or {@code null} to always log in
+     * @return the Bayeux parameters for the session
+     * @throws Exception if the login fails
+     */
+    public static BayeuxParameters login(String username, String password, BObject listener, String apiVersion,
+            SoapSessionCache sessionCache) throws Exception {
         boolean isSandBox = (Boolean) listener.getNativeData(IS_SAND_BOX);
         String endpoint = getLoginEndpoint(isSandBox);
         ProxyConfig proxy = ListenerUtil.getProxyConfig(listener);
-        List<ProxyConfiguration.Proxy> proxies;
-        BasicAuthentication proxyAuth;
-        if (proxy != null) {
-            proxies = Collections.singletonList(
-                    new HttpProxy(new Origin.Address(proxy.host(), proxy.port()), proxy.isSecure(), null));
-            if (proxy.hasCredentials()) {
-                URI proxyUri = URI.create(String.format("%s://%s:%d", proxy.scheme(), proxy.host(), proxy.port()));
-                proxyAuth = new BasicAuthentication(proxyUri, Authentication.ANY_REALM,
-                        proxy.auth().username(), proxy.auth().password());
-            } else {
-                proxyAuth = null;
+        BasicAuthentication proxyAuth = null;
+        if (proxy != null && proxy.hasCredentials()) {
+            URI proxyUri = URI.create(String.format("%s://%s:%d", proxy.scheme(), proxy.host(), proxy.port()));
+            proxyAuth = new BasicAuthentication(proxyUri, Authentication.ANY_REALM,
+                    proxy.auth().username(), proxy.auth().password());
+        }
+        BayeuxParameters params = soapParameters(listener, apiVersion);
+        if (sessionCache != null) {
+            SoapSessionCache.Session cached = sessionCache.get();
+            if (cached != null) {
+                return toBayeuxParameters(params, cached.sessionId(), cached.serverUrl());
             }
-        } else {
-            proxies = Collections.emptyList();
-            proxyAuth = null;
         }
-        BayeuxParameters params = new BayeuxParameters() {
+        Object sessionTimeout = listener.getNativeData(ListenerUtil.SESSION_TIMEOUT);
+        SoapSessionCache.Session session = soapLogin(new URL(endpoint), username, password, params, apiVersion,
+                proxyAuth, sessionTimeout != null ? (Long) sessionTimeout : DEFAULT_SESSION_SECONDS);
+        if (sessionCache != null) {
+            sessionCache.put(session);
+        }
+        return toBayeuxParameters(params, session.sessionId(), session.serverUrl());
+    }
+
+    /**
+     * Returns the parameters a SOAP login with the listener's settings starts from. The Bayeux parameters
+     * of the resulting session delegate to these, so they also supply the session's SSL and proxy settings.
+     *
+     * @param listener   the Ballerina {@code Listener} BObject
+     * @param apiVersion the API version
+     * @return the unauthenticated Bayeux parameters
+     */
+    static BayeuxParameters soapParameters(BObject listener, String apiVersion) {
+        ProxyConfig proxy = ListenerUtil.getProxyConfig(listener);
+        List<ProxyConfiguration.Proxy> proxies = proxy == null ? Collections.emptyList()
+                : Collections.singletonList(
+                        new HttpProxy(new Origin.Address(proxy.host(), proxy.port()), proxy.isSecure(), null));
+        return new BayeuxParameters() {
             @Override
             public String bearerToken() {
                 throw new IllegalStateException("Have not authenticated");
@@ -165,10 +224,6 @@ public class LoginHelper {
                 return proxies;
             }
         };
-        if (proxyAuth != null) {
-            return login(new URL(endpoint), username, password, params, apiVersion, proxyAuth);
-        }
-        return login(new URL(endpoint), username, password, params, apiVersion);
     }
 
     public static BayeuxParameters login(URL loginEndpoint, String username,
@@ -199,6 +254,14 @@ public class LoginHelper {
     private static BayeuxParameters login(URL loginEndpoint, String username, String password,
             BayeuxParameters parameters, String apiVersion,
             BasicAuthentication proxyAuth) throws Exception {
+        SoapSessionCache.Session session = soapLogin(loginEndpoint, username, password, parameters, apiVersion,
+                proxyAuth, DEFAULT_SESSION_SECONDS);
+        return toBayeuxParameters(parameters, session.sessionId(), session.serverUrl());
+    }
+
+    private static SoapSessionCache.Session soapLogin(URL loginEndpoint, String username, String password,
+            BayeuxParameters parameters, String apiVersion, BasicAuthentication proxyAuth,
+            long defaultSessionSeconds) throws Exception {
         HttpClient client = new HttpClient();
         client.setSslContextFactory(parameters.sslContextFactory());
         try {
@@ -213,13 +276,8 @@ public class LoginHelper {
             post.headers(h -> h.put("SOAPAction", "''"));
             post.headers(h -> h.put("PrettyPrint", "Yes"));
             ContentResponse response = post.send();
-            SAXParserFactory spf = SAXParserFactory.newInstance();
-            spf.setFeature("http://xml.org/sax/features/external-general-entities", false);
-            spf.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
-            spf.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
-            spf.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
-            spf.setNamespaceAware(true);
-            SAXParser saxParser = spf.newSAXParser();
+            SAXParser saxParser = PARSER.get();
+            saxParser.reset();
 
             LoginResponseParser parser = new LoginResponseParser();
             saxParser.parse(new ByteArrayInputStream(response.getContent()), parser);
@@ -229,28 +287,55 @@ public class LoginHelper {
                 throw new ConnectException(
                         String.format("Unable to login: %s", parser.faultstring));
             }
-
-            URL soapEndpoint = new URL(parser.serverUrl);
-            String cometdEndpoint = Float.parseFloat(parameters.version()) < 37 ? COMETD_REPLAY_OLD : COMETD_REPLAY;
-            URL replayEndpoint = new URL(soapEndpoint.getProtocol(), soapEndpoint.getHost(), soapEndpoint.getPort(),
-                    new StringBuilder().append(cometdEndpoint).append(parameters.version()).toString());
-            return new DelegatingBayeuxParameters(parameters) {
-                @Override
-                public String bearerToken() {
-                    return sessionId;
-                }
-
-                @Override
-                public URL endpoint() {
-                    return replayEndpoint;
+            long validSeconds = defaultSessionSeconds;
+            if (parser.sessionSecondsValid != null) {
+                try {
+                    validSeconds = Long.parseLong(parser.sessionSecondsValid.trim());
+                } catch (NumberFormatException e) {
+                    // Keep the configured session timeout.
                 }
-            };
+            }
+            return new SoapSessionCache.Session(sessionId, parser.serverUrl,
+                    System.currentTimeMillis() / 1000 + validSeconds);
         } finally {
             client.stop();
             client.destroy();
         }
     }
 
+    private static BayeuxParameters toBayeuxParameters(BayeuxParameters parameters, String sessionId,
+            String serverUrl) throws MalformedURLException {
+        URL soapEndpoint = new URL(serverUrl);
+        String cometdEndpoint = Float.parseFloat(parameters.version()) < 37 ? COMETD_REPLAY_OLD : COMETD_REPLAY;
+        URL replayEndpoint = new URL(soapEndpoint.getProtocol(), soapEndpoint.getHost(), soapEndpoint.getPort(),
+                new StringBuilder().append(cometdEndpoint).append(parameters.version()).toString());
+        return new DelegatingBayeuxParameters(parameters) {
+            @Override
+            public String bearerToken() {
+                return sessionId;
+            }
+
+            @Override
+            public URL endpoint() {
+                return replayEndpoint;
+            }
+        };
+    }
+
+    private static SAXParserFactory newParserFactory() {
+        try {
+            SAXParserFactory spf = SAXParserFactory.newInstance();
+            spf.setFeature("http://xml.org/sax/features/external-general-entities", false);
+            spf.setFeature("http://xml.org/sax/features/external-parameter-entities", false);
+            spf.setFeature("http://apache.org/xml/features/nonvalidating/load-external-dtd", false);
+            spf.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+            spf.setNamespaceAware(true);
+            return spf;
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to configure the SOAP login response parser", e);
+        }
+    }
+
     private static String getSoapUri(String apiVersion) {
         return SERVICES_SOAP_PARTNER_ENDPOINT_PREFIX + apiVersion + SERVICES_SOAP_PARTNER_ENDPOINT_SUFFIX;
     }
@@ -0,0 +1,325 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Writes SOQL query result pages to a file as CSV or NDJSON, straight from the JSON tokens of each page, so that no
+ * Ballerina values are built and memory use does not grow with the result size. Output goes through a buffered
+ * writer over a {@link FileChannel}.
+ *
+ * <p>NDJSON lines keep the structure of the records without their {@code attributes}. CSV rows flatten
+ * relationships into dotted columns, e.g. {@code Account.Name}, and write arrays as JSON text. The CSV columns are
+ * the fields of the select list. When the select list has more than field paths, e.g. a sub-query, the columns are
+ * taken from the records of the first page, which is the only page buffered. A later record with a value for a field
+ * that has no column fails the export rather than losing the value.
+ *
+ * @since 8.8.0
+ */
+public final class QueryFileWriter {
+
+    private static final String NATIVE_WRITER = "QUERY_FILE_WRITER";
+    private static final String CSV = "CSV";
+    private static final String ATTRIBUTES = "attributes";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final Path path;
+    private final Writer writer;
+    private final boolean csv;
+    private final JsonGenerator generator;
+    private final List<String> selectedFields;
+    private List<String> columns;
+    // Paths of the columns in the records, which may differ in case from the select list.
+    private List<String> columnPaths;
+    private Set<String> columnPathSet;
+
+    QueryFileWriter(Path path, Writer writer, boolean csv, List<String> selectedFields) throws IOException {
+        this.path = path;
+        this.writer = writer;
+        this.csv = csv;
+        this.selectedFields = selectedFields;
+        this.generator = csv ? null : JSON_FACTORY.createGenerator(writer)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .setRootValueSeparator(null);
+    }
+
+    public static Object openQueryFileWriter(BObject fileWriter, BString filePath, BString format, BString soql) {
+        try {
+            Path path = Paths.get(filePath.getValue());
+            FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING);
+            Writer writer = new BufferedWriter(Channels.newWriter(channel, StandardCharsets.UTF_8), BUFFER_SIZE);
+            fileWriter.addNativeData(NATIVE_WRITER, new QueryFileWriter(path, writer, CSV.equals(format.getValue()),
+                    SoqlUtils.getSelectedFields(soql.getValue())));
+            return null;
+        } catch (IOException | RuntimeException e) {
+            return createError("Failed to open '" + filePath.getValue() + "' for writing: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Writes the remaining records of a query result page and releases the page.
+     *
+     * @param fileWriter Ballerina {@code QueryFileWriter}
+     * @param cursor     Ballerina {@code QueryPageCursor} of the page
+     * @return the number of records written, or an error
+     */
+    public static Object writeQueryPage(BObject fileWriter, BObject cursor) {
+        QueryFileWriter queryFileWriter = (QueryFileWriter) fileWriter.getNativeData(NATIVE_WRITER);
+        QueryPageCursor page = QueryPageCursor.fromObject(cursor);
+        JsonParser records = page == null ? null : page.records();
+        if (records == null) {
+            return 0L;
+        }
+        try {
+            return queryFileWriter.csv ? queryFileWriter.writeCsv(records) : queryFileWriter.writeNdjson(records);
+        } catch (IOException | UnmappedFieldException e) {
+            return createError("Failed to write query results to '" + queryFileWriter.path + "': " +
+                    e.getMessage());
+        } finally {
+            page.release();
+        }
+    }
+
+    public static Object closeQueryFileWriter(BObject fileWriter) {
+        QueryFileWriter queryFileWriter = (QueryFileWriter) fileWriter.getNativeData(NATIVE_WRITER);
+        try {
+            if (queryFileWriter.generator != null) {
+                queryFileWriter.generator.flush();
+            }
+            queryFileWriter.writer.close();
+            return null;
+        } catch (IOException e) {
+            return createError("Failed to close '" + queryFileWriter.path + "': " + e.getMessage());
+        }
+    }
+
+    // Closes the file and deletes it, so that a failed export does not leave a truncated file behind.
+    public static void abortQueryFileWriter(BObject fileWriter) {
+        QueryFileWriter queryFileWriter = (QueryFileWriter) fileWriter.getNativeData(NATIVE_WRITER);
+        try {
+            queryFileWriter.writer.close();
+        } catch (IOException ignored) {
+            // The file is deleted regardless.
+        }
+        try {
+            Files.deleteIfExists(queryFileWriter.path);
+        } catch (IOException ignored) {
+            // Nothing more can be done about a file that cannot be deleted.
+        }
+    }
+
+    long writeNdjson(JsonParser records) throws IOException {
+        long count = 0;
+        JsonToken token;
+        while ((token = records.nextToken()) == JsonToken.START_OBJECT) {
+            copyWithoutAttributes(records, token, generator);
+            generator.flush();
+            writer.write('\n');
+            count++;
+        }
+        return count;
+    }
+
+    long writeCsv(JsonParser records) throws IOException, UnmappedFieldException {
+        if (columns != null) {
+            long count = 0;
+            while (records.nextToken() == JsonToken.START_OBJECT) {
+                Map<String, String> row = new LinkedHashMap<>();
+                flatten(records, "", row);
+                writeRow(row);
+                count++;
+            }
+            return count;
+        }
+        // The first page decides the columns, so its rows are flattened before any is written.
+        List<Map<String, String>> rows = new ArrayList<>();
+        Set<String> paths = new LinkedHashSet<>();
+        while (records.nextToken() == JsonToken.START_OBJECT) {
+            Map<String, String> row = new LinkedHashMap<>();
+            flatten(records, "", row);
+            paths.addAll(row.keySet());
+            rows.add(row);
+        }
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        columns = new ArrayList<>();
+        for (String field : selectedFields != null ? selectedFields : paths) {
+            // A relationship that is null in some records is a single path there, but is replaced by the paths of
+            // its fields when another record has it. A compound field, e.g. an address, has a column per field.
+            List<String> fieldPaths = paths.stream()
+                    .filter(other -> other.regionMatches(true, 0, field + ".", 0, field.length() + 1)).toList();
+            if (!fieldPaths.isEmpty()) {
+                fieldPaths.stream().filter(fieldPath -> !columns.contains(fieldPath)).forEach(columns::add);
+                continue;
+            }
+            // Without a select list, the path may already be a column of the relationship it belongs to.
+            String column = paths.stream().filter(field::equalsIgnoreCase).findFirst().orElse(field);
+            if (!columns.contains(column)) {
+                columns.add(column);
+            }
+        }
+        columnPaths = new ArrayList<>(columns);
+        columnPathSet = new HashSet<>(columns);
+        writeCsvLine(columns);
+        for (Map<String, String> row : rows) {
+            writeRow(row);
+        }
+        return rows.size();
+    }
+
+    private void writeRow(Map<String, String> row) throws IOException, UnmappedFieldException {
+        for (Map.Entry<String, String> field : row.entrySet()) {
+            if (!field.getValue().isEmpty() && !columnPathSet.contains(field.getKey())) {
+                mapColumn(field.getKey());
+            }
+        }
+        List<String> values = new ArrayList<>(columnPaths.size());
+        for (String column : columnPaths) {
+            values.add(row.getOrDefault(column, ""));
+        }
+        writeCsvLine(values);
+    }
+
+    // Maps a path to the column of the same field selected in a different case, or fails if there is none.
+    private void mapColumn(String fieldPath) throws UnmappedFieldException {
+        for (int i = 0; i < columnPaths.size(); i++) {
+            if (columnPaths.get(i).equalsIgnoreCase(fieldPath)) {
+                columnPathSet.remove(columnPaths.get(i));
+                columnPaths.set(i, fieldPath);
+                columnPathSet.add(fieldPath);
+                return;
+            }
+        }
+        throw new UnmappedFieldException("'" + fieldPath + "' has a value but no CSV column. Select the fields of " +
+                "relationships and compound fields explicitly, or export as NDJSON.");
+    }
+
+    private void writeCsvLine(List<String> values) throws IOException {
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            String value = values.get(i);
+            if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0
+                    || value.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(value.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(value);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // Flattens the object at the current token into dotted paths, skipping `attributes`.
+    private static void flatten(JsonParser parser, String prefix, Map<String, String> row) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if (ATTRIBUTES.equals(name)) {
+                parser.skipChildren();
+                continue;
+            }
+            String path = prefix.isEmpty() ? name : prefix + "." + name;
+            if (token == JsonToken.START_OBJECT) {
+                flatten(parser, path, row);
+            } else if (token == JsonToken.START_ARRAY) {
+                StringWriter json = new StringWriter();
+                try (JsonGenerator arrayGenerator = JSON_FACTORY.createGenerator(json)) {
+                    copyWithoutAttributes(parser, token, arrayGenerator);
+                }
+                row.put(path, json.toString());
+            } else {
+                row.put(path, token == JsonToken.VALUE_NULL ? "" : parser.getText());
+            }
+        }
+    }
+
+    // Copies the value at the current token, leaving out the `attributes` of the records in it.
+    private static void copyWithoutAttributes(JsonParser parser, JsonToken token, JsonGenerator generator)
+            throws IOException {
+        if (token == JsonToken.START_OBJECT) {
+            generator.writeStartObject();
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String name = parser.currentName();
+                JsonToken value = parser.nextToken();
+                if (ATTRIBUTES.equals(name)) {
+                    parser.skipChildren();
+                    continue;
+                }
+                generator.writeFieldName(name);
+                copyWithoutAttributes(parser, value, generator);
+            }
+            generator.writeEndObject();
+        } else if (token == JsonToken.START_ARRAY) {
+            generator.writeStartArray();
+            JsonToken next;
+            while ((next = parser.nextToken()) != JsonToken.END_ARRAY && next != null) {
+                copyWithoutAttributes(parser, next, generator);
+            }
+            generator.writeEndArray();
+        } else {
+            generator.copyCurrentEvent(parser);
+        }
+    }
+
+    private static Object createError(String message) {
+        return ErrorCreator.createError(StringUtils.fromString(message));
+    }
+
+    static final class UnmappedFieldException extends Exception {
+
+        private static final long serialVersionUID = 1L;
+
+        private UnmappedFieldException(String message) {
+            super(message);
+        }
+    }
+}
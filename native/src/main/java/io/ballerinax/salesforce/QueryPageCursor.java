@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ArrayType;
+import io.ballerina.runtime.api.types.MapType;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A forward-only cursor over the records of a SOQL query result page. The page header is read up front, while each
+ * record is bound from the JSON tokens only when it is requested, so a page is never materialised as a whole and
+ * converted records are not retained by the cursor.
+ *
+ * @since 8.8.0
+ */
+public final class QueryPageCursor {
+
+    private static final String NATIVE_CURSOR = "QUERY_PAGE_CURSOR";
+    private static final String RECORDS = "records";
+    private static final String NEXT_RECORDS_URL = "nextRecordsUrl";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final MapType JSON_MAP_TYPE = TypeCreator.createMapType(PredefinedTypes.TYPE_JSON);
+    private static final ArrayType JSON_ARRAY_TYPE = TypeCreator.createArrayType(PredefinedTypes.TYPE_JSON);
+
+    private final String nextRecordsUrl;
+    private byte[] content;
+    private JsonParser records;
+
+    private QueryPageCursor(String nextRecordsUrl, byte[] content, JsonParser records) {
+        this.nextRecordsUrl = nextRecordsUrl;
+        this.content = content;
+        this.records = records;
+    }
+
+    public static Object openQueryPageCursor(BObject cursor, BArray payload) {
+        try {
+            QueryPageCursor pageCursor = open(payload.getBytes());
+            if (pageCursor == null) {
+                return ErrorCreator.createError(StringUtils.fromString("Invalid query result page."));
+            }
+            cursor.addNativeData(NATIVE_CURSOR, pageCursor);
+            return null;
+        } catch (IOException e) {
+            return ErrorCreator.createError(StringUtils.fromString("Failed to parse query result page: " +
+                    e.getMessage()));
+        }
+    }
+
+    /**
+     * Opens a cursor over the given page, or returns {@code null} if the page is not a JSON object.
+     */
+    static QueryPageCursor open(byte[] content) throws IOException {
+        // The header fields may follow the records, so they are read in a first pass that skips over the
+        // records without building them.
+        String nextRecordsUrl = "";
+        boolean hasRecords = false;
+        try (JsonParser header = JSON_FACTORY.createParser(content)) {
+            if (header.nextToken() != JsonToken.START_OBJECT) {
+                return null;
+            }
+            while (header.nextToken() == JsonToken.FIELD_NAME) {
+                String field = header.currentName();
+                JsonToken value = header.nextToken();
+                if (NEXT_RECORDS_URL.equals(field) && value == JsonToken.VALUE_STRING) {
+                    nextRecordsUrl = header.getText();
+                } else if (RECORDS.equals(field) && value == JsonToken.START_ARRAY) {
+                    hasRecords = true;
+                }
+                header.skipChildren();
+            }
+        }
+        JsonParser records = null;
+        if (hasRecords) {
+            records = JSON_FACTORY.createParser(content);
+            records.nextToken();
+            while (records.nextToken() == JsonToken.FIELD_NAME) {
+                String field = records.currentName();
+                if (records.nextToken() == JsonToken.START_ARRAY && RECORDS.equals(field)) {
+                    break;
+                }
+                records.skipChildren();
+            }
+        }
+        return new QueryPageCursor(nextRecordsUrl, content, records);
+    }
+
+    public static Object nextQueryRecord(BObject cursor, BTypedesc recordType) {
+        QueryPageCursor pageCursor = (QueryPageCursor) cursor.getNativeData(NATIVE_CURSOR);
+        if (pageCursor == null || pageCursor.records == null) {
+            return null;
+        }
+        JsonParser parser = pageCursor.records;
+        try {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                pageCursor.release();
+                return null;
+            }
+            return RecordBinder.bindNext(parser, pageCursor.content, recordType.getDescribingType());
+        } catch (IOException e) {
+            pageCursor.release();
+            return ErrorCreator.createError(StringUtils.fromString("Failed to parse query result record: " +
+                    e.getMessage()));
+        }
+    }
+
+    public static BString getQueryPageNextRecordsUrl(BObject cursor) {
+        QueryPageCursor pageCursor = (QueryPageCursor) cursor.getNativeData(NATIVE_CURSOR);
+        return StringUtils.fromString(pageCursor == null ? "" : pageCursor.nextRecordsUrl());
+    }
+
+    public static void closeQueryPageCursor(BObject cursor) {
+        QueryPageCursor pageCursor = (QueryPageCursor) cursor.getNativeData(NATIVE_CURSOR);
+        if (pageCursor != null) {
+            pageCursor.release();
+        }
+    }
+
+    static QueryPageCursor fromObject(BObject cursor) {
+        return (QueryPageCursor) cursor.getNativeData(NATIVE_CURSOR);
+    }
+
+    String nextRecordsUrl() {
+        return nextRecordsUrl;
+    }
+
+    /**
+     * Returns the parser over the records of the page, positioned inside the records array, or {@code null} if the
+     * page has no records or has been released.
+     */
+    JsonParser records() {
+        return records;
+    }
+
+    // Drops the parser, and with it the page content, once the page is exhausted.
+    void release() {
+        JsonParser parser = records;
+        records = null;
+        content = null;
+        if (parser != null) {
+            try {
+                parser.close();
+            } catch (IOException ignored) {
+                // The content is held in memory, so closing cannot fail in practice.
+            }
+        }
+    }
+
+    /**
+     * Converts the JSON value starting at the current token into the value `json:parse` would produce.
+     */
+    static Object readValue(JsonParser parser, JsonToken token) throws IOException {
+        switch (token) {
+            case START_OBJECT:
+                BMap<BString, Object> map = ValueCreator.createMapValue(JSON_MAP_TYPE);
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    BString key = StringUtils.fromString(parser.currentName());
+                    map.put(key, readValue(parser, parser.nextToken()));
+                }
+                return map;
+            case START_ARRAY:
+                List<Object> values = new ArrayList<>();
+                JsonToken next;
+                while ((next = parser.nextToken()) != JsonToken.END_ARRAY && next != null) {
+                    values.add(readValue(parser, next));
+                }
+                return ValueCreator.createArrayValue(values.toArray(), JSON_ARRAY_TYPE);
+            case VALUE_STRING:
+                return StringUtils.fromString(parser.getText());
+            case VALUE_NUMBER_INT:
+                if (parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER) {
+                    return ValueCreator.createDecimalValue(parser.getDecimalValue());
+                }
+                return parser.getLongValue();
+            case VALUE_NUMBER_FLOAT:
+                return ValueCreator.createDecimalValue(parser.getDecimalValue());
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                throw new IOException("Unexpected token: " + token);
+        }
+    }
+}
@@ -27,6 +27,7 @@ import io.ballerina.runtime.api.types.ObjectType;
 import io.ballerina.runtime.api.types.PredefinedTypes;
 import io.ballerina.runtime.api.types.RecordType;
 import io.ballerina.runtime.api.types.StreamType;
+import io.ballerina.runtime.api.types.Type;
 import io.ballerina.runtime.api.utils.TypeUtils;
 import io.ballerina.runtime.api.values.BArray;
 import io.ballerina.runtime.api.values.BError;
@@ -46,6 +47,8 @@ import static io.ballerinax.salesforce.Utils.getMetadata;
  */
 public class ReadOperationExecutor {
 
+    private static final String RECORD_DELETION = "RecordDeletion";
+
     public static Object getRecord(Environment env, BObject client, BString path, BTypedesc targetType) {
         Object[] paramFeed = {targetType, path};
         return invokeClientMethod(env, client, "processGetRecord", paramFeed);
@@ -71,6 +74,27 @@ public class ReadOperationExecutor {
         return invokeClientMethod(env, client, "processGetRecordById", paramFeed);
     }
 
+    public static Object getRecordsByIds(Environment env, BObject client, BString sobject, BArray ids,
+                                         long maxConcurrency, BTypedesc targetType) {
+        RecordType recordType = (RecordType) targetType.getDescribingType();
+        BArray fields = getMetadata(recordType);
+        ArrayType bArrayType = TypeCreator.createArrayType(
+                TypeCreator.createUnionType(recordType, PredefinedTypes.TYPE_NULL));
+        BTypedesc typedesc = ValueCreator.createTypedescValue(bArrayType);
+        Object[] paramFeed = {typedesc, sobject, ids, fields, maxConcurrency};
+        return invokeClientMethod(env, client, "processGetRecordsByIds", paramFeed);
+    }
+
+    public static Object getRecordsByIdsAsStream(Environment env, BObject client, BString sobject, BArray ids,
+                                                 long maxConcurrency, BTypedesc targetType) {
+        RecordType recordType = (RecordType) targetType.getDescribingType();
+        BArray fields = getMetadata(recordType);
+        ArrayType bArrayType = TypeCreator.createArrayType(recordType);
+        BTypedesc typedesc = ValueCreator.createTypedescValue(bArrayType);
+        Object[] paramFeed = {typedesc, sobject, ids, fields, maxConcurrency, targetType};
+        return invokeClientMethod(env, client, "processGetRecordsByIdsAsStream", paramFeed);
+    }
+
     public static Object getNamedLayouts(Environment env, BObject client, BString sObject, BString name,
                                          BTypedesc targetType) {
         Object[] paramFeed = {targetType, sObject, name};
@@ -95,10 +119,45 @@ public class ReadOperationExecutor {
     public static Object getQueryResult(Environment env, BObject client, BString receivedQuery, BTypedesc targetType) {
         ArrayType bArrayType = TypeCreator.createArrayType(targetType.getDescribingType());
         BTypedesc typedesc = ValueCreator.createTypedescValue(bArrayType);
-        Object[] paramFeed = {typedesc, receivedQuery};
+        Object[] paramFeed = {typedesc, receivedQuery, targetType};
         return invokeClientMethod(env, client, "processGetQueryResult", paramFeed);
     }
 
+    public static Object getQueryAllResult(Environment env, BObject client, BString receivedQuery,
+                                           BTypedesc targetType) {
+        ArrayType bArrayType = TypeCreator.createArrayType(targetType.getDescribingType());
+        BTypedesc typedesc = ValueCreator.createTypedescValue(bArrayType);
+        Object[] paramFeed = {typedesc, receivedQuery, targetType};
+        return invokeClientMethod(env, client, "processGetQueryAllResult", paramFeed);
+    }
+
+    public static Object getResumableQueryResult(Environment env, BObject client, BString receivedQuery,
+                                                 BMap<BString, Object> config, BTypedesc targetType) {
+        ArrayType bArrayType = TypeCreator.createArrayType(targetType.getDescribingType());
+        BTypedesc typedesc = ValueCreator.createTypedescValue(bArrayType);
+        Object[] paramFeed = {typedesc, receivedQuery, config, targetType};
+        return invokeClientMethod(env, client, "processGetResumableQueryResult", paramFeed);
+    }
+
+    public static Object getPartitionedQueryResult(Environment env, BObject client, BString receivedQuery,
+                                                   BMap<BString, Object> config, BTypedesc targetType) {
+        ArrayType bArrayType = TypeCreator.createArrayType(targetType.getDescribingType());
+        BTypedesc typedesc = ValueCreator.createTypedescValue(bArrayType);
+        Object[] paramFeed = {typedesc, receivedQuery, config, targetType};
+        return invokeClientMethod(env, client, "processGetPartitionedQueryResult", paramFeed);
+    }
+
+    public static Object getChanges(Environment env, BObject client, BString sObjectName, BMap<BString, Object> config,
+                                    BTypedesc targetType) {
+        RecordType recordType = (RecordType) targetType.getDescribingType();
+        BArray fields = getMetadata(recordType);
+        Type deletionType = ValueCreator.createRecordValue(ModuleUtils.getModule(), RECORD_DELETION).getType();
+        ArrayType bArrayType = TypeCreator.createArrayType(TypeCreator.createUnionType(recordType, deletionType));
+        BTypedesc typedesc = ValueCreator.createTypedescValue(bArrayType);
+        Object[] paramFeed = {typedesc, sObjectName, config, fields, targetType};
+        return invokeClientMethod(env, client, "processGetChanges", paramFeed);
+    }
+
     public static Object searchSOSLString(Environment env, BObject client, BString searchString,
                                           BTypedesc targetType) {
         Object[] paramFeed = {targetType, searchString};
@@ -0,0 +1,296 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.types.TypeTags;
+import io.ballerina.runtime.api.types.UnionType;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.utils.ValueUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+
+/**
+ * Binds Salesforce JSON responses to a target record type directly from the JSON tokens. A binder is built once per
+ * record type and cached. It covers records whose fields are strings, numbers, booleans, `json`/`anydata`, nested
+ * records of the same kind and their nilable forms. Any other shape, or data that does not fit the record, is bound
+ * through the generic conversion, so the result and the errors are the same as with `cloneWithType`.
+ *
+ * @since 8.8.0
+ */
+public final class RecordBinder {
+
+    private static final Map<RecordType, RecordBinder> BINDERS = new ConcurrentHashMap<>();
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private final RecordType recordType;
+    private final BArray fieldNames;
+    // Null when the record type cannot be bound directly.
+    private final Map<String, ValueReader> fieldReaders;
+    private final Set<String> requiredFields;
+    private final boolean acceptsRestFields;
+
+    private RecordBinder(RecordType recordType) {
+        this.recordType = recordType;
+        Map<String, Field> fields = recordType.getFields();
+        BArray names = ValueCreator.createArrayValue(TypeCreator.createArrayType(PredefinedTypes.TYPE_STRING));
+        for (Field field : fields.values()) {
+            names.append(fromString(field.getFieldName()));
+        }
+        names.freezeDirect();
+        this.fieldNames = names;
+
+        Map<String, ValueReader> readers = new HashMap<>();
+        Set<String> required = new HashSet<>();
+        for (Field field : fields.values()) {
+            ValueReader reader = readerFor(field.getFieldType());
+            if (reader == null) {
+                readers = null;
+                break;
+            }
+            readers.put(field.getFieldName(), reader);
+            // Values created here do not get field defaults, so fields with defaults must be present as well.
+            if (!SymbolFlags.isFlagOn(field.getFlags(), SymbolFlags.OPTIONAL)) {
+                required.add(field.getFieldName());
+            }
+        }
+        this.fieldReaders = recordType.isReadOnly() ? null : readers;
+        this.requiredFields = required;
+        Type restFieldType = recordType.isSealed() ? null : TypeUtils.getImpliedType(recordType.getRestFieldType());
+        this.acceptsRestFields = restFieldType != null && (restFieldType.getTag() == TypeTags.ANYDATA_TAG ||
+                restFieldType.getTag() == TypeTags.JSON_TAG);
+    }
+
+    static RecordBinder forType(RecordType recordType) {
+        return BINDERS.computeIfAbsent(recordType, RecordBinder::new);
+    }
+
+    /**
+     * Returns the names of the fields of the record type. The returned array is immutable.
+     */
+    BArray getFieldNames() {
+        return fieldNames;
+    }
+
+    public static Object bindRecord(BArray payload, BTypedesc targetType) {
+        byte[] content = payload.getBytes();
+        Type type = TypeUtils.getImpliedType(targetType.getDescribingType());
+        if (type instanceof RecordType recordType) {
+            try (JsonParser parser = JSON_FACTORY.createParser(content)) {
+                JsonToken token = parser.nextToken();
+                if (token == JsonToken.START_OBJECT) {
+                    return forType(recordType).bind(parser);
+                }
+            } catch (IOException e) {
+                // Bound through the generic conversion below, which reports the error.
+            }
+        }
+        try (JsonParser parser = JSON_FACTORY.createParser(content)) {
+            return convert(QueryPageCursor.readValue(parser, parser.nextToken()), type);
+        } catch (IOException e) {
+            return ErrorCreator.createError(fromString("Failed to parse the response payload: " + e.getMessage()));
+        }
+    }
+
+    /**
+     * Binds the JSON object starting at the current token of a parser that reads the whole of {@code content}.
+     * The parser is left on the closing token of the object.
+     */
+    static Object bindNext(JsonParser parser, byte[] content, Type targetType) throws IOException {
+        Type type = TypeUtils.getImpliedType(targetType);
+        long start = parser.currentTokenLocation().getByteOffset();
+        JsonStreamContext parent = parser.getParsingContext().getParent();
+        if (type instanceof RecordType recordType) {
+            try {
+                return forType(recordType).bind(parser);
+            } catch (BindingException e) {
+                skipToEnd(parser, parent);
+            }
+        } else {
+            parser.skipChildren();
+        }
+        long end = parser.currentTokenLocation().getByteOffset() + 1;
+        try (JsonParser slice = JSON_FACTORY.createParser(content, (int) start, (int) (end - start))) {
+            return convert(QueryPageCursor.readValue(slice, slice.nextToken()), type);
+        }
+    }
+
+    private Object bind(JsonParser parser) throws IOException {
+        if (fieldReaders == null) {
+            throw new BindingException();
+        }
+        BMap<BString, Object> value = ValueCreator.createMapValue(recordType);
+        int requiredFieldCount = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String name = parser.currentName();
+            JsonToken token = parser.nextToken();
+            ValueReader reader = fieldReaders.get(name);
+            if (reader == null) {
+                if (!acceptsRestFields) {
+                    throw new BindingException();
+                }
+                value.put(fromString(name), QueryPageCursor.readValue(parser, token));
+                continue;
+            }
+            value.put(fromString(name), reader.read(parser, token));
+            if (requiredFields.contains(name)) {
+                requiredFieldCount++;
+            }
+        }
+        if (requiredFieldCount != requiredFields.size()) {
+            throw new BindingException();
+        }
+        return value;
+    }
+
+    private static ValueReader readerFor(Type fieldType) {
+        Type type = TypeUtils.getImpliedType(fieldType);
+        switch (type.getTag()) {
+            case TypeTags.STRING_TAG:
+                return (parser, token) -> {
+                    expect(token == JsonToken.VALUE_STRING);
+                    return fromString(parser.getText());
+                };
+            case TypeTags.INT_TAG:
+                return (parser, token) -> {
+                    expect(token == JsonToken.VALUE_NUMBER_INT &&
+                            parser.getNumberType() != JsonParser.NumberType.BIG_INTEGER);
+                    return parser.getLongValue();
+                };
+            case TypeTags.FLOAT_TAG:
+                return (parser, token) -> {
+                    expect(token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT);
+                    return parser.getDoubleValue();
+                };
+            case TypeTags.DECIMAL_TAG:
+                return (parser, token) -> {
+                    expect(token == JsonToken.VALUE_NUMBER_INT || token == JsonToken.VALUE_NUMBER_FLOAT);
+                    return ValueCreator.createDecimalValue(parser.getDecimalValue());
+                };
+            case TypeTags.BOOLEAN_TAG:
+                return (parser, token) -> {
+                    expect(token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE);
+                    return token == JsonToken.VALUE_TRUE;
+                };
+            case TypeTags.JSON_TAG:
+            case TypeTags.ANYDATA_TAG:
+                return QueryPageCursor::readValue;
+            case TypeTags.RECORD_TYPE_TAG:
+                if (type.isReadOnly()) {
+                    return null;
+                }
+                // Resolved on use, so that recursive record types do not recurse while the binder is built.
+                RecordType nestedType = (RecordType) type;
+                return (parser, token) -> {
+                    expect(token == JsonToken.START_OBJECT);
+                    return forType(nestedType).bind(parser);
+                };
+            case TypeTags.UNION_TAG:
+                return nilableReaderFor(((UnionType) type).getMemberTypes());
+            default:
+                return null;
+        }
+    }
+
+    private static ValueReader nilableReaderFor(List<Type> memberTypes) {
+        if (memberTypes.size() != 2) {
+            return null;
+        }
+        Type first = TypeUtils.getImpliedType(memberTypes.get(0));
+        Type second = TypeUtils.getImpliedType(memberTypes.get(1));
+        Type valueType = first.getTag() == TypeTags.NULL_TAG ? second :
+                second.getTag() == TypeTags.NULL_TAG ? first : null;
+        ValueReader reader = valueType == null ? null : readerFor(valueType);
+        if (reader == null) {
+            return null;
+        }
+        return (parser, token) -> token == JsonToken.VALUE_NULL ? null : reader.read(parser, token);
+    }
+
+    private static void expect(boolean condition) throws BindingException {
+        if (!condition) {
+            throw new BindingException();
+        }
+    }
+
+    // Moves the parser to the closing token of the object being bound, after binding stopped part way through it.
+    private static void skipToEnd(JsonParser parser, JsonStreamContext parent) throws IOException {
+        while (!(parser.currentToken() == JsonToken.END_OBJECT && parser.getParsingContext() == parent)) {
+            parser.skipChildren();
+            if (parser.currentToken() == JsonToken.END_OBJECT && parser.getParsingContext() == parent) {
+                break;
+            }
+            parser.nextToken();
+        }
+    }
+
+    private static Object convert(Object value, Type type) {
+        try {
+            return ValueUtils.convert(value, type);
+        } catch (BError e) {
+            return e;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ValueReader {
+        Object read(JsonParser parser, JsonToken token) throws IOException;
+    }
+
+    /**
+     * Signals that the data does not fit the direct binder. It carries no stack trace as it only redirects the
+     * value to the generic conversion, which keeps creating one per mismatch cheap.
+     */
+    private static final class BindingException extends IOException {
+        private static final long serialVersionUID = 1L;
+
+        private BindingException() {
+            super(null, null);
+        }
+
+        @Override
+        public synchronized Throwable fillInStackTrace() {
+            return this;
+        }
+    }
+}
@@ -0,0 +1,539 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Native side of the Ballerina {@code RecordCache}. Records are kept under their identity, the sObject name and the
+ * 15-character form of the record ID, with one variant per request path so that reads of different field sets do
+ * not overwrite each other. Reads by external ID are mapped to the identity of the returned record, so that
+ * invalidating a record ID also drops them.
+ *
+ * <p>Eviction follows W-TinyLFU. New records enter a small LRU window. A record leaving the window competes with
+ * the least recently used record of the probation segment of the main space, and the one with the higher estimated
+ * access frequency stays. Records read again in probation are promoted to the protected segment. Frequencies are
+ * estimated with a count-min sketch of 4-bit counters behind a doorkeeper, both aged by halving, so a one-off scan
+ * of many records cannot flush the records that are read repeatedly.
+ *
+ * @since 8.8.0
+ */
+public final class RecordCache {
+
+    private static final String NATIVE_CACHE = "RECORD_CACHE";
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final JsonNodeFactory NODES = JsonNodeFactory.instance;
+    private static final String CHANGE_EVENT_HEADER = "ChangeEventHeader";
+    private static final int SALESFORCE_ID_LENGTH = 15;
+    private static final String ID_FIELD = "Id";
+    private static final String ATTRIBUTES_FIELD = "attributes";
+    private static final String URL_FIELD = "url";
+
+    private final long ttlNanos;
+    private final int windowCapacity;
+    private final int protectedCapacity;
+    private final int mainCapacity;
+    private final LinkedHashMap<String, Node> window = new LinkedHashMap<>();
+    private final LinkedHashMap<String, Node> probation = new LinkedHashMap<>();
+    private final LinkedHashMap<String, Node> protectedSegment = new LinkedHashMap<>();
+    private final Map<String, Node> nodes = new HashMap<>();
+    private final Map<String, String> aliases = new HashMap<>();
+    private final FrequencySketch sketch;
+    private long hits;
+    private long misses;
+    private long revalidations;
+    private long evictions;
+
+    RecordCache(int maximumSize, long ttlNanos) {
+        this.ttlNanos = ttlNanos;
+        this.windowCapacity = Math.max(1, maximumSize / 100);
+        this.mainCapacity = Math.max(1, maximumSize - windowCapacity);
+        this.protectedCapacity = mainCapacity * 4 / 5;
+        this.sketch = new FrequencySketch(maximumSize);
+    }
+
+    public static void initRecordCache(BObject cache, long maxEntries, BDecimal ttl) {
+        long ttlNanos = ttl.value().movePointRight(9).longValue();
+        cache.addNativeData(NATIVE_CACHE, new RecordCache((int) Math.min(maxEntries, Integer.MAX_VALUE), ttlNanos));
+    }
+
+    /**
+     * Looks up the variant of a record read with the given path.
+     *
+     * @param cache          Ballerina {@code RecordCache}
+     * @param key            {@code sObject/id} for reads by ID, or {@code sObject/field/value} for reads by external ID
+     * @param byExternalId   whether the key is an external ID key
+     * @param path           request path, which identifies the variant
+     * @return a {@code CachedRecord}, with {@code fresh} set if it can be served without revalidation, or nil
+     */
+    public static Object lookupCachedRecord(BObject cache, BString key, boolean byExternalId, BString path) {
+        return getCache(cache).lookup(key.getValue(), byExternalId, path.getValue());
+    }
+
+    public static void storeCachedRecord(BObject cache, BString key, boolean byExternalId, BString path,
+                                         BArray payload, Object etag) {
+        getCache(cache).store(key.getValue(), byExternalId, path.getValue(), payload.getBytes(),
+                etag instanceof BString etagValue ? etagValue.getValue() : null);
+    }
+
+    public static void renewCachedRecord(BObject cache, BString key, boolean byExternalId, BString path) {
+        getCache(cache).renew(key.getValue(), byExternalId, path.getValue());
+    }
+
+    public static void invalidateCachedKey(BObject cache, BString key, boolean byExternalId) {
+        getCache(cache).invalidate(key.getValue(), byExternalId);
+    }
+
+    public static void invalidateCachedRecord(BObject cache, BString sObjectName, BString id) {
+        getCache(cache).invalidate(identity(sObjectName.getValue(), id.getValue()), false);
+    }
+
+    /**
+     * Applies the field values of a change event to every cached variant of a record. Values are converted to the
+     * JSON type of the cached value, since the fields of {@code EventData.changedData} arrive as strings. A variant
+     * with a changed field that cannot be converted, e.g. a compound field or a field cached as {@code null}, is
+     * dropped instead, as is the record if no variant is left.
+     *
+     * @param cache       Ballerina {@code RecordCache}
+     * @param sObjectName sObject name
+     * @param id          record ID
+     * @param changes     changed fields and their new values
+     */
+    public static void patchCachedRecord(BObject cache, BString sObjectName, BString id,
+                                         BMap<BString, Object> changes) {
+        Map<String, Object> fields = new LinkedHashMap<>();
+        for (Map.Entry<BString, Object> change : changes.entrySet()) {
+            fields.put(change.getKey().getValue(), change.getValue());
+        }
+        getCache(cache).patch(identity(sObjectName.getValue(), id.getValue()), fields);
+    }
+
+    public static void clearRecordCache(BObject cache) {
+        getCache(cache).clear();
+    }
+
+    public static BMap<BString, Object> getRecordCacheStats(BObject cache) {
+        return getCache(cache).stats();
+    }
+
+    private static RecordCache getCache(BObject cache) {
+        return (RecordCache) cache.getNativeData(NATIVE_CACHE);
+    }
+
+    private synchronized Object lookup(String key, boolean byExternalId, String path) {
+        Variant variant = find(key, byExternalId, path);
+        if (variant == null) {
+            return null;
+        }
+        boolean fresh = System.nanoTime() - variant.validatedAt < ttlNanos;
+        if (fresh) {
+            hits++;
+        }
+        Map<String, Object> value = new HashMap<>();
+        value.put("payload", ValueCreator.createArrayValue(variant.payload));
+        value.put("etag", variant.etag == null ? null : StringUtils.fromString(variant.etag));
+        value.put("fresh", fresh);
+        return ValueCreator.createRecordValue(ModuleUtils.getModule(), "CachedRecord", value);
+    }
+
+    // Counts the read for admission and recency, and returns the variant read with the path, or null on a miss.
+    synchronized Variant find(String key, boolean byExternalId, String path) {
+        String identity = resolve(key, byExternalId);
+        sketch.increment(identity);
+        Node node = nodes.get(identity);
+        Variant variant = node == null ? null : node.variants.get(path);
+        if (variant != null) {
+            onAccess(node);
+        }
+        return variant;
+    }
+
+    // Returns whether any variant of the record is cached, without counting as a read.
+    synchronized boolean contains(String key, boolean byExternalId) {
+        return nodes.containsKey(resolve(key, byExternalId));
+    }
+
+    synchronized void store(String key, boolean byExternalId, String path, byte[] payload, String etag) {
+        misses++;
+        String identity = byExternalId ? readIdentity(key, payload) : identity(key);
+        Node node = nodes.get(identity);
+        if (node == null) {
+            node = new Node(identity);
+            nodes.put(identity, node);
+            window.put(identity, node);
+            evictIfNeeded();
+        } else {
+            onAccess(node);
+        }
+        if (byExternalId && !identity.equals(key)) {
+            aliases.put(key, identity);
+            node.aliases.add(key);
+        }
+        node.variants.put(path, new Variant(payload, etag, System.nanoTime()));
+    }
+
+    private synchronized void renew(String key, boolean byExternalId, String path) {
+        Node node = nodes.get(resolve(key, byExternalId));
+        Variant variant = node == null ? null : node.variants.get(path);
+        if (variant != null) {
+            variant.validatedAt = System.nanoTime();
+        }
+        revalidations++;
+    }
+
+    synchronized void invalidate(String key, boolean byExternalId) {
+        Node node = nodes.get(resolve(key, byExternalId));
+        if (node != null) {
+            remove(node);
+        }
+    }
+
+    synchronized void patch(String identity, Map<String, Object> changes) {
+        Node node = nodes.get(identity);
+        if (node == null) {
+            return;
+        }
+        long now = System.nanoTime();
+        Iterator<Variant> variants = node.variants.values().iterator();
+        while (variants.hasNext()) {
+            Variant variant = variants.next();
+            byte[] patched = applyChanges(variant.payload, changes);
+            if (patched == null) {
+                variants.remove();
+            } else {
+                // The stored ETag belongs to the previous version of the record, so it is not sent again.
+                variant.payload = patched;
+                variant.etag = null;
+                variant.validatedAt = now;
+            }
+        }
+        if (node.variants.isEmpty()) {
+            remove(node);
+        }
+    }
+
+    private synchronized void clear() {
+        window.clear();
+        probation.clear();
+        protectedSegment.clear();
+        nodes.clear();
+        aliases.clear();
+    }
+
+    private synchronized BMap<BString, Object> stats() {
+        Map<String, Object> value = new HashMap<>();
+        value.put("hits", hits);
+        value.put("misses", misses);
+        value.put("revalidations", revalidations);
+        value.put("evictions", evictions);
+        value.put("size", (long) nodes.size());
+        return ValueCreator.createRecordValue(ModuleUtils.getModule(), "RecordCacheStats", value);
+    }
+
+    private String resolve(String key, boolean byExternalId) {
+        return byExternalId ? aliases.getOrDefault(key, key) : identity(key);
+    }
+
+    private void onAccess(Node node) {
+        if (window.remove(node.identity) != null) {
+            window.put(node.identity, node);
+        } else if (probation.remove(node.identity) != null) {
+            protectedSegment.put(node.identity, node);
+            if (protectedSegment.size() > protectedCapacity) {
+                Node demoted = removeEldest(protectedSegment);
+                probation.put(demoted.identity, demoted);
+            }
+        } else if (protectedSegment.remove(node.identity) != null) {
+            protectedSegment.put(node.identity, node);
+        }
+    }
+
+    private void evictIfNeeded() {
+        if (window.size() <= windowCapacity) {
+            return;
+        }
+        Node candidate = removeEldest(window);
+        if (probation.size() + protectedSegment.size() < mainCapacity) {
+            probation.put(candidate.identity, candidate);
+            return;
+        }
+        LinkedHashMap<String, Node> victims = probation.isEmpty() ? protectedSegment : probation;
+        Node victim = victims.values().iterator().next();
+        if (sketch.frequency(candidate.identity) > sketch.frequency(victim.identity)) {
+            victims.remove(victim.identity);
+            drop(victim);
+            probation.put(candidate.identity, candidate);
+        } else {
+            drop(candidate);
+        }
+    }
+
+    private void remove(Node node) {
+        if (window.remove(node.identity) == null && probation.remove(node.identity) == null) {
+            protectedSegment.remove(node.identity);
+        }
+        nodes.remove(node.identity);
+        for (String alias : node.aliases) {
+            aliases.remove(alias);
+        }
+    }
+
+    private void drop(Node node) {
+        remove(node);
+        evictions++;
+    }
+
+    // Returns the payload with the changed fields it contains replaced, or null if a field cannot be converted.
+    private static byte[] applyChanges(byte[] payload, Map<String, Object> changes) {
+        try {
+            if (!(OBJECT_MAPPER.readTree(payload) instanceof ObjectNode fields)) {
+                return null;
+            }
+            for (Map.Entry<String, Object> change : changes.entrySet()) {
+                String field = change.getKey();
+                JsonNode cached = fields.get(field);
+                if (cached == null || CHANGE_EVENT_HEADER.equals(field) || ATTRIBUTES_FIELD.equals(field)) {
+                    continue;
+                }
+                JsonNode value = convert(change.getValue(), cached);
+                if (value == null) {
+                    return null;
+                }
+                fields.set(field, value);
+            }
+            return OBJECT_MAPPER.writeValueAsBytes(fields);
+        } catch (IOException | NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static JsonNode convert(Object value, JsonNode cached) {
+        if (value == null) {
+            return NODES.nullNode();
+        } else if (value instanceof BString text) {
+            return convert(text.getValue(), cached);
+        } else if (value instanceof Boolean flag) {
+            return cached.isBoolean() ? NODES.booleanNode(flag) : null;
+        } else if (value instanceof Long number) {
+            return cached.isNumber() ? NODES.numberNode(number) : null;
+        } else if (value instanceof Double number) {
+            return cached.isNumber() ? NODES.numberNode(number) : null;
+        } else if (value instanceof BDecimal number) {
+            return cached.isNumber() ? NODES.numberNode(number.value()) : null;
+        }
+        // A compound value, e.g. the FirstName and LastName of a Contact's Name, does not map onto the cached field.
+        return null;
+    }
+
+    private static JsonNode convert(String value, JsonNode cached) {
+        if (cached.isTextual()) {
+            return NODES.textNode(value);
+        } else if (cached.isIntegralNumber()) {
+            BigDecimal number = new BigDecimal(value).stripTrailingZeros();
+            return number.scale() <= 0 ? NODES.numberNode(number.toBigIntegerExact()) : NODES.numberNode(number);
+        } else if (cached.isNumber()) {
+            return NODES.numberNode(new BigDecimal(value));
+        } else if (cached.isBoolean() && ("true".equals(value) || "false".equals(value))) {
+            return NODES.booleanNode(Boolean.parseBoolean(value));
+        }
+        return null;
+    }
+
+    private static Node removeEldest(LinkedHashMap<String, Node> segment) {
+        Iterator<Node> iterator = segment.values().iterator();
+        Node eldest = iterator.next();
+        iterator.remove();
+        return eldest;
+    }
+
+    private static String identity(String key) {
+        int separator = key.indexOf('/');
+        return identity(key.substring(0, separator), key.substring(separator + 1));
+    }
+
+    private static String identity(String sObjectName, String id) {
+        String shortId = id.length() > SALESFORCE_ID_LENGTH ? id.substring(0, SALESFORCE_ID_LENGTH) : id;
+        return sObjectName + "/" + shortId;
+    }
+
+    // Reads the record ID from the top level `Id` field of the payload, or from `attributes.url` when the field set
+    // of the read does not include `Id`. Falls back to the external ID key if neither is present.
+    private static String readIdentity(String key, byte[] payload) {
+        String sObjectName = key.substring(0, key.indexOf('/'));
+        try (JsonParser parser = JSON_FACTORY.createParser(payload)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return key;
+            }
+            String url = null;
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if (ID_FIELD.equals(field) && token == JsonToken.VALUE_STRING) {
+                    return identity(sObjectName, parser.getText());
+                } else if (ATTRIBUTES_FIELD.equals(field) && token == JsonToken.START_OBJECT) {
+                    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                        String attribute = parser.currentName();
+                        if (parser.nextToken() == JsonToken.VALUE_STRING && URL_FIELD.equals(attribute)) {
+                            url = parser.getText();
+                        } else {
+                            parser.skipChildren();
+                        }
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+            return url == null ? key : identity(sObjectName, url.substring(url.lastIndexOf('/') + 1));
+        } catch (IOException e) {
+            return key;
+        }
+    }
+
+    private static final class Node {
+        private final String identity;
+        private final Map<String, Variant> variants = new HashMap<>();
+        private final Set<String> aliases = new HashSet<>();
+
+        private Node(String identity) {
+            this.identity = identity;
+        }
+    }
+
+    static final class Variant {
+        byte[] payload;
+        String etag;
+        private long validatedAt;
+
+        private Variant(byte[] payload, String etag, long validatedAt) {
+            this.payload = payload;
+            this.etag = etag;
+            this.validatedAt = validatedAt;
+        }
+    }
+
+    /**
+     * Count-min sketch of 4-bit counters with a doorkeeper. The first access of a key only sets its doorkeeper bits,
+     * so keys seen once do not take sketch counters. After a sample of ten times the cache size, all counters are
+     * halved and the doorkeeper is cleared, so the estimates follow recent accesses.
+     */
+    private static final class FrequencySketch {
+        private static final int DEPTH = 4;
+        private static final int MAX_COUNT = 15;
+        private static final int[] SEEDS = {0x97cb3127, 0xb1c2ed13, 0x7f4a7c15, 0x2545f491};
+
+        private final byte[][] counters;
+        private final long[] doorkeeper;
+        private final int mask;
+        private final int sampleSize;
+        private int additions;
+
+        private FrequencySketch(int maximumSize) {
+            // Four counters per row for each cached record keep collisions, and doorkeeper false positives, rare.
+            int width = Integer.highestOneBit(Math.max(Long.SIZE, 4 * Math.min(maximumSize, 1 << 22)) - 1) << 1;
+            this.counters = new byte[DEPTH][width];
+            this.doorkeeper = new long[width / Long.SIZE];
+            this.mask = width - 1;
+            this.sampleSize = (int) Math.min(10L * Math.max(maximumSize, 16), Integer.MAX_VALUE);
+        }
+
+        private void increment(String key) {
+            int hash = spread(key.hashCode());
+            if (!doorkeeperContains(hash)) {
+                for (int i = 0; i < DEPTH; i++) {
+                    int index = index(hash, i);
+                    doorkeeper[index >>> 6] |= 1L << index;
+                }
+            } else {
+                for (int i = 0; i < DEPTH; i++) {
+                    byte[] row = counters[i];
+                    int index = index(hash, i);
+                    if (row[index] < MAX_COUNT) {
+                        row[index]++;
+                    }
+                }
+            }
+            if (++additions >= sampleSize) {
+                reset();
+            }
+        }
+
+        private int frequency(String key) {
+            int hash = spread(key.hashCode());
+            int frequency = MAX_COUNT;
+            for (int i = 0; i < DEPTH; i++) {
+                frequency = Math.min(frequency, counters[i][index(hash, i)]);
+            }
+            return doorkeeperContains(hash) ? frequency + 1 : frequency;
+        }
+
+        private boolean doorkeeperContains(int hash) {
+            for (int i = 0; i < DEPTH; i++) {
+                int index = index(hash, i);
+                if ((doorkeeper[index >>> 6] & (1L << index)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void reset() {
+            for (byte[] row : counters) {
+                for (int i = 0; i < row.length; i++) {
+                    row[i] >>>= 1;
+                }
+            }
+            Arrays.fill(doorkeeper, 0L);
+            additions /= 2;
+        }
+
+        private int index(int hash, int row) {
+            int h = (hash ^ SEEDS[row]) * SEEDS[(row + 1) % DEPTH];
+            return (h ^ (h >>> 16)) & mask;
+        }
+
+        private static int spread(int hash) {
+            int h = hash * 0x9e3779b9;
+            return h ^ (h >>> 15);
+        }
+    }
+}
@@ -0,0 +1,431 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.eclipse.jetty.client.ContentResponse;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.client.ProxyConfiguration;
+import org.eclipse.jetty.client.StringRequestContent;
+import org.eclipse.jetty.client.WWWAuthenticationProtocolHandler;
+import org.eclipse.jetty.http.HttpHeader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.net.URL;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import static io.ballerinax.salesforce.Constants.DIFF_FIELDS;
+import static io.ballerinax.salesforce.Constants.ENTITY_NAME;
+import static io.ballerinax.salesforce.Constants.EVENT_CHANGE_TYPE;
+import static io.ballerinax.salesforce.Constants.EVENT_HEADER;
+import static io.ballerinax.salesforce.Constants.EVENT_PAYLOAD;
+import static io.ballerinax.salesforce.Constants.NULLED_FIELDS;
+import static io.ballerinax.salesforce.Constants.RECORD_IDS;
+import static io.ballerinax.salesforce.Constants.UPDATE;
+
+/**
+ * Batches CDC {@code UPDATE} events and enriches them with the full record before dispatch.
+ *
+ * <p>Record IDs are collected for {@link EnrichmentConfig#windowMs()} (or until
+ * {@link EnrichmentConfig#maxBatchSize()} IDs are pending) and fetched with one sObject Collections
+ * retrieve per entity and per 2000 IDs. Events are always handed to the sink in arrival order: once an
+ * event is waiting for enrichment, every later event on the listener queues behind it. Fetched records
+ * are kept in a small TTL cache so that bursts of updates on the same record cost a single retrieve.
+ *
+ * <p>Enrichment is best-effort. When a retrieve fails the affected events are delivered without the
+ * enriched records and a warning is logged.
+ */
+final class RecordEnrichmentStage {
+    private static final Logger log = LoggerFactory.getLogger(RecordEnrichmentStage.class);
+
+    static final int MAX_IDS_PER_RETRIEVE = 2000;
+    private static final String ID_FIELD = "Id";
+    private static final String COLLECTIONS_PATH = "/services/data/v%s/composite/sobjects/%s";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    /**
+     * Receives events in arrival order once their enrichment (if any) is resolved.
+     */
+    @FunctionalInterface
+    interface Sink {
+        /**
+         * @param event           raw CometD message payload
+         * @param enrichedRecords JSON text of the merged records, one per resolved record ID, or {@code null}
+         *                        when the event was not enriched
+         */
+        void dispatch(Map<String, Object> event, List<String> enrichedRecords);
+    }
+
+    private record PendingEvent(Map<String, Object> event, String entityName, List<String> recordIds,
+                                boolean diff, Sink sink) {
+    }
+
+    private record CachedRecord(String json, long expiresAt) {
+    }
+
+    private final EnrichmentConfig config;
+    private final String instanceUrl;
+    private final String apiVersion;
+    private final Function<Boolean, String> tokenProvider;
+    private final long requestTimeoutMs;
+    private final HttpClient httpClient;
+    private final ScheduledExecutorService executor;
+    private final Map<String, CachedRecord> cache;
+
+    private final Object lock = new Object();
+    private final Deque<PendingEvent> pending = new ArrayDeque<>();
+    private int pendingIds = 0;
+    private boolean flushing = false;
+    private boolean stopped = false;
+    private ScheduledFuture<?> scheduledFlush;
+
+    RecordEnrichmentStage(EnrichmentConfig config, URL endpoint, String apiVersion,
+                          Function<Boolean, String> tokenProvider, long requestTimeoutMs,
+                          Collection<? extends ProxyConfiguration.Proxy> proxies) throws Exception {
+        this.config = config;
+        this.instanceUrl = endpoint.getProtocol() + "://" + endpoint.getAuthority();
+        this.apiVersion = apiVersion;
+        this.tokenProvider = tokenProvider;
+        this.requestTimeoutMs = requestTimeoutMs;
+        this.cache = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedRecord> eldest) {
+                return size() > config.cacheSize();
+            }
+        };
+        this.httpClient = new HttpClient();
+        proxies.forEach(httpClient.getProxyConfiguration()::addProxy);
+        this.httpClient.start();
+        // A 401 is answered by refreshing the token, so it must reach retrieve() rather than fail the request
+        // when Salesforce sends it without a WWW-Authenticate challenge.
+        this.httpClient.getProtocolHandlers().remove(WWWAuthenticationProtocolHandler.NAME);
+        this.executor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "salesforce-cdc-enrichment");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Queues an event for dispatch. Events that need no enrichment and have nothing queued ahead of
+     * them are dispatched synchronously on the calling thread.
+     *
+     * @param event raw CometD message payload
+     * @param sink  receives the event (and its enriched records) in arrival order
+     */
+    void submit(Map<String, Object> event, Sink sink) {
+        PendingEvent pendingEvent = toPendingEvent(event, sink);
+        synchronized (lock) {
+            if (stopped || (pendingEvent.recordIds().isEmpty() && pending.isEmpty() && !flushing)) {
+                pendingEvent = null;
+            } else {
+                pending.add(pendingEvent);
+                pendingIds += pendingEvent.recordIds().size();
+                if (pendingIds >= Math.min(config.maxBatchSize(), MAX_IDS_PER_RETRIEVE)) {
+                    scheduleFlush(0);
+                } else {
+                    scheduleFlush(config.windowMs());
+                }
+            }
+        }
+        if (pendingEvent == null) {
+            sink.dispatch(event, null);
+        }
+    }
+
+    /**
+     * Flushes the events that are still queued and releases the HTTP client and the flush thread.
+     */
+    void stop() {
+        synchronized (lock) {
+            stopped = true;
+            if (scheduledFlush != null) {
+                scheduledFlush.cancel(false);
+                scheduledFlush = null;
+            }
+        }
+        executor.execute(this::flush);
+        shutdown(executor);
+        try {
+            httpClient.stop();
+        } catch (Exception e) {
+            log.warn("Failed to stop the CDC enrichment HTTP client", e);
+        }
+    }
+
+    private void scheduleFlush(long delayMs) {
+        if (flushing || executor.isShutdown()) {
+            // The running flush picks up queued events when it completes; after stop() the final flush
+            // queued ahead of the shutdown drains whatever is left.
+            return;
+        }
+        if (scheduledFlush != null) {
+            if (delayMs > 0 || scheduledFlush.getDelay(TimeUnit.MILLISECONDS) <= 0) {
+                return;
+            }
+            scheduledFlush.cancel(false);
+        }
+        scheduledFlush = executor.schedule(this::flush, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    private void flush() {
+        List<PendingEvent> batch;
+        synchronized (lock) {
+            scheduledFlush = null;
+            if (pending.isEmpty()) {
+                return;
+            }
+            batch = new ArrayList<>(pending);
+            pending.clear();
+            pendingIds = 0;
+            flushing = true;
+        }
+        try {
+            Map<String, String> records = resolve(batch);
+            Set<String> evicted = new HashSet<>();
+            for (PendingEvent pendingEvent : batch) {
+                List<String> enrichedRecords = null;
+                if (!pendingEvent.recordIds().isEmpty()) {
+                    enrichedRecords = new ArrayList<>();
+                    for (String recordId : pendingEvent.recordIds()) {
+                        String record = records.get(recordId);
+                        if (record == null) {
+                            continue;
+                        }
+                        if (pendingEvent.diff()) {
+                            // The event carries only a diff of a large text field, which cannot be applied
+                            // to the record. The record was fetched for this event, so it is delivered as
+                            // is and dropped from the cache rather than kept with a stale value.
+                            evicted.add(recordId);
+                        } else {
+                            // Later events in the batch (and later batches, through the cache) build on
+                            // this change rather than on the record as originally fetched.
+                            record = merge(record, pendingEvent.event());
+                            records.put(recordId, record);
+                        }
+                        enrichedRecords.add(record);
+                    }
+                }
+                dispatchSafely(pendingEvent, enrichedRecords);
+            }
+            updateCachedRecords(records, evicted);
+        } finally {
+            synchronized (lock) {
+                flushing = false;
+                if (!pending.isEmpty()) {
+                    scheduleFlush(stopped || pendingIds >= config.maxBatchSize() ? 0 : config.windowMs());
+                }
+            }
+        }
+    }
+
+    private static void dispatchSafely(PendingEvent pendingEvent, List<String> enrichedRecords) {
+        try {
+            pendingEvent.sink().dispatch(pendingEvent.event(), enrichedRecords);
+        } catch (Exception e) {
+            // Errors are already routed to the service's onError by the sink; there is no CometD
+            // thread to propagate to here, so log and continue with the next event.
+            log.error("Failed to dispatch enriched CDC event", e);
+        }
+    }
+
+    /**
+     * Returns the JSON text of every record the batch needs, served from the cache where possible and
+     * fetched with sObject Collections retrieves otherwise.
+     */
+    private Map<String, String> resolve(List<PendingEvent> batch) {
+        Map<String, String> records = new HashMap<>();
+        Map<String, Set<String>> missing = new LinkedHashMap<>();
+        long now = System.currentTimeMillis();
+        synchronized (cache) {
+            for (PendingEvent pendingEvent : batch) {
+                for (String recordId : pendingEvent.recordIds()) {
+                    // A diff event cannot be applied to a cached record, so its records are re-fetched.
+                    CachedRecord cached = pendingEvent.diff() ? null : cache.get(recordId);
+                    if (cached != null && cached.expiresAt() > now) {
+                        records.put(recordId, cached.json());
+                    } else {
+                        missing.computeIfAbsent(pendingEvent.entityName(), k -> new LinkedHashSet<>()).add(recordId);
+                    }
+                }
+            }
+        }
+        int chunkSize = Math.min(config.maxBatchSize(), MAX_IDS_PER_RETRIEVE);
+        for (Map.Entry<String, Set<String>> entry : missing.entrySet()) {
+            List<String> ids = new ArrayList<>(entry.getValue());
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                List<String> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                try {
+                    Map<String, String> fetched = retrieve(entry.getKey(), chunk);
+                    records.putAll(fetched);
+                    cacheRecords(fetched);
+                } catch (Exception e) {
+                    log.warn("Failed to enrich {} {} record(s); dispatching without enrichment: {}",
+                            chunk.size(), entry.getKey(), e.getMessage());
+                }
+            }
+        }
+        return records;
+    }
+
+    private void cacheRecords(Map<String, String> fetched) {
+        if (config.cacheTtlMs() <= 0 || config.cacheSize() <= 0) {
+            return;
+        }
+        long expiresAt = System.currentTimeMillis() + config.cacheTtlMs();
+        synchronized (cache) {
+            fetched.forEach((id, json) -> cache.put(id, new CachedRecord(json, expiresAt)));
+        }
+    }
+
+    /**
+     * Replaces the cached copies with the records as patched by the events just dispatched, and removes
+     * those changed by a diff event. Entries keep their original expiry so the cache never serves a record
+     * longer than the TTL after it was fetched.
+     */
+    private void updateCachedRecords(Map<String, String> records, Set<String> evicted) {
+        synchronized (cache) {
+            evicted.forEach(cache::remove);
+            records.forEach((id, json) -> {
+                if (evicted.contains(id)) {
+                    return;
+                }
+                CachedRecord cached = cache.get(id);
+                if (cached != null) {
+                    cache.put(id, new CachedRecord(json, cached.expiresAt()));
+                }
+            });
+        }
+    }
+
+    private Map<String, String> retrieve(String entityName, List<String> ids) throws Exception {
+        List<String> fields = new ArrayList<>(config.fields().get(entityName));
+        if (!fields.contains(ID_FIELD)) {
+            fields.add(0, ID_FIELD);
+        }
+        String body = MAPPER.writeValueAsString(Map.of("ids", ids, "fields", fields));
+        String url = instanceUrl + String.format(COLLECTIONS_PATH, apiVersion, entityName);
+
+        ContentResponse response = post(url, body, tokenProvider.apply(false));
+        if (response.getStatus() == 401) {
+            response = post(url, body, tokenProvider.apply(true));
+        }
+        if (response.getStatus() != 200) {
+            throw new IllegalStateException("sObject Collections retrieve returned HTTP " + response.getStatus()
+                    + ": " + response.getContentAsString());
+        }
+        Map<String, String> records = new HashMap<>();
+        for (JsonNode node : MAPPER.readTree(response.getContent())) {
+            if (node != null && node.hasNonNull(ID_FIELD)) {
+                records.put(node.get(ID_FIELD).asText(), node.toString());
+            }
+        }
+        return records;
+    }
+
+    private ContentResponse post(String url, String body, String token) throws Exception {
+        return httpClient.POST(url)
+                .headers(headers -> headers.put(HttpHeader.AUTHORIZATION, "Bearer " + token))
+                .body(new StringRequestContent("application/json", body))
+                .timeout(requestTimeoutMs, TimeUnit.MILLISECONDS)
+                .send();
+    }
+
+    /**
+     * Overlays the scalar values carried by the event on the fetched (or cached) record so the handler
+     * sees the record as of this change even if a later change was already fetched. Fields listed in the
+     * header's {@code nulledFields} are set to null, as the payload omits them. Compound fields (e.g.
+     * {@code Name} on Contact) are shaped differently in CDC payloads and are left as fetched.
+     */
+    private static String merge(String recordJson, Map<String, Object> event) {
+        try {
+            ObjectNode record = (ObjectNode) MAPPER.readTree(recordJson);
+            JsonNode payload = MAPPER.valueToTree(event.get(EVENT_PAYLOAD));
+            payload.fields().forEachRemaining(field -> {
+                if (!EVENT_HEADER.equals(field.getKey()) && record.has(field.getKey())
+                        && !field.getValue().isContainerNode()) {
+                    record.set(field.getKey(), field.getValue());
+                }
+            });
+            for (JsonNode field : payload.path(EVENT_HEADER).path(NULLED_FIELDS)) {
+                if (record.has(field.asText())) {
+                    record.putNull(field.asText());
+                }
+            }
+            return record.toString();
+        } catch (Exception e) {
+            return recordJson;
+        }
+    }
+
+    private PendingEvent toPendingEvent(Map<String, Object> event, Sink sink) {
+        if (!(event.get(EVENT_PAYLOAD) instanceof Map<?, ?> payload)
+                || !(payload.get(EVENT_HEADER) instanceof Map<?, ?> header)
+                || !UPDATE.equals(String.valueOf(header.get(EVENT_CHANGE_TYPE)))) {
+            return new PendingEvent(event, null, Collections.emptyList(), false, sink);
+        }
+        String entityName = (String) header.get(ENTITY_NAME);
+        if (!config.isEnriched(entityName) || !(header.get(RECORD_IDS) instanceof Object[]
+                || header.get(RECORD_IDS) instanceof List<?>)) {
+            return new PendingEvent(event, null, Collections.emptyList(), false, sink);
+        }
+        Object rawIds = header.get(RECORD_IDS);
+        List<?> ids = rawIds instanceof Object[] array ? List.of(array) : (List<?>) rawIds;
+        List<String> recordIds = new ArrayList<>(ids.size());
+        for (Object id : ids) {
+            recordIds.add(String.valueOf(id));
+        }
+        Object diffFields = header.get(DIFF_FIELDS);
+        boolean diff = diffFields instanceof Object[] array ? array.length > 0
+                : diffFields instanceof List<?> list && !list.isEmpty();
+        return new PendingEvent(event, entityName, recordIds, diff, sink);
+    }
+
+    private static void shutdown(ExecutorService executorService) {
+        executorService.shutdown();
+        try {
+            if (!executorService.awaitTermination(30, TimeUnit.SECONDS)) {
+                executorService.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executorService.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.concurrent.StrandMetadata;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.ObjectType;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.utils.TypeUtils;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import io.ballerina.runtime.api.values.BTypedesc;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Native side of the Ballerina {@code RestClient}. Each dependently typed request function calls
+ * {@code RestClient.processExecute} with the HTTP method and the target type of the call.
+ *
+ * @since 8.8.0
+ */
+public final class RestClient {
+
+    private static final String PROCESS_EXECUTE = "processExecute";
+
+    private RestClient() {
+    }
+
+    public static Object get(Environment env, BObject client, BString path, Object headers, BTypedesc targetType) {
+        return execute(env, client, targetType, "GET", path, null, headers, null);
+    }
+
+    public static Object post(Environment env, BObject client, BString path, Object message, Object headers,
+                              Object mediaType, BTypedesc targetType) {
+        return execute(env, client, targetType, "POST", path, message, headers, mediaType);
+    }
+
+    public static Object put(Environment env, BObject client, BString path, Object message, Object headers,
+                             Object mediaType, BTypedesc targetType) {
+        return execute(env, client, targetType, "PUT", path, message, headers, mediaType);
+    }
+
+    public static Object patch(Environment env, BObject client, BString path, Object message, Object headers,
+                               Object mediaType, BTypedesc targetType) {
+        return execute(env, client, targetType, "PATCH", path, message, headers, mediaType);
+    }
+
+    public static Object delete(Environment env, BObject client, BString path, Object message, Object headers,
+                                Object mediaType, BTypedesc targetType) {
+        return execute(env, client, targetType, "DELETE", path, message, headers, mediaType);
+    }
+
+    /**
+     * Returns a random delay between 0 and the given delay, so that clients retrying after the same failure do not
+     * retry at the same time.
+     *
+     * @param maxDelay the longest delay in seconds
+     * @return the delay in seconds
+     */
+    public static BDecimal getJitteredDelay(BDecimal maxDelay) {
+        BigDecimal factor = BigDecimal.valueOf(ThreadLocalRandom.current().nextDouble());
+        return ValueCreator.createDecimalValue(maxDelay.value().multiply(factor).setScale(3, RoundingMode.HALF_UP));
+    }
+
+    private static Object execute(Environment env, BObject client, BTypedesc targetType, String method,
+                                  BString path, Object message, Object headers, Object mediaType) {
+        Object[] paramFeed = {targetType, StringUtils.fromString(method), path, message, headers, mediaType};
+        return env.yieldAndRun(() -> {
+            ObjectType objectType = (ObjectType) TypeUtils.getReferredType(TypeUtils.getType(client));
+            boolean isIsolated = objectType.isIsolated() && objectType.isIsolated(PROCESS_EXECUTE);
+            try {
+                return env.getRuntime().callMethod(client, PROCESS_EXECUTE, new StrandMetadata(isIsolated, null),
+                        paramFeed);
+            } catch (BError bError) {
+                return bError;
+            }
+        });
+    }
+}
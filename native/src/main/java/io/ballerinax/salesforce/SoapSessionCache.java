@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import io.ballerina.runtime.api.Runtime;
+import io.ballerina.runtime.api.concurrent.StrandMetadata;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Reuses SOAP login sessions across listener starts, reconnects and leadership changes.
+ *
+ * <p>Sessions are cached in-process, keyed by login endpoint, username, API version and a hash of the
+ * password (with its security token), and optionally
+ * mirrored to a user-supplied Ballerina {@code SessionStore} so that replicas can share them. A cached
+ * session is used until it expires or Salesforce rejects it with a 401 or 403, at which point it is
+ * invalidated in both places and a fresh login is performed.
+ */
+final class SoapSessionCache {
+    private static final Logger log = LoggerFactory.getLogger(SoapSessionCache.class);
+
+    private static final String GET_SESSION = "getSession";
+    private static final String SET_SESSION = "setSession";
+    private static final String CLEAR_SESSION = "clearSession";
+    private static final String SOAP_SESSION_RECORD = "SoapSession";
+    private static final String FIELD_SESSION_ID = "sessionId";
+    private static final String FIELD_SERVER_URL = "serverUrl";
+    private static final String FIELD_EXPIRES_AT = "expiresAtEpoch";
+    private static final StrandMetadata STORE_STRAND_META = new StrandMetadata(true, null);
+
+    /** Sessions closer than this to expiry are not reused. */
+    private static final long EXPIRY_MARGIN_SECONDS = 60;
+
+    private static final ConcurrentMap<String, Session> SESSIONS = new ConcurrentHashMap<>();
+
+    /**
+     * A SOAP login session.
+     *
+     * @param sessionId      the session ID used as the bearer token
+     * @param serverUrl      the SOAP server URL returned by the login call
+     * @param expiresAtEpoch epoch seconds after which the session is no longer reused
+     */
+    record Session(String sessionId, String serverUrl, long expiresAtEpoch) {
+        boolean isReusable() {
+            return expiresAtEpoch - EXPIRY_MARGIN_SECONDS > System.currentTimeMillis() / 1000;
+        }
+    }
+
+    private final String key;
+    private final Runtime runtime;
+    private final BObject store;
+
+    /**
+     * @param loginEndpoint the SOAP login endpoint
+     * @param username      the login username
+     * @param password      the login password with the security token appended; only a hash of it is
+     *                      kept, so a caller with other credentials never receives this caller's session
+     * @param apiVersion    the API version used for the login
+     * @param runtime       the runtime used to call the session store; may be {@code null} without a store
+     * @param store         the Ballerina {@code SessionStore}, or {@code null} for in-process caching only
+     */
+    SoapSessionCache(String loginEndpoint, String username, String password, String apiVersion, Runtime runtime,
+                     BObject store) {
+        this.key = loginEndpoint + "|" + username + "|" + apiVersion + "|" + credentialHash(username, password);
+        this.runtime = runtime;
+        this.store = store;
+    }
+
+    /**
+     * @return a reusable session from the in-process cache or the session store, or {@code null}
+     */
+    Session get() {
+        Session session = SESSIONS.get(key);
+        if (session != null && session.isReusable()) {
+            return session;
+        }
+        session = getFromStore();
+        if (session != null && session.isReusable()) {
+            SESSIONS.put(key, session);
+            return session;
+        }
+        return null;
+    }
+
+    void put(Session session) {
+        SESSIONS.put(key, session);
+        if (store != null) {
+            Map<String, Object> values = new HashMap<>();
+            values.put(FIELD_SESSION_ID, StringUtils.fromString(session.sessionId()));
+            values.put(FIELD_SERVER_URL, StringUtils.fromString(session.serverUrl()));
+            values.put(FIELD_EXPIRES_AT, session.expiresAtEpoch());
+            callStore(SET_SESSION, StringUtils.fromString(key),
+                    ValueCreator.createRecordValue(ModuleUtils.getModule(), SOAP_SESSION_RECORD, values));
+        }
+    }
+
+    /**
+     * Drops the session after Salesforce rejected it, so the next login performs a fresh SOAP login.
+     */
+    void invalidate() {
+        SESSIONS.remove(key);
+        if (store != null) {
+            callStore(CLEAR_SESSION, StringUtils.fromString(key));
+        }
+    }
+
+    private static String credentialHash(String username, String password) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(username.getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) 0);
+            digest.update(password.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            // Every Java platform is required to support SHA-256.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Session getFromStore() {
+        if (store == null) {
+            return null;
+        }
+        Object result = callStore(GET_SESSION, StringUtils.fromString(key));
+        if (!(result instanceof BMap<?, ?> map)) {
+            return null;
+        }
+        BMap<BString, Object> session = (BMap<BString, Object>) map;
+        return new Session(
+                session.getStringValue(StringUtils.fromString(FIELD_SESSION_ID)).getValue(),
+                session.getStringValue(StringUtils.fromString(FIELD_SERVER_URL)).getValue(),
+                session.getIntValue(StringUtils.fromString(FIELD_EXPIRES_AT)));
+    }
+
+    private Object callStore(String method, Object... args) {
+        try {
+            Object result = runtime.callMethod(store, method, STORE_STRAND_META, args);
+            if (result instanceof BError error) {
+                log.warn("Session store {} failed: {}", method, error.getMessage());
+                return null;
+            }
+            return result;
+        } catch (RuntimeException e) {
+            // The store is an optimisation; failures fall back to a fresh login.
+            log.warn("Session store {} failed", method, e);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BString;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * This class holds the utility methods used to inspect and rewrite SOQL statements when splitting a query into
+ * partitions. Clauses are only recognised at the top level of the statement; sub-queries and string literals are
+ * left untouched.
+ *
+ * @since 8.8.0
+ */
+public class SoqlUtils {
+
+    private static final Pattern SELECT = Pattern.compile("^\\s*SELECT\\s+");
+    private static final Pattern FROM = Pattern.compile("\\bFROM\\s+");
+    private static final Pattern WHERE = Pattern.compile("\\bWHERE\\b");
+    private static final Pattern TRAILING_CLAUSE =
+            Pattern.compile("\\b(WITH|GROUP\\s+BY|HAVING|ORDER\\s+BY|LIMIT|OFFSET|FOR)\\b");
+    private static final Pattern UNSUPPORTED_CLAUSE = Pattern.compile("\\b(GROUP\\s+BY|HAVING|LIMIT|OFFSET)\\b");
+    private static final Pattern UNSUPPORTED_BULK_CLAUSE = Pattern.compile("\\b(GROUP\\s+BY|HAVING|OFFSET|TYPEOF)\\b");
+    private static final Pattern LIMIT = Pattern.compile("\\bLIMIT\\s+(\\d+)");
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z0-9_.]+");
+    private static final DateTimeFormatter SALESFORCE_DATE_TIME =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSSZ");
+    private static final DateTimeFormatter SOQL_DATE_TIME =
+            DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'").withZone(ZoneOffset.UTC);
+
+    private SoqlUtils() {
+    }
+
+    public static Object getSObjectName(BString soql) {
+        String statement = soql.getValue();
+        Matcher from = FROM.matcher(mask(statement));
+        if (!from.find()) {
+            return ErrorCreator.createError(StringUtils.fromString("SOQL statement does not have a FROM clause."));
+        }
+        Matcher identifier = IDENTIFIER.matcher(statement);
+        if (!identifier.find(from.end()) || identifier.start() != from.end()) {
+            return ErrorCreator.createError(StringUtils.fromString("SOQL statement does not name an sObject."));
+        }
+        return StringUtils.fromString(identifier.group());
+    }
+
+    public static BString getWhereClause(BString soql) {
+        String statement = soql.getValue();
+        String masked = mask(statement);
+        Matcher where = WHERE.matcher(masked);
+        if (!where.find()) {
+            return StringUtils.fromString("");
+        }
+        int end = clauseEnd(masked, where.end());
+        return StringUtils.fromString(statement.substring(where.end(), end).trim());
+    }
+
+    public static Object addFilter(BString soql, BString condition) {
+        String statement = soql.getValue();
+        String masked = mask(statement);
+        if (UNSUPPORTED_CLAUSE.matcher(masked).find()) {
+            return ErrorCreator.createError(StringUtils.fromString(
+                    "Partitioned queries do not support GROUP BY, HAVING, LIMIT or OFFSET clauses."));
+        }
+        Matcher from = FROM.matcher(masked);
+        if (!from.find()) {
+            return ErrorCreator.createError(StringUtils.fromString("SOQL statement does not have a FROM clause."));
+        }
+        Matcher where = WHERE.matcher(masked);
+        String filtered;
+        if (where.find(from.end())) {
+            int end = clauseEnd(masked, where.end());
+            filtered = statement.substring(0, where.start()) + "WHERE (" + condition.getValue() + ") AND (" +
+                    statement.substring(where.end(), end).trim() + ") " + statement.substring(end);
+        } else {
+            int end = clauseEnd(masked, from.end());
+            filtered = statement.substring(0, end).trim() + " WHERE " + condition.getValue() + " " +
+                    statement.substring(end);
+        }
+        return StringUtils.fromString(filtered.trim());
+    }
+
+    /**
+     * Returns whether a query can be run as a Bulk API 2.0 query job, which does not support sub-queries, functions
+     * in the select list, or {@code GROUP BY}, {@code HAVING}, {@code OFFSET} and {@code TYPEOF} clauses.
+     */
+    public static boolean isBulkQueryable(BString soql) {
+        String statement = soql.getValue();
+        String masked = mask(statement);
+        Matcher from = FROM.matcher(masked);
+        return from.find() && statement.substring(0, from.start()).indexOf('(') < 0 &&
+                !UNSUPPORTED_BULK_CLAUSE.matcher(masked).find();
+    }
+
+    public static Object getQueryLimit(BString soql) {
+        Matcher limit = LIMIT.matcher(mask(soql.getValue()));
+        if (!limit.find()) {
+            return null;
+        }
+        try {
+            return Long.parseLong(limit.group(1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Splits the time span between two Salesforce date-time values into equally sized windows.
+     *
+     * @param lowest  earliest value, as returned by Salesforce
+     * @param highest latest value, as returned by Salesforce
+     * @param windows number of windows
+     * @return the inner window boundaries formatted as SOQL date-time literals, in ascending order
+     */
+    public static Object getDateWindowBoundaries(BString lowest, BString highest, long windows) {
+        Instant start;
+        Instant end;
+        try {
+            start = parseDateTime(lowest.getValue());
+            end = parseDateTime(highest.getValue());
+        } catch (DateTimeParseException e) {
+            return ErrorCreator.createError(StringUtils.fromString("Invalid date-time value: " + e.getParsedString()));
+        }
+        long span = end.getEpochSecond() - start.getEpochSecond();
+        List<String> boundaries = new ArrayList<>();
+        for (long i = 1; i < windows; i++) {
+            String boundary = SOQL_DATE_TIME.format(Instant.ofEpochSecond(start.getEpochSecond() + span * i / windows));
+            if (boundaries.isEmpty() || !boundaries.get(boundaries.size() - 1).equals(boundary)) {
+                boundaries.add(boundary);
+            }
+        }
+        return StringUtils.fromStringArray(boundaries.toArray(new String[0]));
+    }
+
+    private static Instant parseDateTime(String value) {
+        try {
+            return OffsetDateTime.parse(value, SALESFORCE_DATE_TIME).toInstant();
+        } catch (DateTimeParseException e) {
+            return OffsetDateTime.parse(value).toInstant();
+        }
+    }
+
+    /**
+     * Returns the fields of the select list when it only has field paths, such as {@code Account.Name}.
+     *
+     * @return the fields in the order selected, or {@code null} if the select list also has sub-queries, functions,
+     *         aliases or {@code TYPEOF} clauses
+     */
+    static List<String> getSelectedFields(String soql) {
+        String masked = mask(soql);
+        Matcher select = SELECT.matcher(masked);
+        Matcher from = FROM.matcher(masked);
+        if (!select.find() || !from.find(select.end())) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>();
+        int start = select.end();
+        while (start <= from.start()) {
+            int comma = masked.indexOf(',', start);
+            int end = comma < 0 || comma > from.start() ? from.start() : comma;
+            String field = soql.substring(start, end).trim();
+            if (!IDENTIFIER.matcher(field).matches()) {
+                return null;
+            }
+            fields.add(field);
+            start = end + 1;
+        }
+        return fields;
+    }
+
+    private static int clauseEnd(String masked, int from) {
+        Matcher trailing = TRAILING_CLAUSE.matcher(masked);
+        return trailing.find(from) ? trailing.start() : masked.length();
+    }
+
+    /**
+     * Upper-cases the statement and blanks out string literals and parenthesised content, so that keyword matches
+     * only hit top-level clauses. The result has the same length as the input.
+     */
+    static String mask(String statement) {
+        StringBuilder masked = new StringBuilder(statement.length());
+        int depth = 0;
+        boolean quoted = false;
+        for (int i = 0; i < statement.length(); i++) {
+            char c = statement.charAt(i);
+            if (quoted) {
+                if (c == '\\' && i + 1 < statement.length()) {
+                    masked.append("  ");
+                    i++;
+                    continue;
+                }
+                if (c == '\'') {
+                    quoted = false;
+                }
+                masked.append(' ');
+            } else if (c == '\'') {
+                quoted = true;
+                masked.append(' ');
+            } else if (c == '(') {
+                depth++;
+                masked.append(' ');
+            } else if (c == ')') {
+                depth = Math.max(0, depth - 1);
+                masked.append(' ');
+            } else {
+                masked.append(depth > 0 ? ' ' : Character.toUpperCase(c));
+            }
+        }
+        return masked.toString();
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records the wall-clock time spent in each phase of a listener start so slow starts and
+ * re-elections can be attributed to authentication, transport, handshake or subscription.
+ * Phases may overlap (e.g. authentication runs while the transport starts); each phase is
+ * measured from its own start mark.
+ */
+final class StartupTimings {
+    private final long startedAt = System.nanoTime();
+    private final Map<String, Long> phaseStarts = new LinkedHashMap<>();
+    private final Map<String, Long> phaseDurations = new LinkedHashMap<>();
+
+    synchronized void begin(String phase) {
+        phaseStarts.put(phase, System.nanoTime());
+    }
+
+    synchronized void end(String phase) {
+        Long phaseStart = phaseStarts.get(phase);
+        if (phaseStart != null) {
+            phaseDurations.put(phase, System.nanoTime() - phaseStart);
+        }
+    }
+
+    synchronized long totalMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+    }
+
+    @Override
+    public synchronized String toString() {
+        StringJoiner joiner = new StringJoiner(", ");
+        phaseDurations.forEach((phase, nanos) ->
+                joiner.add(phase + "=" + TimeUnit.NANOSECONDS.toMillis(nanos) + "ms"));
+        joiner.add("total=" + totalMillis() + "ms");
+        return joiner.toString();
+    }
+}
@@ -18,30 +18,14 @@
 
 package io.ballerinax.salesforce;
 
-import io.ballerina.runtime.api.creators.TypeCreator;
-import io.ballerina.runtime.api.creators.ValueCreator;
-import io.ballerina.runtime.api.types.ArrayType;
-import io.ballerina.runtime.api.types.Field;
-import io.ballerina.runtime.api.types.PredefinedTypes;
 import io.ballerina.runtime.api.types.RecordType;
 import io.ballerina.runtime.api.values.BArray;
 
-import java.util.Map;
-
-import static io.ballerina.runtime.api.utils.StringUtils.fromString;
-
 public class Utils {
     private Utils() {}
 
     public static BArray getMetadata(RecordType recordType) {
-        ArrayType stringArrayType = TypeCreator.createArrayType(PredefinedTypes.TYPE_STRING);
-        BArray fieldsArray = ValueCreator.createArrayValue(stringArrayType);
-
-        Map<String, Field> fieldsMap = recordType.getFields();
-        for (Field field : fieldsMap.values()) {
-                fieldsArray.append(fromString(field.getFieldName()));
-        }
-
-        return fieldsArray;
+        // The field list is built once per record type and shared, so it is immutable.
+        return RecordBinder.forType(recordType).getFieldNames();
     }
 }
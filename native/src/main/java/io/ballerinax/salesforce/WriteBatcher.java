@@ -0,0 +1,256 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import io.ballerina.runtime.api.Environment;
+import io.ballerina.runtime.api.Runtime;
+import io.ballerina.runtime.api.concurrent.StrandMetadata;
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BDecimal;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BObject;
+import io.ballerina.runtime.api.values.BString;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Native side of the Ballerina {@code BatchingClient}. Writes are grouped by operation and sObject type. A group is
+ * sent when it reaches the maximum batch size or when the linger window of its first write ends, by calling
+ * {@code BatchingClient.sendGroup} with the group's payloads. Each caller waits on its own future, which completes
+ * with the result at the caller's position in the group. If Salesforce rejects the whole request with HTTP 400, for
+ * example because of one bad record, each write of the group is sent again on its own so that only the caller with
+ * the bad record gets the error. Any other failure of the request, such as a timeout or an HTTP 503 that outlasted
+ * the client's retries, is returned to every caller of the group.
+ *
+ * @since 8.8.0
+ */
+public final class WriteBatcher {
+
+    private static final String NATIVE_BATCHER = "WRITE_BATCHER";
+    private static final String SEND_GROUP_METHOD = "sendGroup";
+    private static final StrandMetadata SEND_STRAND_META = new StrandMetadata(true, null);
+    // Set by `BatchingClient.sendGroup` on the error of a request that Salesforce rejected as a whole.
+    private static final BString GROUP_REJECTED = StringUtils.fromString("groupRejected");
+
+    /**
+     * Sends a group of writes of one operation and sObject type.
+     */
+    @FunctionalInterface
+    interface Sender {
+        /**
+         * @return the results of the writes, in order, or an error if the request failed as a whole
+         */
+        Object send(String operation, String sObjectName, List<Object> payloads);
+    }
+
+    private final Sender sender;
+    private final long lingerNanos;
+    private final int maxBatchSize;
+    private final Map<String, Group> groups = new HashMap<>();
+    private final ScheduledExecutorService timer;
+    private final ExecutorService senders;
+    private boolean closed;
+
+    WriteBatcher(Sender sender, long lingerNanos, int maxBatchSize, int maxConcurrency) {
+        this.sender = sender;
+        this.lingerNanos = lingerNanos;
+        this.maxBatchSize = maxBatchSize;
+        this.timer = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "salesforce-write-batcher-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.senders = Executors.newFixedThreadPool(maxConcurrency, task -> {
+            Thread thread = new Thread(task, "salesforce-write-batcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public static void initWriteBatcher(Environment env, BObject batchingClient, BMap<BString, Object> config) {
+        BDecimal linger = (BDecimal) config.get(StringUtils.fromString("linger"));
+        long lingerNanos = linger.value().movePointRight(9).longValue();
+        int maxBatchSize = config.getIntValue(StringUtils.fromString("maxBatchSize")).intValue();
+        int maxConcurrency = config.getIntValue(StringUtils.fromString("maxConcurrency")).intValue();
+        Runtime runtime = env.getRuntime();
+        Sender sender = (operation, sObjectName, payloads) ->
+                sendGroup(runtime, batchingClient, operation, sObjectName, payloads);
+        batchingClient.addNativeData(NATIVE_BATCHER, new WriteBatcher(sender, lingerNanos, maxBatchSize,
+                maxConcurrency));
+    }
+
+    public static Object submitWrite(Environment env, BObject batchingClient, BString operation, BString sObjectName,
+                                     Object payload) {
+        WriteBatcher batcher = (WriteBatcher) batchingClient.getNativeData(NATIVE_BATCHER);
+        CompletableFuture<Object> result = batcher.submit(operation.getValue(), sObjectName.getValue(), payload);
+        return env.yieldAndRun(result::join);
+    }
+
+    public static void closeWriteBatcher(BObject batchingClient) {
+        WriteBatcher batcher = (WriteBatcher) batchingClient.getNativeData(NATIVE_BATCHER);
+        if (batcher != null) {
+            batcher.close();
+        }
+    }
+
+    CompletableFuture<Object> submit(String operation, String sObjectName, Object payload) {
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        synchronized (this) {
+            if (closed) {
+                result.complete(ErrorCreator.createError(
+                        StringUtils.fromString("The batching client has been closed.")));
+                return result;
+            }
+            String key = operation + "/" + sObjectName;
+            Group group = groups.get(key);
+            if (group == null) {
+                group = new Group(key, operation, sObjectName);
+                groups.put(key, group);
+                Group lingering = group;
+                group.timeout = timer.schedule(() -> sendIfCurrent(lingering), lingerNanos, TimeUnit.NANOSECONDS);
+            }
+            group.payloads.add(payload);
+            group.results.add(result);
+            if (group.payloads.size() >= maxBatchSize) {
+                groups.remove(key);
+                group.timeout.cancel(false);
+                send(group);
+            }
+        }
+        return result;
+    }
+
+    private synchronized void sendIfCurrent(Group group) {
+        if (groups.get(group.key) != group) {
+            // Already sent because it filled up, or by close().
+            return;
+        }
+        groups.remove(group.key);
+        send(group);
+    }
+
+    // Called with the lock held, so that close() cannot shut the senders down in between.
+    private void send(Group group) {
+        senders.execute(() -> {
+            Object outcome = sender.send(group.operation, group.sObjectName, group.payloads);
+            if (isRejected(outcome) && group.payloads.size() > 1) {
+                // Salesforce rejected the request as a whole, so retry each write on its own to isolate the
+                // failing ones.
+                for (int i = 0; i < group.payloads.size(); i++) {
+                    sendAlone(group, i);
+                }
+                return;
+            }
+            complete(group.results, outcome);
+        });
+    }
+
+    private void sendAlone(Group group, int index) {
+        List<CompletableFuture<Object>> result = List.of(group.results.get(index));
+        Runnable retry = () -> complete(result,
+                sender.send(group.operation, group.sObjectName, List.of(group.payloads.get(index))));
+        try {
+            senders.execute(retry);
+        } catch (RejectedExecutionException e) {
+            // Closed in the meantime; finish the retry on this sender instead of dropping it.
+            retry.run();
+        }
+    }
+
+    private static Object sendGroup(Runtime runtime, BObject batchingClient, String operation, String sObjectName,
+                                    List<Object> group) {
+        try {
+            BArray payloads = ValueCreator.createArrayValue(group.toArray(),
+                    TypeCreator.createArrayType(PredefinedTypes.TYPE_ANYDATA));
+            return runtime.callMethod(batchingClient, SEND_GROUP_METHOD, SEND_STRAND_META,
+                    StringUtils.fromString(operation), StringUtils.fromString(sObjectName), payloads);
+        } catch (BError e) {
+            return e;
+        } catch (RuntimeException e) {
+            return ErrorCreator.createError(StringUtils.fromString(
+                    "Failed to send the grouped writes: " + e.getMessage()));
+        }
+    }
+
+    private static boolean isRejected(Object outcome) {
+        return outcome instanceof BError error && error.getDetails() instanceof BMap<?, ?> details
+                && Boolean.TRUE.equals(details.get(GROUP_REJECTED));
+    }
+
+    private static void complete(List<CompletableFuture<Object>> callers, Object outcome) {
+        if (isRejected(outcome) && ((BError) outcome).getCause() != null) {
+            // Callers get the error of the request, not the marker added for the batcher.
+            outcome = ((BError) outcome).getCause();
+        }
+        if (outcome instanceof BArray results && results.size() == callers.size()) {
+            for (int i = 0; i < callers.size(); i++) {
+                callers.get(i).complete(results.get(i));
+            }
+            return;
+        }
+        Object error = outcome instanceof BError ? outcome : ErrorCreator.createError(StringUtils.fromString(
+                "Unexpected number of results for the grouped writes."));
+        callers.forEach(result -> result.complete(error));
+    }
+
+    synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        timer.shutdownNow();
+        groups.values().forEach(group -> {
+            group.timeout.cancel(false);
+            send(group);
+        });
+        groups.clear();
+        senders.shutdown();
+    }
+
+    private static final class Group {
+        private final String key;
+        private final String operation;
+        private final String sObjectName;
+        private final List<Object> payloads = new ArrayList<>();
+        private final List<CompletableFuture<Object>> results = new ArrayList<>();
+        private ScheduledFuture<?> timeout;
+
+        private Group(String key, String operation, String sObjectName) {
+            this.key = key;
+            this.operation = operation;
+            this.sObjectName = sObjectName;
+        }
+    }
+}
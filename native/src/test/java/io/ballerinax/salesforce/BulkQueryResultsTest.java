@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+
+/**
+ * Tests for the conversion of Bulk API 2.0 query results by {@link BulkQueryResults}.
+ */
+public class BulkQueryResultsTest {
+
+    private static final Module MODULE = new Module("test", "salesforce_test", "1");
+
+    @Test
+    public void testValuesFollowTheFieldTypes() throws Exception {
+        String csv = "\"Id\",\"NumberOfEmployees\",\"AnnualRevenue\",\"IsDeleted\",\"Description\"\n" +
+                "\"001\",\"12\",\"1.5\",\"true\",\"12\"\n";
+        assertEquals(page(csv, accountType(false)), records("{\"Id\":\"001\",\"NumberOfEmployees\":12," +
+                "\"AnnualRevenue\":1.5,\"IsDeleted\":true,\"Description\":\"12\"}"));
+    }
+
+    @Test
+    public void testEmptyValuesAreNull() throws Exception {
+        String csv = "Id,NumberOfEmployees,AnnualRevenue,IsDeleted,Description\n001,,,,\n";
+        assertEquals(page(csv, accountType(false)), records("{\"Id\":\"001\",\"NumberOfEmployees\":null," +
+                "\"AnnualRevenue\":null,\"IsDeleted\":null,\"Description\":null}"));
+    }
+
+    @Test
+    public void testValuesThatDoNotFitAreLeftAsText() throws Exception {
+        String csv = "Id,NumberOfEmployees,IsDeleted\n001,many,yes\n";
+        assertEquals(page(csv, accountType(false)),
+                records("{\"Id\":\"001\",\"NumberOfEmployees\":\"many\",\"IsDeleted\":\"yes\"}"));
+    }
+
+    @Test
+    public void testRelationshipColumnsAreNested() throws Exception {
+        String csv = "Id,Owner.Name,Owner.Manager.Name\n001,Ann,Bob\n002,,\n";
+        assertEquals(page(csv, contactType()), records(
+                "{\"Id\":\"001\",\"Owner\":{\"Name\":\"Ann\",\"Manager\":{\"Name\":\"Bob\"}}}",
+                "{\"Id\":\"002\",\"Owner\":null}"));
+    }
+
+    @Test
+    public void testRestFieldsOfOpenRecordsAreText() throws Exception {
+        String csv = "Id,Rating__c\n001,5\n";
+        assertEquals(page(csv, accountType(true)), records("{\"Id\":\"001\",\"Rating__c\":\"5\"}"));
+    }
+
+    @Test
+    public void testQuotedValuesKeepDelimiters() throws Exception {
+        String csv = "Id,Description\n001,\"Acme, \"\"Inc\"\"\nLtd\"\n";
+        assertEquals(page(csv, accountType(false)),
+                records("{\"Id\":\"001\",\"Description\":\"Acme, \\\"Inc\\\"\\nLtd\"}"));
+    }
+
+    @Test
+    public void testEmptyResultsHaveNoRecords() throws Exception {
+        assertEquals(page("", accountType(false)), records());
+    }
+
+    private static String page(String csv, Type recordType) throws Exception {
+        return new String(BulkQueryResults.toQueryPage(csv, recordType), StandardCharsets.UTF_8);
+    }
+
+    private static String records(String... records) {
+        return "{\"done\":true,\"records\":[" + String.join(",", records) + "]}";
+    }
+
+    private static RecordType accountType(boolean open) {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        fields.put("Id", TypeCreator.createField(PredefinedTypes.TYPE_STRING, "Id", SymbolFlags.REQUIRED));
+        fields.put("NumberOfEmployees", optionalField(PredefinedTypes.TYPE_INT, "NumberOfEmployees"));
+        fields.put("AnnualRevenue", optionalField(PredefinedTypes.TYPE_DECIMAL, "AnnualRevenue"));
+        fields.put("IsDeleted", optionalField(PredefinedTypes.TYPE_BOOLEAN, "IsDeleted"));
+        fields.put("Description", optionalField(PredefinedTypes.TYPE_STRING, "Description"));
+        return TypeCreator.createRecordType("Account", MODULE, 0, fields,
+                open ? PredefinedTypes.TYPE_ANYDATA : null, !open, 0);
+    }
+
+    private static RecordType contactType() {
+        Map<String, Field> managerFields = new LinkedHashMap<>();
+        managerFields.put("Name", optionalField(PredefinedTypes.TYPE_STRING, "Name"));
+        RecordType manager = TypeCreator.createRecordType("User", MODULE, 0, managerFields, null, true, 0);
+        Map<String, Field> ownerFields = new LinkedHashMap<>();
+        ownerFields.put("Name", optionalField(PredefinedTypes.TYPE_STRING, "Name"));
+        ownerFields.put("Manager", optionalField(manager, "Manager"));
+        RecordType owner = TypeCreator.createRecordType("User", MODULE, 0, ownerFields, null, true, 0);
+        Map<String, Field> fields = new LinkedHashMap<>();
+        fields.put("Id", TypeCreator.createField(PredefinedTypes.TYPE_STRING, "Id", SymbolFlags.REQUIRED));
+        fields.put("Owner", optionalField(owner, "Owner"));
+        return TypeCreator.createRecordType("Contact", MODULE, 0, fields, null, true, 0);
+    }
+
+    private static Field optionalField(Type type, String name) {
+        return TypeCreator.createField(TypeCreator.createUnionType(type, PredefinedTypes.TYPE_NULL), name,
+                SymbolFlags.OPTIONAL);
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for the additive increase and multiplicative decrease of {@link ConcurrencyLimiter}.
+ */
+public class ConcurrencyLimiterTest {
+
+    @Test
+    public void testRequestsOverTheLimitWait() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 1, 10, 0.5);
+        assertTrue(limiter.acquire().isDone());
+        assertTrue(limiter.acquire().isDone());
+        CompletableFuture<Void> waiting = limiter.acquire();
+        assertFalse(waiting.isDone());
+        limiter.release(false);
+        assertTrue(waiting.isDone());
+    }
+
+    @Test
+    public void testWaitersAreAdmittedInOrder() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(1, 1, 1, 0.5);
+        limiter.acquire();
+        List<CompletableFuture<Void>> waiters = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            waiters.add(limiter.acquire());
+        }
+        for (int i = 0; i < 3; i++) {
+            limiter.release(false);
+            for (int j = 0; j < 3; j++) {
+                assertEquals(waiters.get(j).isDone(), j <= i, "waiter " + j + " after " + (i + 1) + " releases");
+            }
+        }
+    }
+
+    @Test
+    public void testLimitGrowsByOnePerRoundAtFullUse() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 1, 10, 0.5);
+        for (int i = 0; i < 4; i++) {
+            limiter.acquire();
+        }
+        // Each request completing while the limit is in full use adds 1 / limit.
+        for (int i = 0; i < 4; i++) {
+            limiter.release(false);
+            limiter.acquire();
+        }
+        assertEquals(limiter.currentLimit(), 4);
+        limiter.release(false);
+        assertEquals(limiter.currentLimit(), 5);
+    }
+
+    @Test
+    public void testLimitDoesNotGrowBelowFullUse() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(4, 1, 10, 0.5);
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire();
+            limiter.release(false);
+        }
+        assertEquals(limiter.currentLimit(), 4);
+    }
+
+    @Test
+    public void testLimitIsCappedAtMaximum() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 1, 2, 0.5);
+        for (int i = 0; i < 20; i++) {
+            limiter.acquire();
+            limiter.acquire();
+            limiter.release(false);
+            limiter.release(false);
+        }
+        assertEquals(limiter.currentLimit(), 2);
+    }
+
+    @Test
+    public void testOverloadBacksOffToMinimum() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(8, 2, 10, 0.5);
+        limiter.acquire();
+        limiter.release(true);
+        assertEquals(limiter.currentLimit(), 4);
+        limiter.acquire();
+        limiter.release(true);
+        assertEquals(limiter.currentLimit(), 2);
+        limiter.acquire();
+        limiter.release(true);
+        assertEquals(limiter.currentLimit(), 2);
+    }
+
+    @Test
+    public void testBackoffKeepsWaitersQueued() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 1, 10, 0.5);
+        limiter.acquire();
+        limiter.acquire();
+        CompletableFuture<Void> waiting = limiter.acquire();
+        // The limit drops to 1 while one request is still in flight, so the waiter is not admitted yet.
+        limiter.release(true);
+        assertFalse(waiting.isDone());
+        limiter.release(false);
+        assertTrue(waiting.isDone());
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+import static org.testng.Assert.assertThrows;
+
+/**
+ * Tests for the fan-out and checkpoint bookkeeping of {@link DispatcherService}.
+ */
+public class DispatcherServiceTest {
+
+    @Test
+    public void testEveryServiceGetsAnIsolatedCopy() {
+        BMap<BString, Object> changedData = ValueCreator.createMapValue();
+        changedData.put(fromString("Name"), fromString("Acme"));
+        BMap<BString, Object> event = ValueCreator.createMapValue();
+        event.put(fromString("changedData"), changedData);
+
+        BMap<BString, Object> snapshot = DispatcherService.snapshot(event);
+        BMap<BString, Object> first = DispatcherService.copyOf(snapshot);
+        BMap<BString, Object> second = DispatcherService.copyOf(snapshot);
+        nested(first).put(fromString("Name"), fromString("changed by the first service"));
+        first.put(fromString("extra"), fromString("x"));
+
+        assertEquals(nested(second).get(fromString("Name")).toString(), "Acme");
+        assertFalse(second.containsKey(fromString("extra")));
+        assertEquals(nested(snapshot).get(fromString("Name")).toString(), "Acme");
+        // The snapshot itself cannot be changed by a handler.
+        assertThrows(BError.class, () -> snapshot.put(fromString("extra"), fromString("x")));
+    }
+
+    @Test
+    public void testChannelCheckpointIsLowestServiceCheckpoint() {
+        DispatcherService.ServicePosition first = new DispatcherService.ServicePosition(() -> 5L);
+        DispatcherService.ServicePosition second = new DispatcherService.ServicePosition(() -> 8L);
+        List<DispatcherService.ServicePosition> positions = List.of(first, second);
+
+        assertFalse(first.isHandled(7));
+        assertTrue(second.isHandled(7));
+        assertTrue(first.acknowledge(7));
+        assertEquals(DispatcherService.ServicePosition.channelCheckpoint(positions, 7), Long.valueOf(7));
+
+        assertFalse(first.isHandled(9));
+        assertFalse(second.isHandled(9));
+        assertTrue(first.acknowledge(9));
+        assertTrue(second.acknowledge(9));
+        assertEquals(DispatcherService.ServicePosition.channelCheckpoint(positions, 9), Long.valueOf(9));
+    }
+
+    @Test
+    public void testFailedServiceHoldsItsCheckpoint() {
+        DispatcherService.ServicePosition healthy = new DispatcherService.ServicePosition(() -> null);
+        DispatcherService.ServicePosition failing = new DispatcherService.ServicePosition(() -> 9L);
+        List<DispatcherService.ServicePosition> positions = List.of(healthy, failing);
+
+        assertFalse(failing.isHandled(10));
+        failing.fail(10);
+        assertTrue(healthy.acknowledge(10));
+        assertEquals(DispatcherService.ServicePosition.channelCheckpoint(positions, 10), Long.valueOf(9));
+
+        // Later events do not move the failing service past the event it never processed.
+        assertFalse(failing.isHandled(11));
+        assertFalse(failing.acknowledge(11));
+        assertTrue(healthy.acknowledge(11));
+        assertEquals(DispatcherService.ServicePosition.channelCheckpoint(positions, 11), Long.valueOf(9));
+
+        // The redelivered event lifts the hold.
+        assertFalse(failing.isHandled(10));
+        assertTrue(failing.acknowledge(10));
+        assertEquals(DispatcherService.ServicePosition.channelCheckpoint(positions, 11), Long.valueOf(10));
+    }
+
+    @Test
+    public void testFailureWithoutCheckpointHoldsChannel() {
+        DispatcherService.ServicePosition healthy = new DispatcherService.ServicePosition(() -> null);
+        DispatcherService.ServicePosition failing = new DispatcherService.ServicePosition(() -> null);
+        List<DispatcherService.ServicePosition> positions = List.of(healthy, failing);
+
+        assertFalse(failing.isHandled(20));
+        failing.fail(20);
+        assertTrue(healthy.acknowledge(20));
+        // The failing service has no checkpoint to fall back to, so the channel stays where it was.
+        assertNull(DispatcherService.ServicePosition.channelCheckpoint(positions, 20));
+
+        assertTrue(healthy.acknowledge(21));
+        assertFalse(failing.acknowledge(21));
+        assertNull(DispatcherService.ServicePosition.channelCheckpoint(positions, 21));
+
+        assertFalse(failing.isHandled(20));
+        assertTrue(failing.acknowledge(20));
+        assertEquals(DispatcherService.ServicePosition.channelCheckpoint(positions, 21), Long.valueOf(20));
+    }
+
+    @Test
+    public void testHandledEventsAreSkippedOnRedelivery() {
+        DispatcherService.ServicePosition position = new DispatcherService.ServicePosition(() -> 12L);
+        assertTrue(position.isHandled(11));
+        assertTrue(position.isHandled(12));
+        assertFalse(position.isHandled(13));
+        assertFalse(position.acknowledge(12));
+        assertTrue(position.acknowledge(13));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static BMap<BString, Object> nested(BMap<BString, Object> event) {
+        return (BMap<BString, Object>) event.get(fromString("changedData"));
+    }
+}
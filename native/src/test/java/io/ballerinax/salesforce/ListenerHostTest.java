@@ -0,0 +1,190 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import org.cometd.bayeux.Channel;
+import org.cometd.bayeux.Message;
+import org.cometd.bayeux.client.ClientSession;
+import org.cometd.common.HashMapMessage;
+import org.eclipse.jetty.client.HttpClient;
+import org.eclipse.jetty.util.ssl.SslContextFactory;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for the per-tenant scheduling, backpressure and shutdown of {@link ListenerHost}.
+ */
+public class ListenerHostTest {
+
+    private static final long WAIT_SECONDS = 10;
+
+    @Test
+    public void testTenantsAreServedRoundRobin() throws Exception {
+        ListenerHost host = new ListenerHost(1, 100, 2, Map.of(), null);
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        host.register("blocker");
+        host.register("busy");
+        host.register("quiet");
+        // Hold the only worker while both tenants queue up.
+        host.submit("blocker", () -> await(release));
+        for (int i = 1; i <= 5; i++) {
+            String event = "busy-" + i;
+            host.submit("busy", () -> order.add(event));
+        }
+        host.submit("quiet", () -> order.add("quiet-1"));
+        host.submit("quiet", () -> order.add("quiet-2"));
+        release.countDown();
+        host.close();
+        // The busy tenant gets two events per turn, after which the quiet one is served.
+        assertEquals(order, List.of("busy-1", "busy-2", "quiet-1", "quiet-2", "busy-3", "busy-4", "busy-5"));
+    }
+
+    @Test
+    public void testTenantQuotaOverridesEventsPerTurn() throws Exception {
+        ListenerHost host = new ListenerHost(1, 100, 1, Map.of("busy", new int[]{100, 3}), null);
+        List<String> order = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        host.register("blocker");
+        host.register("busy");
+        host.register("quiet");
+        host.submit("blocker", () -> await(release));
+        for (int i = 1; i <= 4; i++) {
+            String event = "busy-" + i;
+            host.submit("busy", () -> order.add(event));
+        }
+        host.submit("quiet", () -> order.add("quiet-1"));
+        host.submit("quiet", () -> order.add("quiet-2"));
+        release.countDown();
+        host.close();
+        assertEquals(order, List.of("busy-1", "busy-2", "busy-3", "quiet-1", "busy-4", "quiet-2"));
+    }
+
+    @Test
+    public void testFullQueueDelaysOnlyItsTenantsConnect() throws Exception {
+        ListenerHost host = new ListenerHost(1, 2, 10, Map.of(), null);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        host.register("busy");
+        host.register("quiet");
+        host.submit("busy", () -> {
+            started.countDown();
+            await(release);
+        });
+        assertTrue(started.await(WAIT_SECONDS, TimeUnit.SECONDS));
+        host.submit("busy", () -> { });
+        host.submit("busy", () -> { });
+
+        ClientSession.Extension busy = host.backpressure("busy");
+        ClientSession.Extension quiet = host.backpressure("quiet");
+        Message.Mutable busyReply = connectReply(0);
+        busy.rcvMeta(null, busyReply);
+        long delayMs = ((Number) busyReply.getAdvice().get(Message.INTERVAL_FIELD)).longValue();
+        assertTrue(delayMs >= 100, "expected the connect to be delayed but the interval is " + delayMs);
+        // The reconnect timeout advised by the server is kept.
+        assertEquals(busyReply.getAdvice().get(Message.TIMEOUT_FIELD), 110_000L);
+        Message.Mutable quietReply = connectReply(0);
+        quiet.rcvMeta(null, quietReply);
+        assertEquals(quietReply.getAdvice().get(Message.INTERVAL_FIELD), 0L);
+
+        release.countDown();
+        host.close();
+        // Once the queue has drained, the server's interval is restored.
+        Message.Mutable drainedReply = new HashMapMessage();
+        drainedReply.setChannel(Channel.META_CONNECT);
+        drainedReply.setSuccessful(true);
+        busy.rcvMeta(null, drainedReply);
+        assertEquals(drainedReply.getAdvice().get(Message.INTERVAL_FIELD), 0L);
+    }
+
+    @Test
+    public void testCloseDispatchesQueuedEvents() throws Exception {
+        ListenerHost host = new ListenerHost(2, 100, 1, Map.of(), null);
+        List<String> dispatched = new CopyOnWriteArrayList<>();
+        CountDownLatch release = new CountDownLatch(1);
+        host.register("tenant");
+        host.submit("tenant", () -> await(release));
+        List<String> expected = new ArrayList<>();
+        for (int i = 1; i <= 20; i++) {
+            String event = "event-" + i;
+            expected.add(event);
+            host.submit("tenant", () -> dispatched.add(event));
+        }
+        new Thread(() -> {
+            sleep();
+            release.countDown();
+        }).start();
+        host.close();
+        assertEquals(dispatched, expected);
+        // Events delivered after closing are not accepted.
+        host.submit("tenant", () -> dispatched.add("late"));
+        assertEquals(dispatched.size(), 20);
+    }
+
+    @Test
+    public void testTransportsAreSharedPerSslConfiguration() throws Exception {
+        ListenerHost host = new ListenerHost(1, 100, 10, Map.of(), null);
+        try {
+            SslContextFactory.Client trusting = new SslContextFactory.Client();
+            trusting.setTrustAll(true);
+            HttpClient shared = host.transport(new SslContextFactory.Client());
+            assertSame(host.transport(new SslContextFactory.Client()), shared);
+            // A listener with its own SSL settings gets a transport built from them.
+            assertSame(host.transport(trusting).getSslContextFactory(), trusting);
+            assertTrue(host.transport(trusting) != shared);
+        } finally {
+            host.close();
+        }
+    }
+
+    private static Message.Mutable connectReply(long interval) {
+        Message.Mutable reply = new HashMapMessage();
+        reply.setChannel(Channel.META_CONNECT);
+        reply.setSuccessful(true);
+        reply.getAdvice(true).put(Message.INTERVAL_FIELD, interval);
+        reply.getAdvice().put(Message.TIMEOUT_FIELD, 110_000L);
+        return reply;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(WAIT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(200);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
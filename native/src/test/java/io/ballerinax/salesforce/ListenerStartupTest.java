@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import org.testng.annotations.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertThrows;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for the listener start-up path: the shared subscription deadline and {@link StartupTimings}.
+ */
+public class ListenerStartupTest {
+
+    @Test
+    public void testSubscriptionsShareOneDeadline() throws Exception {
+        // Four subscriptions that each take 300 ms complete within a 1 s deadline because they are in flight
+        // together, although waiting for them one after the other with a fresh timeout would take 1.2 s.
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            long startedAt = System.nanoTime();
+            List<CompletableFuture<String>> pending = IntStream.range(0, 4)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> {
+                        sleep(300);
+                        return "channel" + i;
+                    }, executor))
+                    .collect(Collectors.toList());
+            long deadline = startedAt + TimeUnit.SECONDS.toNanos(1);
+            for (int i = 0; i < pending.size(); i++) {
+                assertEquals(ListenerUtil.awaitBefore(pending.get(i), deadline), "channel" + i);
+            }
+            assertTrue(System.nanoTime() - startedAt < TimeUnit.SECONDS.toNanos(1));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testPassedDeadlineFailsAtOnce() throws Exception {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        long startedAt = System.nanoTime();
+        assertThrows(TimeoutException.class, () -> ListenerUtil.awaitBefore(pending, startedAt - 1));
+        assertTrue(System.nanoTime() - startedAt < TimeUnit.MILLISECONDS.toNanos(500));
+        // A subscription that completed in time is still returned after the deadline.
+        assertEquals(ListenerUtil.awaitBefore(CompletableFuture.completedFuture("done"), startedAt - 1), "done");
+    }
+
+    @Test
+    public void testFailedSubscriptionIsReported() {
+        CompletableFuture<String> pending = CompletableFuture.failedFuture(new IllegalStateException("403::denied"));
+        assertThrows(ExecutionException.class,
+                () -> ListenerUtil.awaitBefore(pending, System.nanoTime() + TimeUnit.SECONDS.toNanos(1)));
+    }
+
+    @Test
+    public void testTimingsReportOverlappingPhases() throws Exception {
+        StartupTimings timings = new StartupTimings();
+        timings.begin("authentication");
+        timings.begin("transport");
+        Thread.sleep(50);
+        timings.end("transport");
+        timings.end("authentication");
+        // A phase that never ended, e.g. because the handshake failed, is left out.
+        timings.begin("handshake");
+        String report = timings.toString();
+        // Phases are reported in the order they ended.
+        assertTrue(report.startsWith("transport="), report);
+        assertTrue(report.contains(", authentication="), report);
+        assertFalse(report.contains("handshake"), report);
+        assertTrue(report.endsWith("ms"), report);
+        long authenticationMillis = millis(report, "authentication");
+        assertTrue(authenticationMillis >= 50, report);
+        assertTrue(millis(report, "total") >= authenticationMillis, report);
+    }
+
+    @Test
+    public void testEndWithoutBeginIsIgnored() {
+        StartupTimings timings = new StartupTimings();
+        timings.end("subscribe");
+        assertTrue(timings.toString().startsWith("total="), timings.toString());
+    }
+
+    private static long millis(String report, String phase) {
+        for (String entry : report.split(", ")) {
+            if (entry.startsWith(phase + "=")) {
+                return Long.parseLong(entry.substring(phase.length() + 1, entry.length() - 2));
+            }
+        }
+        throw new AssertionError("no " + phase + " in " + report);
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
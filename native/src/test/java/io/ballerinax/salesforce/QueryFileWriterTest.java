@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.file.Paths;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertThrows;
+
+/**
+ * Tests for the CSV and NDJSON output of {@link QueryFileWriter}.
+ */
+public class QueryFileWriterTest {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Test
+    public void testCsvColumnsFollowSelectList() throws Exception {
+        StringWriter output = new StringWriter();
+        QueryFileWriter writer = csvWriter(output, "SELECT Id, Name, Account.Name FROM Contact");
+        // No record of the first page has an account.
+        assertEquals(writer.writeCsv(page("{\"attributes\":{\"type\":\"Contact\"},\"Id\":\"1\",\"Name\":\"Ann\"," +
+                "\"Account\":null}")), 1L);
+        assertEquals(writer.writeCsv(page("{\"Id\":\"2\",\"Name\":\"Bob\",\"Account\":{\"attributes\":{}," +
+                "\"Name\":\"Acme\"}}")), 1L);
+        assertEquals(output.toString(), "Id,Name,Account.Name\r\n1,Ann,\r\n2,Bob,Acme\r\n");
+    }
+
+    @Test
+    public void testCsvColumnsTakeTheCaseOfTheRecords() throws Exception {
+        StringWriter output = new StringWriter();
+        QueryFileWriter writer = csvWriter(output, "select id, account.name from Contact");
+        writer.writeCsv(page("{\"Id\":\"1\",\"Account\":null}"));
+        writer.writeCsv(page("{\"Id\":\"2\",\"Account\":{\"Name\":\"Acme\"}}"));
+        assertEquals(output.toString(), "Id,account.name\r\n1,\r\n2,Acme\r\n");
+    }
+
+    @Test
+    public void testCsvCompoundFieldHasColumnPerComponent() throws Exception {
+        StringWriter output = new StringWriter();
+        QueryFileWriter writer = csvWriter(output, "SELECT Id, BillingAddress FROM Account");
+        writer.writeCsv(page("{\"Id\":\"1\",\"BillingAddress\":{\"city\":\"Colombo\",\"country\":\"LK\"}}"));
+        assertEquals(output.toString(), "Id,BillingAddress.city,BillingAddress.country\r\n1,Colombo,LK\r\n");
+    }
+
+    @Test
+    public void testCsvColumnsFromFirstPageWithoutPlainSelectList() throws Exception {
+        StringWriter output = new StringWriter();
+        QueryFileWriter writer = csvWriter(output, "SELECT Id, (SELECT Id FROM Contacts) FROM Account");
+        writer.writeCsv(page("{\"Id\":\"1\",\"Contacts\":null}", "{\"Id\":\"2\",\"Contacts\":{\"records\":[]}}"));
+        assertEquals(output.toString(), "Id,Contacts.records\r\n1,\r\n2,[]\r\n");
+    }
+
+    @Test
+    public void testCsvFailsOnValueWithoutColumn() throws Exception {
+        QueryFileWriter writer = csvWriter(new StringWriter(), "SELECT Id, Account.Name, COUNT(Id) FROM Contact");
+        writer.writeCsv(page("{\"Id\":\"1\",\"Account\":null}"));
+        JsonParser laterPage = page("{\"Id\":\"2\",\"Account\":{\"Name\":\"Acme\"}}");
+        assertThrows(QueryFileWriter.UnmappedFieldException.class, () -> writer.writeCsv(laterPage));
+    }
+
+    @Test
+    public void testCsvQuotesValues() throws Exception {
+        StringWriter output = new StringWriter();
+        QueryFileWriter writer = csvWriter(output, "SELECT Id, Name FROM Account");
+        writer.writeCsv(page("{\"Id\":\"1\",\"Name\":\"Acme, \\\"Inc\\\"\"}", "{\"Id\":\"2\",\"Name\":\"a\\nb\"}"));
+        assertEquals(output.toString(), "Id,Name\r\n1,\"Acme, \"\"Inc\"\"\"\r\n2,\"a\nb\"\r\n");
+    }
+
+    @Test
+    public void testNdjsonDropsAttributes() throws Exception {
+        StringWriter output = new StringWriter();
+        QueryFileWriter writer = new QueryFileWriter(Paths.get("out.ndjson"), output, false, null);
+        assertEquals(writer.writeNdjson(page("{\"attributes\":{\"type\":\"Contact\"},\"Id\":\"1\"," +
+                "\"Account\":{\"attributes\":{\"type\":\"Account\"},\"Name\":\"Acme\"}}", "{\"Id\":\"2\"}")), 2L);
+        assertEquals(output.toString(), "{\"Id\":\"1\",\"Account\":{\"Name\":\"Acme\"}}\n{\"Id\":\"2\"}\n");
+    }
+
+    private static QueryFileWriter csvWriter(StringWriter output, String soql) throws IOException {
+        return new QueryFileWriter(Paths.get("out.csv"), output, true, SoqlUtils.getSelectedFields(soql));
+    }
+
+    // Returns a parser positioned inside the records array of a page, as QueryPageCursor hands it over.
+    private static JsonParser page(String... records) throws IOException {
+        JsonParser parser = JSON_FACTORY.createParser("{\"done\":true,\"records\":[" + String.join(",", records) +
+                "]}");
+        parser.nextToken();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (parser.nextToken() == JsonToken.START_ARRAY && "records".equals(parser.currentName())) {
+                return parser;
+            }
+            parser.skipChildren();
+        }
+        throw new IllegalArgumentException("No records in the page.");
+    }
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BString;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link QueryPageCursor}, the forward-only cursor over a query result page.
+ */
+public class QueryPageCursorTest {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    @Test
+    public void testHeaderIsReadWhenItFollowsTheRecords() throws Exception {
+        QueryPageCursor cursor = open("{\"totalSize\":2,\"done\":false,\"records\":[{\"Id\":\"1\"},{\"Id\":\"2\"}]," +
+                "\"nextRecordsUrl\":\"/services/data/v59.0/query/01g-2000\"}");
+        assertEquals(cursor.nextRecordsUrl(), "/services/data/v59.0/query/01g-2000");
+        assertEquals(recordIds(cursor), List.of("1", "2"));
+    }
+
+    @Test
+    public void testRecordsFollowSkippedFields() throws Exception {
+        QueryPageCursor cursor = open("{\"attributes\":{\"records\":[{\"Id\":\"x\"}]},\"records\":[{\"Id\":\"1\"," +
+                "\"Contacts\":{\"records\":[{\"Id\":\"c\"}]}}],\"done\":true}");
+        assertEquals(cursor.nextRecordsUrl(), "");
+        assertEquals(recordIds(cursor), List.of("1"));
+    }
+
+    @Test
+    public void testPageWithoutRecords() throws Exception {
+        assertNull(open("{\"totalSize\":0,\"done\":true}").records());
+        // A null records field is not an array to iterate over.
+        assertNull(open("{\"done\":true,\"records\":null}").records());
+        QueryPageCursor empty = open("{\"done\":true,\"records\":[]}");
+        assertEquals(empty.records().nextToken(), JsonToken.END_ARRAY);
+    }
+
+    @Test
+    public void testInvalidPage() throws Exception {
+        assertNull(open("[{\"Id\":\"1\"}]"));
+        assertNull(open(""));
+    }
+
+    @Test
+    public void testReleaseDropsTheRecords() throws Exception {
+        QueryPageCursor cursor = open("{\"records\":[{\"Id\":\"1\"}]}");
+        assertNotNull(cursor.records());
+        cursor.release();
+        assertNull(cursor.records());
+        // Releasing twice, as both the cursor and a file writer may do, is harmless.
+        cursor.release();
+        assertNull(cursor.records());
+    }
+
+    @Test
+    public void testReadValueProducesParsedScalars() throws Exception {
+        assertEquals(readValue("12"), 12L);
+        assertEquals(readValue("true"), Boolean.TRUE);
+        assertEquals(readValue("false"), Boolean.FALSE);
+        assertNull(readValue("null"));
+        assertEquals(((BString) readValue("\"Acme\"")).getValue(), "Acme");
+        Object values = readValue("[1,\"a\",null]");
+        assertTrue(values instanceof BArray, "expected an array but got " + values);
+        BArray array = (BArray) values;
+        assertEquals(array.size(), 3);
+        assertEquals(array.get(0), 1L);
+        assertEquals(array.getBString(1).getValue(), "a");
+        assertNull(array.get(2));
+    }
+
+    private static QueryPageCursor open(String page) throws IOException {
+        return QueryPageCursor.open(page.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static Object readValue(String json) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return QueryPageCursor.readValue(parser, parser.nextToken());
+        }
+    }
+
+    // Reads the Id of each remaining record, skipping the rest of the record.
+    private static List<String> recordIds(QueryPageCursor cursor) throws IOException {
+        JsonParser records = cursor.records();
+        List<String> ids = new ArrayList<>();
+        while (records.nextToken() == JsonToken.START_OBJECT) {
+            while (records.nextToken() == JsonToken.FIELD_NAME) {
+                String field = records.currentName();
+                records.nextToken();
+                if ("Id".equals(field)) {
+                    ids.add(records.getText());
+                }
+                records.skipChildren();
+            }
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import io.ballerina.runtime.api.Module;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.flags.SymbolFlags;
+import io.ballerina.runtime.api.types.Field;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.types.RecordType;
+import io.ballerina.runtime.api.types.Type;
+import io.ballerina.runtime.api.values.BArray;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for {@link RecordBinder}, the direct binder used for record responses.
+ */
+public class RecordBinderTest {
+
+    private static final Module MODULE = new Module("test", "salesforce_test", "1");
+
+    @Test
+    public void testBindsSupportedFields() {
+        RecordType type = accountType(false);
+        Object result = bind("{\"Id\":\"001\",\"NumberOfEmployees\":12,\"Description\":null}", type);
+        assertTrue(result instanceof BMap<?, ?>, "expected a record but got " + result);
+        BMap<?, ?> account = (BMap<?, ?>) result;
+        assertEquals(((BString) account.get(fromString("Id"))).getValue(), "001");
+        assertEquals(account.get(fromString("NumberOfEmployees")), 12L);
+        assertNull(account.get(fromString("Description")));
+    }
+
+    @Test
+    public void testMismatchFallsBackToGenericConversion() {
+        RecordType type = accountType(false);
+        // A string where an int is expected, a missing required field and an unknown field on a closed record
+        // are all reported by the generic conversion.
+        assertTrue(bind("{\"Id\":\"001\",\"NumberOfEmployees\":\"12\"}", type) instanceof BError);
+        assertTrue(bind("{\"NumberOfEmployees\":12}", type) instanceof BError);
+        assertTrue(bind("{\"Id\":\"001\",\"NumberOfEmployees\":12,\"Name\":\"x\"}", type) instanceof BError);
+    }
+
+    @Test
+    public void testOpenRecordKeepsRestFields() {
+        Object result = bind("{\"Id\":\"001\",\"NumberOfEmployees\":1,\"Name\":\"Acme\"}", accountType(true));
+        assertTrue(result instanceof BMap<?, ?>, "expected a record but got " + result);
+        assertEquals(((BString) ((BMap<?, ?>) result).get(fromString("Name"))).getValue(), "Acme");
+    }
+
+    @Test
+    public void testBinderIsCachedPerType() {
+        RecordType type = accountType(false);
+        RecordBinder binder = RecordBinder.forType(type);
+        assertSame(RecordBinder.forType(type), binder);
+        BArray fieldNames = binder.getFieldNames();
+        assertEquals(fieldNames.size(), 3);
+        assertEquals(fieldNames.getBString(0).getValue(), "Id");
+    }
+
+    @Test
+    public void testConcurrentMismatches() throws Exception {
+        RecordType type = accountType(false);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                String payload = i % 2 == 0 ? "{\"Id\":\"001\",\"NumberOfEmployees\":\"bad\"}"
+                        : "{\"Id\":\"001\",\"NumberOfEmployees\":" + i + "}";
+                results.add(executor.submit(() -> bind(payload, type)));
+            }
+            for (int i = 0; i < results.size(); i++) {
+                Object result = results.get(i).get();
+                assertEquals(result instanceof BError, i % 2 == 0, "payload " + i);
+                assertFalse(result == null);
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static Object bind(String json, Type type) {
+        return RecordBinder.bindRecord(ValueCreator.createArrayValue(json.getBytes(StandardCharsets.UTF_8)),
+                ValueCreator.createTypedescValue(type));
+    }
+
+    private static RecordType accountType(boolean open) {
+        Map<String, Field> fields = new LinkedHashMap<>();
+        fields.put("Id", TypeCreator.createField(PredefinedTypes.TYPE_STRING, "Id", SymbolFlags.REQUIRED));
+        fields.put("NumberOfEmployees",
+                TypeCreator.createField(PredefinedTypes.TYPE_INT, "NumberOfEmployees", SymbolFlags.REQUIRED));
+        fields.put("Description", TypeCreator.createField(
+                TypeCreator.createUnionType(PredefinedTypes.TYPE_STRING, PredefinedTypes.TYPE_NULL),
+                "Description", SymbolFlags.OPTIONAL));
+        return TypeCreator.createRecordType("Account", MODULE, 0, fields,
+                open ? PredefinedTypes.TYPE_ANYDATA : null, !open, 0);
+    }
+}
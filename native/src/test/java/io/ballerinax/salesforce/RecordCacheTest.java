@@ -0,0 +1,137 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import org.testng.annotations.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for the eviction, invalidation and patching of {@link RecordCache}.
+ */
+public class RecordCacheTest {
+
+    private static final long TTL_NANOS = 60_000_000_000L;
+    private static final String PATH = "/services/data/v59.0/sobjects/Account/001000000000001AAA";
+    private static final String RECORD = "Account/001000000000001";
+
+    @Test
+    public void testScanDoesNotFlushFrequentlyReadRecords() {
+        RecordCache cache = new RecordCache(1000, TTL_NANOS);
+        for (int i = 0; i < 1000; i++) {
+            read(cache, "Account/hot" + i);
+        }
+        for (int round = 0; round < 3; round++) {
+            for (int i = 0; i < 1000; i++) {
+                assertNotNull(cache.find("Account/hot" + i, false, PATH));
+            }
+        }
+        for (int i = 0; i < 5000; i++) {
+            read(cache, "Account/scan" + i);
+        }
+        int kept = 0;
+        for (int i = 0; i < 1000; i++) {
+            kept += cache.contains("Account/hot" + i, false) ? 1 : 0;
+        }
+        assertTrue(kept >= 900, kept + " of 1000 frequently read records kept");
+    }
+
+    @Test
+    public void testVariantsAreKeptPerPath() {
+        RecordCache cache = new RecordCache(100, TTL_NANOS);
+        String fieldsPath = PATH + "?fields=Name";
+        cache.store(RECORD, false, PATH, payload("{\"Id\":\"001000000000001AAA\",\"Name\":\"Acme\",\"Phone\":\"1\"}"),
+                "\"v1\"");
+        cache.store(RECORD, false, fieldsPath, payload("{\"Name\":\"Acme\"}"), null);
+        assertEquals(text(cache.find(RECORD, false, fieldsPath)), "{\"Name\":\"Acme\"}");
+        assertEquals(cache.find(RECORD, false, PATH).etag, "\"v1\"");
+        assertNull(cache.find(RECORD, false, PATH + "?fields=Phone"));
+    }
+
+    @Test
+    public void testInvalidatingTheRecordIdDropsReadsByExternalId() {
+        RecordCache cache = new RecordCache(100, TTL_NANOS);
+        String externalIdKey = "Account/External_Id__c/A-1";
+        cache.store(externalIdKey, true, "/external", payload("{\"attributes\":{\"type\":\"Account\",\"url\":" +
+                "\"/services/data/v59.0/sobjects/Account/001000000000001AAA\"},\"Name\":\"Acme\"}"), null);
+        assertTrue(cache.contains(externalIdKey, true));
+        // Both forms of the record ID map to the same record.
+        cache.invalidate("Account/001000000000001AAA", false);
+        assertFalse(cache.contains(externalIdKey, true));
+        assertFalse(cache.contains(RECORD, false));
+    }
+
+    @Test
+    public void testPatchConvertsChangedFieldsToTheCachedTypes() {
+        RecordCache cache = new RecordCache(100, TTL_NANOS);
+        cache.store(RECORD, false, PATH, payload("{\"Id\":\"001000000000001AAA\",\"Name\":\"Acme\"," +
+                "\"NumberOfEmployees\":10,\"AnnualRevenue\":1.5,\"IsActive__c\":false}"), "\"v1\"");
+        Map<String, Object> changes = new HashMap<>();
+        changes.put("Name", StringUtils.fromString("Acme Corp"));
+        changes.put("NumberOfEmployees", StringUtils.fromString("20"));
+        changes.put("AnnualRevenue", StringUtils.fromString("2.25"));
+        changes.put("IsActive__c", StringUtils.fromString("true"));
+        changes.put("Description", StringUtils.fromString("not cached"));
+        cache.patch(RECORD, changes);
+
+        RecordCache.Variant variant = cache.find(RECORD, false, PATH);
+        assertEquals(text(variant), "{\"Id\":\"001000000000001AAA\",\"Name\":\"Acme Corp\"," +
+                "\"NumberOfEmployees\":20,\"AnnualRevenue\":2.25,\"IsActive__c\":true}");
+        // The ETag belongs to the previous version of the record.
+        assertNull(variant.etag);
+    }
+
+    @Test
+    public void testPatchDropsVariantsThatCannotBePatched() {
+        RecordCache cache = new RecordCache(100, TTL_NANOS);
+        String fieldsPath = PATH + "?fields=Name";
+        cache.store(RECORD, false, PATH, payload("{\"Name\":\"Acme\",\"Phone\":null}"), null);
+        cache.store(RECORD, false, fieldsPath, payload("{\"Name\":\"Acme\"}"), null);
+        cache.patch(RECORD, Map.of("Phone", StringUtils.fromString("555")));
+        assertNull(cache.find(RECORD, false, PATH));
+        assertNotNull(cache.find(RECORD, false, fieldsPath));
+
+        cache.patch(RECORD, Map.of("Name", Map.of("FirstName", "Ann")));
+        assertFalse(cache.contains(RECORD, false));
+    }
+
+    // Reads a record as the client does: a miss followed by storing the response.
+    private static void read(RecordCache cache, String key) {
+        assertNull(cache.find(key, false, PATH));
+        cache.store(key, false, PATH, payload("{}"), null);
+    }
+
+    private static byte[] payload(String json) {
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String text(RecordCache.Variant variant) {
+        assertNotNull(variant);
+        return new String(variant.payload, StandardCharsets.UTF_8);
+    }
+}
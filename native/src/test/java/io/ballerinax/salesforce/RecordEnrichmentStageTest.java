@@ -0,0 +1,297 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static io.ballerinax.salesforce.Constants.DIFF_FIELDS;
+import static io.ballerinax.salesforce.Constants.ENTITY_NAME;
+import static io.ballerinax.salesforce.Constants.EVENT_CHANGE_TYPE;
+import static io.ballerinax.salesforce.Constants.EVENT_HEADER;
+import static io.ballerinax.salesforce.Constants.EVENT_PAYLOAD;
+import static io.ballerinax.salesforce.Constants.NULLED_FIELDS;
+import static io.ballerinax.salesforce.Constants.RECORD_IDS;
+import static io.ballerinax.salesforce.Constants.UPDATE;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNotNull;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for the batching, ordering and caching of {@link RecordEnrichmentStage} against a local sObject
+ * Collections endpoint.
+ */
+public class RecordEnrichmentStageTest {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+    private static final long WAIT_SECONDS = 10;
+
+    private record Dispatched(Map<String, Object> event, List<String> enrichedRecords) {
+    }
+
+    private HttpServer server;
+    private final List<JsonNode> retrieveBodies = new CopyOnWriteArrayList<>();
+    private final List<String> tokens = new CopyOnWriteArrayList<>();
+    // Statuses returned by the next retrieves, after which the endpoint answers 200.
+    private final BlockingQueue<Integer> failures = new LinkedBlockingQueue<>();
+    private final BlockingQueue<Dispatched> dispatched = new LinkedBlockingQueue<>();
+
+    @BeforeMethod
+    public void startServer() throws IOException {
+        retrieveBodies.clear();
+        tokens.clear();
+        failures.clear();
+        dispatched.clear();
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/services/data/v58.0/composite/sobjects/Account", this::retrieve);
+        server.start();
+    }
+
+    @AfterMethod
+    public void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    public void testEventsWithoutEnrichmentAreDispatchedOnSubmit() throws Exception {
+        RecordEnrichmentStage stage = newStage(60_000, 100, 60_000);
+        try {
+            Map<String, Object> created = event("Account", "CREATE", List.of("001A"), Map.of());
+            Map<String, Object> contact = event("Contact", UPDATE, List.of("003A"), Map.of());
+            stage.submit(created, this::record);
+            stage.submit(contact, this::record);
+            assertDispatched(created, null);
+            assertDispatched(contact, null);
+            assertTrue(retrieveBodies.isEmpty());
+        } finally {
+            stage.stop();
+        }
+    }
+
+    @Test
+    public void testUpdatesAreRetrievedInOneRequestAndDispatchedInOrder() throws Exception {
+        RecordEnrichmentStage stage = newStage(60_000, 100, 60_000);
+        Map<String, Object> first = event("Account", UPDATE, List.of("001A"), Map.of("Name", "Changed"));
+        Map<String, Object> created = event("Account", "CREATE", List.of("001C"), Map.of());
+        Map<String, Object> second = event("Account", UPDATE, List.of("001B", "001A"), Map.of());
+        stage.submit(first, this::record);
+        stage.submit(created, this::record);
+        stage.submit(second, this::record);
+        // Nothing is dispatched before the window closes, not even the event that needs no enrichment.
+        assertTrue(dispatched.isEmpty());
+        stage.stop();
+
+        assertEquals(retrieveBodies.size(), 1);
+        assertEquals(retrieveBodies.get(0).get("ids").toString(), "[\"001A\",\"001B\"]");
+        assertEquals(retrieveBodies.get(0).get("fields").toString(), "[\"Id\",\"Name\"]");
+        assertDispatched(first, List.of("{\"Id\":\"001A\",\"Name\":\"Changed\"}"));
+        assertDispatched(created, null);
+        // The later event sees the record as changed by the earlier one.
+        assertDispatched(second, List.of("{\"Id\":\"001B\",\"Name\":\"Fetched 001B\"}",
+                "{\"Id\":\"001A\",\"Name\":\"Changed\"}"));
+    }
+
+    @Test
+    public void testFullBatchIsFlushedBeforeTheWindowCloses() throws Exception {
+        RecordEnrichmentStage stage = newStage(60_000, 2, 60_000);
+        try {
+            Map<String, Object> event = event("Account", UPDATE, List.of("001A", "001B"), Map.of());
+            stage.submit(event, this::record);
+            assertDispatched(event, List.of("{\"Id\":\"001A\",\"Name\":\"Fetched 001A\"}",
+                    "{\"Id\":\"001B\",\"Name\":\"Fetched 001B\"}"));
+        } finally {
+            stage.stop();
+        }
+    }
+
+    @Test
+    public void testCachedRecordsAreNotRetrievedAgain() throws Exception {
+        RecordEnrichmentStage stage = newStage(10, 100, 60_000);
+        try {
+            Map<String, Object> first = event("Account", UPDATE, List.of("001A"), Map.of("Name", "Changed"));
+            stage.submit(first, this::record);
+            assertDispatched(first, List.of("{\"Id\":\"001A\",\"Name\":\"Changed\"}"));
+            Map<String, Object> second = event("Account", UPDATE, List.of("001A"), Map.of());
+            stage.submit(second, this::record);
+            assertDispatched(second, List.of("{\"Id\":\"001A\",\"Name\":\"Changed\"}"));
+            assertEquals(retrieveBodies.size(), 1);
+        } finally {
+            stage.stop();
+        }
+    }
+
+    @Test
+    public void testExpiredRecordsAreRetrievedAgain() throws Exception {
+        RecordEnrichmentStage stage = newStage(10, 100, 0);
+        try {
+            Map<String, Object> first = event("Account", UPDATE, List.of("001A"), Map.of("Name", "Changed"));
+            stage.submit(first, this::record);
+            assertDispatched(first, List.of("{\"Id\":\"001A\",\"Name\":\"Changed\"}"));
+            Map<String, Object> second = event("Account", UPDATE, List.of("001A"), Map.of());
+            stage.submit(second, this::record);
+            assertDispatched(second, List.of("{\"Id\":\"001A\",\"Name\":\"Fetched 001A\"}"));
+            assertEquals(retrieveBodies.size(), 2);
+        } finally {
+            stage.stop();
+        }
+    }
+
+    @Test
+    public void testRetrieveIsRetriedWithRefreshedToken() throws Exception {
+        failures.add(401);
+        RecordEnrichmentStage stage = newStage(60_000, 100, 60_000);
+        Map<String, Object> event = event("Account", UPDATE, List.of("001A"), Map.of());
+        stage.submit(event, this::record);
+        stage.stop();
+        assertEquals(tokens, List.of("Bearer cached", "Bearer refreshed"));
+        assertDispatched(event, List.of("{\"Id\":\"001A\",\"Name\":\"Fetched 001A\"}"));
+    }
+
+    @Test
+    public void testFailedRetrieveDispatchesWithoutRecords() throws Exception {
+        failures.add(500);
+        RecordEnrichmentStage stage = newStage(60_000, 100, 60_000);
+        Map<String, Object> event = event("Account", UPDATE, List.of("001A"), Map.of());
+        stage.submit(event, this::record);
+        stage.stop();
+        assertDispatched(event, Collections.emptyList());
+    }
+
+    @Test
+    public void testNulledFieldsAreSetToNull() throws Exception {
+        RecordEnrichmentStage stage = newStage(10, 100, 60_000);
+        try {
+            Map<String, Object> first = event("Account", UPDATE, List.of("001A"), Map.of(),
+                    Map.of(NULLED_FIELDS, new Object[]{"Name"}));
+            stage.submit(first, this::record);
+            assertDispatched(first, List.of("{\"Id\":\"001A\",\"Name\":null}"));
+            // The cached record carries the nulled field too.
+            Map<String, Object> second = event("Account", UPDATE, List.of("001A"), Map.of());
+            stage.submit(second, this::record);
+            assertDispatched(second, List.of("{\"Id\":\"001A\",\"Name\":null}"));
+            assertEquals(retrieveBodies.size(), 1);
+        } finally {
+            stage.stop();
+        }
+    }
+
+    @Test
+    public void testDiffEventsAreRetrievedAgainAndEvicted() throws Exception {
+        RecordEnrichmentStage stage = newStage(10, 100, 60_000);
+        try {
+            Map<String, Object> first = event("Account", UPDATE, List.of("001A"), Map.of("Name", "Changed"));
+            stage.submit(first, this::record);
+            assertDispatched(first, List.of("{\"Id\":\"001A\",\"Name\":\"Changed\"}"));
+            // The diff is not applied; the record is fetched again instead of served from the cache.
+            Map<String, Object> diff = event("Account", UPDATE, List.of("001A"), Map.of("Name", "@@ -1 +1 @@"),
+                    Map.of(DIFF_FIELDS, new Object[]{"Name"}));
+            stage.submit(diff, this::record);
+            assertDispatched(diff, List.of("{\"Id\":\"001A\",\"Name\":\"Fetched 001A\"}"));
+            assertEquals(retrieveBodies.size(), 2);
+            // The record was evicted, so the next event fetches it again.
+            Map<String, Object> next = event("Account", UPDATE, List.of("001A"), Map.of());
+            stage.submit(next, this::record);
+            assertDispatched(next, List.of("{\"Id\":\"001A\",\"Name\":\"Fetched 001A\"}"));
+            assertEquals(retrieveBodies.size(), 3);
+        } finally {
+            stage.stop();
+        }
+    }
+
+    private RecordEnrichmentStage newStage(long windowMs, int maxBatchSize, long cacheTtlMs) throws Exception {
+        EnrichmentConfig config = new EnrichmentConfig(Map.of("Account", List.of("Name")), windowMs, maxBatchSize,
+                cacheTtlMs, 100);
+        URL endpoint = new URL("http://localhost:" + server.getAddress().getPort() + "/cometd/58.0");
+        return new RecordEnrichmentStage(config, endpoint, "58.0", refresh -> refresh ? "refreshed" : "cached",
+                WAIT_SECONDS * 1000, Collections.emptyList());
+    }
+
+    private static Map<String, Object> event(String entityName, String changeType, List<String> recordIds,
+                                             Map<String, Object> fields) {
+        return event(entityName, changeType, recordIds, fields, Map.of());
+    }
+
+    private static Map<String, Object> event(String entityName, String changeType, List<String> recordIds,
+                                             Map<String, Object> fields, Map<String, Object> headerFields) {
+        Map<String, Object> header = new HashMap<>(headerFields);
+        header.put(ENTITY_NAME, entityName);
+        header.put(EVENT_CHANGE_TYPE, changeType);
+        header.put(RECORD_IDS, recordIds.toArray());
+        Map<String, Object> payload = new HashMap<>(fields);
+        payload.put(EVENT_HEADER, header);
+        return Map.of(EVENT_PAYLOAD, payload);
+    }
+
+    private void record(Map<String, Object> event, List<String> enrichedRecords) {
+        dispatched.add(new Dispatched(event, enrichedRecords));
+    }
+
+    private void assertDispatched(Map<String, Object> event, List<String> enrichedRecords)
+            throws InterruptedException {
+        Dispatched next = dispatched.poll(WAIT_SECONDS, TimeUnit.SECONDS);
+        assertNotNull(next, "no event was dispatched");
+        assertTrue(next.event() == event, "events were dispatched out of order");
+        if (enrichedRecords == null) {
+            assertNull(next.enrichedRecords());
+        } else {
+            assertEquals(next.enrichedRecords(), enrichedRecords);
+        }
+    }
+
+    // Answers a retrieve with a record per requested ID, or with the next queued failure.
+    private void retrieve(HttpExchange exchange) throws IOException {
+        tokens.add(exchange.getRequestHeaders().getFirst("Authorization"));
+        JsonNode body = MAPPER.readTree(exchange.getRequestBody());
+        Integer failure = failures.poll();
+        ArrayNode records = MAPPER.createArrayNode();
+        if (failure == null) {
+            retrieveBodies.add(body);
+            body.get("ids").forEach(id -> records.addObject().put("Id", id.asText())
+                    .put("Name", "Fetched " + id.asText()));
+        }
+        byte[] response = records.toString().getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        exchange.sendResponseHeaders(failure == null ? 200 : failure, response.length);
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(response);
+        }
+    }
+}
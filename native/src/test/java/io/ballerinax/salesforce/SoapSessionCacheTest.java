@@ -0,0 +1,69 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import org.testng.annotations.Test;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertNull;
+
+/**
+ * Tests for the in-process caching of {@link SoapSessionCache}.
+ */
+public class SoapSessionCacheTest {
+
+    private static final String LOGIN_ENDPOINT = "https://login.salesforce.com";
+
+    @Test
+    public void testSessionIsReusedUntilInvalidated() {
+        SoapSessionCache cache = newCache("reuse@example.com", "password");
+        assertNull(cache.get());
+        SoapSessionCache.Session session = session(3600);
+        cache.put(session);
+        assertEquals(newCache("reuse@example.com", "password").get(), session);
+        cache.invalidate();
+        assertNull(newCache("reuse@example.com", "password").get());
+    }
+
+    @Test
+    public void testSessionCloseToExpiryIsNotReused() {
+        SoapSessionCache cache = newCache("expiry@example.com", "password");
+        cache.put(session(30));
+        assertNull(cache.get());
+    }
+
+    @Test
+    public void testSessionIsNotSharedWithOtherCredentials() {
+        newCache("shared@example.com", "password").put(session(3600));
+        assertNull(newCache("shared@example.com", "other password").get());
+        assertNull(newCache("other@example.com", "password").get());
+        assertNull(new SoapSessionCache(LOGIN_ENDPOINT, "shared@example.com", "password", "59.0", null, null).get());
+        assertNull(new SoapSessionCache("https://test.salesforce.com", "shared@example.com", "password", "58.0",
+                null, null).get());
+    }
+
+    private static SoapSessionCache newCache(String username, String password) {
+        return new SoapSessionCache(LOGIN_ENDPOINT, username, password, "58.0", null, null);
+    }
+
+    private static SoapSessionCache.Session session(long validSeconds) {
+        return new SoapSessionCache.Session("00D!session", "https://example.my.salesforce.com/services/Soap/u/58.0",
+                System.currentTimeMillis() / 1000 + validSeconds);
+    }
+}
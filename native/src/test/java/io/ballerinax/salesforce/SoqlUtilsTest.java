@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import io.ballerina.runtime.api.utils.StringUtils;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BString;
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+
+import java.util.List;
+
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertFalse;
+import static org.testng.Assert.assertNull;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for the SOQL inspection and rewriting helpers in {@link SoqlUtils}.
+ */
+public class SoqlUtilsTest {
+
+    @Test
+    public void testMaskBlanksLiteralsAndParentheses() {
+        String statement = "select Id, (select Id from Contacts) from Account where Name = 'it\\'s (x)'";
+        String masked = SoqlUtils.mask(statement);
+        assertEquals(masked.length(), statement.length());
+        assertEquals(masked.trim().replaceAll("\\s+", " "), "SELECT ID, FROM ACCOUNT WHERE NAME =");
+    }
+
+    @Test
+    public void testGetSObjectName() {
+        assertEquals(value(SoqlUtils.getSObjectName(soql("SELECT Id FROM Account WHERE Name = 'FROM x'"))),
+                "Account");
+        assertEquals(value(SoqlUtils.getSObjectName(soql("select Id from  My_Object__c"))), "My_Object__c");
+        assertTrue(SoqlUtils.getSObjectName(soql("SELECT Id")) instanceof BError);
+    }
+
+    @DataProvider(name = "whereClauses")
+    public Object[][] whereClauses() {
+        return new Object[][]{
+                {"SELECT Id FROM Account", ""},
+                {"SELECT Id FROM Account WHERE Name = 'a' ORDER BY Name LIMIT 5", "Name = 'a'"},
+                {"SELECT Id FROM Account WHERE Name = 'ORDER BY' AND Type = 'x'", "Name = 'ORDER BY' AND Type = 'x'"},
+                {"SELECT Id, (SELECT Id FROM Contacts WHERE Email != null) FROM Account", ""},
+                {"SELECT Id FROM Account WHERE Id IN (SELECT AccountId FROM Contact) WITH SECURITY_ENFORCED",
+                        "Id IN (SELECT AccountId FROM Contact)"}
+        };
+    }
+
+    @Test(dataProvider = "whereClauses")
+    public void testGetWhereClause(String statement, String expected) {
+        assertEquals(SoqlUtils.getWhereClause(soql(statement)).getValue(), expected);
+    }
+
+    @DataProvider(name = "filters")
+    public Object[][] filters() {
+        return new Object[][]{
+                {"SELECT Id FROM Account", "SELECT Id FROM Account WHERE Id >= 'a'"},
+                {"SELECT Id FROM Account ORDER BY Id", "SELECT Id FROM Account WHERE Id >= 'a' ORDER BY Id"},
+                {"SELECT Id FROM Account WHERE Name = 'x' ORDER BY Id",
+                        "SELECT Id FROM Account WHERE (Id >= 'a') AND (Name = 'x') ORDER BY Id"},
+                {"SELECT Id FROM Account WHERE Name = 'LIMIT 5'",
+                        "SELECT Id FROM Account WHERE (Id >= 'a') AND (Name = 'LIMIT 5')"}
+        };
+    }
+
+    @Test(dataProvider = "filters")
+    public void testAddFilter(String statement, String expected) {
+        assertEquals(value(SoqlUtils.addFilter(soql(statement), soql("Id >= 'a'"))), expected);
+    }
+
+    @Test
+    public void testAddFilterRejectsUnsupportedClauses() {
+        assertTrue(SoqlUtils.addFilter(soql("SELECT Id FROM Account LIMIT 10"), soql("Id >= 'a'")) instanceof BError);
+        assertTrue(SoqlUtils.addFilter(soql("SELECT Name, COUNT(Id) FROM Account GROUP BY Name"),
+                soql("Id >= 'a'")) instanceof BError);
+        assertTrue(SoqlUtils.addFilter(soql("SELECT Id"), soql("Id >= 'a'")) instanceof BError);
+    }
+
+    @DataProvider(name = "bulkQueries")
+    public Object[][] bulkQueries() {
+        return new Object[][]{
+                {"SELECT Id, Name FROM Account WHERE Name = 'GROUP BY'", true},
+                {"SELECT Id FROM Account ORDER BY Id LIMIT 100", true},
+                {"SELECT Id FROM Account WHERE Id IN (SELECT AccountId FROM Contact)", true},
+                {"SELECT Id, (SELECT Id FROM Contacts) FROM Account", false},
+                {"SELECT COUNT(Id) FROM Account", false},
+                {"SELECT Name FROM Account GROUP BY Name", false},
+                {"SELECT Id FROM Account OFFSET 10", false},
+                {"SELECT TYPEOF What WHEN Account THEN Name END FROM Event", false},
+                {"SELECT Id", false}
+        };
+    }
+
+    @Test(dataProvider = "bulkQueries")
+    public void testIsBulkQueryable(String statement, boolean expected) {
+        assertEquals(SoqlUtils.isBulkQueryable(soql(statement)), expected);
+    }
+
+    @Test
+    public void testGetQueryLimit() {
+        assertEquals(SoqlUtils.getQueryLimit(soql("SELECT Id FROM Account limit 250")), 250L);
+        assertNull(SoqlUtils.getQueryLimit(soql("SELECT Id FROM Account")));
+        assertNull(SoqlUtils.getQueryLimit(soql("SELECT Id, (SELECT Id FROM Contacts LIMIT 5) FROM Account")));
+        assertNull(SoqlUtils.getQueryLimit(soql("SELECT Id FROM Account WHERE Name = 'LIMIT 5'")));
+        assertNull(SoqlUtils.getQueryLimit(soql("SELECT Id FROM Account LIMIT 99999999999999999999")));
+    }
+
+    @DataProvider(name = "selectLists")
+    public Object[][] selectLists() {
+        return new Object[][]{
+                {"SELECT Id, Name, Account.Name FROM Contact", List.of("Id", "Name", "Account.Name")},
+                {"select id,name from Account where Name = 'a, b'", List.of("id", "name")},
+                {"SELECT Id, (SELECT Id FROM Contacts) FROM Account", null},
+                {"SELECT COUNT(Id) FROM Account", null},
+                {"SELECT Name n FROM Account", null},
+                {"SELECT FIELDS(STANDARD) FROM Account", null},
+                {"SELECT TYPEOF What WHEN Account THEN Name END FROM Event", null},
+                {"SELECT Id", null}
+        };
+    }
+
+    @Test(dataProvider = "selectLists")
+    public void testGetSelectedFields(String statement, List<String> expected) {
+        assertEquals(SoqlUtils.getSelectedFields(statement), expected);
+    }
+
+    @Test
+    public void testMaskKeepsTopLevelKeywords() {
+        String masked = SoqlUtils.mask("select Id from Account where Name = 'where' order by Name");
+        assertFalse(masked.contains("'"));
+        assertEquals(masked.indexOf("WHERE"), masked.lastIndexOf("WHERE"));
+    }
+
+    private static BString soql(String statement) {
+        return StringUtils.fromString(statement);
+    }
+
+    private static String value(Object result) {
+        assertTrue(result instanceof BString, "expected a string but got " + result);
+        return ((BString) result).getValue();
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2026, WSO2 LLC. (http://www.wso2.com).
+ *
+ * WSO2 LLC. licenses this file to you under the Apache License,
+ * Version 2.0 (the "License"); you may not use this file except
+ * in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *    http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied. See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package io.ballerinax.salesforce;
+
+import io.ballerina.runtime.api.creators.ErrorCreator;
+import io.ballerina.runtime.api.creators.TypeCreator;
+import io.ballerina.runtime.api.creators.ValueCreator;
+import io.ballerina.runtime.api.types.PredefinedTypes;
+import io.ballerina.runtime.api.values.BError;
+import io.ballerina.runtime.api.values.BMap;
+import io.ballerina.runtime.api.values.BString;
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static io.ballerina.runtime.api.utils.StringUtils.fromString;
+import static org.testng.Assert.assertEquals;
+import static org.testng.Assert.assertSame;
+import static org.testng.Assert.assertTrue;
+
+/**
+ * Tests for the grouping, splitting and closing of {@link WriteBatcher}.
+ */
+public class WriteBatcherTest {
+
+    private static final long LINGER_NANOS = TimeUnit.SECONDS.toNanos(60);
+    private static final long WAIT_SECONDS = 10;
+
+    private final List<List<Object>> requests = new CopyOnWriteArrayList<>();
+
+    @Test
+    public void testFullGroupIsSentAsOneRequest() throws Exception {
+        WriteBatcher batcher = new WriteBatcher(this::succeed, LINGER_NANOS, 3, 2);
+        List<CompletableFuture<Object>> results = submit(batcher, "a", "b", "c");
+        assertEquals(resultOf(results.get(0)), "saved a");
+        assertEquals(resultOf(results.get(1)), "saved b");
+        assertEquals(resultOf(results.get(2)), "saved c");
+        assertEquals(requests, List.of(List.of("a", "b", "c")));
+        batcher.close();
+    }
+
+    @Test
+    public void testRejectedGroupIsSplitIntoSingleWrites() throws Exception {
+        BError invalid = ErrorCreator.createError(fromString("Invalid field"));
+        WriteBatcher batcher = new WriteBatcher((operation, sObjectName, payloads) -> {
+            if (payloads.size() > 1 || payloads.contains("bad")) {
+                requests.add(payloads);
+                return rejected(invalid);
+            }
+            return succeed(operation, sObjectName, payloads);
+        }, LINGER_NANOS, 3, 2);
+        List<CompletableFuture<Object>> results = submit(batcher, "a", "bad", "c");
+        assertEquals(resultOf(results.get(0)), "saved a");
+        // The caller gets the error of the request it sent on its own.
+        assertSame(results.get(1).get(WAIT_SECONDS, TimeUnit.SECONDS), invalid);
+        assertEquals(resultOf(results.get(2)), "saved c");
+        assertEquals(requests.size(), 4);
+        batcher.close();
+    }
+
+    @Test
+    public void testTransientFailureIsReturnedToEveryCaller() throws Exception {
+        BError unavailable = ErrorCreator.createError(fromString("Service Unavailable"));
+        WriteBatcher batcher = new WriteBatcher((operation, sObjectName, payloads) -> {
+            requests.add(payloads);
+            return unavailable;
+        }, LINGER_NANOS, 3, 2);
+        List<CompletableFuture<Object>> results = submit(batcher, "a", "b", "c");
+        for (CompletableFuture<Object> result : results) {
+            assertSame(result.get(WAIT_SECONDS, TimeUnit.SECONDS), unavailable);
+        }
+        // The group is not sent again write by write.
+        assertEquals(requests.size(), 1);
+        batcher.close();
+    }
+
+    @Test
+    public void testCloseSendsLingeringWrites() throws Exception {
+        WriteBatcher batcher = new WriteBatcher(this::succeed, LINGER_NANOS, 3, 2);
+        List<CompletableFuture<Object>> results = submit(batcher, "a", "b");
+        batcher.close();
+        assertEquals(resultOf(results.get(0)), "saved a");
+        assertEquals(resultOf(results.get(1)), "saved b");
+        Object afterClose = batcher.submit("create", "Account", "c").get(WAIT_SECONDS, TimeUnit.SECONDS);
+        assertTrue(afterClose instanceof BError, "expected an error but got " + afterClose);
+    }
+
+    @Test
+    public void testCloseRacingSubmitsCompletesEveryWrite() throws Exception {
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            for (int round = 0; round < 20; round++) {
+                WriteBatcher batcher = new WriteBatcher(this::succeed, LINGER_NANOS, 1, 2);
+                List<Future<CompletableFuture<Object>>> submitted = new ArrayList<>();
+                for (int i = 0; i < 50; i++) {
+                    String payload = "write " + i;
+                    submitted.add(callers.submit(() -> batcher.submit("create", "Account", payload)));
+                }
+                batcher.close();
+                for (Future<CompletableFuture<Object>> future : submitted) {
+                    // Neither submit nor close may throw, and every write completes with a result or an error.
+                    Object result = future.get(WAIT_SECONDS, TimeUnit.SECONDS).get(WAIT_SECONDS, TimeUnit.SECONDS);
+                    assertTrue(result instanceof BString || result instanceof BError, "unexpected result " + result);
+                }
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static List<CompletableFuture<Object>> submit(WriteBatcher batcher, String... payloads) {
+        List<CompletableFuture<Object>> results = new ArrayList<>();
+        for (String payload : payloads) {
+            results.add(batcher.submit("create", "Account", payload));
+        }
+        return results;
+    }
+
+    private Object succeed(String operation, String sObjectName, List<Object> payloads) {
+        requests.add(payloads);
+        Object[] results = payloads.stream().map(payload -> fromString("saved " + payload)).toArray();
+        return ValueCreator.createArrayValue(results, TypeCreator.createArrayType(PredefinedTypes.TYPE_ANYDATA));
+    }
+
+    // An error marked the way `BatchingClient.sendGroup` marks an HTTP 400 rejection of the whole request.
+    private static BError rejected(BError cause) {
+        BMap<BString, Object> details = ValueCreator.createMapValue();
+        details.put(fromString("groupRejected"), true);
+        return ErrorCreator.createError(PredefinedTypes.TYPE_ERROR, fromString("Bad Request"), cause, details);
+    }
+
+    private static String resultOf(CompletableFuture<Object> result) throws Exception {
+        return result.get(WAIT_SECONDS, TimeUnit.SECONDS).toString();
+    }
+}